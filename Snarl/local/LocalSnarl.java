@@ -1,19 +1,13 @@
 
 import Observer.LocalObserver;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 import java.util.Scanner;
 
-import org.json.JSONObject;
-import org.json.JSONTokener;
-
 import Game.controller.GameManager;
-import Game.model.Item;
+import Game.model.CompiledLevels;
 import Game.model.Level;
-import Game.model.LevelComponent;
-import Game.model.LevelImpl;
+import Level.IndexedLevels;
 import Level.TestLevel;
 import Player.LocalPlayer;
 
@@ -28,10 +22,10 @@ public class LocalSnarl {
 	 * players and adversaries, creates the corresponding levels, and allows
 	 * one LocalPlayer to play the game
 	 * @param args - the command line arguments
-	 * @throws FileNotFoundException if the file containing JSON level specifications
+	 * @throws IOException if the file containing level specifications
 	 * cannot be found or opened 
 	 */
-	public static void main(String[] args) throws FileNotFoundException {
+	public static void main(String[] args) throws IOException {
 		//Set the defaults for the game
 		String fileName = "snarl.levels";
 		int numPlayers = 1;
@@ -59,6 +53,9 @@ public class LocalSnarl {
 				case "--observe":
 					observer = true;
 					break;
+				case "--validate":
+					TestLevel.setValidateLevels(true);
+					break;
 				default:
 					throw new IllegalArgumentException("Invalid input: " + args[i]);
 			}
@@ -75,6 +72,12 @@ public class LocalSnarl {
 			manager.attachObserver(new LocalObserver());
 		}
 
+		//JSON levels are validated as they are parsed, but compiled levels are only
+		//validated by the game, before each one is played
+		if (levels instanceof CompiledLevels && TestLevel.isValidateLevels()) {
+			manager.setValidateLevels(true);
+		}
+
 		manager.startGame(levels, startLevel);
 		manager.playGame();
 		manager.endGame();
@@ -111,27 +114,29 @@ public class LocalSnarl {
 	}
 	
 	/**
-	 * Generates all levels contained within the level specifications
+	 * Generates all levels contained within the level specifications. The file
+	 * is either a JSON levels file or a compiled levels file. Either way, each
+	 * level is only built when the game reaches it, so levels before the start
+	 * level are never built. With --validate, every level is built and checked
+	 * before the game starts. The structure of each level is built once as a
+	 * LevelTemplate, and the level the game plays only holds its actors and items
 	 * @param fileName - the name of the file containing the level specifications
 	 * @return the list of levels generated based on this specification
-	 * @throws FileNotFoundException if the file containing JSON level specifications
+	 * @throws IOException if the file containing level specifications
 	 * cannot be found or opened 
 	 */
-	private List<Level> generateLevels(String fileName) throws FileNotFoundException {
-		List<Level> levels = new ArrayList<>();
-		JSONTokener inputTokens = new JSONTokener(new FileInputStream(fileName));
-		Object value = inputTokens.nextValue();
-		int numLevels = (int)value;
-		
-		//Get the JSON Object for each level in the file. Parse the levelMap and items.
-		//Create the corresponding level and add it to the list
-		for (int i = 0; i < numLevels; i++) {
-			JSONObject JSONLevel = (JSONObject)inputTokens.nextValue();
-			List<LevelComponent> levelMap = TestLevel.parseLevelMap(JSONLevel);
-			List<Item> items = TestLevel.parseObjects(JSONLevel);
-			
-			Level level = new LevelImpl(levelMap, items);
-			levels.add(level);
+	private List<Level> generateLevels(String fileName) throws IOException {
+		//Compiled levels files are loaded lazily, without parsing
+		if (CompiledLevels.isCompiled(fileName)) {
+			return new CompiledLevels(fileName);
+		}
+
+		//JSON levels files are indexed, so each level is parsed without tokenizing the ones before it
+		List<Level> levels = new IndexedLevels(fileName);
+		if (TestLevel.isValidateLevels()) {
+			for (int i = 0; i < levels.size(); i++) {
+				levels.get(i);
+			}
 		}
 		return levels;
 	}
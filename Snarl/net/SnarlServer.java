@@ -1,15 +1,10 @@
-import Game.model.Item;
+import Game.model.CompiledLevels;
 import Game.model.Level;
-import Game.model.LevelComponent;
-import Game.model.LevelImpl;
+import Level.IndexedLevels;
 import Level.TestLevel;
 import Remote.Server;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
-import org.json.JSONObject;
-import org.json.JSONTokener;
 
 /**
  * Starts the server with the provided command line arguments
@@ -19,10 +14,10 @@ public class SnarlServer {
   /**
    * Parses the command line arguments. Creates and starts the server.
    * @param args - command line arguments
-   * @throws FileNotFoundException if the file containing JSON level specifications
+   * @throws IOException if the file containing level specifications
    * cannot be found or opened
    */
-  public static void main(String[] args) throws FileNotFoundException {
+  public static void main(String[] args) throws IOException {
     //Set the defaults for the game
     String fileName = "snarl.levels";
     int numClients = 4;
@@ -53,6 +48,9 @@ public class SnarlServer {
         case "--observe":
           observer = true;
           break;
+        case "--validate":
+          TestLevel.setValidateLevels(true);
+          break;
         case "--address":
           ipAddress = args[i + 1];
           i++;
@@ -78,27 +76,29 @@ public class SnarlServer {
   }
 
   /**
-   * Generates all levels contained within the level specifications
+   * Generates all levels contained within the level specifications. The file
+   * is either a JSON levels file or a compiled levels file. Either way, each
+   * level is only built when the game reaches it, so levels before the start
+   * level are never built. With --validate, every level is built and checked
+   * before the game starts. The structure of each level is built once as a
+   * LevelTemplate, and the level the game plays only holds its actors and items
    * @param fileName - the name of the file containing the level specifications
    * @return the list of levels generated based on this specification
-   * @throws FileNotFoundException if the file containing JSON level specifications
+   * @throws IOException if the file containing level specifications
    * cannot be found or opened
    */
-  private List<Level> generateLevels(String fileName) throws FileNotFoundException {
-    List<Level> levels = new ArrayList<>();
-    JSONTokener inputTokens = new JSONTokener(new FileInputStream(fileName));
-    Object value = inputTokens.nextValue();
-    int numLevels = (int)value;
-
-    //Get the JSON Object for each level in the file. Parse the levelMap and items.
-    //Create the corresponding level and add it to the list
-    for (int i = 0; i < numLevels; i++) {
-      JSONObject JSONLevel = (JSONObject)inputTokens.nextValue();
-      List<LevelComponent> levelMap = TestLevel.parseLevelMap(JSONLevel);
-      List<Item> items = TestLevel.parseObjects(JSONLevel);
+  private List<Level> generateLevels(String fileName) throws IOException {
+    //Compiled levels files are loaded lazily, without parsing
+    if (CompiledLevels.isCompiled(fileName)) {
+      return new CompiledLevels(fileName);
+    }
 
-      Level level = new LevelImpl(levelMap, items);
-      levels.add(level);
+    //JSON levels files are indexed, so each level is parsed without tokenizing the ones before it
+    List<Level> levels = new IndexedLevels(fileName);
+    if (TestLevel.isValidateLevels()) {
+      for (int i = 0; i < levels.size(); i++) {
+        levels.get(i);
+      }
     }
     return levels;
   }
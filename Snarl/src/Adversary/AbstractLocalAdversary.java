@@ -13,6 +13,7 @@ import java.util.Map;
 
 import Common.AdversaryClient;
 import Game.model.Adversary;
+import Game.model.DistanceField;
 import Game.model.Level;
 
 /**
@@ -34,6 +35,10 @@ public abstract class AbstractLocalAdversary implements AdversaryClient {
 	//The avatar that represents the AdversaryClient within the game
 	protected Adversary adversaryAvatar;
 
+	//The distance of every location from the nearest player this turn, or null
+	//if the adversary has not been given one for the current level
+	protected DistanceField playerDistances;
+
 	public AbstractLocalAdversary() {
 		this.playerLocations = new HashMap<>();
 		this.adversaryLocations = new HashMap<>();
@@ -41,7 +46,8 @@ public abstract class AbstractLocalAdversary implements AdversaryClient {
 
 	@Override
 	public void getLevelStart(Level startLevel) {
-		this.level = startLevel;	
+		this.level = startLevel;
+		this.playerDistances = null;
 	}
 
 	@Override
@@ -53,6 +59,11 @@ public abstract class AbstractLocalAdversary implements AdversaryClient {
 		this.currentLocation = adversaryLocations.get(adversaryAvatar);
 	}
 
+	@Override
+	public void updatePlayerDistances(DistanceField playerDistances) {
+		this.playerDistances = playerDistances;
+	}
+
 	/**
 	 * Generates all potential moves for this AdversaryClient based on their
 	 * current location. A potential move is at most one tile in a cardinal 
@@ -115,6 +126,40 @@ public abstract class AbstractLocalAdversary implements AdversaryClient {
 		return closestMove;		
 	}
 	
+	/**
+	 * Finds the best move towards the nearest player. With a distance field, the
+	 * move is a valid neighbour that is one step closer to a player than this
+	 * AdversaryClient, so the adversary follows the shortest path around walls.
+	 * If there is no field, or no such neighbour, this steps towards the given
+	 * player as stepTowardsPoint does
+	 * @param playerLocation - the location of the player being chased
+	 * @return the best move towards the nearest player
+	 */
+	protected Point stepTowardsPlayer(Point playerLocation) {
+		if (this.playerDistances == null) {
+			return stepTowardsPoint(playerLocation);
+		}
+		int currentDistance = this.playerDistances.getDistance(this.currentLocation);
+		if (currentDistance == DistanceField.unreachable || currentDistance == 0) {
+			return stepTowardsPoint(playerLocation);
+		}
+
+		//Of the neighbours on a shortest path, prefer the one nearest the chased player
+		Point closestMove = null;
+		int closestMoveDist = 0;
+		for (Point move : generatePotentialMoves()) {
+			if (this.playerDistances.getDistance(move) != currentDistance - 1) {
+				continue;
+			}
+			int moveDist = Math.abs(move.x - playerLocation.x) + Math.abs(move.y - playerLocation.y);
+			if ((closestMove == null || moveDist < closestMoveDist) && checkValidMove(move)) {
+				closestMove = move;
+				closestMoveDist = moveDist;
+			}
+		}
+		return closestMove == null ? stepTowardsPoint(playerLocation) : closestMove;
+	}
+
 	/**
 	 * Checks that the move is valid for this AdversaryClient
 	 * @param move - the move to check
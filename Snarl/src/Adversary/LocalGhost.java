@@ -3,10 +3,14 @@ package Adversary;
 import Game.model.Tile;
 import Game.model.Wall;
 import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
 
+import Game.model.Level;
 import Game.model.LevelComponent;
+import Game.model.RoomGraph;
 
 /**
  * The LocalGhost represents an automated adversary that communicates locally
@@ -18,6 +22,39 @@ public class LocalGhost extends AbstractLocalAdversary {
 
 	private static final int chaseRadius = 6;
 
+	//The doors left on the route the Ghost is following, the component of the
+	//destination the route was found for, and where the Ghost will be if its
+	//last step was taken. The route is kept until the Ghost leaves it, or the
+	//destination moves to another component
+	private Deque<Point> route;
+	private LevelComponent routeComponent;
+	private Point routeLocation;
+
+	@Override
+	public void getLevelStart(Level startLevel) {
+		super.getLevelStart(startLevel);
+		this.route = null;
+		this.routeComponent = null;
+		this.routeLocation = null;
+	}
+
+	/**
+	 * Builds the room graph of the level, which the Ghost uses to find its way
+	 */
+	@Override
+	public void prepareLevel(Level level) {
+		level.getRoomGraph();
+	}
+
+	/**
+	 * A Ghost decides its move from the distance field, the room graph, and its
+	 * own route, which no other adversary's move changes
+	 */
+	@Override
+	public boolean decidesLocally() {
+		return true;
+	}
+
 	/**
 	 * Checks if there is a player within a 6 step radius of the Ghost
 	 * If players exist within that radius, take 1 step towards the closet player
@@ -34,7 +71,7 @@ public class LocalGhost extends AbstractLocalAdversary {
 			return stepTowardsBoundary(closestDoor);
 		} else {
 			//If there are players in the LevelComponent, take 1 step towards the closest player
-			return stepTowardsPoint(closestPlayer);
+			return stepTowardsPlayer(closestPlayer);
 		}
 	}
 		
@@ -69,10 +106,39 @@ public class LocalGhost extends AbstractLocalAdversary {
 	}
 
 	/**
-	 * Finds the closest door to the LocalGhost's current location
+	 * Steps towards the closest player by following the distance field if there
+	 * is one, or otherwise by following a route to the player through the rooms
+	 * of the level
+	 * @param playerLocation - the location of the closest player
+	 * @return the best move towards the player
+	 */
+	@Override
+	protected Point stepTowardsPlayer(Point playerLocation) {
+		if (this.playerDistances != null) {
+			return super.stepTowardsPlayer(playerLocation);
+		}
+		return followRoute(playerLocation);
+	}
+
+	/**
+	 * Finds the closest door to the LocalGhost's current location, counting the
+	 * steps around any walls in the way
 	 * @return the location of the closest door 
 	 */
 	private Point findClosestDoor() {
+		Point closestDoor = this.level.getRoomGraph().findClosestDoor(this.currentLocation);
+		if (closestDoor != null) {
+			return closestDoor;
+		}
+		return findClosestDoorByDistance();
+	}
+
+	/**
+	 * Finds the door closest in a straight line to the LocalGhost's current location,
+	 * for when no door can be walked to
+	 * @return the location of the closest door 
+	 */
+	private Point findClosestDoorByDistance() {
 		LevelComponent component = this.level.findComponent(this.currentLocation);
 
 		Set<Point> doors = component.getDoors().keySet();
@@ -112,8 +178,46 @@ public class LocalGhost extends AbstractLocalAdversary {
 			}
 			throw new IllegalStateException("No Wall next to door");
 		} else {
-			return stepTowardsPoint(closestDoor);
+			return followRoute(closestDoor);
+		}
+	}
+
+	/**
+	 * Takes one step along the shortest route to a destination. The route is
+	 * found with the room graph of the level, and kept for the next turn, so
+	 * a Ghost chasing a player around a room does not search again each turn
+	 * @param destination - the location to move towards
+	 * @return the next step on the route, or the best move towards the
+	 * destination in a straight line if there is no route or its next step
+	 * is not a valid move
+	 */
+	private Point followRoute(Point destination) {
+		RoomGraph roomGraph = this.level.getRoomGraph();
+		LevelComponent destinationComponent = this.level.findComponent(destination);
+		if (this.route == null || !this.currentLocation.equals(this.routeLocation)
+				|| destinationComponent != this.routeComponent) {
+			List<Point> doors = roomGraph.findRoute(this.currentLocation, destination);
+			if (doors == null) {
+				this.route = null;
+				return stepTowardsPoint(destination);
+			}
+			this.route = new ArrayDeque<>(doors);
+			this.routeComponent = destinationComponent;
+		}
+
+		//Doors that the Ghost has reached are behind it
+		while (!this.route.isEmpty() && this.route.peekFirst().equals(this.currentLocation)) {
+			this.route.removeFirst();
+		}
+		Point waypoint = this.route.isEmpty() ? destination : this.route.peekFirst();
+		for (Point step : roomGraph.getStepsTowards(this.currentLocation, waypoint)) {
+			if (checkValidMove(step)) {
+				this.routeLocation = step;
+				return step;
+			}
 		}
+		this.route = null;
+		return stepTowardsPoint(destination);
 	}
 	
 	/**
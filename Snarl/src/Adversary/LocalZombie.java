@@ -30,9 +30,17 @@ public class LocalZombie extends AbstractLocalAdversary {
 			return arbitraryMove();
 		} else {
 			//If there are players in the LevelComponent, take 1 step towards the closest player
-			return stepTowardsPoint(closestPlayer);
+			return stepTowardsPlayer(closestPlayer);
 		}
 	}
+
+	/**
+	 * A Zombie decides its move from the players in its own room and the cells it can move to
+	 */
+	@Override
+	public boolean decidesLocally() {
+		return true;
+	}
 	
 	/**
 	 * Finds the closest player to the LocalZombie's current location
@@ -93,7 +101,13 @@ public class LocalZombie extends AbstractLocalAdversary {
 	protected Boolean checkValidMove(Point move) {
 		LevelComponent zombieComponent = this.level.findComponent(this.currentLocation);
 		Set<Point> doors = zombieComponent.getDoors().keySet();
-		LevelComponent moveComponent = this.level.findComponent(move);
+		LevelComponent moveComponent;
+		try {
+			moveComponent = this.level.findComponent(move);
+		} catch (IllegalArgumentException e) {
+			//If the move is not in any component it will never be valid
+			return false;
+		}
 
 		return this.level.checkValidMove(adversaryAvatar, move)
 		&& !doors.contains(move)
@@ -0,0 +1,318 @@
+package Adversary;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import Common.AdversaryClient;
+import Game.model.Adversary;
+import Game.model.DistanceField;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.SimulationLayout;
+import Game.model.SimulationState;
+
+/**
+ * The MonteCarloAdversary represents an automated adversary that chooses its
+ * moves by Monte Carlo tree search over simulations of the level, for as long
+ * as its time budget for each turn allows.
+ *
+ * Each turn, every search thread runs playouts on its own fork of the level's
+ * SimulationState, and the move tried by the most playouts across the threads
+ * is taken. Each thread keeps its search tree between turns, so the playouts
+ * of earlier turns that reached the current state still count. The trees are
+ * cleared when a new level starts.
+ *
+ * A Zombie only searches the moves that keep it in its room and off its
+ * doors, which is the rule a LocalZombie follows.
+ *
+ * If the searches did not try any move in time, the adversary takes the move
+ * a LocalZombie or LocalGhost would take, depending on its avatar.
+ */
+public class MonteCarloAdversary implements AdversaryClient {
+
+	//The largest number of nodes each search thread keeps
+	private static final int treeCapacity = 1 << 16;
+
+	//The number of rounds each playout looks ahead
+	private static final int playoutRounds = 6;
+
+	//How long past the deadline to wait for a search thread before giving up on it
+	private static final long graceNanos = TimeUnit.MILLISECONDS.toNanos(20);
+
+	//The time each turn may take to search, in milliseconds
+	private final long turnBudgetMillis;
+
+	//The number of threads that search each turn
+	private final int numThreads;
+
+	private final Random random;
+
+	//The adversaries that choose the move when the search does not
+	private final LocalZombie zombieFallback;
+	private final LocalGhost ghostFallback;
+
+	//The search of each thread, the first of which runs on the thread taking the turn
+	private final MonteCarloSearch[] searches;
+
+	//The threads that run the other searches, started when they are first needed
+	private ExecutorService executor;
+
+	//The current level and the avatar of this adversary
+	private Level level;
+	private Adversary adversaryAvatar;
+
+	//The number of playouts run during the last turn, and whether it took the fallback move
+	private long lastPlayoutCount;
+	private boolean lastTurnFellBack;
+
+	/**
+	 * Initializes an adversary that searches on every available processor
+	 * @param turnBudgetMillis - the time each turn may take to search, in milliseconds
+	 */
+	public MonteCarloAdversary(long turnBudgetMillis) {
+		this(turnBudgetMillis, Runtime.getRuntime().availableProcessors(), new Random().nextLong());
+	}
+
+	/**
+	 * Initializes an adversary
+	 * @param turnBudgetMillis - the time each turn may take to search, in milliseconds.
+	 * The adversary takes the fallback move without searching if it is not positive
+	 * @param numThreads - the number of threads that search each turn
+	 * @param seed - the seed for the random choices of the searches
+	 * @throws IllegalArgumentException if the number of threads is not positive
+	 */
+	public MonteCarloAdversary(long turnBudgetMillis, int numThreads, long seed) {
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("There must be at least one search thread");
+		}
+		this.turnBudgetMillis = turnBudgetMillis;
+		this.numThreads = numThreads;
+		this.random = new Random(seed);
+		this.zombieFallback = new LocalZombie();
+		this.ghostFallback = new LocalGhost();
+		this.searches = new MonteCarloSearch[numThreads];
+		resetSearches();
+	}
+
+	@Override
+	public void getLevelStart(Level startLevel) {
+		this.level = startLevel;
+		this.zombieFallback.getLevelStart(startLevel);
+		this.ghostFallback.getLevelStart(startLevel);
+		//States of the last level cannot be reached again
+		resetSearches();
+	}
+
+	@Override
+	public void prepareLevel(Level level) {
+		this.zombieFallback.prepareLevel(level);
+		this.ghostFallback.prepareLevel(level);
+	}
+
+	@Override
+	public void updateActorLocations(Map<Player, Point> playerLocations,
+			Map<Adversary, Point> adversaryLocations, Adversary adversaryAvatar) {
+		this.adversaryAvatar = adversaryAvatar;
+		this.zombieFallback.updateActorLocations(playerLocations, adversaryLocations, adversaryAvatar);
+		this.ghostFallback.updateActorLocations(playerLocations, adversaryLocations, adversaryAvatar);
+	}
+
+	@Override
+	public void updatePlayerDistances(DistanceField playerDistances) {
+		this.zombieFallback.updatePlayerDistances(playerDistances);
+		this.ghostFallback.updatePlayerDistances(playerDistances);
+	}
+
+	/**
+	 * Searches for the best move until the time budget runs out, and takes
+	 * the move most tried by the searches. Takes the fallback move if the
+	 * searches did not try a valid move
+	 */
+	@Override
+	public Point takeTurn() {
+		this.lastPlayoutCount = 0;
+		this.lastTurnFellBack = true;
+		if (this.turnBudgetMillis <= 0) {
+			return fallbackMove();
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.turnBudgetMillis);
+
+		SimulationState root = this.level.createSimulation(this.random.nextLong());
+		int avatar = root.getActorNumber(this.adversaryAvatar);
+		if (avatar < 0 || !root.isActive(avatar)) {
+			return fallbackMove();
+		}
+
+		long[] playoutsBefore = new long[this.numThreads];
+		for (int i = 0; i < this.numThreads; i++) {
+			playoutsBefore[i] = this.searches[i].getPlayoutCount();
+		}
+		List<Future<MonteCarloNode>> futures = startSearches(root, avatar, deadline);
+		List<MonteCarloNode> rootNodes = new ArrayList<>();
+		rootNodes.add(this.searches[0].search(root.fork(), avatar, deadline));
+		this.lastPlayoutCount += this.searches[0].getPlayoutCount() - playoutsBefore[0];
+		for (int i = 1; i < this.numThreads; i++) {
+			MonteCarloNode rootNode = awaitSearch(futures.get(i - 1), i, deadline);
+			if (rootNode != null) {
+				rootNodes.add(rootNode);
+				this.lastPlayoutCount += this.searches[i].getPlayoutCount() - playoutsBefore[i];
+			}
+		}
+
+		//The moves of the root nodes already keep a Zombie in its room and off its doors
+		Point move = chooseMove(rootNodes, root.getLayout());
+		if (move == null || !this.level.checkValidMove(this.adversaryAvatar, move)) {
+			return fallbackMove();
+		}
+		this.lastTurnFellBack = false;
+		return move;
+	}
+
+	/**
+	 * Gets the number of playouts run by every thread during the last turn
+	 * @return the number of playouts
+	 */
+	public long getLastPlayoutCount() {
+		return this.lastPlayoutCount;
+	}
+
+	/**
+	 * Checks if the last turn took the fallback move instead of a searched move
+	 * @return true if the last move was the fallback move
+	 */
+	public boolean getLastTurnFellBack() {
+		return this.lastTurnFellBack;
+	}
+
+	/**
+	 * Stops the search threads. The adversary starts them again if it takes another turn
+	 */
+	public void shutdown() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Starts the searches of every thread but the one taking the turn
+	 * @param root - the state at the adversary's turn, which each search forks
+	 * @param avatar - the number of the adversary in the state
+	 * @param deadline - the System.nanoTime at which the searches stop
+	 * @return the results of the searches, in the order of the searches
+	 */
+	private List<Future<MonteCarloNode>> startSearches(SimulationState root, final int avatar, final long deadline) {
+		List<Future<MonteCarloNode>> futures = new ArrayList<>();
+		if (this.numThreads == 1) {
+			return futures;
+		}
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(this.numThreads - 1, new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					//The threads must not keep the program running once the game is over
+					Thread thread = new Thread(runnable, "snarl-search");
+					thread.setDaemon(true);
+					return thread;
+				}});
+		}
+		for (int i = 1; i < this.numThreads; i++) {
+			final MonteCarloSearch search = this.searches[i];
+			final SimulationState state = root.fork();
+			futures.add(this.executor.submit(new Callable<MonteCarloNode>() {
+				public MonteCarloNode call() {
+					return search.search(state, avatar, deadline);
+				}}));
+		}
+		return futures;
+	}
+
+	/**
+	 * Waits for the search of a thread to finish. A search that is not done
+	 * shortly after the deadline is cancelled and replaced, since its thread
+	 * may still be changing its tree
+	 * @param future - the result of the search
+	 * @param index - the index of the search
+	 * @param deadline - the System.nanoTime at which the search should have stopped
+	 * @return the root node found by the search, or null if it did not finish
+	 * @throws IllegalStateException if the thread taking the turn is interrupted
+	 */
+	private MonteCarloNode awaitSearch(Future<MonteCarloNode> future, int index, long deadline) {
+		try {
+			long remaining = Math.max(0, deadline - System.nanoTime()) + graceNanos;
+			return future.get(remaining, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			this.searches[index] = new MonteCarloSearch(treeCapacity, playoutRounds, this.random.nextLong());
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while searching for a move", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Failed to search for a move", e.getCause());
+		}
+	}
+
+	/**
+	 * Chooses the move tried by the most playouts across the root nodes of the searches
+	 * @param rootNodes - the root nodes
+	 * @param layout - the layout the cells of the moves are in
+	 * @return the move, or null if no playout tried a move
+	 */
+	private static Point chooseMove(List<MonteCarloNode> rootNodes, SimulationLayout layout) {
+		Map<Integer, Integer> visits = new HashMap<>();
+		int bestCell = -1;
+		int bestVisits = 0;
+		for (MonteCarloNode rootNode : rootNodes) {
+			for (int move = 0; move < rootNode.getMoveCount(); move++) {
+				Integer cell = rootNode.getMove(move);
+				Integer previous = visits.get(cell);
+				int total = (previous == null ? 0 : previous) + rootNode.getVisits(move);
+				visits.put(cell, total);
+				if (total > bestVisits) {
+					bestCell = cell;
+					bestVisits = total;
+				}
+			}
+		}
+		if (bestCell < 0) {
+			return null;
+		}
+		return new Point(layout.getX(bestCell), layout.getY(bestCell));
+	}
+
+	/**
+	 * Finds the move the local adversary of the avatar's type would take
+	 * @return the move
+	 */
+	private Point fallbackMove() {
+		if (this.adversaryAvatar instanceof Ghost) {
+			return this.ghostFallback.takeTurn();
+		}
+		return this.zombieFallback.takeTurn();
+	}
+
+	/**
+	 * Replaces the search of every thread with one that has an empty tree
+	 */
+	private void resetSearches() {
+		for (int i = 0; i < this.numThreads; i++) {
+			this.searches[i] = new MonteCarloSearch(treeCapacity, playoutRounds, this.random.nextLong());
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package Adversary;
+
+import java.util.Random;
+
+/**
+ * A node of a Monte Carlo search tree: a state of the level at the turn of
+ * the searching adversary, with the number of playouts that tried each of
+ * the adversary's moves from the state and the total reward they earned.
+ * Moves are kept as cells of the level's SimulationLayout
+ */
+public class MonteCarloNode {
+
+	//The cells the adversary can move to from the state
+	private final int[] moves;
+
+	//The number of playouts and the total reward of each move
+	private final int[] visits;
+	private final double[] rewards;
+
+	//The number of playouts through the node
+	private int totalVisits;
+
+	/**
+	 * Initializes a node that no playout has gone through
+	 * @param moves - the cells the adversary can move to from the state
+	 */
+	public MonteCarloNode(int[] moves) {
+		this.moves = moves;
+		this.visits = new int[moves.length];
+		this.rewards = new double[moves.length];
+		this.totalVisits = 0;
+	}
+
+	/**
+	 * Chooses the move to try next. A move that has not been tried is chosen
+	 * first, and after that the move with the best upper confidence bound
+	 * @param random - breaks ties between moves that have not been tried
+	 * @param exploration - how much moves that have been tried less are favoured
+	 * @return the index of the move
+	 */
+	public int select(Random random, double exploration) {
+		int untried = 0;
+		int chosen = -1;
+		for (int move = 0; move < this.moves.length; move++) {
+			if (this.visits[move] == 0 && random.nextInt(++untried) == 0) {
+				chosen = move;
+			}
+		}
+		if (chosen >= 0) {
+			return chosen;
+		}
+
+		double logVisits = Math.log(this.totalVisits);
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (int move = 0; move < this.moves.length; move++) {
+			double bound = this.rewards[move] / this.visits[move]
+					+ exploration * Math.sqrt(logVisits / this.visits[move]);
+			if (bound > bestBound) {
+				bestBound = bound;
+				chosen = move;
+			}
+		}
+		return chosen;
+	}
+
+	/**
+	 * Records the reward of a playout that tried a move
+	 * @param move - the index of the move
+	 * @param reward - the reward of the playout, between 0 and 1
+	 */
+	public void update(int move, double reward) {
+		this.visits[move]++;
+		this.rewards[move] += reward;
+		this.totalVisits++;
+	}
+
+	/**
+	 * Gets the number of moves
+	 * @return the number of moves
+	 */
+	public int getMoveCount() {
+		return this.moves.length;
+	}
+
+	/**
+	 * Gets the cell of a move
+	 * @param move - the index of the move
+	 * @return the cell the move goes to
+	 */
+	public int getMove(int move) {
+		return this.moves[move];
+	}
+
+	/**
+	 * Gets the number of playouts that tried a move
+	 * @param move - the index of the move
+	 * @return the number of playouts
+	 */
+	public int getVisits(int move) {
+		return this.visits[move];
+	}
+
+	/**
+	 * Gets the total reward of the playouts that tried a move
+	 * @param move - the index of the move
+	 * @return the total reward
+	 */
+	public double getReward(int move) {
+		return this.rewards[move];
+	}
+
+	/**
+	 * Gets the number of playouts through the node
+	 * @return the number of playouts
+	 */
+	public int getTotalVisits() {
+		return this.totalVisits;
+	}
+}
@@ -0,0 +1,482 @@
+package Adversary;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import Game.model.DistanceField;
+import Game.model.GameState;
+import Game.model.SimulationLayout;
+import Game.model.SimulationState;
+import Game.model.TranspositionTable;
+import Game.model.Zombie;
+import Game.modelView.EntityType;
+
+/**
+ * A Monte Carlo tree search for the moves of one adversary, run by one thread
+ * on its own fork of the level's SimulationState.
+ *
+ * The tree holds a node for each state of the level at the adversary's turn,
+ * kept in a TranspositionTable by the Zobrist hash of the state and the
+ * health of its players, so a state reached by different lines of play
+ * shares one node, and the nodes found by one search are found again by the
+ * next if the game reaches their states. The table holds a fixed number of
+ * nodes, and a node is dropped when a newer node takes its slot.
+ *
+ * Each playout chooses the adversary's moves through the tree, adding one new
+ * node, and then plays on with a simple policy until the number of rounds is
+ * reached or the level is over. Between the adversary's moves, every other
+ * actor moves in turn order with a simple policy: adversaries step onto a
+ * player next to them, or else towards the nearest player, and players step
+ * away from the nearest adversary, with some random moves mixed in. A Zombie,
+ * in the tree and in the playouts, only makes the moves that keep it in its
+ * component and off the component's doors, which is the rule a LocalZombie
+ * follows. Distances to the players are the number of steps around walls to
+ * where the players are at that point of the playout. They are read from a
+ * DistanceField of each cell a player stands on, which is kept for later
+ * playouts. The moves are then undone, so the state is ready for the next
+ * playout.
+ *
+ * A playout is rewarded by how the players fared: 1 if every player was
+ * ejected, 0 if the players won, and otherwise by the health the players
+ * lost and how much closer the adversary got to the nearest player, halved
+ * if a player exited
+ */
+public class MonteCarloSearch {
+
+	//How much moves that have been tried less are favoured when choosing moves in the tree
+	private static final double exploration = 0.7;
+
+	//The chance that an adversary or a player makes a random move instead of following the policy
+	private static final double adversaryRandomness = 0.1;
+	private static final double playerRandomness = 0.25;
+
+	//The share of the reward given for the health lost by players, the rest is given for getting closer
+	private static final double damageWeight = 0.7;
+
+	//The number of cells of all the distance fields kept at once
+	private static final int fieldCellCapacity = 1 << 22;
+
+	private static final int wallType = EntityType.WALL.ordinal();
+
+	//The nodes of the tree
+	private final TranspositionTable<MonteCarloNode> tree;
+
+	//The number of rounds each playout looks ahead
+	private final int rounds;
+
+	private final Random random;
+
+	//The nodes and moves chosen by the current playout
+	private final MonteCarloNode[] pathNodes;
+	private final int[] pathMoves;
+
+	//The actors that move between two moves of the adversary, in turn order
+	private int[] otherActors;
+
+	//The total health of the players that were active at the root of the search,
+	//and the distance from the adversary to the nearest of them
+	private int rootHealth;
+	private int rootDistance;
+
+	//The distances from each cell a player has stood on, the layout they are in,
+	//and the number of fields to keep before starting again
+	private final Map<Integer, DistanceField> cellDistances;
+	private SimulationLayout fieldLayout;
+	private int fieldCapacity;
+
+	//The number of playouts run by this search
+	private long playouts;
+
+	/**
+	 * Initializes a search with an empty tree
+	 * @param capacity - the largest number of nodes the tree keeps
+	 * @param rounds - the number of rounds each playout looks ahead
+	 * @param seed - the seed for the random choices of the playouts
+	 */
+	public MonteCarloSearch(int capacity, int rounds, long seed) {
+		this.tree = new TranspositionTable<>(capacity);
+		this.rounds = rounds;
+		this.random = new Random(seed);
+		this.pathNodes = new MonteCarloNode[rounds];
+		this.pathMoves = new int[rounds];
+		this.cellDistances = new HashMap<>();
+		this.playouts = 0;
+	}
+
+	/**
+	 * Runs playouts from a state until the deadline. The node of the state is
+	 * kept from earlier searches if the tree still holds it
+	 * @param root - the state at the adversary's turn, which is changed during
+	 * the search and left as it was
+	 * @param adversary - the number of the adversary in the state
+	 * @param deadline - the System.nanoTime at which to stop
+	 * @return the node of the state, with the playouts of every search that reached it
+	 * @throws IllegalArgumentException if the adversary is not in the level
+	 */
+	public MonteCarloNode search(SimulationState root, int adversary, long deadline) {
+		if (!root.isActive(adversary)) {
+			throw new IllegalArgumentException("Adversary does not exist in the level");
+		}
+		this.otherActors = findOtherActors(root, adversary);
+		if (this.fieldLayout != root.getLayout()) {
+			this.fieldLayout = root.getLayout();
+			this.fieldCapacity = Math.max(1, fieldCellCapacity / this.fieldLayout.getCellCount());
+			this.cellDistances.clear();
+		}
+		this.rootHealth = 0;
+		for (int player = 0; player < root.getPlayerCount(); player++) {
+			if (root.isActive(player)) {
+				this.rootHealth += root.getHealth(player);
+			}
+		}
+		this.rootDistance = findPlayerDistance(root, root.getCell(adversary));
+
+		long hash = root.getHealthHash();
+		MonteCarloNode rootNode = this.tree.get(hash);
+		if (rootNode == null) {
+			rootNode = createNode(root, adversary);
+			this.tree.put(hash, rootNode);
+		}
+		while (System.nanoTime() < deadline && rootNode.getMoveCount() > 0) {
+			playout(root, adversary, rootNode);
+		}
+		//The root may have lost its slot to a node found during the search
+		this.tree.put(hash, rootNode);
+		return rootNode;
+	}
+
+	/**
+	 * Gets the number of playouts this search has run
+	 * @return the number of playouts
+	 */
+	public long getPlayoutCount() {
+		return this.playouts;
+	}
+
+	/**
+	 * Gets the number of nodes in the tree
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return this.tree.size();
+	}
+
+	/**
+	 * Runs one playout from the root and records its reward in the tree
+	 * @param state - the state at the root, which is restored afterwards
+	 * @param adversary - the number of the adversary
+	 * @param rootNode - the node of the root
+	 */
+	private void playout(SimulationState state, int adversary, MonteCarloNode rootNode) {
+		int depth = 0;
+		MonteCarloNode node = rootNode;
+		boolean expanded = false;
+		for (int round = 0; round < this.rounds; round++) {
+			if (!state.isActive(adversary) || !state.isLevelOver().equals(GameState.ACTIVE)) {
+				break;
+			}
+
+			//Follow the tree while it has the state, adding one node per playout
+			if (node == null && !expanded) {
+				long hash = state.getHealthHash();
+				node = this.tree.get(hash);
+				if (node == null) {
+					node = createNode(state, adversary);
+					this.tree.put(hash, node);
+					expanded = true;
+				}
+			}
+			int destination;
+			if (node != null && node.getMoveCount() > 0) {
+				int move = node.select(this.random, exploration);
+				this.pathNodes[depth] = node;
+				this.pathMoves[depth] = move;
+				depth++;
+				destination = node.getMove(move);
+			} else {
+				destination = chooseAdversaryMove(state, adversary);
+			}
+			node = null;
+
+			tryMove(state, adversary, destination);
+			for (int actor : this.otherActors) {
+				if (!state.isLevelOver().equals(GameState.ACTIVE)) {
+					break;
+				}
+				if (state.isActive(actor)) {
+					int move = actor < state.getPlayerCount() ? choosePlayerMove(state, actor)
+							: chooseAdversaryMove(state, actor);
+					tryMove(state, actor, move);
+				}
+			}
+		}
+
+		double reward = evaluate(state, adversary);
+		for (int i = 0; i < depth; i++) {
+			this.pathNodes[i].update(this.pathMoves[i], reward);
+			this.pathNodes[i] = null;
+		}
+		while (state.getMoveCount() > 0) {
+			state.undo();
+		}
+		this.playouts++;
+	}
+
+	/**
+	 * Creates the node of a state, with every move the adversary may make
+	 * @param state - the state at the adversary's turn
+	 * @param adversary - the number of the adversary
+	 * @return the node
+	 */
+	private static MonteCarloNode createNode(SimulationState state, int adversary) {
+		SimulationLayout layout = state.getLayout();
+		List<Point> validMoves = findAdversaryMoves(state, adversary);
+		int[] moves = new int[validMoves.size()];
+		for (int i = 0; i < moves.length; i++) {
+			Point move = validMoves.get(i);
+			moves[i] = layout.getCell(move.x, move.y);
+		}
+		return new MonteCarloNode(moves);
+	}
+
+	/**
+	 * Finds the valid moves of an adversary that its policy allows. A Zombie
+	 * stays in the component it is in and never steps onto the component's
+	 * doors, although the level would let it
+	 * @param state - the state
+	 * @param adversary - the number of the adversary
+	 * @return the destinations of the moves
+	 */
+	static List<Point> findAdversaryMoves(SimulationState state, int adversary) {
+		List<Point> validMoves = state.getValidMoves(adversary);
+		if (!(state.getActor(adversary) instanceof Zombie)) {
+			return validMoves;
+		}
+		SimulationLayout layout = state.getLayout();
+		int component = layout.getComponent(state.getCell(adversary));
+		List<Point> moves = new ArrayList<>();
+		for (Point move : validMoves) {
+			int cell = layout.getCell(move.x, move.y);
+			if (cell >= 0 && layout.getComponent(cell) == component && !layout.isDoor(cell)) {
+				moves.add(move);
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Makes a move if the state allows it. An actor whose move is not allowed stays where it is
+	 * @param state - the state
+	 * @param actor - the number of the actor
+	 * @param destination - the cell to move to, or -1 to stay
+	 */
+	private static void tryMove(SimulationState state, int actor, int destination) {
+		if (destination < 0) {
+			return;
+		}
+		SimulationLayout layout = state.getLayout();
+		try {
+			state.apply(actor, layout.getX(destination), layout.getY(destination));
+		} catch (IllegalArgumentException e) {
+			//The move could not be made, so the state is unchanged
+		}
+	}
+
+	/**
+	 * Chooses the move of an adversary in a playout: the move that is the
+	 * fewest steps around walls from the nearest player, which is a move onto a
+	 * player if there is one, or sometimes a random move
+	 * @param state - the state
+	 * @param adversary - the number of the adversary
+	 * @return the cell to move to, or -1 if there is no valid move
+	 */
+	private int chooseAdversaryMove(SimulationState state, int adversary) {
+		List<Point> validMoves = findAdversaryMoves(state, adversary);
+		if (validMoves.isEmpty()) {
+			return -1;
+		}
+		SimulationLayout layout = state.getLayout();
+		if (this.random.nextDouble() < adversaryRandomness) {
+			Point move = validMoves.get(this.random.nextInt(validMoves.size()));
+			return layout.getCell(move.x, move.y);
+		}
+		int best = -1;
+		int bestDistance = Integer.MAX_VALUE;
+		int ties = 0;
+		for (Point move : validMoves) {
+			int cell = layout.getCell(move.x, move.y);
+			if (layout.getTerrain(cell) == wallType) {
+				continue;
+			}
+			int distance = findPlayerDistance(state, cell);
+			if (distance < bestDistance) {
+				best = cell;
+				bestDistance = distance;
+				ties = 1;
+			} else if (distance == bestDistance && this.random.nextInt(++ties) == 0) {
+				best = cell;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Chooses the move of a player in a playout: the valid move furthest from
+	 * the nearest adversary, or sometimes a random valid move
+	 * @param state - the state
+	 * @param player - the number of the player
+	 * @return the cell to move to, or -1 if there is no valid move
+	 */
+	private int choosePlayerMove(SimulationState state, int player) {
+		List<Point> validMoves = state.getValidMoves(player);
+		if (validMoves.isEmpty()) {
+			return -1;
+		}
+		SimulationLayout layout = state.getLayout();
+		if (this.random.nextDouble() < playerRandomness) {
+			Point move = validMoves.get(this.random.nextInt(validMoves.size()));
+			return layout.getCell(move.x, move.y);
+		}
+		int best = -1;
+		int bestDistance = -1;
+		int ties = 0;
+		for (Point move : validMoves) {
+			int distance = findNearestDistance(state, move, state.getPlayerCount(), state.getActorCount());
+			if (distance > bestDistance) {
+				best = layout.getCell(move.x, move.y);
+				bestDistance = distance;
+				ties = 1;
+			} else if (distance == bestDistance && this.random.nextInt(++ties) == 0) {
+				best = layout.getCell(move.x, move.y);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Finds the distance from a location to the nearest active actor in a range
+	 * of actor numbers, ignoring walls
+	 * @param state - the state
+	 * @param location - the location
+	 * @param firstActor - the first actor of the range
+	 * @param endActor - the actor after the last actor of the range
+	 * @return the smallest number of steps ignoring walls, or Integer.MAX_VALUE if no actor is active
+	 */
+	private static int findNearestDistance(SimulationState state, Point location, int firstActor, int endActor) {
+		SimulationLayout layout = state.getLayout();
+		int nearest = Integer.MAX_VALUE;
+		for (int actor = firstActor; actor < endActor; actor++) {
+			int cell = state.getCell(actor);
+			if (cell >= 0) {
+				int distance = Math.abs(layout.getX(cell) - location.x) + Math.abs(layout.getY(cell) - location.y);
+				nearest = Math.min(nearest, distance);
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Finds the number of steps around walls from a cell to the nearest active player
+	 * @param state - the state
+	 * @param cell - the cell
+	 * @return the number of steps, or Integer.MAX_VALUE if no player can be reached
+	 */
+	private int findPlayerDistance(SimulationState state, int cell) {
+		int nearest = Integer.MAX_VALUE;
+		for (int player = 0; player < state.getPlayerCount(); player++) {
+			int playerCell = state.getCell(player);
+			if (playerCell >= 0) {
+				int distance = getCellDistances(playerCell).getDistance(this.fieldLayout.getX(cell),
+						this.fieldLayout.getY(cell));
+				if (distance != DistanceField.unreachable) {
+					nearest = Math.min(nearest, distance);
+				}
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Gets the distances from a cell, computing them if they are not kept.
+	 * Every field is dropped once the capacity is reached, since the cells the
+	 * players stand on change as the game goes on
+	 * @param cell - the cell
+	 * @return the distances of every cell from the cell
+	 */
+	private DistanceField getCellDistances(int cell) {
+		DistanceField field = this.cellDistances.get(cell);
+		if (field == null) {
+			if (this.cellDistances.size() >= this.fieldCapacity) {
+				this.cellDistances.clear();
+			}
+			field = new DistanceField(this.fieldLayout);
+			field.compute(Collections.singletonList(new Point(this.fieldLayout.getX(cell), this.fieldLayout.getY(cell))));
+			this.cellDistances.put(cell, field);
+		}
+		return field;
+	}
+
+	/**
+	 * Scores the end of a playout for the adversary
+	 * @param state - the state at the end of the playout
+	 * @param adversary - the number of the adversary
+	 * @return the reward, between 0 and 1
+	 */
+	private double evaluate(SimulationState state, int adversary) {
+		GameState gameState = state.isLevelOver();
+		if (gameState.equals(GameState.LOST)) {
+			return 1;
+		} else if (gameState.equals(GameState.WON)) {
+			return 0;
+		}
+
+		int health = 0;
+		for (int player = 0; player < state.getPlayerCount(); player++) {
+			if (state.isActive(player)) {
+				health += state.getHealth(player);
+			}
+		}
+		double damage = this.rootHealth == 0 ? 0 : Math.max(0, this.rootHealth - health) / (double) this.rootHealth;
+		//Getting a step closer to the nearest player each round is rewarded fully,
+		//and staying as far away as at the root is rewarded by half
+		double closeness = 0;
+		if (state.isActive(adversary)) {
+			int distance = findPlayerDistance(state, state.getCell(adversary));
+			if (distance != Integer.MAX_VALUE) {
+				int progress = this.rootDistance == Integer.MAX_VALUE ? 0 : this.rootDistance - distance;
+				closeness = Math.max(0, Math.min(1, 0.5 + progress / (2.0 * this.rounds)));
+			}
+		}
+		double reward = damageWeight * damage + (1 - damageWeight) * closeness;
+		return state.getLevelExited() ? reward / 2 : reward;
+	}
+
+	/**
+	 * Finds the actors that move between two moves of the adversary: the
+	 * adversaries after it, then the players, then the adversaries before it
+	 * @param state - the state
+	 * @param adversary - the number of the adversary
+	 * @return the numbers of the actors, in turn order
+	 */
+	private static int[] findOtherActors(SimulationState state, int adversary) {
+		int numActors = state.getActorCount();
+		int numPlayers = state.getPlayerCount();
+		int[] others = new int[numActors - 1];
+		int next = 0;
+		for (int actor = adversary + 1; actor < numActors; actor++) {
+			others[next++] = actor;
+		}
+		for (int actor = 0; actor < numPlayers; actor++) {
+			others[next++] = actor;
+		}
+		for (int actor = numPlayers; actor < adversary; actor++) {
+			others[next++] = actor;
+		}
+		return others;
+	}
+}
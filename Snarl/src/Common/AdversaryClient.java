@@ -3,7 +3,9 @@ package Common;
 import java.awt.Point;
 import java.util.Map;
 
+import Game.model.ActorLocations;
 import Game.model.Adversary;
+import Game.model.DistanceField;
 import Game.model.Level;
 
 /**
@@ -40,4 +42,57 @@ public interface AdversaryClient {
 	 */
 	Point takeTurn();  
 
+	/**
+	 * Prepares for a level before it starts, by precomputing anything the
+	 * adversary needs that depends only on the layout of the level. This is
+	 * called on a background thread while the previous level is played, so it
+	 * must not change what the adversary uses to take its turns. The level is
+	 * given again through getLevelStart when it starts
+	 * @param level - the level that will be played next
+	 */
+	default void prepareLevel(Level level) {
+		//Adversaries have nothing to prepare unless they precompute moves
+	}
+
+	/**
+	 * Updates the adversary on the distance of every walkable location from
+	 * the nearest active player. The field is computed once before the
+	 * adversaries take their turns, and again whenever an adversary ejects a
+	 * player, and is shared by every adversary, so it must not be changed
+	 * @param playerDistances - the distances from the active players
+	 */
+	default void updatePlayerDistances(DistanceField playerDistances) {
+		//Adversaries that do not chase players by distance can ignore the field
+	}
+
+	/**
+	 * Starts the feed of actor locations for a level, once the actors have been
+	 * placed. The locations are kept current as actors move, and an adversary
+	 * that follows the changes one at a time can add itself as a listener of
+	 * the locations, and will be told of each move, teleport and removal as it
+	 * happens. The adversary must stop listening when the level ends.
+	 *
+	 * Before each of its turns, every adversary is still given the locations
+	 * through updateActorLocations, as read-only views of these locations
+	 * rather than copies, so adversaries that only read the locations then do
+	 * not need to follow the changes
+	 * @param actorLocations - the locations of the active actors of the level
+	 * @param adversaryAvatar - the adversary avatar that corresponds to this AdversaryClient
+	 */
+	default void startLocationFeed(ActorLocations actorLocations, Adversary adversaryAvatar) {
+		//Adversaries read the locations they are given before each turn by default
+	}
+
+	/**
+	 * Checks if the adversary decides its move only from the players, the
+	 * distance field, and the level around it as far as it can move, without
+	 * keeping state between turns that other adversaries' moves could change.
+	 * The moves of adversaries that decide locally can be decided together in
+	 * a batch, and an adversary that does not is always decided alone
+	 * @return true if the adversary decides its move locally
+	 */
+	default boolean decidesLocally() {
+		return false;
+	}
+
 }
@@ -0,0 +1,231 @@
+package Game.controller;
+
+import Common.AdversaryClient;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import Game.model.Adversary;
+import Game.model.CoordinateMap;
+import Game.model.DistanceField;
+import Game.model.InteractionResult;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Tile;
+
+/**
+ * Decides the moves of adversaries in batches, deciding every move of a
+ * batch at the same time on a ForkJoinPool from the same state of the level.
+ *
+ * Adversaries take their turns one after another, and a move can change what
+ * the adversaries after it see. A batch is a run of adversaries, in turn
+ * order, where no move can change what a later adversary of the run sees, so
+ * deciding them together gives every adversary the same move it would have
+ * decided after the moves before it were made:
+ * - no two adversaries of a batch are close enough to move onto or next to
+ *   the same cell, or onto a cell the other has left
+ * - only the last adversary of a batch may be able to reach further than the
+ *   cell it moves to, by teleporting, or by damaging or removing a player
+ *
+ * This relies on an adversary deciding its move from the players, the shared
+ * distance field, and the level around it as far as it can move, which an
+ * adversary client declares through AdversaryClient.decidesLocally, as the
+ * local zombies and ghosts do. An adversary whose client does not declare it
+ * is always decided in a batch of its own.
+ */
+public class AdversaryBatches {
+
+  //The pool that decides the moves of a batch
+  private final ForkJoinPool pool;
+
+  /**
+   * Initializes batches that are decided on the given pool
+   * @param pool - the pool that decides the moves of a batch
+   */
+  public AdversaryBatches(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Finds the end of the batch that starts at the given position of the turn
+   * order. Inactive adversaries do not take a turn, and are part of the batch
+   * they fall in. Every batch holds at least one active adversary, unless
+   * none of the remaining adversaries is active. A batch ends before an
+   * active adversary whose client does not decide its move locally, or after
+   * it if it is the first of the batch
+   * @param level - the level being played
+   * @param turnOrder - the adversaries, in the order they take their turns
+   * @param start - the position of the first adversary of the batch
+   * @param clients - the client of each adversary
+   * @param players - the location of each active player
+   * @param adversaries - the location of each active adversary
+   * @return the position after the last adversary of the batch
+   */
+  public static int findBatchEnd(Level level, List<Adversary> turnOrder, int start,
+      Map<Adversary, AdversaryClient> clients, Map<Player, Point> players, Map<Adversary, Point> adversaries) {
+    //The cells that adversaries of the batch can move to. Two adversaries can
+    //move onto or next to the same cell when the cells they can move to overlap
+    CoordinateMap claimedCells = new CoordinateMap();
+    boolean batchActive = false;
+    int end = start;
+    while (end < turnOrder.size()) {
+      Adversary adversary = turnOrder.get(end);
+      Point location = adversaries.get(adversary);
+      if (location == null) {
+        end++;
+        continue;
+      }
+      if (!clients.get(adversary).decidesLocally()) {
+        //The adversary may depend on the moves before it, or change what the
+        //adversaries after it see, so it is decided on its own
+        return batchActive ? end : end + 1;
+      }
+      List<Point> moves = adversary.getPotentialMoves(location);
+      for (Point move : moves) {
+        if (claimedCells.get(move.x, move.y) != -1) {
+          return end;
+        }
+      }
+      for (Point move : moves) {
+        claimedCells.putIfAbsent(move.x, move.y, end);
+      }
+      batchActive = true;
+      end++;
+      if (reachesFurther(level, adversary, location, moves)) {
+        return end;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Decides the move of every adversary of a batch. The batch is split into a
+   * run of adversaries for each thread of the pool, and a batch of one
+   * adversary, or a pool of one thread, is decided on the calling thread
+   * @param batch - the active adversaries of the batch, in turn order
+   * @param clients - the client of each adversary
+   * @param players - the location of each active player
+   * @param adversaries - the location of each active adversary
+   * @param playerDistances - the distance of every location from the nearest player
+   * @return the move of each adversary of the batch, in turn order
+   * @throws IllegalStateException if deciding a move is interrupted
+   */
+  public Map<Adversary, Point> decide(List<Adversary> batch, Map<Adversary, AdversaryClient> clients,
+      final Map<Player, Point> players, final Map<Adversary, Point> adversaries,
+      final DistanceField playerDistances) {
+    Map<Adversary, Point> moves = new LinkedHashMap<>();
+    //Each thread of the pool decides the moves of a run of the batch
+    int numSlices = Math.min(batch.size(), this.pool.getParallelism());
+    if (numSlices <= 1) {
+      for (Adversary adversary : batch) {
+        moves.put(adversary, decideMove(clients.get(adversary), adversary, players, adversaries, playerDistances));
+      }
+      return moves;
+    }
+
+    List<Callable<List<Point>>> slices = new ArrayList<>();
+    for (int slice = 0; slice < numSlices; slice++) {
+      final List<Adversary> sliceAdversaries = batch.subList(batch.size() * slice / numSlices,
+          batch.size() * (slice + 1) / numSlices);
+      final List<AdversaryClient> sliceClients = new ArrayList<>();
+      for (Adversary adversary : sliceAdversaries) {
+        sliceClients.add(clients.get(adversary));
+      }
+      slices.add(new Callable<List<Point>>() {
+        public List<Point> call() {
+          List<Point> sliceMoves = new ArrayList<>();
+          for (int i = 0; i < sliceAdversaries.size(); i++) {
+            sliceMoves.add(decideMove(sliceClients.get(i), sliceAdversaries.get(i), players, adversaries,
+                playerDistances));
+          }
+          return sliceMoves;
+        }});
+    }
+    int next = 0;
+    for (Future<List<Point>> slice : this.pool.invokeAll(slices)) {
+      for (Point move : getMoves(slice)) {
+        moves.put(batch.get(next++), move);
+      }
+    }
+    return moves;
+  }
+
+  /**
+   * Asks an adversary for its move
+   * @param client - the client of the adversary
+   * @param adversary - the adversary
+   * @param players - the location of each active player
+   * @param adversaries - the location of each active adversary
+   * @param playerDistances - the distance of every location from the nearest player
+   * @return the move of the adversary
+   */
+  private static Point decideMove(AdversaryClient client, Adversary adversary, Map<Player, Point> players,
+      Map<Adversary, Point> adversaries, DistanceField playerDistances) {
+    client.updateActorLocations(players, adversaries, adversary);
+    client.updatePlayerDistances(playerDistances);
+    return client.takeTurn();
+  }
+
+  /**
+   * Gets the moves of a run of a batch that were decided on the pool, throwing
+   * what an adversary threw
+   * @param decided - the decided moves
+   * @return the moves, in turn order
+   */
+  private static List<Point> getMoves(Future<List<Point>> decided) {
+    try {
+      return decided.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while adversaries decided their moves", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Adversary could not decide its move", e.getCause());
+    }
+  }
+
+  /**
+   * Checks if a move of an adversary could change the level further away than
+   * the cell it moves to, which it does when it teleports, or when it damages
+   * or removes a player
+   * @param level - the level being played
+   * @param adversary - the adversary
+   * @param location - the location of the adversary
+   * @param moves - the cells the adversary can move to
+   * @return true if any cell the adversary can move to has such an interaction
+   */
+  private static boolean reachesFurther(Level level, Adversary adversary, Point location, List<Point> moves) {
+    for (Point move : moves) {
+      if (move.equals(location)) {
+        continue;
+      }
+      Tile tile;
+      try {
+        tile = level.getTile(move);
+      } catch (IllegalArgumentException e) {
+        //A move that is not in any component is never made
+        continue;
+      }
+      InteractionResult interaction;
+      try {
+        interaction = adversary.getTileInteractionResult(tile);
+      } catch (IllegalArgumentException e) {
+        //The adversary cannot move onto the tile
+        continue;
+      }
+      if (interaction.equals(InteractionResult.TELEPORT) || interaction.equals(InteractionResult.DAMAGE_PLAYER)
+          || interaction.equals(InteractionResult.REMOVE_PLAYER)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,7 +2,6 @@ package Game.controller;
 
 import Common.AdversaryClient;
 import Game.model.InteractionResult;
-import Game.model.LevelComponent;
 import Game.model.Tile;
 import Game.modelView.DungeonModelView;
 import Game.view.TextualDungeonView;
@@ -15,15 +14,24 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import Adversary.LocalGhost;
 import Adversary.LocalZombie;
 import Common.Observer;
+import Game.model.ActorLocations;
 import Game.model.Adversary;
+import Game.model.DistanceField;
 import Game.model.Dungeon;
+import Game.model.DungeonSnapshot;
 import Game.model.GameState;
 import Game.model.Ghost;
 import Game.model.Level;
@@ -49,6 +57,30 @@ public class GameManager {
   //All observers in the game to notify when the game state changes
   private List<Observer> observers;
 
+  //True if observers are updated on their own thread instead of the game thread,
+  //and the thread that updates them, which is started on the first update
+  private boolean asyncObservers;
+  private ExecutorService observerExecutor;
+
+  //Prepares each level before it is played. True if the next level is prepared
+  //in the background while the current level is played, and true if each level
+  //is validated before it is played
+  private LevelPipeline levelPipeline;
+  private boolean prefetchLevels;
+  private boolean validateLevels;
+
+  //The distance of every location in the level being played from the nearest
+  //active player, computed once each turn and again when a player is ejected,
+  //and shared by every adversary
+  private DistanceField playerDistances;
+
+  //The locations of the actors in the level being played, kept current as they move
+  private ActorLocations actorLocations;
+
+  //Decides the moves of adversaries that cannot affect each other together,
+  //or null if every adversary decides its move after the one before it moved
+  private AdversaryBatches adversaryBatches;
+
   private String levelKeyFinder;
   private List<String> levelExitedPlayers;
   private List<String> levelEjectedPlayers;
@@ -58,6 +90,14 @@ public class GameManager {
     this.playerClients = new LinkedHashMap<>();
     this.adversaryClients = new LinkedHashMap<>();
     this.observers = new ArrayList<>();
+    this.asyncObservers = false;
+    this.observerExecutor = null;
+    this.levelPipeline = null;
+    this.prefetchLevels = true;
+    this.validateLevels = false;
+    this.playerDistances = null;
+    this.actorLocations = null;
+    this.adversaryBatches = null;
   }
   
   /**
@@ -89,7 +129,20 @@ public class GameManager {
       LocalZombie adversaryClient = new LocalZombie();
       this.adversaryClients.put(adversary, adversaryClient);
   }
-  
+
+  /**
+   * Registers an adversary with the GameManager, with the client that will
+   * choose its moves, such as a MonteCarloAdversary
+   * @param adversary - the adversary
+   * @param adversaryClient - the client associated with this adversary
+   */
+  public void registerAdversary(Adversary adversary, AdversaryClient adversaryClient) {
+	  if (!checkUniqueName(adversary.getName())) {
+		  throw new IllegalArgumentException("A unique name must be provided");
+	  }
+      this.adversaryClients.put(adversary, adversaryClient);
+  }
+
   /**
    * Registers a specified number of Zombies and Ghosts with the GameManager.
    * Creates a LocalZombie and LocalGhost for each corresponding Zombie and
@@ -145,8 +198,9 @@ public class GameManager {
     List<Adversary> adversaries = new ArrayList<>(this.adversaryClients.keySet());
     this.dungeon = new Dungeon(players, 1, levels);
     this.ruleChecker = this.dungeon;
+    this.levelPipeline = new LevelPipeline(this.dungeon, this.adversaryClients.values(), this.validateLevels);
 
-    sendAdversariesLevel(this.dungeon.getCurrentLevel());
+    sendAdversariesLevel(this.levelPipeline.take(1));
     this.dungeon.startCurrentLevel(adversaries);
     sendLevelStart();
     notifyAllObservers(null);
@@ -169,8 +223,9 @@ public class GameManager {
     
     this.dungeon = new Dungeon(players, startLevel, levels);
     this.ruleChecker = this.dungeon;
+    this.levelPipeline = new LevelPipeline(this.dungeon, this.adversaryClients.values(), this.validateLevels);
 
-    sendAdversariesLevel(this.dungeon.getCurrentLevel());
+    sendAdversariesLevel(this.levelPipeline.take(startLevel));
     List<Adversary> adversaries = getLevelAdversaries(startLevel);
     this.dungeon.startCurrentLevelRandom(adversaries);
     sendLevelStart();
@@ -216,30 +271,83 @@ public class GameManager {
     List<Player> players = new ArrayList<>(this.playerClients.keySet());
     this.dungeon = new Dungeon(players, 1, levels);
     this.ruleChecker = this.dungeon;
+    this.levelPipeline = new LevelPipeline(this.dungeon, this.adversaryClients.values(), this.validateLevels);
   }
 
   /**
    * Manages levels within the dungeon. Starts each level and manages the result
    * once the level ends. If the level was won, proceed to the next level. Otherwise, 
-   * end the game
+   * end the game. While each level is played, the next level is prepared in the
+   * background if levels are prefetched
    */
   public void playGame() {
     Level currLevel = this.dungeon.getCurrentLevel();
-    playLevel(currLevel);
-    //While the game is still active, play all remaining levels in the game
-    while (this.ruleChecker.isGameOver().equals(GameState.ACTIVE)) {
-      currLevel = this.dungeon.getNextLevel();
-      sendAdversariesLevel(currLevel);
-      int levelNum = this.dungeon.getCurrentLevelIndex();
-      List<Adversary> adversaries = getLevelAdversaries(levelNum);
-      this.dungeon.startCurrentLevelRandom(adversaries);
-      sendLevelStart();
-      notifyAllObservers(null);
+    //The background thread is stopped even if a level ends with an exception
+    try {
+      prefetchNextLevel(currLevel);
       playLevel(currLevel);
+      //While the game is still active, play all remaining levels in the game
+      while (this.ruleChecker.isGameOver().equals(GameState.ACTIVE)) {
+        currLevel = this.levelPipeline.take(this.dungeon.getCurrentLevelIndex() + 1);
+        this.dungeon.getNextLevel();
+        prefetchNextLevel(currLevel);
+        sendAdversariesLevel(currLevel);
+        int levelNum = this.dungeon.getCurrentLevelIndex();
+        List<Adversary> adversaries = getLevelAdversaries(levelNum);
+        this.dungeon.startCurrentLevelRandom(adversaries);
+        sendLevelStart();
+        notifyAllObservers(null);
+        playLevel(currLevel);
+      }
+    } finally {
+      this.levelPipeline.shutdown();
     }
     sendEndGame();
   }
 
+  /**
+   * Starts preparing the level after the current level in the background, if
+   * levels are prefetched and there is a level after the current level
+   * @param currLevel - the level being played
+   */
+  private void prefetchNextLevel(Level currLevel) {
+    if (this.prefetchLevels && !this.dungeon.isLastLevel()) {
+      this.levelPipeline.prepare(this.dungeon.getCurrentLevelIndex() + 1, currLevel);
+    }
+  }
+
+  /**
+   * Sets whether the next level is prepared in the background while the current
+   * level is played, so players do not wait for it between levels. Levels are
+   * prefetched by default
+   * @param prefetchLevels - true to prepare the next level in the background
+   */
+  public void setPrefetchLevels(boolean prefetchLevels) {
+    this.prefetchLevels = prefetchLevels;
+  }
+
+  /**
+   * Sets whether each level is validated before it is played. This must be set
+   * before the game starts. Levels are not validated by default
+   * @param validateLevels - true to validate each level
+   */
+  public void setValidateLevels(boolean validateLevels) {
+    this.validateLevels = validateLevels;
+  }
+
+  /**
+   * Sets whether the moves of adversaries are decided in parallel. When they
+   * are, each run of adversaries whose moves cannot affect each other is
+   * decided at once on the common ForkJoinPool, and the moves are made in turn
+   * order, so every adversary makes the move it would have made had it decided
+   * after the adversaries before it moved. Moves are decided one at a time by
+   * default
+   * @param parallelAdversaries - true to decide the moves of adversaries in parallel
+   */
+  public void setParallelAdversaries(boolean parallelAdversaries) {
+    this.adversaryBatches = parallelAdversaries ? new AdversaryBatches(ForkJoinPool.commonPool()) : null;
+  }
+
   /**
    * Manage turns for players and adversaries until the level is won or lost
    * @param level - the level being played
@@ -248,17 +356,38 @@ public class GameManager {
     this.levelKeyFinder = null;
     this.levelExitedPlayers = new ArrayList<>();
     this.levelEjectedPlayers = new ArrayList<>();
-	  //While the level has not been won or lost, execute turns for each player
-	  //and adversary
-    while (this.ruleChecker.isLevelOver().equals(GameState.ACTIVE)) {
-      //Player turns
-      processPlayerTurns(level);
-      //Adversary turns
-      processAdversaryTurns(level);
+    this.playerDistances = level.createDistanceField();
+    startLocationFeed(level);
+    try {
+      //While the level has not been won or lost, execute turns for each player
+      //and adversary
+      while (this.ruleChecker.isLevelOver().equals(GameState.ACTIVE)) {
+        //Player turns
+        processPlayerTurns(level);
+        //Adversary turns
+        processAdversaryTurns(level);
+      }
+    } finally {
+      level.removeLocationListener(this.actorLocations);
     }
     sendLevelEnd();
   }
   
+  /**
+   * Starts following the locations of the actors of a level as they change,
+   * and starts the feed of the locations for every adversary in the level
+   * @param level - the level being played, with its actors placed
+   */
+  private void startLocationFeed(Level level) {
+    this.actorLocations = new ActorLocations(level.getActivePlayers(), level.getActiveAdversaries());
+    level.addLocationListener(this.actorLocations);
+    for (Map.Entry<Adversary, AdversaryClient> adversaryClient : this.adversaryClients.entrySet()) {
+      if (this.actorLocations.getAdversaries().containsKey(adversaryClient.getKey())) {
+        adversaryClient.getValue().startLocationFeed(this.actorLocations, adversaryClient.getKey());
+      }
+    }
+  }
+
   /**
    * Processes the turns for all players in the level
    * @param level - the level being played
@@ -336,57 +465,105 @@ public class GameManager {
    * @throws IllegalArgumentException if the actor's turn is invalid
    */
   private void processAdversaryTurns(Level level) {
-	  for (Map.Entry<Adversary, AdversaryClient> currAdversary : adversaryClients.entrySet()) {
-          if (!this.ruleChecker.isLevelOver().equals(GameState.ACTIVE)) {
-          	 break;
-           }
-          
-          Map<Player, Point> players = level.getActivePlayers();
-          Map<Adversary, Point> adversaries = level.getActiveAdversaries();
-          AdversaryClient client = currAdversary.getValue();
-          Adversary adversary = currAdversary.getKey();
-          
-          //Check that the adversary is active in the level
-          if (!adversaries.containsKey(adversary)) {
-            continue;
-          }
-          client.updateActorLocations(players, adversaries, adversary);
-
-          Point adversaryDestination = client.takeTurn();
-
-          if (this.ruleChecker.checkValidMove(adversary, adversaryDestination)) {
-            //Execute the move and corresponding interaction
-        	
-            InteractionResult result = level.adversaryAction(adversary, adversaryDestination);
-            
-            String message = null;
-            
-            //If a player is removed, update the PlayerClient
-            if (result.equals(InteractionResult.REMOVE_PLAYER)) {
-            	Map<Player, Point> activePlayersAfterMove = level.getActivePlayers();
-            	Set<Player> allActivePlayers = players.keySet();   	
-            	allActivePlayers.removeAll(activePlayersAfterMove.keySet());
-            	for (Player player : allActivePlayers) {
-            		message = processResult(result, player, this.playerClients.get(player));
-                this.playerClients.get(player).displayMessage("Eject");
-            	}
-            }
-
-            if (result.equals(InteractionResult.DAMAGE_PLAYER)) {
-              Level currLevel = this.dungeon.getCurrentLevel();
-              LevelComponent destComponent = currLevel.findComponent(adversaryDestination);
-              Tile destTile = destComponent.getDestinationTile(adversaryDestination);
-              Player player = (Player) destTile.getActor();
-              message = processResult(result, player, this.playerClients.get(player));
-            }
-
-            //Notify all observers of the current game state for each turn
-            notifyAllObservers(message);
-          } else {
-            //If adversary is not a local implementation we will need to handle invalid moves
-            throw new IllegalArgumentException("Invalid adversary moves");
-          }
-        }	  
+    //One search from every player serves all of the adversaries this turn
+    this.playerDistances.compute(this.actorLocations.getPlayers().values());
+    List<Adversary> turnOrder = new ArrayList<>(this.adversaryClients.keySet());
+    int next = 0;
+    while (next < turnOrder.size()) {
+      if (!this.ruleChecker.isLevelOver().equals(GameState.ACTIVE)) {
+        break;
+      }
+
+      //The locations follow each move, so they are not read from the level again
+      Map<Player, Point> players = this.actorLocations.getPlayers();
+      Map<Adversary, Point> adversaries = this.actorLocations.getAdversaries();
+
+      //Adversaries take their turns one at a time, or a batch at a time when
+      //the moves of adversaries that cannot affect each other are decided together
+      int batchEnd = next + 1;
+      if (this.adversaryBatches != null) {
+        batchEnd = AdversaryBatches.findBatchEnd(level, turnOrder, next, this.adversaryClients,
+            players, adversaries);
+      }
+      List<Adversary> batch = new ArrayList<>();
+      for (Adversary adversary : turnOrder.subList(next, batchEnd)) {
+        //Check that the adversary is active in the level
+        if (adversaries.containsKey(adversary)) {
+          batch.add(adversary);
+        }
+      }
+      next = batchEnd;
+      if (batch.isEmpty()) {
+        continue;
+      }
+
+      Map<Adversary, Point> moves;
+      if (this.adversaryBatches != null) {
+        moves = this.adversaryBatches.decide(batch, this.adversaryClients, players, adversaries,
+            this.playerDistances);
+      } else {
+        Adversary adversary = batch.get(0);
+        AdversaryClient client = this.adversaryClients.get(adversary);
+        client.updateActorLocations(players, adversaries, adversary);
+        client.updatePlayerDistances(this.playerDistances);
+        moves = Collections.singletonMap(adversary, client.takeTurn());
+      }
+
+      //The moves are made in turn order
+      for (Map.Entry<Adversary, Point> move : moves.entrySet()) {
+        if (!this.ruleChecker.isLevelOver().equals(GameState.ACTIVE)) {
+          break;
+        }
+        processAdversaryMove(level, move.getKey(), move.getValue());
+      }
+    }
+  }
+
+  /**
+   * Makes the move of an adversary and updates the clients and observers
+   * @param level - the level being played
+   * @param adversary - the adversary that moves
+   * @param adversaryDestination - the move of the adversary
+   * @throws IllegalArgumentException if the move is invalid
+   */
+  private void processAdversaryMove(Level level, Adversary adversary, Point adversaryDestination) {
+    if (this.ruleChecker.checkValidMove(adversary, adversaryDestination)) {
+      //Only a move onto a player can remove one, so the players before the move
+      //are only copied then
+      Set<Player> players = null;
+      if (this.actorLocations.getPlayers().containsValue(adversaryDestination)) {
+        players = new LinkedHashSet<>(this.actorLocations.getPlayers().keySet());
+      }
+
+      //Execute the move and corresponding interaction
+      InteractionResult result = level.adversaryAction(adversary, adversaryDestination);
+
+      String message = null;
+
+      //If a player is removed, update the PlayerClient
+      if (result.equals(InteractionResult.REMOVE_PLAYER)) {
+        players.removeAll(this.actorLocations.getPlayers().keySet());
+        for (Player player : players) {
+          message = processResult(result, player, this.playerClients.get(player));
+          this.playerClients.get(player).displayMessage("Eject");
+        }
+        //The adversaries still to move this turn no longer chase the ejected player
+        this.playerDistances.compute(this.actorLocations.getPlayers().values());
+      }
+
+      if (result.equals(InteractionResult.DAMAGE_PLAYER)) {
+        Level currLevel = this.dungeon.getCurrentLevel();
+        Tile destTile = currLevel.getTile(adversaryDestination);
+        Player player = (Player) destTile.getActor();
+        message = processResult(result, player, this.playerClients.get(player));
+      }
+
+      //Notify all observers of the current game state for each turn
+      notifyAllObservers(message);
+    } else {
+      //If adversary is not a local implementation we will need to handle invalid moves
+      throw new IllegalArgumentException("Invalid adversary moves");
+    }
   }
 
   /**
@@ -449,10 +626,15 @@ public void endGame() {
     output.append("\n");
 
     //Output the player rankings to all observers and players
-    String stringOut = output.toString();
-    for (Observer observer : this.observers) {
-      observer.update(stringOut);
-    }
+    final String stringOut = output.toString();
+    final List<Observer> currentObservers = new ArrayList<>(this.observers);
+    deliverToObservers(new Runnable() {
+      public void run() {
+        for (Observer observer : currentObservers) {
+          observer.update(stringOut);
+        }
+      }});
+    flushObservers();
 
     for (Common.Player client : playerClients.values()) {
       client.displayMessage(stringOut);
@@ -481,21 +663,92 @@ public void endGame() {
    * their view, whereas the observer can see the entire game
    */
   public void notifyAllObservers(String message) {
-	  for (Observer observer : this.observers) {
-		  ByteArrayOutputStream gameState = new ByteArrayOutputStream();
-		  PrintStream printStream = new PrintStream(gameState);
-		  DungeonModelView dungeonModelView = this.dungeon;
-		  TextualDungeonView dungeonView = new TextualDungeonView(dungeonModelView, printStream);
-		  dungeonView.draw();
-		  observer.update(gameState.toString());
+	  //A snapshot is only taken when there is someone to update
+	  if (this.observers.isEmpty() && this.playerClients.isEmpty()) {
+		  return;
+	  }
+	  //Every update is built from the same snapshot, which later actions do not change
+	  final DungeonSnapshot snapshot = this.dungeon.getSnapshot();
+
+	  if (!this.observers.isEmpty()) {
+		  final List<Observer> currentObservers = new ArrayList<>(this.observers);
+		  deliverToObservers(new Runnable() {
+			  public void run() {
+				  //Every observer sees the entire game, so it is drawn once for all of them
+				  ByteArrayOutputStream gameState = new ByteArrayOutputStream();
+				  PrintStream printStream = new PrintStream(gameState);
+				  DungeonModelView dungeonModelView = snapshot;
+				  TextualDungeonView dungeonView = new TextualDungeonView(dungeonModelView, printStream);
+				  dungeonView.draw();
+				  String drawnState = gameState.toString();
+				  for (Observer observer : currentObservers) {
+					  observer.update(drawnState);
+				  }
+			  }});
 	  }
 
 	  for (Map.Entry<Player, Common.Player> currPlayer : playerClients.entrySet()) {
-		  PlayerModelView playerModelView = new PlayerModelView(currPlayer.getKey(), this.dungeon);
+		  //The copy of the player in the snapshot keeps the health and score at the time of the update
+		  PlayerModelView playerModelView = new PlayerModelView(snapshot.getPlayer(currPlayer.getKey()), snapshot);
 		  currPlayer.getValue().update(playerModelView, message);
     }
   }
 
+  /**
+   * Sets whether observers are updated on their own thread. When they are, the
+   * game does not wait for observers to draw and receive each update, and the
+   * updates are delivered in the order they were made. Observers are updated
+   * on the game thread by default
+   * @param asyncObservers - true to update observers on their own thread
+   */
+  public void setAsyncObservers(boolean asyncObservers) {
+    if (!asyncObservers) {
+      flushObservers();
+    }
+    this.asyncObservers = asyncObservers;
+  }
+
+  /**
+   * Runs an update of the observers, on the observer thread if observers are
+   * updated on their own thread, or right away otherwise
+   * @param update - the update to run
+   */
+  private void deliverToObservers(Runnable update) {
+    if (!this.asyncObservers) {
+      update.run();
+      return;
+    }
+    if (this.observerExecutor == null) {
+      this.observerExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          //The thread must not keep the program running once the game is over
+          Thread thread = new Thread(runnable, "snarl-observers");
+          thread.setDaemon(true);
+          return thread;
+        }});
+    }
+    this.observerExecutor.execute(update);
+  }
+
+  /**
+   * Waits until every update given to the observer thread has been delivered,
+   * then stops the thread. A new thread is started if observers are updated again
+   */
+  private void flushObservers() {
+    if (this.observerExecutor == null) {
+      return;
+    }
+    this.observerExecutor.shutdown();
+    try {
+      while (!this.observerExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+        //Keep waiting for the observers to receive their updates
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    this.observerExecutor = null;
+  }
+
 
   /**
    * Sends the level start information to all playerClients in the game. This includes
@@ -0,0 +1,187 @@
+package Game.controller;
+
+import Common.AdversaryClient;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import Game.model.Dungeon;
+import Game.model.Level;
+import Game.model.LevelValidator;
+
+/**
+ * Prepares the levels of a dungeon before they are played. Preparing a level
+ * resolves it (which parses or builds a level loaded from a file), validates
+ * it if levels are validated, builds its layout, and lets every adversary
+ * precompute what it needs for the level.
+ *
+ * The next level can be prepared on a background thread while the current
+ * level is played, and taken when the current level ends, so players do not
+ * wait for it between levels. A level that was not prepared in the
+ * background is prepared when it is taken.
+ */
+public class LevelPipeline {
+
+  //The dungeon whose levels are prepared
+  private final Dungeon dungeon;
+
+  //The adversaries that prepare for each level
+  private final List<AdversaryClient> adversaryClients;
+
+  //True if each level is validated before it is played
+  private final boolean validateLevels;
+
+  //The thread that prepares levels, which is started when a level is first prepared
+  private ExecutorService executor;
+
+  //The number of the level being prepared in the background, or 0 if there is none,
+  //and the result of preparing it
+  private int preparingLevel;
+  private Future<Level> preparing;
+
+  /**
+   * Initializes a pipeline for the levels of a dungeon
+   * @param dungeon - the dungeon whose levels are prepared
+   * @param adversaryClients - the adversaries that prepare for each level
+   * @param validateLevels - true to validate each level before it is played
+   */
+  public LevelPipeline(Dungeon dungeon, Collection<AdversaryClient> adversaryClients, boolean validateLevels) {
+    this.dungeon = dungeon;
+    this.adversaryClients = new ArrayList<>(adversaryClients);
+    this.validateLevels = validateLevels;
+    this.executor = null;
+    this.preparingLevel = 0;
+    this.preparing = null;
+  }
+
+  /**
+   * Starts preparing a level on the background thread. Only one level is
+   * prepared in the background at a time, so a level that was being prepared
+   * and has not been taken is dropped
+   * @param levelIndex - the number of the level, where the first level is 1
+   * @param currentLevel - the level being played, which is not prepared again
+   * if the dungeon plays it twice
+   */
+  public void prepare(final int levelIndex, final Level currentLevel) {
+    if (this.preparingLevel == levelIndex) {
+      return;
+    }
+    cancel();
+    if (this.executor == null) {
+      this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          //The thread must not keep the program running once the game is over
+          Thread thread = new Thread(runnable, "snarl-levels");
+          thread.setDaemon(true);
+          return thread;
+        }});
+    }
+    this.preparingLevel = levelIndex;
+    this.preparing = this.executor.submit(new Callable<Level>() {
+      public Level call() {
+        return prepareLevel(levelIndex, currentLevel);
+      }});
+  }
+
+  /**
+   * Takes a prepared level, waiting for it if it is still being prepared in
+   * the background, or preparing it now if it was not
+   * @param levelIndex - the number of the level, where the first level is 1
+   * @return the prepared level
+   * @throws IllegalArgumentException if levels are validated and the level is not valid
+   */
+  public Level take(int levelIndex) {
+    if (this.preparingLevel != levelIndex) {
+      cancel();
+      return prepareLevel(levelIndex, null);
+    }
+    Future<Level> prepared = this.preparing;
+    this.preparingLevel = 0;
+    this.preparing = null;
+
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return prepared.get();
+        } catch (InterruptedException e) {
+          //The game cannot go on without the level, so keep waiting for it
+          interrupted = true;
+        }
+      }
+    } catch (ExecutionException e) {
+      //Report the failure as if the level had been prepared on this thread
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException)e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error)e.getCause();
+      }
+      throw new IllegalStateException("Unable to prepare level " + levelIndex);
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Checks if a level is being prepared in the background and has not been taken
+   * @param levelIndex - the number of the level, where the first level is 1
+   * @return true if the level is being prepared or is ready to be taken
+   */
+  public boolean isPreparing(int levelIndex) {
+    return this.preparingLevel == levelIndex;
+  }
+
+  /**
+   * Drops the level being prepared in the background and stops the background
+   * thread. A new thread is started if a level is prepared again
+   */
+  public void shutdown() {
+    cancel();
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Drops the level being prepared in the background, if there is one
+   */
+  private void cancel() {
+    if (this.preparing != null) {
+      this.preparing.cancel(true);
+    }
+    this.preparingLevel = 0;
+    this.preparing = null;
+  }
+
+  /**
+   * Resolves, validates and prepares a level, and lets every adversary prepare for it
+   * @param levelIndex - the number of the level, where the first level is 1
+   * @param currentLevel - the level being played, or null if no level is being played
+   * @return the prepared level
+   */
+  private Level prepareLevel(int levelIndex, Level currentLevel) {
+    Level level = this.dungeon.getLevelHandle(levelIndex).getLevel();
+    //A level that is being played was prepared before it started, and cannot be used here
+    if (level == currentLevel) {
+      return level;
+    }
+    if (this.validateLevels) {
+      LevelValidator.checkValid(level.getLevelMap());
+    }
+    level.prepare();
+    for (AdversaryClient client : this.adversaryClients) {
+      client.prepareLevel(level);
+    }
+    return level;
+  }
+}
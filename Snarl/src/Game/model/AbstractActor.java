@@ -2,9 +2,7 @@ package Game.model;
 
 import java.awt.Point;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import Game.modelView.EntityType;
 
@@ -18,6 +16,9 @@ abstract public class AbstractActor implements Actor {
   //The Actor's name
   protected String name;
 
+  //Whether each EntityType is traversable, indexed by ordinal. Computed on first use
+  private boolean[] traversableTypes;
+
   //Initialize an Actor with a name
   public AbstractActor(String name) {
     this.name = name;
@@ -51,43 +52,37 @@ abstract public class AbstractActor implements Actor {
    * @return true if the EntityType is traversable
    */
   public Boolean isTraversable(EntityType entityType) {
-	//If the interaction with the EntityType is possible, return true
-	//Otherwise, catch the exception and return false
-    try {
-      getInteractionResult(entityType);
-      return true;
-    } catch (IllegalArgumentException e) {
-      return false;
+    boolean[] traversable = this.traversableTypes;
+    if (traversable == null) {
+      //If the interaction with an EntityType is possible, it is traversable
+      //Otherwise, catch the exception and mark it as not traversable
+      traversable = new boolean[EntityType.values().length];
+      for (EntityType type : EntityType.values()) {
+        try {
+          getInteractionResult(type);
+          traversable[type.ordinal()] = true;
+        } catch (IllegalArgumentException e) {
+          traversable[type.ordinal()] = false;
+        }
+      }
+      this.traversableTypes = traversable;
     }
+    return traversable[entityType.ordinal()];
   }
   
    @Override
    public List<Point> getPotentialMoves(Point actorLocation) {
 	   int maxMoveDistance = this.getMaxMoveDistance();
-	   Set<Point> potentialMoves = new HashSet<>();
-	   potentialMoves.add(actorLocation);
-	   for (int i = 0; i < maxMoveDistance; i++) {
-		   Set<Point> adjacentMoves = new HashSet<>();
-		   for (Point move : potentialMoves) {
-			   adjacentMoves.addAll(getAdjacentMoves(move));
+	   //The cells within the move distance form a diamond around the actor, which
+	   //is listed row by row instead of by repeatedly stepping to adjacent cells
+	   List<Point> potentialMoves = new ArrayList<>(2 * maxMoveDistance * (maxMoveDistance + 1) + 1);
+	   for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+		   int rowDistance = maxMoveDistance - Math.abs(offsetY);
+		   for (int offsetX = -rowDistance; offsetX <= rowDistance; offsetX++) {
+			   potentialMoves.add(new Point(actorLocation.x + offsetX, actorLocation.y + offsetY));
 		   }
-       potentialMoves.addAll(adjacentMoves);
 	   }
-	   return new ArrayList<>(potentialMoves);
-   }
-   
-   /**
-    * Gets all moves adjacent to the given point
-    * @param point - the central point
-    * @return a set of points adjacent to the provided point
-    */
-   private Set<Point> getAdjacentMoves(Point point) {
-	 Set<Point> moves = new HashSet<>();
-	 moves.add(new Point(point.x + 1, point.y));
-     moves.add(new Point(point.x - 1, point.y));
-     moves.add(new Point(point.x, point.y + 1));
-     moves.add(new Point(point.x, point.y - 1));
-     return moves;
+	   return potentialMoves;
    }
 }
 
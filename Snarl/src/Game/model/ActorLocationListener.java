@@ -0,0 +1,37 @@
+package Game.model;
+
+import java.awt.Point;
+
+/**
+ * Receives the changes to the locations of the actors of a level as they are
+ * made, instead of reading the location of every actor again after each move.
+ * Changes are reported after the level has made them, on the thread that made
+ * them. Placing the actors when a level starts is not reported
+ */
+public interface ActorLocationListener {
+
+	/**
+	 * Called when an actor steps to a new location
+	 * @param actor - the actor that moved
+	 * @param from - the location the actor left
+	 * @param to - the location of the actor
+	 */
+	void actorMoved(Actor actor, Point from, Point to);
+
+	/**
+	 * Called when an adversary is placed in another room, instead of at the
+	 * location it moved to
+	 * @param actor - the actor that was teleported
+	 * @param from - the location the actor left
+	 * @param to - the location the actor was placed at
+	 */
+	void actorTeleported(Actor actor, Point from, Point to);
+
+	/**
+	 * Called when an actor is no longer in the level, because it exited, was
+	 * ejected, or was removed
+	 * @param actor - the actor that was removed
+	 * @param from - the last location of the actor
+	 */
+	void actorRemoved(Actor actor, Point from);
+}
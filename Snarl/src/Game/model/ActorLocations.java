@@ -0,0 +1,120 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The location of every active actor of a level, kept current by listening to
+ * the changes the level reports, so each move costs one update instead of
+ * reading every actor of the level again.
+ *
+ * The players and adversaries are given out as read-only views, which follow
+ * the changes, so they can be handed to every adversary without copying them.
+ * The changes are passed on to the listeners of the locations after the
+ * locations are updated, so a listener sees the locations after the change.
+ */
+public class ActorLocations implements ActorLocationListener {
+
+	//The location of each active actor, in the order they were given
+	private final Map<Player, Point> players;
+	private final Map<Adversary, Point> adversaries;
+
+	//Read-only views of the locations
+	private final Map<Player, Point> playerView;
+	private final Map<Adversary, Point> adversaryView;
+
+	//The listeners that the changes are passed on to
+	private final List<ActorLocationListener> listeners;
+
+	/**
+	 * Initializes the locations from the active actors of a level
+	 * @param players - the location of each active player
+	 * @param adversaries - the location of each active adversary
+	 */
+	public ActorLocations(Map<Player, Point> players, Map<Adversary, Point> adversaries) {
+		this.players = new LinkedHashMap<>(players);
+		this.adversaries = new LinkedHashMap<>(adversaries);
+		this.playerView = Collections.unmodifiableMap(this.players);
+		this.adversaryView = Collections.unmodifiableMap(this.adversaries);
+		this.listeners = new ArrayList<>();
+	}
+
+	/**
+	 * Gets the location of each active player. The map follows the changes to
+	 * the locations, and cannot be changed
+	 * @return the player locations
+	 */
+	public Map<Player, Point> getPlayers() {
+		return this.playerView;
+	}
+
+	/**
+	 * Gets the location of each active adversary. The map follows the changes
+	 * to the locations, and cannot be changed
+	 * @return the adversary locations
+	 */
+	public Map<Adversary, Point> getAdversaries() {
+		return this.adversaryView;
+	}
+
+	/**
+	 * Adds a listener that each change is passed on to
+	 * @param listener - the listener
+	 */
+	public void addListener(ActorLocationListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener, if it was added
+	 * @param listener - the listener
+	 */
+	public void removeListener(ActorLocationListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	@Override
+	public void actorMoved(Actor actor, Point from, Point to) {
+		setLocation(actor, to);
+		for (ActorLocationListener listener : this.listeners) {
+			listener.actorMoved(actor, from, to);
+		}
+	}
+
+	@Override
+	public void actorTeleported(Actor actor, Point from, Point to) {
+		setLocation(actor, to);
+		for (ActorLocationListener listener : this.listeners) {
+			listener.actorTeleported(actor, from, to);
+		}
+	}
+
+	@Override
+	public void actorRemoved(Actor actor, Point from) {
+		if (actor instanceof Player) {
+			this.players.remove(actor);
+		} else {
+			this.adversaries.remove(actor);
+		}
+		for (ActorLocationListener listener : this.listeners) {
+			listener.actorRemoved(actor, from);
+		}
+	}
+
+	/**
+	 * Updates the location of an actor
+	 * @param actor - the actor
+	 * @param location - the new location of the actor
+	 */
+	private void setLocation(Actor actor, Point location) {
+		if (actor instanceof Player) {
+			this.players.put((Player) actor, location);
+		} else if (actor instanceof Adversary) {
+			this.adversaries.put((Adversary) actor, location);
+		}
+	}
+}
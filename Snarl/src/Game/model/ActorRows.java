@@ -0,0 +1,98 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A read-only copy of where the actors of a LevelGrid were at one point in
+ * the game. Like the rendered map, it is made of one row of actor slots for
+ * each row of the grid, and a row is never modified once it is handed out,
+ * so a new copy only replaces the rows that changed since the last one and
+ * shares every other row with it.
+ *
+ * Slot n refers to the actor at index n - 1 of the actor table, which holds
+ * every actor placed in the grid so far and is only replaced when a new actor
+ * is placed. Finding the actors around a location only reads the rows around
+ * it, so it does not depend on how many actors the level has
+ */
+public class ActorRows {
+
+	//The top left cell of the grid in level coordinates, and the number of columns
+	private final int originX;
+	private final int originY;
+	private final int width;
+
+	//The slot of the actor at each cell of each row, 0 where there is no actor
+	private final List<int[]> rows;
+
+	//The actors that have been placed in the grid, by slot
+	private final Actor[] actors;
+
+	/**
+	 * Initializes a copy from the rows of a grid
+	 * @param originX - the left-most column of the grid
+	 * @param originY - the top-most row of the grid
+	 * @param width - the number of columns of the grid
+	 * @param rows - the actor slots of each row, which must not change
+	 * @param actors - the actors of the grid by slot, which must not change
+	 */
+	ActorRows(int originX, int originY, int width, List<int[]> rows, Actor[] actors) {
+		this.originX = originX;
+		this.originY = originY;
+		this.width = width;
+		this.rows = rows;
+		this.actors = actors;
+	}
+
+	/**
+	 * Gets the actors in a rectangular window of the level and their locations,
+	 * in row-major order
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return the actors in the window mapped to their locations
+	 */
+	public Map<Actor, Point> getActorsInWindow(int minX, int minY, int maxX, int maxY) {
+		Map<Actor, Point> windowActors = new LinkedHashMap<>();
+		int firstColumn = Math.max(minX, this.originX) - this.originX;
+		int lastColumn = Math.min(maxX, this.originX + this.width - 1) - this.originX;
+		for (int y = Math.max(minY, this.originY); y <= Math.min(maxY, this.originY + this.rows.size() - 1); y++) {
+			int[] row = this.rows.get(y - this.originY);
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				if (row[column] != 0) {
+					windowActors.put(this.actors[row[column] - 1], new Point(column + this.originX, y));
+				}
+			}
+		}
+		return windowActors;
+	}
+
+	/**
+	 * Gets every adversary in the grid and its location, in the order the
+	 * adversaries were first placed in the grid, which is their turn order.
+	 * Every cell of the grid is read, so this is only done when a reader asks
+	 * for all of the adversaries
+	 * @return the adversaries mapped to their locations
+	 */
+	public Map<Adversary, Point> getAdversaries() {
+		Map<Integer, Point> slotLocations = new TreeMap<>();
+		for (int row = 0; row < this.rows.size(); row++) {
+			int[] slots = this.rows.get(row);
+			for (int column = 0; column < this.width; column++) {
+				if (slots[column] != 0 && this.actors[slots[column] - 1] instanceof Adversary) {
+					slotLocations.put(slots[column], new Point(column + this.originX, row + this.originY));
+				}
+			}
+		}
+
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		for (Map.Entry<Integer, Point> entry : slotLocations.entrySet()) {
+			adversaries.put((Adversary) this.actors[entry.getKey() - 1], entry.getValue());
+		}
+		return adversaries;
+	}
+}
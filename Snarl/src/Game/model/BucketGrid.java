@@ -0,0 +1,152 @@
+package Game.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A uniform grid of buckets covering a rectangular area of a Level.
+ * Each bucket is a square of cells and holds every value that was
+ * inserted with a bounding box overlapping that square. Looking up
+ * a cell only inspects the single bucket that contains it, so the
+ * cost of a lookup does not grow with the size of the Level
+ *
+ * Values are kept in each bucket in the order they were inserted
+ */
+public class BucketGrid<T> {
+
+	//The number of cells along each side of a bucket
+	private final int bucketSize;
+
+	//The top left cell covered by the grid
+	private final int originX;
+	private final int originY;
+
+	//The number of buckets in each row and column of the grid
+	private final int bucketColumns;
+	private final int bucketRows;
+
+	//All buckets in row-major order. A bucket is null until a value is inserted
+	private final List<List<T>> buckets;
+
+	/**
+	 * Initializes an empty grid covering the given bounds
+	 * @param minX - the left-most column covered by the grid
+	 * @param minY - the top-most row covered by the grid
+	 * @param maxX - the right-most column covered by the grid
+	 * @param maxY - the bottom-most row covered by the grid
+	 * @param bucketSize - the number of cells along each side of a bucket
+	 * @throws IllegalArgumentException if the bounds are empty or the bucket size is not positive
+	 */
+	public BucketGrid(int minX, int minY, int maxX, int maxY, int bucketSize) {
+		if (maxX < minX || maxY < minY || bucketSize < 1) {
+			throw new IllegalArgumentException("Invalid bounds for bucket grid");
+		}
+		this.bucketSize = bucketSize;
+		this.originX = minX;
+		this.originY = minY;
+		this.bucketColumns = (maxX - minX) / bucketSize + 1;
+		this.bucketRows = (maxY - minY) / bucketSize + 1;
+
+		int numBuckets = this.bucketColumns * this.bucketRows;
+		this.buckets = new ArrayList<>(numBuckets);
+		for (int i = 0; i < numBuckets; i++) {
+			this.buckets.add(null);
+		}
+	}
+
+	/**
+	 * Adds the value to every bucket that overlaps the given bounding box.
+	 * The parts of the box outside of the grid are ignored
+	 * @param minX - the left-most column of the box
+	 * @param minY - the top-most row of the box
+	 * @param maxX - the right-most column of the box
+	 * @param maxY - the bottom-most row of the box
+	 * @param value - the value to add
+	 */
+	public void insert(int minX, int minY, int maxX, int maxY, T value) {
+		int firstColumn = Math.max(bucketColumn(minX), 0);
+		int lastColumn = Math.min(bucketColumn(maxX), this.bucketColumns - 1);
+		int firstRow = Math.max(bucketRow(minY), 0);
+		int lastRow = Math.min(bucketRow(maxY), this.bucketRows - 1);
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				int bucketIndex = row * this.bucketColumns + column;
+				List<T> bucket = this.buckets.get(bucketIndex);
+				if (bucket == null) {
+					bucket = new ArrayList<>();
+					this.buckets.set(bucketIndex, bucket);
+				}
+				bucket.add(value);
+			}
+		}
+	}
+
+	/**
+	 * Gets every value whose bounding box overlaps the bucket containing the cell.
+	 * The caller is responsible for checking that the value actually contains the cell
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @return the list of candidate values, empty if the cell is outside the grid. The
+	 * list is shared with the grid and must not be modified
+	 */
+	public List<T> getCandidates(int x, int y) {
+		int column = bucketColumn(x);
+		int row = bucketRow(y);
+		if (column < 0 || row < 0 || column >= this.bucketColumns || row >= this.bucketRows) {
+			return Collections.emptyList();
+		}
+		List<T> bucket = this.buckets.get(row * this.bucketColumns + column);
+		if (bucket == null) {
+			return Collections.emptyList();
+		}
+		return bucket;
+	}
+
+	/**
+	 * Gets every value in the buckets that overlap the given window. A value whose
+	 * bounding box covers more than one of those buckets is returned once for each.
+	 * The caller is responsible for checking that the value is actually in the window
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return a new list of the candidate values, in bucket order
+	 */
+	public List<T> getCandidates(int minX, int minY, int maxX, int maxY) {
+		int firstColumn = Math.max(bucketColumn(minX), 0);
+		int lastColumn = Math.min(bucketColumn(maxX), this.bucketColumns - 1);
+		int firstRow = Math.max(bucketRow(minY), 0);
+		int lastRow = Math.min(bucketRow(maxY), this.bucketRows - 1);
+
+		List<T> candidates = new ArrayList<>();
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				List<T> bucket = this.buckets.get(row * this.bucketColumns + column);
+				if (bucket != null) {
+					candidates.addAll(bucket);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Finds the column of the bucket that contains the given column of the level
+	 * @param x - the column in the level
+	 * @return the bucket column, which may be outside of the grid
+	 */
+	private int bucketColumn(int x) {
+		return Math.floorDiv(x - this.originX, this.bucketSize);
+	}
+
+	/**
+	 * Finds the row of the bucket that contains the given row of the level
+	 * @param y - the row in the level
+	 * @return the bucket row, which may be outside of the grid
+	 */
+	private int bucketRow(int y) {
+		return Math.floorDiv(y - this.originY, this.bucketSize);
+	}
+}
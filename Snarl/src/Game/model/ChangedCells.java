@@ -0,0 +1,99 @@
+package Game.model;
+
+/**
+ * The cells of a LevelGrid that have changed since its last snapshot was
+ * taken, by cell index. A changed row of the snapshot is rebuilt by copying
+ * the row from the previous snapshot and redrawing only these cells, so a
+ * snapshot does not read every actor and item in the grid.
+ *
+ * The list only holds a bounded number of cells. Once more cells than that
+ * have changed, it overflows, and the changed rows are drawn from scratch
+ */
+class ChangedCells {
+
+	//The most cells that are kept before the list overflows
+	private static final int maxSize = 1024;
+
+	private static final int minCapacity = 8;
+
+	//The changed cells, which may repeat, and the number of them
+	private int[] cells;
+	private int size;
+
+	//Whether more cells changed than the list could hold
+	private boolean overflowed;
+
+	/**
+	 * Initializes a list with no changed cells
+	 * @param overflowed - whether the rows must be drawn from scratch until the list is cleared
+	 */
+	ChangedCells(boolean overflowed) {
+		this.cells = new int[minCapacity];
+		this.size = 0;
+		this.overflowed = overflowed;
+	}
+
+	/**
+	 * Initializes a copy of another list
+	 * @param other - the list to copy
+	 */
+	ChangedCells(ChangedCells other) {
+		this.cells = other.cells.clone();
+		this.size = other.size;
+		this.overflowed = other.overflowed;
+	}
+
+	/**
+	 * Adds a changed cell, or marks the list as overflowed if it is full
+	 * @param cell - the index of the cell
+	 */
+	void add(int cell) {
+		if (this.overflowed) {
+			return;
+		}
+		if (this.size == maxSize) {
+			this.overflowed = true;
+			return;
+		}
+		if (this.size == this.cells.length) {
+			int[] grown = new int[this.cells.length * 2];
+			System.arraycopy(this.cells, 0, grown, 0, this.size);
+			this.cells = grown;
+		}
+		this.cells[this.size++] = cell;
+	}
+
+	/**
+	 * Gets whether more cells changed than the list could hold, in which case
+	 * the cells it holds are not all of the changed cells
+	 * @return true if the list overflowed
+	 */
+	boolean hasOverflowed() {
+		return this.overflowed;
+	}
+
+	/**
+	 * Gets the number of changed cells in the list
+	 * @return the number of cells
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets a changed cell
+	 * @param index - the position of the cell in the list
+	 * @return the index of the cell in the grid
+	 */
+	int get(int index) {
+		return this.cells[index];
+	}
+
+	/**
+	 * Removes every cell once a snapshot has been taken
+	 */
+	void clear() {
+		this.size = 0;
+		this.overflowed = false;
+	}
+}
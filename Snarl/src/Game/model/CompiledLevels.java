@@ -0,0 +1,259 @@
+package Game.model;
+
+import java.awt.Point;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The levels of a file written by LevelCompiler. The file is memory-mapped
+ * when it is opened, and only its header is read. A level is built from the
+ * mapped bytes the first time it is asked for, so opening a file of many
+ * levels takes about the same time as opening a file of one.
+ *
+ * The levels are a read-only list, so they can be given to a GameManager in
+ * place of levels parsed from JSON. Asking for the same level twice gives the
+ * same Level, as with any other list of levels.
+ *
+ * Each level is built as a LevelTemplate, and the Level of a game is created
+ * from the template. Every game of the file shares the templates, so hosting
+ * another game only allocates the actors and items of its levels.
+ */
+public class CompiledLevels extends AbstractList<Level> {
+
+	//The mapped contents of the file
+	private final ByteBuffer buffer;
+
+	//The offset of each level in the file, and of the end of the last level
+	private final long[] offsets;
+
+	//The templates built so far, shared by every game of the file, or null for
+	//levels that no game has asked for
+	private final LevelTemplate[] templates;
+
+	//The levels of this game built so far, or null for levels that have not been asked for
+	private final Level[] levels;
+
+	/**
+	 * Opens a compiled levels file. The file is mapped into memory and its
+	 * header is checked, but no level is built
+	 * @param fileName - the name of the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a compiled levels file
+	 * of a supported version
+	 */
+	public CompiledLevels(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			if (this.buffer.getInt(0) != LevelCompiler.magic) {
+				throw new IllegalArgumentException("Not a compiled levels file");
+			}
+			if (this.buffer.getInt(Integer.BYTES) != LevelCompiler.formatVersion) {
+				throw new IllegalArgumentException("Unsupported compiled levels version");
+			}
+			int numLevels = this.buffer.getInt(2 * Integer.BYTES);
+			if (numLevels < 0) {
+				throw new IllegalArgumentException("Compiled levels file is corrupt");
+			}
+			this.offsets = new long[numLevels + 1];
+			for (int i = 0; i <= numLevels; i++) {
+				this.offsets[i] = this.buffer.getLong(3 * Integer.BYTES + i * Long.BYTES);
+			}
+			if (this.offsets[numLevels] > this.buffer.capacity()) {
+				throw new IllegalArgumentException("Compiled levels file is truncated");
+			}
+			this.templates = new LevelTemplate[numLevels];
+			this.levels = new Level[numLevels];
+		} catch (IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Compiled levels file is truncated");
+		}
+	}
+
+	/**
+	 * Initializes the levels of a new game of an open file
+	 * @param file - the levels of another game of the file
+	 */
+	private CompiledLevels(CompiledLevels file) {
+		this.buffer = file.buffer;
+		this.offsets = file.offsets;
+		this.templates = file.templates;
+		this.levels = new Level[file.levels.length];
+	}
+
+	/**
+	 * Gets the levels of a new game of the file. The new game shares the
+	 * templates of this game, but none of its levels
+	 * @return the levels of the new game
+	 */
+	public CompiledLevels newGame() {
+		return new CompiledLevels(this);
+	}
+
+	/**
+	 * Checks if a file is a compiled levels file, by reading its first bytes
+	 * @param fileName - the name of the file
+	 * @return true if the file starts like a compiled levels file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static boolean isCompiled(String fileName) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(fileName))) {
+			return in.available() >= Integer.BYTES && in.readInt() == LevelCompiler.magic;
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.levels.length;
+	}
+
+	/**
+	 * Gets a level, building it from the file the first time it is asked for
+	 * @param index - the index of the level in the file
+	 * @return the level
+	 * @throws IndexOutOfBoundsException if there is no level at the index
+	 * @throws IllegalArgumentException if the level in the file is corrupt
+	 */
+	@Override
+	public synchronized Level get(int index) {
+		if (this.levels[index] == null) {
+			this.levels[index] = getTemplate(index).createLevel();
+		}
+		return this.levels[index];
+	}
+
+	/**
+	 * Gets the template of a level, building it from the file the first time
+	 * any game of the file asks for it
+	 * @param index - the index of the level in the file
+	 * @return the template of the level
+	 * @throws IndexOutOfBoundsException if there is no level at the index
+	 * @throws IllegalArgumentException if the level in the file is corrupt
+	 */
+	public LevelTemplate getTemplate(int index) {
+		synchronized (this.templates) {
+			if (this.templates[index] == null) {
+				this.templates[index] = buildTemplate(index);
+			}
+			return this.templates[index];
+		}
+	}
+
+	/**
+	 * Checks if a level has been built
+	 * @param index - the index of the level in the file
+	 * @return true if the level has been asked for before
+	 */
+	public synchronized boolean isBuilt(int index) {
+		return this.levels[index] != null;
+	}
+
+	/**
+	 * Builds the template of a level from its bytes in the file
+	 * @param index - the index of the level in the file
+	 * @return the template
+	 * @throws IllegalArgumentException if the level in the file is corrupt
+	 */
+	private LevelTemplate buildTemplate(int index) {
+		//Each level reads from its own view of the file, so levels can be built in any order
+		ByteBuffer in = this.buffer.duplicate();
+		in.limit((int)this.offsets[index + 1]);
+		in.position((int)this.offsets[index]);
+		try {
+			int numRooms = in.getInt();
+			int numHalls = in.getInt();
+			int numItems = in.getInt();
+
+			List<LevelComponent> levelMap = new ArrayList<>();
+			List<Room> rooms = new ArrayList<>();
+			for (int i = 0; i < numRooms; i++) {
+				Room room = readRoom(in);
+				rooms.add(room);
+				levelMap.add(room);
+			}
+			for (int i = 0; i < numHalls; i++) {
+				levelMap.add(readHall(in, rooms));
+			}
+			List<Item> items = new ArrayList<>();
+			for (int i = 0; i < numItems; i++) {
+				items.add(readItem(in));
+			}
+			return new LevelTemplate(levelMap, items);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Compiled level " + (index + 1) + " is corrupt");
+		}
+	}
+
+	/**
+	 * Reads a room and builds its tiles
+	 * @param in - the bytes of the level, positioned at the room
+	 * @return the room
+	 */
+	private static Room readRoom(ByteBuffer in) {
+		Point origin = new Point(in.getInt(), in.getInt());
+		int width = in.getInt();
+		int height = in.getInt();
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Compiled room has no tiles");
+		}
+		byte[] walkable = new byte[(width * height + 7) / 8];
+		in.get(walkable);
+
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int row = 0; row < height; row++) {
+			List<Tile> tiles = new ArrayList<>();
+			for (int col = 0; col < width; col++) {
+				int bit = row * width + col;
+				tiles.add((walkable[bit >> 3] & (1 << (bit & 7))) != 0 ? new Space() : Wall.instance);
+			}
+			componentMap.add(tiles);
+		}
+		return new Room(origin, componentMap);
+	}
+
+	/**
+	 * Reads a hall and connects it to its rooms
+	 * @param in - the bytes of the level, positioned at the hall
+	 * @param rooms - the rooms of the level
+	 * @return the hall
+	 */
+	private static Hall readHall(ByteBuffer in, List<Room> rooms) {
+		Room startRoom = rooms.get(in.getInt());
+		Point startDoor = new Point(in.getInt(), in.getInt());
+		Room endRoom = rooms.get(in.getInt());
+		Point endDoor = new Point(in.getInt(), in.getInt());
+		int numWaypoints = in.getInt();
+		List<Point> waypoints = new ArrayList<>();
+		for (int i = 0; i < numWaypoints; i++) {
+			waypoints.add(new Point(in.getInt(), in.getInt()));
+		}
+		return new Hall(startDoor, startRoom, endDoor, endRoom, waypoints);
+	}
+
+	/**
+	 * Reads an item
+	 * @param in - the bytes of the level, positioned at the item
+	 * @return the item
+	 */
+	private static Item readItem(ByteBuffer in) {
+		byte type = in.get();
+		Point location = new Point(in.getInt(), in.getInt());
+		switch (type) {
+			case LevelCompiler.keyItem:
+				return new Key(location);
+			case LevelCompiler.exitItem:
+				return new Exit(location);
+			default:
+				throw new IllegalArgumentException("Object type not supported");
+		}
+	}
+}
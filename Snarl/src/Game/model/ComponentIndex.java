@@ -0,0 +1,173 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A spatial index that finds the LevelComponent containing a point
+ * without scanning every component in the Level. It is built once
+ * when the Level is constructed.
+ *
+ * Rooms occupy their entire bounding box, so they are placed into a
+ * uniform grid of buckets keyed by their bounds. Halls only occupy the
+ * tiles along their path, so the location of every hall tile is recorded
+ * exactly. Components are referred to by their index in the level map,
+ * and when components overlap the one that appears first in the level
+ * map is returned
+ *
+ * Doors never move once the level is built, so the location of every door
+ * is also placed into a grid of buckets. The doors near a point are found
+ * by only looking at the buckets around it
+ */
+public class ComponentIndex {
+
+	//The number of cells along each side of a bucket in the room grid
+	private static final int bucketSize = 8;
+
+	//The bounds of the area covered by all components
+	private final Point topLeftBound;
+	private final Point bottomRightBound;
+
+	//The bounding box of each component, indexed by the component's position in the level map
+	private final int[] minX;
+	private final int[] minY;
+	private final int[] maxX;
+	private final int[] maxY;
+
+	//Components that occupy their entire bounding box, bucketed by their bounds
+	private final BucketGrid<Integer> boxedComponents;
+
+	//The location of every hall tile mapped to the first hall that contains it
+	private final CoordinateMap hallTiles;
+
+	//The location of every door in a room, bucketed by location
+	private final BucketGrid<Point> doors;
+
+	/**
+	 * Builds the index for the given level map
+	 * @param levelMap - all LevelComponents in the level
+	 * @throws IllegalArgumentException if the level map has no components
+	 */
+	public ComponentIndex(List<LevelComponent> levelMap) {
+		if (levelMap.isEmpty()) {
+			throw new IllegalArgumentException("Level map does not have any components");
+		}
+		int numComponents = levelMap.size();
+		this.minX = new int[numComponents];
+		this.minY = new int[numComponents];
+		this.maxX = new int[numComponents];
+		this.maxY = new int[numComponents];
+
+		//Record the bounds of each component and of the level as a whole
+		int levelMinX = Integer.MAX_VALUE;
+		int levelMinY = Integer.MAX_VALUE;
+		int levelMaxX = Integer.MIN_VALUE;
+		int levelMaxY = Integer.MIN_VALUE;
+		for (int i = 0; i < numComponents; i++) {
+			LevelComponent component = levelMap.get(i);
+			Point topLeft = component.getTopLeftBound();
+			Point bottomRight = component.getBottomRightBound();
+			this.minX[i] = topLeft.x;
+			this.minY[i] = topLeft.y;
+			this.maxX[i] = bottomRight.x;
+			this.maxY[i] = bottomRight.y;
+			levelMinX = Math.min(levelMinX, topLeft.x);
+			levelMinY = Math.min(levelMinY, topLeft.y);
+			levelMaxX = Math.max(levelMaxX, bottomRight.x);
+			levelMaxY = Math.max(levelMaxY, bottomRight.y);
+		}
+		this.topLeftBound = new Point(levelMinX, levelMinY);
+		this.bottomRightBound = new Point(levelMaxX, levelMaxY);
+
+		//Add every room to the bucket grid and every hall tile to the hall map
+		this.boxedComponents = new BucketGrid<>(levelMinX, levelMinY, levelMaxX, levelMaxY, bucketSize);
+		this.hallTiles = new CoordinateMap();
+		for (int i = 0; i < numComponents; i++) {
+			LevelComponent component = levelMap.get(i);
+			if (component instanceof Hall) {
+				Iterator<Point> cells = ((Hall)component).cellIterator();
+				while (cells.hasNext()) {
+					Point cell = cells.next();
+					this.hallTiles.putIfAbsent(cell.x, cell.y, i);
+				}
+			} else {
+				this.boxedComponents.insert(this.minX[i], this.minY[i], this.maxX[i], this.maxY[i], i);
+			}
+		}
+
+		//Add every door to the door grid once, even if more than one room lists it
+		this.doors = new BucketGrid<>(levelMinX, levelMinY, levelMaxX, levelMaxY, bucketSize);
+		Set<Point> doorLocations = new HashSet<>();
+		for (LevelComponent component : levelMap) {
+			if (!(component instanceof Room)) {
+				continue;
+			}
+			for (Point door : component.getDoors().keySet()) {
+				if (doorLocations.add(door)) {
+					this.doors.insert(door.x, door.y, door.x, door.y, new Point(door));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the index in the level map of the component that contains the point
+	 * @param point - the point used to locate the component
+	 * @return the index of the component, or -1 if the point is not in any component
+	 */
+	public int findComponentIndex(Point point) {
+		int found = -1;
+
+		//Check the rooms whose bucket contains the point. Buckets are in level map order,
+		//so the first room that contains the point is the earliest one
+		List<Integer> candidates = this.boxedComponents.getCandidates(point.x, point.y);
+		for (int i = 0; i < candidates.size(); i++) {
+			int candidate = candidates.get(i);
+			if (point.x >= this.minX[candidate] && point.x <= this.maxX[candidate]
+					&& point.y >= this.minY[candidate] && point.y <= this.maxY[candidate]) {
+				found = candidate;
+				break;
+			}
+		}
+
+		//Check if a hall tile is at the point and comes earlier in the level map
+		int hallIndex = this.hallTiles.get(point.x, point.y);
+		if (hallIndex != -1 && (found == -1 || hallIndex < found)) {
+			found = hallIndex;
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the doors in the buckets that overlap the given window. Every door in the
+	 * window is returned, along with some doors near it, so the caller is responsible
+	 * for checking that each door is actually in the window
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return the locations of the candidate doors
+	 */
+	public List<Point> getDoorCandidates(int minX, int minY, int maxX, int maxY) {
+		return this.doors.getCandidates(minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Gets the top left bound of the area covered by all components
+	 * @return the minimum x and minimum y values of any component
+	 */
+	public Point getTopLeftBound() {
+		return new Point(this.topLeftBound);
+	}
+
+	/**
+	 * Gets the bottom right bound of the area covered by all components
+	 * @return the maximum x and maximum y values of any component
+	 */
+	public Point getBottomRightBound() {
+		return new Point(this.bottomRightBound);
+	}
+}
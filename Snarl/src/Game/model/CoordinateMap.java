@@ -0,0 +1,173 @@
+package Game.model;
+
+/**
+ * A map from cells to non-negative ints, stored as packed coordinates in
+ * open-addressed arrays. Unlike a map keyed by Point, it holds no object per
+ * cell, and looking up a cell allocates nothing, which matters for levels
+ * with many thousands of hall tiles.
+ */
+public class CoordinateMap {
+
+	//The smallest number of slots, which must be a power of two
+	private static final int minCapacity = 16;
+
+	//Multiplier that spreads packed cells over the slots
+	private static final long goldenGamma = 0x9E3779B97F4A7C15L;
+
+	//The packed cell of each slot, and its value plus one. A value of 0 marks an empty slot
+	private long[] cells;
+	private int[] values;
+
+	//The number of cells in the map
+	private int size;
+
+	/**
+	 * Initializes an empty map
+	 */
+	public CoordinateMap() {
+		this.cells = new long[minCapacity];
+		this.values = new int[minCapacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Maps a cell to a value, unless the cell is already mapped
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @param value - the value, which must not be negative
+	 * @return true if the cell was added, false if it was already mapped
+	 * @throws IllegalArgumentException if the value is negative
+	 */
+	public boolean putIfAbsent(int x, int y, int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Cannot map a cell to a negative value");
+		}
+		long cell = Coordinates.pack(x, y);
+		int slot = findSlot(cell);
+		if (this.values[slot] != 0) {
+			return false;
+		}
+		this.cells[slot] = cell;
+		this.values[slot] = value + 1;
+		this.size++;
+		//Keep at most half of the slots full, so probes stay short
+		if (this.size * 2 > this.cells.length) {
+			grow();
+		}
+		return true;
+	}
+
+	/**
+	 * Maps a cell to a value, replacing the value it had
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @param value - the value, which must not be negative
+	 * @throws IllegalArgumentException if the value is negative
+	 */
+	public void put(int x, int y, int value) {
+		if (!putIfAbsent(x, y, value)) {
+			this.values[findSlot(Coordinates.pack(x, y))] = value + 1;
+		}
+	}
+
+	/**
+	 * Removes a cell from the map. The cells after it in its run of full slots
+	 * are shifted back into the gap, so lookups never need to skip removed slots
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @return true if the cell was removed, false if it was not mapped
+	 */
+	public boolean remove(int x, int y) {
+		int mask = this.cells.length - 1;
+		int gap = findSlot(Coordinates.pack(x, y));
+		if (this.values[gap] == 0) {
+			return false;
+		}
+
+		//A cell can fill the gap if the gap is between its home slot and its slot
+		for (int slot = (gap + 1) & mask; this.values[slot] != 0; slot = (slot + 1) & mask) {
+			int home = homeSlot(this.cells[slot]);
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				this.cells[gap] = this.cells[slot];
+				this.values[gap] = this.values[slot];
+				gap = slot;
+			}
+		}
+		this.values[gap] = 0;
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * Gets the value of a cell
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @return the value of the cell, or -1 if the cell is not mapped
+	 */
+	public int get(int x, int y) {
+		return this.values[findSlot(Coordinates.pack(x, y))] - 1;
+	}
+
+	/**
+	 * Gets the number of cells in the map
+	 * @return the number of cells
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets every cell in the map, in no particular order
+	 * @return the packed cells
+	 */
+	public long[] getCells() {
+		long[] mappedCells = new long[this.size];
+		int count = 0;
+		for (int slot = 0; slot < this.cells.length; slot++) {
+			if (this.values[slot] != 0) {
+				mappedCells[count++] = this.cells[slot];
+			}
+		}
+		return mappedCells;
+	}
+
+	/**
+	 * Finds the slot that holds a cell, or the empty slot it would be added to
+	 * @param cell - the packed cell
+	 * @return the slot
+	 */
+	private int findSlot(long cell) {
+		int mask = this.cells.length - 1;
+		int slot = homeSlot(cell);
+		while (this.values[slot] != 0 && this.cells[slot] != cell) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Finds the first slot that is probed for a cell
+	 * @param cell - the packed cell
+	 * @return the slot
+	 */
+	private int homeSlot(long cell) {
+		return (int)((cell * goldenGamma) >>> 32) & (this.cells.length - 1);
+	}
+
+	/**
+	 * Doubles the number of slots and moves every cell to its new slot
+	 */
+	private void grow() {
+		long[] oldCells = this.cells;
+		int[] oldValues = this.values;
+		this.cells = new long[oldCells.length * 2];
+		this.values = new int[oldValues.length * 2];
+		for (int i = 0; i < oldCells.length; i++) {
+			if (oldValues[i] != 0) {
+				int slot = findSlot(oldCells[i]);
+				this.cells[slot] = oldCells[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package Game.model;
+
+import java.awt.Point;
+
+/**
+ * Packs the column and row of a cell into a single long, so that cells can be
+ * stored, hashed and compared without allocating a Point. The column is kept
+ * in the high 32 bits and the row in the low 32 bits, so every int column and
+ * row can be packed and unpacked exactly.
+ *
+ * Points are still used where a location is given to or returned from the
+ * model, and packed cells are used inside it where many cells are stored.
+ */
+public final class Coordinates {
+
+	//Coordinates are only packed and unpacked, so there are no instances
+	private Coordinates() {
+	}
+
+	/**
+	 * Packs a cell into a long
+	 * @param x - the column of the cell
+	 * @param y - the row of the cell
+	 * @return the packed cell
+	 */
+	public static long pack(int x, int y) {
+		return ((long)x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Packs a point into a long
+	 * @param point - the point
+	 * @return the packed cell
+	 */
+	public static long pack(Point point) {
+		return pack(point.x, point.y);
+	}
+
+	/**
+	 * Gets the column of a packed cell
+	 * @param cell - the packed cell
+	 * @return the column of the cell
+	 */
+	public static int getX(long cell) {
+		return (int)(cell >> 32);
+	}
+
+	/**
+	 * Gets the row of a packed cell
+	 * @param cell - the packed cell
+	 * @return the row of the cell
+	 */
+	public static int getY(long cell) {
+		return (int)cell;
+	}
+
+	/**
+	 * Unpacks a cell into a new point
+	 * @param cell - the packed cell
+	 * @return the point of the cell
+	 */
+	public static Point toPoint(long cell) {
+		return new Point(getX(cell), getY(cell));
+	}
+}
@@ -0,0 +1,148 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collection;
+
+import Game.modelView.EntityType;
+
+/**
+ * The number of steps from every walkable cell of a level to the nearest of
+ * a set of locations, usually the locations of the active players. The
+ * distances are found by one breadth-first search that starts from all of the
+ * locations at once, over the cells of the level's SimulationLayout that are
+ * not walls or empty, stepping one cell in a cardinal direction at a time.
+ * Actors do not block the search.
+ *
+ * Once computed, the distance of any location is a single array lookup, so an
+ * adversary can step towards the nearest player by comparing the distances of
+ * its neighbours. A field is computed again each turn, and reuses its arrays,
+ * so it must not be read while it is being computed.
+ */
+public class DistanceField {
+
+	//The distance of an unreachable cell
+	public static final int unreachable = -1;
+
+	//The layout of the level the distances are in
+	private final SimulationLayout layout;
+
+	//The distance of each cell, or unreachable
+	private final int[] distances;
+
+	//The cells in the order they were reached, and the number reached by the last search
+	private final int[] queue;
+	private int reached;
+
+	/**
+	 * Initializes a field of a level, in which every cell is unreachable until
+	 * the field is computed
+	 * @param layout - the layout of the level
+	 */
+	public DistanceField(SimulationLayout layout) {
+		this.layout = layout;
+		this.distances = new int[layout.getCellCount()];
+		this.queue = new int[layout.getCellCount()];
+		this.reached = 0;
+		Arrays.fill(this.distances, unreachable);
+	}
+
+	/**
+	 * Computes the distance of every cell from the nearest source. Sources
+	 * that are outside of the level, or on a wall, are ignored
+	 * @param sources - the locations to find the distance from
+	 */
+	public void compute(Collection<Point> sources) {
+		//Only the cells reached by the last search need to be cleared
+		for (int i = 0; i < this.reached; i++) {
+			this.distances[this.queue[i]] = unreachable;
+		}
+
+		int tail = 0;
+		for (Point source : sources) {
+			int cell = this.layout.getCell(source.x, source.y);
+			if (cell != -1 && isWalkable(cell) && this.distances[cell] == unreachable) {
+				this.distances[cell] = 0;
+				this.queue[tail++] = cell;
+			}
+		}
+
+		//Neighbours are found from the number of the cell, stepping a row at a time by the width
+		int width = this.layout.getWidth();
+		int numCells = this.distances.length;
+		for (int head = 0; head < tail; head++) {
+			int cell = this.queue[head];
+			int column = cell % width;
+			int nextDistance = this.distances[cell] + 1;
+			if (column + 1 < width) {
+				tail = visit(cell + 1, nextDistance, tail);
+			}
+			if (column > 0) {
+				tail = visit(cell - 1, nextDistance, tail);
+			}
+			if (cell + width < numCells) {
+				tail = visit(cell + width, nextDistance, tail);
+			}
+			if (cell >= width) {
+				tail = visit(cell - width, nextDistance, tail);
+			}
+		}
+		this.reached = tail;
+	}
+
+	/**
+	 * Gets the distance of a location from the nearest source
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the number of steps to the nearest source, or unreachable if the
+	 * location is outside of the level or no source can be reached from it
+	 */
+	public int getDistance(int x, int y) {
+		int cell = this.layout.getCell(x, y);
+		return cell == -1 ? unreachable : this.distances[cell];
+	}
+
+	/**
+	 * Gets the distance of a location from the nearest source
+	 * @param location - the location in the level
+	 * @return the number of steps to the nearest source, or unreachable if the
+	 * location is outside of the level or no source can be reached from it
+	 */
+	public int getDistance(Point location) {
+		return getDistance(location.x, location.y);
+	}
+
+	/**
+	 * Gets the number of cells that were reached by the last computation
+	 * @return the number of cells with a distance
+	 */
+	public int getReachedCount() {
+		return this.reached;
+	}
+
+	/**
+	 * Adds a cell to the search if it is walkable and has not been reached
+	 * @param cell - the cell
+	 * @param distance - the distance of the cell if it has not been reached
+	 * @param tail - the end of the queue
+	 * @return the end of the queue after the cell is added
+	 */
+	private int visit(int cell, int distance, int tail) {
+		if (this.distances[cell] != unreachable || !isWalkable(cell)) {
+			return tail;
+		}
+		this.distances[cell] = distance;
+		this.queue[tail] = cell;
+		return tail + 1;
+	}
+
+	/**
+	 * Checks if a cell can be stepped on
+	 * @param cell - the cell
+	 * @return true if the cell is not a wall and is part of a component
+	 */
+	private boolean isWalkable(int cell) {
+		byte terrain = this.layout.getTerrain(cell);
+		return terrain != EntityType.WALL.ordinal() && terrain != EntityType.EMPTY.ordinal();
+	}
+}
@@ -2,6 +2,7 @@ package Game.model;
 
 import Game.modelView.LevelModelView;
 import java.awt.Point;
+import java.util.ArrayList;
 import java.util.List;
 
 import Game.modelView.DungeonModelView;
@@ -22,15 +23,16 @@ public class Dungeon implements RuleChecker, DungeonModelView {
 	//is represented as 1
 	private int currLevel;
 	
-	//All levels in the game
-	private List<Level> levels;
+	//All levels in the game. Each level is resolved when it is first needed
+	private List<LevelHandle> levels;
 
 	/**
 	 * Initializes a dungeon with all of the levels for the game, as well as the index
 	 * for the current level
 	 * @param players - the players playing this dungeon
 	 * @param currLevel - the index of the current level
-	 * @param levels - the list of all levels in the game
+	 * @param levels - the list of all levels in the game. A level is only taken
+	 * from the list when it is first needed
 	 */
 	public Dungeon(List<Player> players, int currLevel, List<Level> levels) {
 		if (players.size() < 1 || players.size() > 4) {
@@ -38,7 +40,10 @@ public class Dungeon implements RuleChecker, DungeonModelView {
 		}
 		this.players = players;
 		this.currLevel = currLevel;	
-		this.levels = levels;
+		this.levels = new ArrayList<>();
+		for (int i = 0; i < levels.size(); i++) {
+			this.levels.add(new LevelHandle(levels, i));
+		}
 	}
 
 	/**
@@ -75,7 +80,7 @@ public class Dungeon implements RuleChecker, DungeonModelView {
 	 * @return The current level in the dungeon
 	 */
 	public Level getCurrentLevel() {
-		Level currLevel = this.levels.get(this.currLevel - 1);
+		Level currLevel = this.levels.get(this.currLevel - 1).getLevel();
 		return currLevel;
 	}
 
@@ -156,12 +161,13 @@ public class Dungeon implements RuleChecker, DungeonModelView {
 	/**
 	 * A level is invalid if the level has been exited while the exit is 
 	 * locked, if there is not exactly one key and exit, if there is a key
-	 * in the level but the exit is unlocked, or if unknown players are in the level
+	 * in the level but the exit is unlocked, or if unknown players are in the level.
+	 * Every level is checked, so every level is resolved
 	 */
 	@Override
 	public Boolean checkValidGameState() {
-		for (Level level : this.levels) {
-			if (!level.checkValidLevelState(this.players)) {
+		for (LevelHandle handle : this.levels) {
+			if (!handle.getLevel().checkValidLevelState(this.players)) {
 				return false;
 			}
 		}
@@ -194,4 +200,22 @@ public class Dungeon implements RuleChecker, DungeonModelView {
 		return currLevel.getValidMoves(player);
 	}
 
+	/**
+	 * Gets the handle of a level, which can be resolved before the level is reached
+	 * @param levelIndex - the number of the level, where the first level is 1
+	 * @return the handle of the level
+	 */
+	public LevelHandle getLevelHandle(int levelIndex) {
+		return this.levels.get(levelIndex - 1);
+	}
+
+	/**
+	 * Takes a read-only snapshot of the dungeon as it is now, which can be
+	 * read on another thread while the game goes on
+	 * @return the snapshot of the dungeon
+	 */
+	public DungeonSnapshot getSnapshot() {
+		return new DungeonSnapshot(this.currLevel, isGameOver(), this.players, getCurrentLevel());
+	}
+
 }
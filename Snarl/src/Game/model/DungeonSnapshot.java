@@ -0,0 +1,178 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import Game.modelView.DungeonModelView;
+import Game.modelView.EntityType;
+import Game.modelView.LevelModelView;
+
+/**
+ * A read-only copy of the state of a Dungeon at one point in the game, taken
+ * after an action so that observers and player updates can be built from it
+ * without holding up the game.
+ *
+ * The current level is kept as a LevelSnapshot, and the players are kept as
+ * copies of the players as they were when the snapshot was taken, so later
+ * changes to their health or score do not show through. What each player in
+ * the level can see is found from the LevelSnapshot the first time it is asked
+ * for, so a snapshot only does the work that its readers need. A snapshot
+ * never changes after it is taken, so it can be read on any thread
+ */
+public class DungeonSnapshot implements DungeonModelView {
+
+	//The index of the current level, starting from 1
+	private final int levelIndex;
+
+	//The state of the game when the snapshot was taken
+	private final GameState gameState;
+
+	//Copies of all players in the game regardless of status in the current level
+	private final List<Player> players;
+
+	//The snapshot of the current level
+	private final LevelSnapshot level;
+
+	//What each player in the level could see and where they could move, found the
+	//first time it is asked for. Guarded by the snapshot, since it may be read on any thread
+	private final Map<Player, List<List<EntityType>>> playerMaps;
+	private final Map<Player, List<Point>> validMoves;
+	private final Map<Player, List<Point>> visibleDoors;
+	private final Map<Player, List<Item>> visibleItems;
+	private final Map<Player, Map<Actor, Point>> visibleActors;
+
+	/**
+	 * Takes a snapshot of the current level of a dungeon
+	 * @param levelIndex - the index of the current level
+	 * @param gameState - the state of the game
+	 * @param players - all players in the game
+	 * @param currentLevel - the current level
+	 */
+	public DungeonSnapshot(int levelIndex, GameState gameState, List<Player> players, Level currentLevel) {
+		this.levelIndex = levelIndex;
+		this.gameState = gameState;
+		List<Player> playerCopies = new ArrayList<>(players.size());
+		for (Player player : players) {
+			playerCopies.add(new Player(player));
+		}
+		this.players = Collections.unmodifiableList(playerCopies);
+		this.level = currentLevel.getSnapshot();
+		this.playerMaps = new HashMap<>();
+		this.validMoves = new HashMap<>();
+		this.visibleDoors = new HashMap<>();
+		this.visibleItems = new HashMap<>();
+		this.visibleActors = new HashMap<>();
+	}
+
+	/**
+	 * Gets the snapshot of the current level
+	 * @return the LevelSnapshot
+	 */
+	public LevelSnapshot getLevelSnapshot() {
+		return this.level;
+	}
+
+	/**
+	 * Gets the copy of a player as they were when the snapshot was taken
+	 * @param player - the player to find
+	 * @return the copy of the player
+	 * @throws IllegalArgumentException if the player is not in the dungeon
+	 */
+	public Player getPlayer(Player player) {
+		int index = this.players.indexOf(player);
+		if (index < 0) {
+			throw new IllegalArgumentException("The player is not in the dungeon");
+		}
+		return this.players.get(index);
+	}
+
+	@Override
+	public int getCurrentLevelIndex() {
+		return this.levelIndex;
+	}
+
+	@Override
+	public Boolean isPlayerAlive(Player player) {
+		if (!this.players.contains(player)) {
+			throw new IllegalArgumentException("The player is not in the dungeon");
+		}
+		return this.level.isPlayerAlive(player);
+	}
+
+	@Override
+	public synchronized List<List<EntityType>> getPlayerMap(Player player) {
+		List<List<EntityType>> playerMap = this.playerMaps.get(player);
+		if (playerMap == null) {
+			playerMap = Collections.unmodifiableList(this.level.getPlayerMap(player));
+			this.playerMaps.put(player, playerMap);
+		}
+		return playerMap;
+	}
+
+	@Override
+	public synchronized List<Point> getValidMoves(Player player) {
+		List<Point> moves = this.validMoves.get(player);
+		if (moves == null) {
+			moves = Collections.unmodifiableList(this.level.getValidMoves(player));
+			this.validMoves.put(player, moves);
+		}
+		return moves;
+	}
+
+	@Override
+	public GameState isLevelOver() {
+		return this.level.isLevelOver();
+	}
+
+	@Override
+	public GameState isGameOver() {
+		return this.gameState;
+	}
+
+	@Override
+	public LevelModelView getCurrentLevelModelView() {
+		return this.level;
+	}
+
+	@Override
+	public Point getPosition(Actor actor) {
+		if (!(actor instanceof Player) && !(actor instanceof Adversary)) {
+			throw new IllegalArgumentException("Invalid actor type");
+		}
+		return this.level.getActorPosition(actor);
+	}
+
+	@Override
+	public synchronized List<Point> getVisibleDoors(Player player) {
+		List<Point> doors = this.visibleDoors.get(player);
+		if (doors == null) {
+			doors = Collections.unmodifiableList(this.level.getVisibleDoors(player));
+			this.visibleDoors.put(player, doors);
+		}
+		return doors;
+	}
+
+	@Override
+	public synchronized List<Item> getVisibleItems(Player player) {
+		List<Item> items = this.visibleItems.get(player);
+		if (items == null) {
+			items = Collections.unmodifiableList(this.level.getVisibleItems(player));
+			this.visibleItems.put(player, items);
+		}
+		return items;
+	}
+
+	@Override
+	public synchronized Map<Actor, Point> getVisibleActors(Player player) {
+		Map<Actor, Point> actors = this.visibleActors.get(player);
+		if (actors == null) {
+			actors = Collections.unmodifiableMap(this.level.getVisibleActors(player));
+			this.visibleActors.put(player, actors);
+		}
+		return actors;
+	}
+}
@@ -0,0 +1,185 @@
+package Game.model;
+
+import java.awt.Point;
+
+import Game.modelView.EntityType;
+
+/**
+ * Tracks the cells of a Room that a new actor can be placed on, which are
+ * the cells that hold an empty SPACE. The cells of the room are numbered
+ * in row-major order, and each cell is one bit in an array of longs.
+ *
+ * A Fenwick tree over the number of free cells in each long is kept
+ * alongside the bits, so the k-th free cell can be found in O(log n)
+ * without scanning the room. This lets the Level choose a random free
+ * cell, or the first free cell, in a single step.
+ *
+ * Whether a cell is free is read from the LevelGrid, which holds the
+ * actors and items of the level. The Level is responsible for updating the
+ * index whenever an actor or item is placed in or removed from the room
+ */
+public class FreeCellIndex {
+
+	private static final int bitsPerWord = 64;
+
+	//The grid of the level that holds the room
+	private LevelGrid grid;
+
+	//The top left cell of the room in level coordinates
+	private Point origin;
+
+	//The number of cells in each row of the room
+	private int width;
+
+	//The number of cells in each column of the room
+	private int height;
+
+	//One bit per cell of the room, set if the cell is free
+	private long[] words;
+
+	//Fenwick tree over the number of free cells in each word, indexed from 1
+	private int[] wordCounts;
+
+	//The largest power of two that is no bigger than the number of words
+	private int highestStep;
+
+	//The number of free cells in the room
+	private int freeCellCount;
+
+	/**
+	 * Initializes the index with the free cells currently in the room
+	 * @param room - the room to track
+	 * @param grid - the grid of the level that holds the room
+	 */
+	public FreeCellIndex(Room room, LevelGrid grid) {
+		this.grid = grid;
+		this.origin = new Point(room.getTopLeftBound());
+		Point bottomRight = room.getBottomRightBound();
+		this.width = bottomRight.x - this.origin.x + 1;
+		this.height = bottomRight.y - this.origin.y + 1;
+
+		int numWords = (this.width * this.height + bitsPerWord - 1) / bitsPerWord;
+		this.words = new long[numWords];
+		this.wordCounts = new int[numWords + 1];
+		this.highestStep = Integer.highestOneBit(Math.max(numWords, 1));
+		this.freeCellCount = 0;
+
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				update(new Point(this.origin.x + x, this.origin.y + y));
+			}
+		}
+	}
+
+	/**
+	 * Checks the grid at the location and records whether it is free.
+	 * Locations outside of the room are ignored
+	 * @param location - the location in level coordinates
+	 */
+	public void update(Point location) {
+		int cell = getCell(location);
+		if (cell < 0) {
+			return;
+		}
+		setFree(cell, this.grid.getEntityType(location.x, location.y).equals(EntityType.SPACE));
+	}
+
+	/**
+	 * Checks if the location is a free cell of the room
+	 * @param location - the location in level coordinates
+	 * @return true if an actor can be placed on the location
+	 */
+	public boolean isFree(Point location) {
+		int cell = getCell(location);
+		return cell >= 0 && (this.words[cell / bitsPerWord] & (1L << (cell % bitsPerWord))) != 0;
+	}
+
+	/**
+	 * Gets the number of free cells in the room
+	 * @return the number of free cells
+	 */
+	public int getFreeCellCount() {
+		return this.freeCellCount;
+	}
+
+	/**
+	 * Gets the free cell with the given rank, counting in row-major order
+	 * @param rank - the number of free cells that come before the cell
+	 * @return the location of the free cell
+	 * @throws IllegalArgumentException if there are not more than rank free cells
+	 */
+	public Point getFreeCell(int rank) {
+		if (rank < 0 || rank >= this.freeCellCount) {
+			throw new IllegalArgumentException("Room has no empty spaces to place a new actor");
+		}
+
+		//Descend the Fenwick tree to the word that holds the cell
+		int word = 0;
+		int remaining = rank;
+		for (int step = this.highestStep; step > 0; step >>= 1) {
+			int next = word + step;
+			if (next < this.wordCounts.length && this.wordCounts[next] <= remaining) {
+				word = next;
+				remaining -= this.wordCounts[next];
+			}
+		}
+
+		//Drop the lower free cells of the word until the cell is the lowest one left
+		long bits = this.words[word];
+		for (int i = 0; i < remaining; i++) {
+			bits &= bits - 1;
+		}
+		int cell = word * bitsPerWord + Long.numberOfTrailingZeros(bits);
+		return new Point(this.origin.x + cell % this.width, this.origin.y + cell / this.width);
+	}
+
+	/**
+	 * Gets the first free cell in the room, counting in row-major order
+	 * @return the location of the free cell
+	 * @throws IllegalArgumentException if the room has no free cells
+	 */
+	public Point getFirstFreeCell() {
+		return getFreeCell(0);
+	}
+
+	/**
+	 * Gets the row-major number of the cell at the location
+	 * @param location - the location in level coordinates
+	 * @return the number of the cell, or -1 if the location is outside of the room
+	 */
+	private int getCell(Point location) {
+		int x = location.x - this.origin.x;
+		int y = location.y - this.origin.y;
+		if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+			return -1;
+		}
+		return y * this.width + x;
+	}
+
+	/**
+	 * Sets or clears the bit of a cell and updates the counts
+	 * @param cell - the number of the cell
+	 * @param free - true if the cell is free
+	 */
+	private void setFree(int cell, boolean free) {
+		int word = cell / bitsPerWord;
+		long bit = 1L << (cell % bitsPerWord);
+		boolean wasFree = (this.words[word] & bit) != 0;
+		if (wasFree == free) {
+			return;
+		}
+
+		int delta;
+		if (free) {
+			this.words[word] |= bit;
+			delta = 1;
+		} else {
+			this.words[word] &= ~bit;
+			delta = -1;
+		}
+		this.freeCellCount += delta;
+		for (int i = word + 1; i < this.wordCounts.length; i += i & -i) {
+			this.wordCounts[i] += delta;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package Game.model;
+
+import java.awt.Point;
+
+/**
+ * A Space that reads and writes a cell of a LevelGrid rather than holding
+ * its own actor and item. The Tiles that a LevelComponent hands out are
+ * GridSpaces, so a Tile that was asked for before an actor moves onto it
+ * shows the actor, and placing an actor or item on the Tile places it in
+ * the grid
+ */
+class GridSpace extends Space {
+
+	//The grid that holds the cell and the location of the cell
+	private final LevelGrid grid;
+	private final Point location;
+
+	/**
+	 * Initializes a Space for a cell of the grid
+	 * @param grid - the grid that holds the cell
+	 * @param location - the location of the cell in the level
+	 */
+	GridSpace(LevelGrid grid, Point location) {
+		this.grid = grid;
+		this.location = location;
+	}
+
+	@Override
+	public Actor getActor() {
+		return this.grid.getActor(this.location.x, this.location.y);
+	}
+
+	@Override
+	public Item getItem() {
+		return this.grid.getItem(this.location.x, this.location.y);
+	}
+
+	@Override
+	public void placeActor(Actor actor) {
+		this.grid.placeActor(actor, this.location);
+	}
+
+	@Override
+	public void placeItem(Item item) {
+		this.grid.placeItem(item, this.location);
+	}
+
+	@Override
+	public void removeActor() {
+		this.grid.removeActor(this.location);
+	}
+
+	@Override
+	public void removeItem() {
+		this.grid.removeItem(this.location);
+	}
+}
@@ -2,9 +2,13 @@ package Game.model;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import Game.modelView.EntityType;
 
@@ -19,11 +23,20 @@ import Game.modelView.EntityType;
  *       *
  *       *******
  * For more examples, see test/model/HallTest.java
+ *
+ * The tiles of a Hall are read from a LevelGrid rather than kept as Tile
+ * objects. A Hall that is not part of a Level builds a grid of its own over
+ * its bounds once one of its tiles is needed. Once a Level is built from the
+ * Hall, the Hall reads the Level's grid, so its tiles show the actors and
+ * items of the Level as they move
  */
 public class Hall implements LevelComponent {
-	
-	//A list of all tiles within this LevelComponent
-	private List<Tile> componentMap;
+
+	//The most tiles the hall can have, which limits halls built from a list of tiles
+	private int maxLength;
+
+	//The grid that holds the tiles of the Hall, or null if no tile has been needed yet
+	private LevelGrid grid;
 	
 	//A list of all points that represent corners in a Hall
 	private List<Point> waypoints;
@@ -40,16 +53,41 @@ public class Hall implements LevelComponent {
 	//The position in the EndRoom that connects through the door to the Hall
 	private Point endRoomPosition;
 
+	//The hall is made up of straight segments between the rooms and waypoints.
+	//For each segment, the location of its first tile, the direction it travels in,
+	//the hall index of its first tile, and its number of tiles
+	private int[] segmentStartX;
+	private int[] segmentStartY;
+	private int[] segmentDirectionX;
+	private int[] segmentDirectionY;
+	private int[] segmentOffsets;
+	private int[] segmentLengths;
+
+	//The number of tiles along all segments
+	private int pathLength;
+
+	//Horizontal segments sorted by row and then left-most column, and vertical
+	//segments sorted by column and then top-most row
+	private Integer[] horizontalSegments;
+	private Integer[] verticalSegments;
+
 	/**
 	 * Initializes a new Hall with the componentMap and waypoints
 	 * Both the start and end room are null during initialization
 	 * This constructor is mostly used for testing
-	 * @param componentMap - the map of all entities in the hall
+	 * @param componentMap - the map of all entities in the hall, which limits its length
 	 * @param waypoints - a list of points that represent corners in the hall. 
 	 * If there are no corners in the hall, this list will be empty
+	 * @throws IllegalArgumentException if a tile is not an empty Space, since the
+	 * tiles do not have a location until the hall is connected
 	 */
 	public Hall(List<Tile> componentMap, List<Point> waypoints) {
-		this.componentMap = componentMap;
+		for (Tile tile : componentMap) {
+			if (!new Space().equals(tile)) {
+				throw new IllegalArgumentException("Hall can only be built from empty spaces");
+			}
+		}
+		this.maxLength = componentMap.size();
 		this.waypoints = waypoints;
 		this.startRoom = null;
 		this.endRoom = null;
@@ -68,49 +106,69 @@ public class Hall implements LevelComponent {
 	 * If there are no corners in the hall, this list will be empty
 	 */
 	public Hall(Point positionStart, Room startRoom, Point positionEnd, Room endRoom, List<Point> waypoints) {
+		this.maxLength = Integer.MAX_VALUE;
 		this.waypoints = waypoints;
 		this.startRoom = null;
 		this.endRoom = null;
 		connectRooms(positionStart, startRoom, positionEnd, endRoom);
-		this.componentMap = createEmptyComponentMap();
 		startRoom.connectHall(positionStart, this);
 		endRoom.connectHall(positionEnd, this);
 	}
-	
+
 	/**
-	 * Creates an empty component map for this hallway. By finding the length of the hallway and
-	 * filling it with spaces.
-	 * @return List of Entities that represents the tiles in the hallway
+	 * Initializes a Hall for a new game of a level, along the same path as a Hall
+	 * of the level's structure, and connects it to the rooms of the game. The
+	 * segments never change once they are built, so they are shared with the structure
+	 * @param structure - the Hall of the level's structure
+	 * @param startRoom - the room of the game at the start of the hall
+	 * @param endRoom - the room of the game at the end of the hall
+	 * @param grid - the grid of the game, which holds the tiles of the Hall
 	 */
-	private List<Tile> createEmptyComponentMap() {
-		List<Tile> hallMap = new ArrayList<>();
-		int hallLength = getLengthByWaypoint();
-		for (int i = 0; i < hallLength; i++) {
-			hallMap.add(new Space());
-		}
-		
-		return hallMap;
+	Hall(Hall structure, Room startRoom, Room endRoom, LevelGrid grid) {
+		this.maxLength = structure.maxLength;
+		this.grid = grid;
+		this.waypoints = structure.waypoints;
+		this.startRoom = startRoom;
+		this.endRoom = endRoom;
+		this.startRoomPosition = structure.startRoomPosition;
+		this.endRoomPosition = structure.endRoomPosition;
+		this.segmentStartX = structure.segmentStartX;
+		this.segmentStartY = structure.segmentStartY;
+		this.segmentDirectionX = structure.segmentDirectionX;
+		this.segmentDirectionY = structure.segmentDirectionY;
+		this.segmentOffsets = structure.segmentOffsets;
+		this.segmentLengths = structure.segmentLengths;
+		this.pathLength = structure.pathLength;
+		this.horizontalSegments = structure.horizontalSegments;
+		this.verticalSegments = structure.verticalSegments;
+		startRoom.connectHall(this.startRoomPosition, this);
+		endRoom.connectHall(this.endRoomPosition, this);
 	}
 
 	/**
-	 * Determines the length of the hall using the start room position, the end room
-	 * position, and the waypoints
-	 * @return the length of the hallway
+	 * Makes the Hall read its tiles from the grid of a Level. The grid must
+	 * already hold the tiles of the Hall
+	 * @param levelGrid - the grid of the Level
 	 */
-	private int getLengthByWaypoint() {
-		int length = 0;
-		Point currPos = this.startRoomPosition;
-		
-		//Calculate the distance for each waypoint
-		for (Point waypoint : this.waypoints) {
-			//Add the distance in the segment counting one endpoint (the new waypoint)
-			length += currPos.distance(waypoint);
-			currPos = waypoint;
-		}
+	void useGrid(LevelGrid levelGrid) {
+		this.grid = levelGrid;
+	}
 
-		//Add the distance in the segment not counting either end
-		length += (currPos.distance(this.endRoomPosition) - 1);
-		return length;
+	/**
+	 * Gets the grid that holds the tiles of the Hall, building a grid over the
+	 * bounds of the Hall the first time a tile is needed
+	 * @return the grid of the Hall
+	 */
+	private LevelGrid getGrid() {
+		if (this.grid == null) {
+			LevelGrid hallGrid = new LevelGrid(getTopLeftBound(), getBottomRightBound());
+			Iterator<Point> cells = cellIterator();
+			while (cells.hasNext()) {
+				hallGrid.setTerrain(cells.next(), EntityType.HALL_SPACE);
+			}
+			this.grid = hallGrid;
+		}
+		return this.grid;
 	}
 
 	/**
@@ -132,6 +190,7 @@ public class Hall implements LevelComponent {
 			this.startRoomPosition = positionStart;
 			this.endRoom = endRoom;
 			this.endRoomPosition = positionEnd;
+			buildSegments();
 		} else {
 			throw new IllegalArgumentException("Room positions are not orthogonally in line with hallway "
 					+ "waypoints");
@@ -234,163 +293,320 @@ public class Hall implements LevelComponent {
 
 	@Override
 	public boolean inComponent(Point point) {
-		try {
-			getHallwayIndex(point);
-			return true;
-		} catch (IllegalArgumentException e) {
-			return false;
-		}
+		return findHallwayIndex(point.x, point.y) >= 0;
 	}
 
 	@Override
 	public Tile getDestinationTile(Point point) {
-		int hallIndex = getHallwayIndex(point);
-		return this.componentMap.get(hallIndex);
+		getHallwayIndex(point);
+		return getGrid().getTile(point);
 	}
 
 	/**
-	 * Walk through each location in the hall to determine if it matches the given
-	 * point. If so, return the index of the hallway at that point.
-	 * @param point - the point in cartesian space to find the hall index for
-	 * @throws IllegalArgumentException if the point is nowhere in the hall
+	 * Splits the hall into straight segments so that tiles can be located
+	 * without walking the hall. The segments start one step out of the
+	 * StartRoom, turn at each waypoint, and stop one step before the EndRoom
+	 * @throws IllegalArgumentException if two consecutive points are not orthogonally aligned
 	 */
-	private int getHallwayIndex(Point point) {
-		//Start at StartRoom
-		Point currentPosition = this.startRoomPosition;
-		
-		//Keep track of the current waypoint
-		int waypointCounter = 0;
-		
-		Point nextDestination;
-		
-		//If there are no waypoints, the destination is the endRoom
-		//Otherwise, the destination is the next waypoint
-		if (this.waypoints.isEmpty()) {
-			nextDestination = this.endRoomPosition;
-		} else {
-			nextDestination = this.waypoints.get(waypointCounter);
+	private void buildSegments() {
+		int numSegments = this.waypoints.size() + 1;
+		this.segmentStartX = new int[numSegments];
+		this.segmentStartY = new int[numSegments];
+		this.segmentDirectionX = new int[numSegments];
+		this.segmentDirectionY = new int[numSegments];
+		this.segmentOffsets = new int[numSegments];
+		this.segmentLengths = new int[numSegments];
+
+		int segmentCount = 0;
+		int length = 0;
+		Point previous = this.startRoomPosition;
+		for (int i = 0; i < numSegments; i++) {
+			boolean lastSegment = i == this.waypoints.size();
+			Point next = lastSegment ? this.endRoomPosition : this.waypoints.get(i);
+			if (previous.x != next.x && previous.y != next.y) {
+				throw new IllegalArgumentException("Source and destination are not orthogonally aligned");
+			}
+
+			//The segment includes the waypoint it travels to, but not the EndRoom
+			int directionX = Integer.signum(next.x - previous.x);
+			int directionY = Integer.signum(next.y - previous.y);
+			int segmentLength = Math.abs(next.x - previous.x) + Math.abs(next.y - previous.y);
+			if (lastSegment) {
+				segmentLength--;
+			}
+
+			if (segmentLength > 0) {
+				this.segmentStartX[segmentCount] = previous.x + directionX;
+				this.segmentStartY[segmentCount] = previous.y + directionY;
+				this.segmentDirectionX[segmentCount] = directionX;
+				this.segmentDirectionY[segmentCount] = directionY;
+				this.segmentOffsets[segmentCount] = length;
+				this.segmentLengths[segmentCount] = segmentLength;
+				segmentCount++;
+				length += segmentLength;
+			}
+			previous = next;
 		}
-		
-		//Take one step into the hall in the direction of the nextDestination
-		currentPosition = stepTowardDestination(currentPosition, nextDestination);
-		
-		//Iterate through each tile in the hall
-		for (int steps = 0; steps < this.componentMap.size(); steps++) {
-			
-			//If the current coordinate is the given point, return the Tile at this location
-			if (currentPosition.equals(point)) {
-				return steps;
+		this.pathLength = length;
+
+		//Drop the space reserved for segments with no tiles
+		this.segmentStartX = Arrays.copyOf(this.segmentStartX, segmentCount);
+		this.segmentStartY = Arrays.copyOf(this.segmentStartY, segmentCount);
+		this.segmentDirectionX = Arrays.copyOf(this.segmentDirectionX, segmentCount);
+		this.segmentDirectionY = Arrays.copyOf(this.segmentDirectionY, segmentCount);
+		this.segmentOffsets = Arrays.copyOf(this.segmentOffsets, segmentCount);
+		this.segmentLengths = Arrays.copyOf(this.segmentLengths, segmentCount);
+
+		//Sort the segments along each axis so that a point can be found with a binary search
+		List<Integer> horizontal = new ArrayList<>();
+		List<Integer> vertical = new ArrayList<>();
+		for (int i = 0; i < segmentCount; i++) {
+			if (this.segmentDirectionY[i] == 0) {
+				horizontal.add(i);
+			} else {
+				vertical.add(i);
 			}
-			
-			//If you have reached the next waypoint, check to see what the nextDestination is
-			if (nextDestination.equals(currentPosition)) {
-				waypointCounter++;
-				
-				//If we have reached the end of the waypoints, the nextDestination is the EndRoom
-				if (this.waypoints.size() <= waypointCounter) {
-					nextDestination = this.endRoomPosition;
-				} else {
-					//Otherwise, get the next waypoint in the list
-					nextDestination = this.waypoints.get(waypointCounter);
+		}
+		this.horizontalSegments = horizontal.toArray(new Integer[0]);
+		this.verticalSegments = vertical.toArray(new Integer[0]);
+		Arrays.sort(this.horizontalSegments, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				int rowCompare = Integer.compare(segmentStartY[first], segmentStartY[second]);
+				if (rowCompare != 0) {
+					return rowCompare;
 				}
+				return Integer.compare(segmentMin(first, true), segmentMin(second, true));
 			}
-			//Update the current position to the next step in the Hall
-			currentPosition = stepTowardDestination(currentPosition, nextDestination);
-		}
-
-		//If the Tile is not located, throw the corresponding error
-		throw new IllegalArgumentException("Point not in component");
+		});
+		Arrays.sort(this.verticalSegments, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				int columnCompare = Integer.compare(segmentStartX[first], segmentStartX[second]);
+				if (columnCompare != 0) {
+					return columnCompare;
+				}
+				return Integer.compare(segmentMin(first, false), segmentMin(second, false));
+			}
+		});
 	}
-	
+
 	/**
-	 * Returns the coordinate for the next step in the direction of the destination
-	 * @param source - the current position in the hall
-	 * @param destination - the direction to move towards in the hall (waypoint or endRoom)
-	 * @return the coordinates for the next step in the hall
+	 * Gets the smallest coordinate covered by a segment along the axis it travels on
+	 * @param segment - the index of the segment
+	 * @param horizontal - true for the smallest column, false for the smallest row
+	 * @return the smallest column or row in the segment
 	 */
-	private Point stepTowardDestination(Point source, Point destination) {
-		
-		//If the source and destination are not aligned horizontally or vertically, throw an error
-		//Otherwise, identify which direction to move toward and return the corresponding coordinate
-		if ((source.x != destination.x) && (source.y != destination.y)) {
-			throw new IllegalArgumentException("Source and destination are not orthogonally aligned");
-		} else if (source.x > destination.x) {
-			return new Point(source.x - 1, source.y);
-		} else if (source.x < destination.x) {
-			return new Point(source.x + 1, source.y);
-		} else if (source.y > destination.y) {
-			return new Point(source.x, source.y - 1);
-		} else if (source.y < destination.y) {
-			return new Point(source.x, source.y + 1);
-		} else {
-			return source;		
-		}				
+	private int segmentMin(int segment, boolean horizontal) {
+		int start = horizontal ? this.segmentStartX[segment] : this.segmentStartY[segment];
+		int direction = horizontal ? this.segmentDirectionX[segment] : this.segmentDirectionY[segment];
+		int end = start + direction * (this.segmentLengths[segment] - 1);
+		return Math.min(start, end);
 	}
 
-	@Override
-	public void removeActor(Actor actor) {
-		int actorIndex = findActor(actor);
-		Tile tile = this.componentMap.get(actorIndex);
-		tile.removeActor();
+	/**
+	 * Gets the number of tiles in the hall that can be reached by walking from the
+	 * StartRoom to the EndRoom
+	 * @return the length of the hall
+	 */
+	public int getLength() {
+		if (this.segmentOffsets == null) {
+			return 0;
+		}
+		return Math.min(this.pathLength, this.maxLength);
 	}
-	
-	@Override
-	public Point findActorLocation(Actor actor) {
-		int tileIndex = findActor(actor);
 
-		int length = 0;
+	/**
+	 * Determine the index of the hallway at the given point, using the segments of the hall
+	 * @param point - the point in cartesian space to find the hall index for
+	 * @throws IllegalArgumentException if the point is nowhere in the hall
+	 */
+	private int getHallwayIndex(Point point) {
+		int hallIndex = findHallwayIndex(point.x, point.y);
+		if (hallIndex < 0) {
+			//If the Tile is not located, throw the corresponding error
+			throw new IllegalArgumentException("Point not in component");
+		}
+		return hallIndex;
+	}
 
-		Point nextDestination;
-		//If there are no waypoints, the destination is the endRoom
-		//Otherwise, the destination is the next waypoint
-		if (this.waypoints.isEmpty()) {
-			nextDestination = this.endRoomPosition;
+	/**
+	 * Finds the first index in the hall at the given location. Checks the horizontal
+	 * segments in the same row and the vertical segments in the same column
+	 * @param x - the column of the location
+	 * @param y - the row of the location
+	 * @return the index in the hall, or -1 if the location is not in the hall
+	 */
+	private int findHallwayIndex(int x, int y) {
+		if (this.segmentOffsets == null) {
+			return -1;
+		}
+		int horizontalIndex = findIndexInSegments(this.horizontalSegments, y, x, true);
+		int verticalIndex = findIndexInSegments(this.verticalSegments, x, y, false);
+		int hallIndex;
+		if (horizontalIndex < 0 || verticalIndex < 0) {
+			hallIndex = Math.max(horizontalIndex, verticalIndex);
 		} else {
-			nextDestination = this.waypoints.get(0);
+			hallIndex = Math.min(horizontalIndex, verticalIndex);
+		}
+
+		//Tiles beyond the length of the hall are not part of it
+		if (hallIndex >= getLength()) {
+			return -1;
 		}
-		//Step into the hall
-		Point prevWaypoint  = stepTowardDestination(this.startRoomPosition, nextDestination);
-
-		//Calculate the distance for each waypoint
-		for (int waypointCount = 0; waypointCount <= this.waypoints.size(); waypointCount++) {
-			//If we have reached the end of the waypoints, the nextDestination is the EndRoom
-			if (this.waypoints.size() <= waypointCount) {
-				//Step into the hall
-				nextDestination = stepTowardDestination(this.endRoomPosition, prevWaypoint);
+		return hallIndex;
+	}
+
+	/**
+	 * Binary searches the sorted segments along one axis for the location
+	 * @param sortedSegments - the segments along the axis, sorted by line and then by position
+	 * @param line - the row of a horizontal segment, or the column of a vertical segment
+	 * @param position - the coordinate along the segment
+	 * @param horizontal - true if the segments are horizontal
+	 * @return the smallest hall index at the location, or -1 if no segment contains it
+	 */
+	private int findIndexInSegments(Integer[] sortedSegments, int line, int position, boolean horizontal) {
+		//Find the last segment that starts at or before the position on the same line
+		int low = 0;
+		int high = sortedSegments.length - 1;
+		int last = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int segment = sortedSegments[mid];
+			int segmentLine = horizontal ? this.segmentStartY[segment] : this.segmentStartX[segment];
+			if (segmentLine < line || (segmentLine == line && segmentMin(segment, horizontal) <= position)) {
+				last = mid;
+				low = mid + 1;
 			} else {
-				//Otherwise, get the next waypoint in the list
-				nextDestination = this.waypoints.get(waypointCount);
+				high = mid - 1;
+			}
+		}
+
+		//Segments on a line do not normally overlap, but check each earlier segment
+		//on the same line so that the first index along the hall is returned if they do
+		int hallIndex = -1;
+		for (int i = last; i >= 0; i--) {
+			int segment = sortedSegments[i];
+			int segmentLine = horizontal ? this.segmentStartY[segment] : this.segmentStartX[segment];
+			if (segmentLine != line) {
+				break;
 			}
-			
-			//If the index is located between the current position and the next destination,
-			//find the location of the entity
-			if ((length + prevWaypoint.distance(nextDestination)) >= tileIndex) {
-				int distFromWaypoint = tileIndex - length;
-				Point currPosition = prevWaypoint;
-				for (int i = 0; i < distFromWaypoint; i++) {
-					currPosition = stepTowardDestination(currPosition, nextDestination);
+			int start = horizontal ? this.segmentStartX[segment] : this.segmentStartY[segment];
+			int direction = horizontal ? this.segmentDirectionX[segment] : this.segmentDirectionY[segment];
+			int stepsAlong = (position - start) * direction;
+			if (stepsAlong >= 0 && stepsAlong < this.segmentLengths[segment]) {
+				int candidate = this.segmentOffsets[segment] + stepsAlong;
+				if (hallIndex < 0 || candidate < hallIndex) {
+					hallIndex = candidate;
 				}
-				return currPosition;
 			}
-			length += prevWaypoint.distance(nextDestination);
-			prevWaypoint = nextDestination;
 		}
+		return hallIndex;
+	}
 
-		throw new IllegalArgumentException("Actor is not in this component");
+	/**
+	 * Gets the location of the tile at the given index in the hall
+	 * @param hallIndex - the index of the tile in the hall
+	 * @return the location of the tile
+	 * @throws IllegalArgumentException if the index is not in the hall
+	 */
+	public Point getTileLocation(int hallIndex) {
+		if (hallIndex < 0 || hallIndex >= getLength()) {
+			throw new IllegalArgumentException("Index not in component");
+		}
 
+		//Find the last segment that starts at or before the index
+		int low = 0;
+		int high = this.segmentLengths.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (this.segmentOffsets[mid] <= hallIndex) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		int stepsAlong = hallIndex - this.segmentOffsets[low];
+		return new Point(this.segmentStartX[low] + this.segmentDirectionX[low] * stepsAlong,
+				this.segmentStartY[low] + this.segmentDirectionY[low] * stepsAlong);
 	}
-	
+
 	/**
-	 * Finds the location of the actor within the componentMap
-	 * @param actor - the actor to be found
-	 * @return the index in the hall that the actor is located at 
-	 * @throws IllegalArgumentException if the actor is not in the hall
+	 * Gets the index of the tile at a location in the hall, which is the number of
+	 * steps from the first tile of the hall after the StartRoom
+	 * @param point - the location
+	 * @return the index of the tile in the hall, or -1 if the location is not in the hall
 	 */
-	private int findActor(Actor actor) {
-		for (int i = 0; i < this.componentMap.size(); i++) {
-			Actor tileActor = this.componentMap.get(i).getActor();
-			if (tileActor != null && tileActor.equals(actor)) {
-				return i;
+	public int getTileIndex(Point point) {
+		return findHallwayIndex(point.x, point.y);
+	}
+
+	/**
+	 * Iterates over the location of every tile in the hall, walking from the StartRoom
+	 * to the EndRoom. The i-th location corresponds to the tile at index i of the hall
+	 * @return an iterator over the tile locations
+	 */
+	public Iterator<Point> cellIterator() {
+		return new Iterator<Point>() {
+			//The segment and the number of steps into it of the next location
+			private int segment = 0;
+			private int stepsAlong = 0;
+			private int remaining = getLength();
+
+			@Override
+			public boolean hasNext() {
+				return this.remaining > 0;
+			}
+
+			@Override
+			public Point next() {
+				if (this.remaining <= 0) {
+					throw new NoSuchElementException();
+				}
+				Point location = new Point(
+						segmentStartX[this.segment] + segmentDirectionX[this.segment] * this.stepsAlong,
+						segmentStartY[this.segment] + segmentDirectionY[this.segment] * this.stepsAlong);
+				this.remaining--;
+				this.stepsAlong++;
+				if (this.stepsAlong >= segmentLengths[this.segment]) {
+					this.segment++;
+					this.stepsAlong = 0;
+				}
+				return location;
+			}
+		};
+	}
+
+	/**
+	 * Gets the location of every tile in the hall, walking from the StartRoom to the EndRoom
+	 * @return the list of locations, where the i-th location corresponds to the tile
+	 * at index i of the hall
+	 */
+	public List<Point> getTileLocations() {
+		List<Point> tileLocations = new ArrayList<>(getLength());
+		Iterator<Point> cells = cellIterator();
+		while (cells.hasNext()) {
+			tileLocations.add(cells.next());
+		}
+		return tileLocations;
+	}
+
+	@Override
+	public void removeActor(Actor actor) {
+		getGrid().removeActor(findActorLocation(actor));
+	}
+	
+	@Override
+	public Point findActorLocation(Actor actor) {
+		//Walk the hall from the StartRoom and check each tile for the actor
+		if (this.grid != null) {
+			Iterator<Point> cells = cellIterator();
+			while (cells.hasNext()) {
+				Point location = cells.next();
+				Actor tileActor = this.grid.getActor(location.x, location.y);
+				if (tileActor != null && tileActor.equals(actor)) {
+					return location;
+				}
 			}
 		}
 		throw new IllegalArgumentException("Actor is not in this component");
@@ -398,23 +614,14 @@ public class Hall implements LevelComponent {
 
 	@Override
 	public void placeActor(Actor actor, Point destination) {
-		int hallIndex = getHallwayIndex(destination);
-		Tile tile = this.componentMap.get(hallIndex);
-		//Place the actor in the tile
-		tile.placeActor(actor);
-		//Update the componentMap
-		this.componentMap.set(hallIndex, tile);
+		getHallwayIndex(destination);
+		getGrid().placeActor(actor, destination);
 	}
 
 	@Override
 	public void placeItem(Item item) {
-		Point destination = item.getLocation();
-		int hallIndex = getHallwayIndex(destination);
-		Tile tile = this.componentMap.get(hallIndex);
-		//Place the item in the tile
-		tile.placeItem(item);
-		//Update the componentMap
-		this.componentMap.set(hallIndex, tile);		
+		getHallwayIndex(item.getLocation());
+		getGrid().placeItem(item);
 	}
 
 	/**
@@ -463,10 +670,23 @@ public class Hall implements LevelComponent {
 		return doors;
 	}
 
+	/**
+	 * Builds the tiles of the Hall from its grid, walking from the StartRoom to the EndRoom
+	 * @return the tiles, where the i-th tile is at index i of the hall
+	 */
+	private List<Tile> getTiles() {
+		List<Tile> tiles = new ArrayList<>(getLength());
+		Iterator<Point> cells = cellIterator();
+		while (cells.hasNext()) {
+			tiles.add(getDestinationTile(cells.next()));
+		}
+		return tiles;
+	}
+
 	@Override
 	public int hashCode() {
 	  return this.waypoints.hashCode() 
-			  * this.componentMap.hashCode()
+			  * getTiles().hashCode()
 			  * this.startRoom.hashCode()
 			  * this.endRoom.hashCode()
 			  * this.startRoomPosition.hashCode()
@@ -485,7 +705,7 @@ public class Hall implements LevelComponent {
         Hall hall = (Hall) obj;
         return hall.checkSameFields(
         		this.waypoints,
-				this.componentMap,
+				getTiles(),
 				this.startRoom,
 				this.endRoom,
 				this.startRoomPosition,
@@ -513,7 +733,7 @@ public class Hall implements LevelComponent {
 			Point endRoomPosition
 	) {
 		return waypoints.equals(this.waypoints)
-				&& componentMap.equals(this.componentMap)
+				&& componentMap.equals(getTiles())
 				&& startRoom.equals(this.startRoom)
 				&& endRoom.equals(this.endRoom)
 				&& startRoomPosition.equals(this.startRoomPosition)
@@ -0,0 +1,193 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import Game.modelView.EntityType;
+
+/**
+ * Keeps track of every item in a Level. Items are indexed by their location
+ * and by their EntityType, so finding, counting or removing an item takes
+ * constant time no matter how many items are in the Level.
+ *
+ * Each item is given a slot number when it is registered. The slots keep
+ * the order that items were registered in, which is the order they are
+ * listed in when the Level is written out.
+ *
+ * More than one item may be registered at a location. A Level in that state
+ * is not valid, so the registry counts how many locations are shared
+ */
+public class ItemRegistry {
+
+	//Every item, keyed by slot in the order they were registered
+	private LinkedHashMap<Integer, Item> itemsBySlot;
+
+	//The slots of the items at each location
+	private Map<Point, List<Integer>> slotsByLocation;
+
+	//The items of each EntityType, keyed by slot
+	private EnumMap<EntityType, LinkedHashMap<Integer, Item>> itemsByType;
+
+	//The number of locations that hold more than one item
+	private int sharedLocationCount;
+
+	//The slot given to the next item that is registered
+	private int nextSlot;
+
+	//Read-only list of every item, shared by callers until an item is added or removed
+	private List<Item> itemList;
+
+	/**
+	 * Initializes an empty registry
+	 */
+	public ItemRegistry() {
+		this.itemsBySlot = new LinkedHashMap<>();
+		this.slotsByLocation = new HashMap<>();
+		this.itemsByType = new EnumMap<>(EntityType.class);
+		this.sharedLocationCount = 0;
+		this.nextSlot = 0;
+		this.itemList = null;
+	}
+
+	/**
+	 * Initializes a registry with the given items
+	 * @param items - the items to register, in order
+	 */
+	public ItemRegistry(List<Item> items) {
+		this();
+		for (Item item : items) {
+			addItem(item);
+		}
+	}
+
+	/**
+	 * Registers the item
+	 * @param item - the item to add
+	 */
+	public void addItem(Item item) {
+		int slot = this.nextSlot++;
+		this.itemsBySlot.put(slot, item);
+		this.itemList = null;
+
+		Point location = new Point(item.getLocation());
+		List<Integer> slots = this.slotsByLocation.get(location);
+		if (slots == null) {
+			slots = new ArrayList<>(1);
+			this.slotsByLocation.put(location, slots);
+		}
+		slots.add(slot);
+		if (slots.size() == 2) {
+			this.sharedLocationCount++;
+		}
+
+		LinkedHashMap<Integer, Item> typeItems = this.itemsByType.get(item.getEntityType());
+		if (typeItems == null) {
+			typeItems = new LinkedHashMap<>();
+			this.itemsByType.put(item.getEntityType(), typeItems);
+		}
+		typeItems.put(slot, item);
+	}
+
+	/**
+	 * Removes the item from the registry. If the same item was registered more
+	 * than once, only the first registration is removed
+	 * @param item - the item to remove
+	 * @return true if the item was registered
+	 */
+	public boolean removeItem(Item item) {
+		if (item == null) {
+			return false;
+		}
+		List<Integer> slots = this.slotsByLocation.get(item.getLocation());
+		if (slots == null) {
+			return false;
+		}
+		for (int i = 0; i < slots.size(); i++) {
+			int slot = slots.get(i);
+			if (this.itemsBySlot.get(slot).equals(item)) {
+				slots.remove(i);
+				if (slots.isEmpty()) {
+					this.slotsByLocation.remove(item.getLocation());
+				} else if (slots.size() == 1) {
+					this.sharedLocationCount--;
+				}
+				Item removed = this.itemsBySlot.remove(slot);
+				this.itemList = null;
+				this.itemsByType.get(removed.getEntityType()).remove(slot);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the first item registered at the location
+	 * @param location - the location to check
+	 * @return the item, or null if there is no item at the location
+	 */
+	public Item getItem(Point location) {
+		List<Integer> slots = this.slotsByLocation.get(location);
+		if (slots == null) {
+			return null;
+		}
+		return this.itemsBySlot.get(slots.get(0));
+	}
+
+	/**
+	 * Gets every item of the given EntityType, in the order they were registered
+	 * @param entityType - the EntityType of the items
+	 * @return a read-only list of the items
+	 */
+	public List<Item> getItems(EntityType entityType) {
+		LinkedHashMap<Integer, Item> typeItems = this.itemsByType.get(entityType);
+		if (typeItems == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<>(typeItems.values()));
+	}
+
+	/**
+	 * Gets every item, in the order they were registered. The same list is
+	 * returned until an item is added or removed, and it never changes after
+	 * it is returned
+	 * @return a read-only list of the items
+	 */
+	public List<Item> getItems() {
+		if (this.itemList == null) {
+			this.itemList = Collections.unmodifiableList(new ArrayList<>(this.itemsBySlot.values()));
+		}
+		return this.itemList;
+	}
+
+	/**
+	 * Gets the number of items of the given EntityType
+	 * @param entityType - the EntityType of the items
+	 * @return the number of items
+	 */
+	public int getItemCount(EntityType entityType) {
+		LinkedHashMap<Integer, Item> typeItems = this.itemsByType.get(entityType);
+		return typeItems == null ? 0 : typeItems.size();
+	}
+
+	/**
+	 * Gets the number of items in the registry
+	 * @return the number of items
+	 */
+	public int getItemCount() {
+		return this.itemsBySlot.size();
+	}
+
+	/**
+	 * Checks if any location holds more than one item
+	 * @return true if two items share a location
+	 */
+	public boolean hasSharedLocations() {
+		return this.sharedLocationCount > 0;
+	}
+}
@@ -77,6 +77,17 @@ public interface Level extends LevelModelView {
 	 * @return the LevelComponent that the point is located in
 	 */
 	LevelComponent findComponent(Point point);
+
+	/**
+	 * Gets the Tile at the given point with the actor and item that are on it.
+	 * The Tile reads the level as it changes, the same as the Tiles of the
+	 * LevelComponents. Actors and items are moved through the level rather than
+	 * the Tile, so that the level keeps track of them
+	 * @param point - the point of the Tile
+	 * @return the Tile at the point
+	 * @throws IllegalArgumentException if the point is not in a LevelComponent
+	 */
+	Tile getTile(Point point);
 	
 	/**
 	 * Checks if the move is valid for the given actor and if the interaction at the 
@@ -132,6 +143,7 @@ public interface Level extends LevelModelView {
 	 * Gets the actor's position in the level
 	 * @param actor - the actor to find
 	 * @return the point that the actor is located at
+	 * @throws IllegalArgumentException if the actor is not in the level
 	 */
 	Point getActorPosition(Actor actor);
 
@@ -193,4 +205,63 @@ public interface Level extends LevelModelView {
 	 */
 	List<Item> getItems();
 
+	/**
+	 * Gets a read-only snapshot of the level as it is now. The snapshot does not
+	 * change as the level changes, so it can be read on another thread
+	 * @return the snapshot of the level
+	 */
+	LevelSnapshot getSnapshot();
+
+	/**
+	 * Gets the Zobrist hash of the state of the level, which covers the location
+	 * of every actor and item, whether the exit is unlocked and whether the level
+	 * has been exited. The hash is kept up to date as the level changes
+	 * @return the 64-bit hash of the level state
+	 */
+	long getStateHash();
+
+	/**
+	 * Creates a simulation of the level as it is now, which moves can be tried
+	 * on without changing the level
+	 * @param seed - the seed for the random choices made by the simulation
+	 * @return the simulation of the level
+	 */
+	SimulationState createSimulation(long seed);
+
+	/**
+	 * Builds everything about the level that does not depend on its actors,
+	 * and would otherwise be built the first time it is needed. This may be
+	 * called on another thread before the level is started, but not while it
+	 * is being played
+	 */
+	void prepare();
+
+	/**
+	 * Creates a field of the distances between the walkable locations of the
+	 * level, which is empty until it is computed from a set of locations
+	 * @return the distance field of the level
+	 */
+	DistanceField createDistanceField();
+
+	/**
+	 * Gets the graph of the rooms of the level and the halls between them,
+	 * building it the first time it is asked for. The layout of a level never
+	 * changes, so the same graph is returned for as long as the level exists
+	 * @return the room graph of the level
+	 */
+	RoomGraph getRoomGraph();
+
+	/**
+	 * Adds a listener that is told about each change to the locations of the
+	 * actors, as the change is made
+	 * @param listener - the listener
+	 */
+	void addLocationListener(ActorLocationListener listener);
+
+	/**
+	 * Removes a location listener, if it was added
+	 * @param listener - the listener
+	 */
+	void removeLocationListener(ActorLocationListener listener);
+
 }
@@ -0,0 +1,212 @@
+package Game.model;
+
+import java.awt.Point;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import Game.modelView.EntityType;
+
+/**
+ * Compiles levels into a compact binary file that CompiledLevels can load
+ * without parsing. All numbers are big-endian.
+ *
+ * The file starts with a header:
+ * - int magic, the bytes "SNLV"
+ * - int format version
+ * - int the number of levels, N
+ * - long[N + 1] the offset of each level from the start of the file, and
+ *   the offset of the end of the last level
+ *
+ * Each level is:
+ * - int the number of rooms, halls and items
+ * - for each room: int x, y, width and height, then one bit per tile in
+ *   row order, set for a walkable tile and clear for a wall, padded to a
+ *   whole byte
+ * - for each hall: int index of the start room, int x and y of the start
+ *   door, the same for the end room and door, int the number of waypoints,
+ *   then int x and y of each waypoint
+ * - for each item: byte 0 for a key or 1 for an exit, then int x and y
+ *
+ * Doors are walkable tiles of a room, and are connected to their halls as
+ * the halls are built. Only the layout of a level is compiled. Actors are
+ * placed when a level is started, so a level must not have any when it is
+ * compiled.
+ */
+public class LevelCompiler {
+
+	//Identifies a compiled levels file, and the version of its format
+	public static final int magic = 0x534E4C56;
+	public static final int formatVersion = 1;
+
+	//The item types in a compiled level
+	static final byte keyItem = 0;
+	static final byte exitItem = 1;
+
+	//The bytes of each level added so far
+	private final List<byte[]> levels;
+
+	/**
+	 * Initializes a compiler with no levels
+	 */
+	public LevelCompiler() {
+		this.levels = new ArrayList<>();
+	}
+
+	/**
+	 * Compiles a level and adds it after the levels already added
+	 * @param levelMap - the map of all LevelComponents within the level
+	 * @param items - all items in the level
+	 * @throws IllegalArgumentException if a component or item is not of a known type,
+	 * or a hall is not connected to rooms in the level map
+	 */
+	public void addLevel(List<LevelComponent> levelMap, List<Item> items) {
+		List<Room> rooms = new ArrayList<>();
+		List<Hall> halls = new ArrayList<>();
+		Map<Room, Integer> roomIndices = new IdentityHashMap<>();
+		for (LevelComponent component : levelMap) {
+			if (component instanceof Room) {
+				roomIndices.put((Room)component, rooms.size());
+				rooms.add((Room)component);
+			} else if (component instanceof Hall) {
+				halls.add((Hall)component);
+			} else {
+				throw new IllegalArgumentException("Invalid LevelComponent type");
+			}
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeInt(rooms.size());
+			out.writeInt(halls.size());
+			out.writeInt(items.size());
+			for (Room room : rooms) {
+				writeRoom(out, room);
+			}
+			for (Hall hall : halls) {
+				writeHall(out, hall, roomIndices);
+			}
+			for (Item item : items) {
+				writeItem(out, item);
+			}
+			out.flush();
+		} catch (IOException e) {
+			//Writing to a byte array cannot fail
+			throw new IllegalStateException(e);
+		}
+		this.levels.add(bytes.toByteArray());
+	}
+
+	/**
+	 * Gets the number of levels added so far
+	 * @return the number of levels
+	 */
+	public int getLevelCount() {
+		return this.levels.size();
+	}
+
+	/**
+	 * Writes every level added so far to a compiled levels file
+	 * @param fileName - the name of the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(String fileName) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(fileName))) {
+			out.writeInt(magic);
+			out.writeInt(formatVersion);
+			out.writeInt(this.levels.size());
+
+			long offset = 3 * Integer.BYTES + (this.levels.size() + 1) * (long)Long.BYTES;
+			for (byte[] level : this.levels) {
+				out.writeLong(offset);
+				offset += level.length;
+			}
+			out.writeLong(offset);
+
+			for (byte[] level : this.levels) {
+				out.write(level);
+			}
+		}
+	}
+
+	/**
+	 * Writes the bounds of a room and a bit for each of its tiles
+	 * @param out - the stream to write to
+	 * @param room - the room to write
+	 */
+	private static void writeRoom(DataOutputStream out, Room room) throws IOException {
+		Point origin = room.getTopLeftBound();
+		List<List<EntityType>> tiles = room.getComponentMap();
+		int height = tiles.size();
+		int width = tiles.get(0).size();
+		out.writeInt(origin.x);
+		out.writeInt(origin.y);
+		out.writeInt(width);
+		out.writeInt(height);
+
+		byte[] walkable = new byte[(width * height + 7) / 8];
+		for (int row = 0; row < height; row++) {
+			for (int col = 0; col < width; col++) {
+				EntityType entityType = tiles.get(row).get(col);
+				if (entityType.equals(EntityType.PLAYER) || entityType.equals(EntityType.GHOST)
+						|| entityType.equals(EntityType.ZOMBIE)) {
+					throw new IllegalArgumentException("Levels cannot be compiled with actors in them");
+				}
+				if (!entityType.equals(EntityType.WALL)) {
+					int bit = row * width + col;
+					walkable[bit >> 3] |= 1 << (bit & 7);
+				}
+			}
+		}
+		out.write(walkable);
+	}
+
+	/**
+	 * Writes the rooms and doors at the ends of a hall, and its waypoints
+	 * @param out - the stream to write to
+	 * @param hall - the hall to write
+	 * @param roomIndices - the index of each room of the level
+	 */
+	private static void writeHall(DataOutputStream out, Hall hall, Map<Room, Integer> roomIndices)
+			throws IOException {
+		Integer startRoom = roomIndices.get(hall.getStartRoom());
+		Integer endRoom = roomIndices.get(hall.getEndRoom());
+		if (startRoom == null || endRoom == null) {
+			throw new IllegalArgumentException("Hall is not connected to rooms in the level");
+		}
+		out.writeInt(startRoom);
+		out.writeInt(hall.getStartRoomPosition().x);
+		out.writeInt(hall.getStartRoomPosition().y);
+		out.writeInt(endRoom);
+		out.writeInt(hall.getEndRoomPosition().x);
+		out.writeInt(hall.getEndRoomPosition().y);
+		out.writeInt(hall.getWaypoints().size());
+		for (Point waypoint : hall.getWaypoints()) {
+			out.writeInt(waypoint.x);
+			out.writeInt(waypoint.y);
+		}
+	}
+
+	/**
+	 * Writes the type and location of an item
+	 * @param out - the stream to write to
+	 * @param item - the item to write
+	 */
+	private static void writeItem(DataOutputStream out, Item item) throws IOException {
+		if (item instanceof Key) {
+			out.writeByte(keyItem);
+		} else if (item instanceof Exit) {
+			out.writeByte(exitItem);
+		} else {
+			throw new IllegalArgumentException("Object type not supported");
+		}
+		out.writeInt(item.getLocation().x);
+		out.writeInt(item.getLocation().y);
+	}
+}
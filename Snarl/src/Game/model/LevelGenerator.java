@@ -0,0 +1,426 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random levels from a seed. The same seed and settings always give
+ * the same level, so generated levels can be used to drive benchmarks and
+ * load tests that are repeatable.
+ *
+ * Rooms are placed in a grid of equally sized slots, one room per slot, with
+ * a random size and a random position within its slot. Slots are separated
+ * by gaps that only halls pass through:
+ * - a hall between rooms in the same row turns only within the gap between
+ *   their columns
+ * - a hall between rooms in the same column turns only within the gap between
+ *   their rows
+ * Every room except the first is connected to the room on its left or the
+ * room above it, so every room can be reached, and some rooms get a hall to
+ * both. Since each room has at most one hall on each side and halls keep to
+ * their own gap, generated levels are always valid.
+ *
+ * The key and the exit are placed inside two different random rooms.
+ */
+public class LevelGenerator {
+
+	//The chance that a room with rooms on its left and above it is connected to both
+	private static final double extraHallChance = 0.15;
+
+	//The smallest room size that leaves a walkable cell inside the walls
+	private static final int minimumRoomSize = 3;
+
+	//The default sizes of rooms, including their walls
+	private static final int defaultMinRoomSize = 4;
+	private static final int defaultMaxRoomSize = 10;
+
+	//The settings the level is generated with
+	private final long seed;
+	private final int numRooms;
+	private final int maxRoomSize;
+
+	//The number of rooms in each row of the grid, the width of the gaps between
+	//slots, and the distance between the top left corners of neighboring slots
+	private final int gridColumns;
+	private final int gapSize;
+	private final int slotSize;
+
+	//The top left corner and size of each room, including its walls
+	private final int[] roomX;
+	private final int[] roomY;
+	private final int[] roomWidth;
+	private final int[] roomHeight;
+
+	//The rooms at the ends of each hall, the doors at its ends, and its waypoints
+	private final List<Integer> hallStartRooms;
+	private final List<Integer> hallEndRooms;
+	private final List<Point> hallStartDoors;
+	private final List<Point> hallEndDoors;
+	private final List<List<Point>> hallWaypoints;
+
+	//The locations of the key and the exit
+	private Point keyLocation;
+	private Point exitLocation;
+
+	/**
+	 * Plans a level with rooms of the default sizes and halls with no extra turns
+	 * @param seed - the seed that the level is generated from
+	 * @param numRooms - the number of rooms in the level
+	 * @throws IllegalArgumentException if there are no rooms
+	 */
+	public LevelGenerator(long seed, int numRooms) {
+		this(seed, numRooms, defaultMinRoomSize, defaultMaxRoomSize, 0);
+	}
+
+	/**
+	 * Plans a level. The level is built from the plan by createLevelMap and createItems
+	 * @param seed - the seed that the level is generated from
+	 * @param numRooms - the number of rooms in the level
+	 * @param minRoomSize - the smallest width and height of a room, including its walls
+	 * @param maxRoomSize - the largest width and height of a room, including its walls
+	 * @param hallWindings - the number of times each hall winds back and forth between
+	 * two rooms. Each winding adds two turns to the hall
+	 * @throws IllegalArgumentException if there are no rooms, a room size is too small or
+	 * the sizes are out of order, a single room could not hold both the key and the exit,
+	 * or the number of windings is negative
+	 */
+	public LevelGenerator(long seed, int numRooms, int minRoomSize, int maxRoomSize, int hallWindings) {
+		if (numRooms < 1) {
+			throw new IllegalArgumentException("A level must have at least one room");
+		}
+		if (minRoomSize < minimumRoomSize || maxRoomSize < minRoomSize) {
+			throw new IllegalArgumentException("Room sizes must be at least " + minimumRoomSize
+					+ " and the smallest size cannot be larger than the largest");
+		}
+		if (numRooms == 1 && maxRoomSize == minimumRoomSize) {
+			throw new IllegalArgumentException("A level with one room needs a room larger than "
+					+ minimumRoomSize + " to hold both the key and the exit");
+		}
+		if (hallWindings < 0) {
+			throw new IllegalArgumentException("The number of hall windings cannot be negative");
+		}
+		this.seed = seed;
+		this.numRooms = numRooms;
+		this.maxRoomSize = maxRoomSize;
+		this.gridColumns = (int)Math.ceil(Math.sqrt(numRooms));
+
+		//Leave a free column between each turn of a hall, and on either side of the gap
+		this.gapSize = 2 * hallWindings + 3;
+		this.slotSize = maxRoomSize + this.gapSize;
+
+		this.roomX = new int[numRooms];
+		this.roomY = new int[numRooms];
+		this.roomWidth = new int[numRooms];
+		this.roomHeight = new int[numRooms];
+		this.hallStartRooms = new ArrayList<>();
+		this.hallEndRooms = new ArrayList<>();
+		this.hallStartDoors = new ArrayList<>();
+		this.hallEndDoors = new ArrayList<>();
+		this.hallWaypoints = new ArrayList<>();
+
+		Random random = new Random(seed);
+		planRooms(random, minRoomSize);
+		planHalls(random, hallWindings);
+		planItems(random);
+	}
+
+	/**
+	 * Getter for the seed the level is generated from
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * Getter for the number of rooms in the level
+	 */
+	public int getRoomCount() {
+		return this.numRooms;
+	}
+
+	/**
+	 * Getter for the number of halls in the level
+	 */
+	public int getHallCount() {
+		return this.hallStartRooms.size();
+	}
+
+	/**
+	 * Builds the rooms and halls of the level. Each call builds new components,
+	 * so every level created from the generator has its own
+	 * @return the level map, with every room followed by every hall
+	 */
+	public List<LevelComponent> createLevelMap() {
+		List<List<Point>> roomDoors = new ArrayList<>();
+		for (int room = 0; room < this.numRooms; room++) {
+			roomDoors.add(new ArrayList<Point>());
+		}
+		for (int hall = 0; hall < getHallCount(); hall++) {
+			roomDoors.get(this.hallStartRooms.get(hall)).add(this.hallStartDoors.get(hall));
+			roomDoors.get(this.hallEndRooms.get(hall)).add(this.hallEndDoors.get(hall));
+		}
+
+		List<LevelComponent> levelMap = new ArrayList<>();
+		List<Room> rooms = new ArrayList<>();
+		for (int room = 0; room < this.numRooms; room++) {
+			Room newRoom = createRoom(room, roomDoors.get(room));
+			rooms.add(newRoom);
+			levelMap.add(newRoom);
+		}
+		for (int hall = 0; hall < getHallCount(); hall++) {
+			levelMap.add(new Hall(
+					this.hallStartDoors.get(hall), rooms.get(this.hallStartRooms.get(hall)),
+					this.hallEndDoors.get(hall), rooms.get(this.hallEndRooms.get(hall)),
+					new ArrayList<>(this.hallWaypoints.get(hall))));
+		}
+		return levelMap;
+	}
+
+	/**
+	 * Builds the key and exit of the level
+	 * @return the exit followed by the key
+	 */
+	public List<Item> createItems() {
+		List<Item> items = new ArrayList<>();
+		items.add(new Exit(new Point(this.exitLocation)));
+		items.add(new Key(new Point(this.keyLocation)));
+		return items;
+	}
+
+	/**
+	 * Builds the level with no actors
+	 * @return the level
+	 */
+	public Level createLevel() {
+		return new LevelImpl(createLevelMap(), createItems());
+	}
+
+	/**
+	 * Builds the level with actors in their starting positions. Players start in
+	 * the top left-most room and adversaries in the bottom right-most room
+	 * @param players - list of all players in the level
+	 * @param adversaries - list of all adversaries in the level
+	 * @return the level
+	 */
+	public Level createLevel(List<Player> players, List<Adversary> adversaries) {
+		return new LevelImpl(players, adversaries, createLevelMap(), createItems());
+	}
+
+	/**
+	 * Chooses the size of each room and its position within its slot
+	 * @param random - the random generator for the level
+	 * @param minRoomSize - the smallest width and height of a room
+	 */
+	private void planRooms(Random random, int minRoomSize) {
+		//The key and exit are in different rooms, unless there is only one room,
+		//which then needs at least two cells inside its walls
+		int minWidth = this.numRooms == 1 ? Math.max(minRoomSize, minimumRoomSize + 1) : minRoomSize;
+		for (int room = 0; room < this.numRooms; room++) {
+			int width = minWidth + random.nextInt(this.maxRoomSize - minWidth + 1);
+			int height = minRoomSize + random.nextInt(this.maxRoomSize - minRoomSize + 1);
+			this.roomWidth[room] = width;
+			this.roomHeight[room] = height;
+			this.roomX[room] = getSlotColumn(room) * this.slotSize + random.nextInt(this.maxRoomSize - width + 1);
+			this.roomY[room] = getSlotRow(room) * this.slotSize + random.nextInt(this.maxRoomSize - height + 1);
+		}
+	}
+
+	/**
+	 * Connects every room after the first to the room on its left or the room
+	 * above it, and sometimes to both
+	 * @param random - the random generator for the level
+	 * @param hallWindings - the number of times each hall winds back and forth
+	 */
+	private void planHalls(Random random, int hallWindings) {
+		for (int room = 1; room < this.numRooms; room++) {
+			boolean hasLeft = getSlotColumn(room) > 0;
+			boolean hasAbove = getSlotRow(room) > 0;
+			boolean connectLeft = hasLeft;
+			boolean connectAbove = hasAbove;
+			if (hasLeft && hasAbove && random.nextDouble() >= extraHallChance) {
+				if (random.nextBoolean()) {
+					connectLeft = false;
+				} else {
+					connectAbove = false;
+				}
+			}
+			if (connectLeft) {
+				planHall(random, room - 1, room, false, hallWindings);
+			}
+			if (connectAbove) {
+				planHall(random, room - this.gridColumns, room, true, hallWindings);
+			}
+		}
+	}
+
+	/**
+	 * Plans a hall between two neighboring rooms. The plan is worked out along the
+	 * hall and across it, so the same steps serve halls in either direction:
+	 * - the hall leaves a door on the far side of the first room
+	 * - it then winds back and forth across the gap, moving one turn further
+	 *   along the gap at each step
+	 * - it enters a door on the near side of the second room
+	 * @param random - the random generator for the level
+	 * @param startRoom - the room on the left of or above the other room
+	 * @param endRoom - the room on the right of or below the other room
+	 * @param vertical - true if the rooms are in the same column
+	 * @param hallWindings - the number of times the hall winds back and forth
+	 */
+	private void planHall(Random random, int startRoom, int endRoom, boolean vertical, int hallWindings) {
+		//The start of the first room along the hall, the size of both rooms along the hall
+		//and across it, and the start of the slot band the hall can wind across
+		int startAlong = vertical ? this.roomY[startRoom] : this.roomX[startRoom];
+		int startLength = vertical ? this.roomHeight[startRoom] : this.roomWidth[startRoom];
+		int endAlong = vertical ? this.roomY[endRoom] : this.roomX[endRoom];
+		int bandStart = (vertical ? getSlotColumn(startRoom) : getSlotRow(startRoom)) * this.slotSize;
+
+		//Doors are away from the corners of the rooms
+		int startAcross = chooseDoor(random, startRoom, vertical);
+		int endAcross = chooseDoor(random, endRoom, vertical);
+		Point startDoor = toPoint(startAlong + startLength - 1, startAcross, vertical);
+		Point endDoor = toPoint(endAlong, endAcross, vertical);
+
+		//Each turn is on its own line of the gap, with a free line between turns
+		int gapStart = (vertical ? getSlotRow(startRoom) : getSlotColumn(startRoom)) * this.slotSize
+				+ this.maxRoomSize;
+		List<Point> path = new ArrayList<>();
+		path.add(startDoor);
+		int across = startAcross;
+		for (int turn = 0; turn <= hallWindings; turn++) {
+			int along = gapStart + 1 + 2 * turn;
+			path.add(toPoint(along, across, vertical));
+			across = turn < hallWindings ? bandStart + random.nextInt(this.maxRoomSize) : endAcross;
+			path.add(toPoint(along, across, vertical));
+		}
+		path.add(endDoor);
+
+		this.hallStartRooms.add(startRoom);
+		this.hallEndRooms.add(endRoom);
+		this.hallStartDoors.add(startDoor);
+		this.hallEndDoors.add(endDoor);
+		this.hallWaypoints.add(removeStraightPoints(path));
+	}
+
+	/**
+	 * Chooses where a door is across a hall, on a wall of the room away from its corners
+	 * @param random - the random generator for the level
+	 * @param room - the room with the door
+	 * @param vertical - true if the hall runs vertically
+	 * @return the column of the door if the hall is vertical, or its row otherwise
+	 */
+	private int chooseDoor(Random random, int room, boolean vertical) {
+		int start = vertical ? this.roomX[room] : this.roomY[room];
+		int length = vertical ? this.roomWidth[room] : this.roomHeight[room];
+		return start + 1 + random.nextInt(length - 2);
+	}
+
+	/**
+	 * Finds the waypoints of a hall from its full path, leaving out repeated points
+	 * and points where the hall does not turn
+	 * @param path - every corner of the hall, from its start door to its end door
+	 * @return the waypoints of the hall
+	 */
+	private static List<Point> removeStraightPoints(List<Point> path) {
+		List<Point> corners = new ArrayList<>();
+		corners.add(path.get(0));
+		for (int i = 1; i < path.size(); i++) {
+			Point point = path.get(i);
+			if (point.equals(corners.get(corners.size() - 1))) {
+				continue;
+			}
+			if (corners.size() >= 2) {
+				Point previous = corners.get(corners.size() - 1);
+				Point beforePrevious = corners.get(corners.size() - 2);
+				if ((beforePrevious.x == previous.x && previous.x == point.x)
+						|| (beforePrevious.y == previous.y && previous.y == point.y)) {
+					corners.remove(corners.size() - 1);
+				}
+			}
+			corners.add(point);
+		}
+		return new ArrayList<>(corners.subList(1, corners.size() - 1));
+	}
+
+	/**
+	 * Places the key and the exit inside two different rooms, when there is more than one room
+	 * @param random - the random generator for the level
+	 */
+	private void planItems(Random random) {
+		int keyRoom = random.nextInt(this.numRooms);
+		int exitRoom = keyRoom;
+		if (this.numRooms > 1) {
+			exitRoom = random.nextInt(this.numRooms - 1);
+			if (exitRoom >= keyRoom) {
+				exitRoom++;
+			}
+		}
+		this.keyLocation = chooseInterior(random, keyRoom);
+		this.exitLocation = chooseInterior(random, exitRoom);
+		while (this.exitLocation.equals(this.keyLocation)) {
+			this.exitLocation = chooseInterior(random, exitRoom);
+		}
+	}
+
+	/**
+	 * Chooses a cell inside the walls of a room
+	 * @param random - the random generator for the level
+	 * @param room - the room to choose a cell in
+	 * @return the location of the cell
+	 */
+	private Point chooseInterior(Random random, int room) {
+		return new Point(this.roomX[room] + 1 + random.nextInt(this.roomWidth[room] - 2),
+				this.roomY[room] + 1 + random.nextInt(this.roomHeight[room] - 2));
+	}
+
+	/**
+	 * Builds a room surrounded by walls, with an opening for each door
+	 * @param room - the index of the room
+	 * @param doors - the doors of the room
+	 * @return the room
+	 */
+	private Room createRoom(int room, List<Point> doors) {
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int row = 0; row < this.roomHeight[room]; row++) {
+			List<Tile> tiles = new ArrayList<>();
+			for (int col = 0; col < this.roomWidth[room]; col++) {
+				boolean edge = row == 0 || col == 0
+						|| row == this.roomHeight[room] - 1 || col == this.roomWidth[room] - 1;
+				Point location = new Point(this.roomX[room] + col, this.roomY[room] + row);
+				tiles.add(edge && !doors.contains(location) ? Wall.instance : new Space());
+			}
+			componentMap.add(tiles);
+		}
+		return new Room(new Point(this.roomX[room], this.roomY[room]), componentMap);
+	}
+
+	/**
+	 * Gets the row of the slot a room is in
+	 * @param room - the index of the room
+	 * @return the row of the slot
+	 */
+	private int getSlotRow(int room) {
+		return room / this.gridColumns;
+	}
+
+	/**
+	 * Gets the column of the slot a room is in
+	 * @param room - the index of the room
+	 * @return the column of the slot
+	 */
+	private int getSlotColumn(int room) {
+		return room % this.gridColumns;
+	}
+
+	/**
+	 * Converts a location along and across a hall to a point
+	 * @param along - the coordinate in the direction of the hall
+	 * @param across - the coordinate across the hall
+	 * @param vertical - true if the hall runs vertically
+	 * @return the point
+	 */
+	private static Point toPoint(int along, int across, boolean vertical) {
+		return vertical ? new Point(across, along) : new Point(along, across);
+	}
+}
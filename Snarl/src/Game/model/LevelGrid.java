@@ -0,0 +1,694 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import Game.modelView.EntityType;
+
+/**
+ * A compact copy of the contents of a Level. The terrain of every cell
+ * within the bounds of the Level (WALL, SPACE, HALL_SPACE or EMPTY) is
+ * stored in a flat array in row-major order. A level has far fewer actors
+ * and items than cells, so they are stored sparsely, as maps from the cells
+ * that are occupied to a slot number for the actor or item on the cell.
+ *
+ * Slot numbers refer to the actors and items that have been placed in the
+ * grid. Reading any cell is an array access and a lookup in each map, so the
+ * grid is used to answer questions about the Level without walking through
+ * each LevelComponent. The EntityType rendered for a cell is found from the
+ * actor, the item and the terrain when it is read.
+ *
+ * The terrain never changes once the grid is built, so the grid of each new
+ * game of a LevelTemplate shares the terrain of the template's grid, and only
+ * holds the actors and items of its own game.
+ *
+ * The grid is the only place that a Level keeps its actors and items.
+ * The LevelComponents of the Level read their tiles from the grid, so a
+ * Tile with its actor and item is built from the grid when it is asked for.
+ * A Room that is not part of a Level keeps its tiles in a grid of its own
+ * that only covers the Room
+ *
+ * The grid also keeps a read-only snapshot of the rendered EntityTypes.
+ * Rows are never modified once they are handed out. When a cell changes,
+ * only its row is marked as changed, and that row is replaced the next
+ * time the map is requested. Every other row is shared with the previous
+ * snapshot. The actor slots of each row are copied out in the same way, so
+ * a snapshot of where the actors are shares every row that has not changed
+ * rather than copying the location of every actor
+ */
+public class LevelGrid {
+
+	//The top left cell of the grid in level coordinates
+	private final int originX;
+	private final int originY;
+
+	//The number of columns and rows in the grid
+	private final int width;
+	private final int height;
+
+	//The EntityType ordinal of the terrain at each cell
+	private final byte[] terrain;
+
+	//The slot of the actor and the slot of the item at each occupied cell
+	private final CoordinateMap actorCells;
+	private final CoordinateMap itemCells;
+
+	//All actors and items that have been placed in the grid, where
+	//slot n refers to the element at index n - 1
+	private final List<Actor> actors;
+	private final List<Item> items;
+	private final Map<Actor, Integer> actorSlotNumbers;
+	private final Map<Item, Integer> itemSlotNumbers;
+
+	//The current snapshot of the rendered map and the rows it is built from
+	private final List<List<EntityType>> entityRows;
+	private List<List<EntityType>> entityMap;
+
+	//The rows that have changed since the last snapshot was taken, and the
+	//cells on those rows whose rendered EntityType changed
+	private final BitSet changedRows;
+	private final ChangedCells changedCells;
+
+	//The current copy of where the actors are, the actor slot rows it is built
+	//from, the rows and cells whose actors changed since it was taken, and the
+	//actors by slot
+	private ActorRows actorRowsCopy;
+	private final List<int[]> actorSlotRows;
+	private final BitSet changedActorRows;
+	private final ChangedCells changedActorCells;
+	private Actor[] actorTable;
+
+	//Shared list of all EntityTypes so that ordinals can be converted without copying values()
+	private static final EntityType[] entityTypeValues = EntityType.values();
+
+	private static final byte wallOrdinal = (byte)EntityType.WALL.ordinal();
+	private static final byte emptyOrdinal = (byte)EntityType.EMPTY.ordinal();
+
+	/**
+	 * Builds the grid from the current contents of the given level map.
+	 * When components overlap, the component that appears first in the
+	 * level map is stored, matching the component that ComponentIndex finds
+	 * at the location
+	 * @param levelMap - all LevelComponents in the level
+	 * @param componentIndex - the spatial index for the level map, used for the level bounds
+	 */
+	public LevelGrid(List<LevelComponent> levelMap, ComponentIndex componentIndex) {
+		this(componentIndex.getTopLeftBound(), componentIndex.getBottomRightBound());
+		for (LevelComponent component : levelMap) {
+			addComponent(component);
+		}
+	}
+
+	/**
+	 * Builds a grid over the given bounds where every cell is EMPTY. This is
+	 * used by a LevelComponent that is not part of a Level to hold its tiles
+	 * @param topLeft - the top left cell of the grid
+	 * @param bottomRight - the bottom right cell of the grid
+	 */
+	LevelGrid(Point topLeft, Point bottomRight) {
+		this.originX = topLeft.x;
+		this.originY = topLeft.y;
+		this.width = bottomRight.x - topLeft.x + 1;
+		this.height = bottomRight.y - topLeft.y + 1;
+
+		int numCells = this.width * this.height;
+		this.terrain = new byte[numCells];
+		this.actorCells = new CoordinateMap();
+		this.itemCells = new CoordinateMap();
+		this.actors = new ArrayList<>();
+		this.items = new ArrayList<>();
+		this.actorSlotNumbers = new HashMap<>();
+		this.itemSlotNumbers = new HashMap<>();
+		this.entityRows = new ArrayList<>(Collections.nCopies(this.height, (List<EntityType>)null));
+		this.entityMap = null;
+		this.changedRows = new BitSet(this.height);
+		this.changedCells = new ChangedCells(true);
+		this.actorSlotRows = new ArrayList<>(Collections.nCopies(this.height, new int[this.width]));
+		this.changedActorRows = new BitSet(this.height);
+		this.changedActorCells = new ChangedCells(false);
+
+		//Every cell starts out EMPTY
+		for (int i = 0; i < numCells; i++) {
+			this.terrain[i] = emptyOrdinal;
+		}
+
+		//No snapshot has been taken yet, so every row needs to be built
+		this.changedRows.set(0, this.height);
+	}
+
+	/**
+	 * Builds a grid for a new game of a level from the grid of its structure.
+	 * Terrain never changes once a grid is built, so it is shared with the
+	 * structure rather than copied, and the new grid starts with empty maps of
+	 * actors and items. The rendered rows taken so far are shared as well,
+	 * because rows are never modified once they are handed out
+	 * @param structure - a grid of the level that has no actors or items
+	 * @throws IllegalArgumentException if the structure has actors or items
+	 */
+	public LevelGrid(LevelGrid structure) {
+		if (!structure.actors.isEmpty() || !structure.items.isEmpty()) {
+			throw new IllegalArgumentException("Level structure cannot have actors or items");
+		}
+		this.originX = structure.originX;
+		this.originY = structure.originY;
+		this.width = structure.width;
+		this.height = structure.height;
+
+		this.terrain = structure.terrain;
+		this.actorCells = new CoordinateMap();
+		this.itemCells = new CoordinateMap();
+		this.actors = new ArrayList<>();
+		this.items = new ArrayList<>();
+		this.actorSlotNumbers = new HashMap<>();
+		this.itemSlotNumbers = new HashMap<>();
+		this.entityRows = new ArrayList<>(structure.entityRows);
+		this.entityMap = structure.entityMap;
+		this.changedRows = (BitSet)structure.changedRows.clone();
+		this.changedCells = new ChangedCells(structure.changedCells);
+		this.actorSlotRows = new ArrayList<>(structure.actorSlotRows);
+		this.changedActorRows = new BitSet(this.height);
+		this.changedActorCells = new ChangedCells(false);
+	}
+
+	/**
+	 * Copies the terrain, actors, and items of a LevelComponent into the grid
+	 * @param component - the LevelComponent to copy
+	 */
+	private void addComponent(LevelComponent component) {
+		if (component instanceof Hall) {
+			Iterator<Point> cells = ((Hall)component).cellIterator();
+			while (cells.hasNext()) {
+				addTile(component, cells.next());
+			}
+		} else {
+			Point topLeft = component.getTopLeftBound();
+			Point bottomRight = component.getBottomRightBound();
+			for (int y = topLeft.y; y <= bottomRight.y; y++) {
+				for (int x = topLeft.x; x <= bottomRight.x; x++) {
+					addTile(component, new Point(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the Tile at the given location of a LevelComponent into the grid,
+	 * unless an earlier component already covers the location
+	 * @param component - the LevelComponent that contains the location
+	 * @param location - the location of the Tile
+	 */
+	private void addTile(LevelComponent component, Point location) {
+		int cell = cellIndex(location.x, location.y);
+		if (this.terrain[cell] != emptyOrdinal) {
+			return;
+		}
+		Tile tile = component.getDestinationTile(location);
+
+		//Walls have no actors or items. A Space is rendered differently depending on
+		//the component it is in, so ask the component for the type of an empty Space
+		if (tile instanceof Wall) {
+			this.terrain[cell] = wallOrdinal;
+		} else {
+			this.terrain[cell] = (byte)component.getEntityType(new Space()).ordinal();
+			if (tile.getActor() != null) {
+				this.actorCells.put(location.x, location.y, getActorSlot(tile.getActor()));
+				markActorChanged(cell);
+			}
+			if (tile.getItem() != null) {
+				this.itemCells.put(location.x, location.y, getItemSlot(tile.getItem()));
+			}
+		}
+	}
+
+	/**
+	 * Sets the terrain of a cell that is not part of any component yet
+	 * @param location - the location of the cell
+	 * @param terrainType - WALL, SPACE, or HALL_SPACE
+	 * @throws IllegalArgumentException if the location is outside of the grid
+	 */
+	void setTerrain(Point location, EntityType terrainType) {
+		int cell = checkedCellIndex(location);
+		EntityType previousType = getRenderedType(location.x, location.y, cell);
+		this.terrain[cell] = (byte)terrainType.ordinal();
+		markChanged(location, previousType, cell);
+	}
+
+	/**
+	 * Places the actor at the given location
+	 * @param actor - the actor to place
+	 * @param location - the location of the actor
+	 * @throws IllegalArgumentException if the location is outside of the grid or a wall
+	 */
+	public void placeActor(Actor actor, Point location) {
+		int cell = checkedCellIndex(location);
+		if (this.terrain[cell] == wallOrdinal) {
+			throw new IllegalArgumentException("Actor cannot be placed on a wall");
+		}
+		EntityType previousType = getRenderedType(location.x, location.y, cell);
+		this.actorCells.put(location.x, location.y, getActorSlot(actor));
+		markActorChanged(cell);
+		markChanged(location, previousType, cell);
+	}
+
+	/**
+	 * Removes the actor at the given location, if there is one
+	 * @param location - the location of the actor
+	 * @throws IllegalArgumentException if the location is outside of the grid
+	 */
+	public void removeActor(Point location) {
+		int cell = checkedCellIndex(location);
+		EntityType previousType = getRenderedType(location.x, location.y, cell);
+		if (this.actorCells.remove(location.x, location.y)) {
+			markActorChanged(cell);
+			markChanged(location, previousType, cell);
+		}
+	}
+
+	/**
+	 * Places the item at its location
+	 * @param item - the item to place
+	 * @throws IllegalArgumentException if the location is outside of the grid or a wall
+	 */
+	public void placeItem(Item item) {
+		placeItem(item, item.getLocation());
+	}
+
+	/**
+	 * Places the item at the given location, which is where a component held it
+	 * @param item - the item to place
+	 * @param location - the location of the item
+	 * @throws IllegalArgumentException if the location is outside of the grid or a wall
+	 */
+	void placeItem(Item item, Point location) {
+		int cell = checkedCellIndex(location);
+		if (this.terrain[cell] == wallOrdinal) {
+			throw new IllegalArgumentException("Item cannot be placed on a wall");
+		}
+		EntityType previousType = getRenderedType(location.x, location.y, cell);
+		this.itemCells.put(location.x, location.y, getItemSlot(item));
+		markChanged(location, previousType, cell);
+	}
+
+	/**
+	 * Removes the item at the given location, if there is one
+	 * @param location - the location of the item
+	 * @throws IllegalArgumentException if the location is outside of the grid
+	 */
+	public void removeItem(Point location) {
+		int cell = checkedCellIndex(location);
+		EntityType previousType = getRenderedType(location.x, location.y, cell);
+		if (this.itemCells.remove(location.x, location.y)) {
+			markChanged(location, previousType, cell);
+		}
+	}
+
+	/**
+	 * Gets the EntityType that is rendered at the given location
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the EntityType at the location, EMPTY if it is outside of the grid
+	 */
+	public EntityType getEntityType(int x, int y) {
+		if (!inBounds(x, y)) {
+			return EntityType.EMPTY;
+		}
+		return getRenderedType(x, y, cellIndex(x, y));
+	}
+
+	/**
+	 * Gets a read-only snapshot of the EntityTypes rendered for every cell,
+	 * indexed by row and then column from the origin of the grid. Only the
+	 * rows that changed since the last call are rebuilt, by redrawing the cells
+	 * that changed on a copy of the previous row, and the same snapshot is
+	 * returned if nothing has changed
+	 * @return the rendered map of the level
+	 */
+	public List<List<EntityType>> getEntityMap() {
+		if (this.entityMap != null && this.changedRows.isEmpty()) {
+			return this.entityMap;
+		}
+
+		//Copy each changed row from the previous snapshot and redraw the cells that
+		//changed. A row that was never drawn, or a row whose changed cells were not
+		//all kept, is drawn from the terrain and then every item and actor
+		boolean redrawEntities = this.changedCells.hasOverflowed();
+		EntityType[][] changedTypes = new EntityType[this.height][];
+		for (int row = this.changedRows.nextSetBit(0); row >= 0; row = this.changedRows.nextSetBit(row + 1)) {
+			List<EntityType> previousRow = this.entityRows.get(row);
+			if (previousRow != null && !this.changedCells.hasOverflowed()) {
+				changedTypes[row] = previousRow.toArray(new EntityType[this.width]);
+				continue;
+			}
+			EntityType[] rowTypes = new EntityType[this.width];
+			int rowStart = row * this.width;
+			for (int column = 0; column < this.width; column++) {
+				rowTypes[column] = entityTypeValues[this.terrain[rowStart + column]];
+			}
+			changedTypes[row] = rowTypes;
+			redrawEntities = true;
+		}
+		if (redrawEntities) {
+			drawEntities(changedTypes, this.itemCells);
+			drawEntities(changedTypes, this.actorCells);
+		} else {
+			for (int i = 0; i < this.changedCells.size(); i++) {
+				int cell = this.changedCells.get(i);
+				int column = cell % this.width;
+				int row = cell / this.width;
+				changedTypes[row][column] = getRenderedType(column + this.originX, row + this.originY, cell);
+			}
+		}
+		for (int row = this.changedRows.nextSetBit(0); row >= 0; row = this.changedRows.nextSetBit(row + 1)) {
+			this.entityRows.set(row, Collections.unmodifiableList(Arrays.asList(changedTypes[row])));
+		}
+		this.changedRows.clear();
+		this.changedCells.clear();
+
+		this.entityMap = Collections.unmodifiableList(new ArrayList<>(this.entityRows));
+		return this.entityMap;
+	}
+
+	/**
+	 * Gets a read-only copy of where the actors are. Only the rows whose actors
+	 * changed since the last copy are copied again, and the rest are shared
+	 * @return the actor rows
+	 */
+	public ActorRows getActorRows() {
+		if (this.actorRowsCopy != null && this.actorTable != null && this.changedActorRows.isEmpty()) {
+			return this.actorRowsCopy;
+		}
+
+		//Copy each changed row from the previous copy and update the cells that
+		//changed, unless more cells changed than were kept
+		boolean overflowed = this.changedActorCells.hasOverflowed();
+		int[][] changedSlots = new int[this.height][];
+		for (int row = this.changedActorRows.nextSetBit(0); row >= 0;
+				row = this.changedActorRows.nextSetBit(row + 1)) {
+			changedSlots[row] = overflowed ? new int[this.width] : this.actorSlotRows.get(row).clone();
+		}
+		if (overflowed) {
+			for (long location : this.actorCells.getCells()) {
+				int row = Coordinates.getY(location) - this.originY;
+				if (changedSlots[row] != null) {
+					changedSlots[row][Coordinates.getX(location) - this.originX] =
+							this.actorCells.get(Coordinates.getX(location), Coordinates.getY(location));
+				}
+			}
+		} else {
+			for (int i = 0; i < this.changedActorCells.size(); i++) {
+				int cell = this.changedActorCells.get(i);
+				int column = cell % this.width;
+				int row = cell / this.width;
+				changedSlots[row][column] = Math.max(0, this.actorCells.get(column + this.originX, row + this.originY));
+			}
+		}
+		for (int row = this.changedActorRows.nextSetBit(0); row >= 0;
+				row = this.changedActorRows.nextSetBit(row + 1)) {
+			this.actorSlotRows.set(row, changedSlots[row]);
+		}
+		this.changedActorRows.clear();
+		this.changedActorCells.clear();
+		if (this.actorTable == null) {
+			this.actorTable = this.actors.toArray(new Actor[this.actors.size()]);
+		}
+
+		this.actorRowsCopy = new ActorRows(this.originX, this.originY, this.width,
+				Collections.unmodifiableList(new ArrayList<>(this.actorSlotRows)), this.actorTable);
+		return this.actorRowsCopy;
+	}
+
+	/**
+	 * Gets the EntityTypes rendered in a rectangular window of the level.
+	 * Cells outside of the grid are EMPTY
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return the EntityTypes in the window, indexed by row and then column
+	 */
+	public List<List<EntityType>> getEntityWindow(int minX, int minY, int maxX, int maxY) {
+		List<List<EntityType>> window = new ArrayList<>(maxY - minY + 1);
+		for (int y = minY; y <= maxY; y++) {
+			List<EntityType> row = new ArrayList<>(maxX - minX + 1);
+			for (int x = minX; x <= maxX; x++) {
+				row.add(getEntityType(x, y));
+			}
+			window.add(row);
+		}
+		return window;
+	}
+
+	/**
+	 * Gets the items in a rectangular window of the level, in row-major order
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return the items in the window
+	 */
+	public List<Item> getItemsInWindow(int minX, int minY, int maxX, int maxY) {
+		List<Item> windowItems = new ArrayList<>();
+		for (int y = Math.max(minY, this.originY); y <= Math.min(maxY, this.originY + this.height - 1); y++) {
+			for (int x = Math.max(minX, this.originX); x <= Math.min(maxX, this.originX + this.width - 1); x++) {
+				int slot = this.itemCells.get(x, y);
+				if (slot > 0) {
+					windowItems.add(this.items.get(slot - 1));
+				}
+			}
+		}
+		return windowItems;
+	}
+
+	/**
+	 * Gets the actors in a rectangular window of the level and their locations,
+	 * in row-major order
+	 * @param minX - the left-most column of the window
+	 * @param minY - the top-most row of the window
+	 * @param maxX - the right-most column of the window
+	 * @param maxY - the bottom-most row of the window
+	 * @return the actors in the window mapped to their locations
+	 */
+	public Map<Actor, Point> getActorsInWindow(int minX, int minY, int maxX, int maxY) {
+		Map<Actor, Point> windowActors = new LinkedHashMap<>();
+		for (int y = Math.max(minY, this.originY); y <= Math.min(maxY, this.originY + this.height - 1); y++) {
+			for (int x = Math.max(minX, this.originX); x <= Math.min(maxX, this.originX + this.width - 1); x++) {
+				int slot = this.actorCells.get(x, y);
+				if (slot > 0) {
+					windowActors.put(this.actors.get(slot - 1), new Point(x, y));
+				}
+			}
+		}
+		return windowActors;
+	}
+
+	/**
+	 * Gets the terrain at the given location, ignoring any actors or items
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return WALL, SPACE, HALL_SPACE, or EMPTY if it is outside of every component
+	 */
+	public EntityType getTerrain(int x, int y) {
+		if (!inBounds(x, y)) {
+			return EntityType.EMPTY;
+		}
+		return entityTypeValues[this.terrain[cellIndex(x, y)]];
+	}
+
+	/**
+	 * Gets the actor at the given location
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the actor at the location, or null if there is none
+	 */
+	public Actor getActor(int x, int y) {
+		int slot = this.actorCells.get(x, y);
+		return slot > 0 ? this.actors.get(slot - 1) : null;
+	}
+
+	/**
+	 * Gets the item at the given location
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the item at the location, or null if there is none
+	 */
+	public Item getItem(int x, int y) {
+		int slot = this.itemCells.get(x, y);
+		return slot > 0 ? this.items.get(slot - 1) : null;
+	}
+
+	/**
+	 * Gets the Tile at the given location. A Space reads its actor and item
+	 * from the grid, so it shows later changes to the cell, and placing an
+	 * actor or item on it places it in the grid
+	 * @param location - the location in the level
+	 * @return the shared Wall, or a Space for the cell at the location
+	 * @throws IllegalArgumentException if the location is not in a LevelComponent
+	 */
+	public Tile getTile(Point location) {
+		int cell = inBounds(location.x, location.y) ? cellIndex(location.x, location.y) : -1;
+		if (cell < 0 || this.terrain[cell] == emptyOrdinal) {
+			throw new IllegalArgumentException("Point not in component");
+		}
+		if (this.terrain[cell] == wallOrdinal) {
+			return Wall.instance;
+		}
+		return new GridSpace(this, new Point(location));
+	}
+
+	/**
+	 * Checks if the location is within the bounds of the grid
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return true if the location is in the grid
+	 */
+	public boolean inBounds(int x, int y) {
+		return x >= this.originX && y >= this.originY
+				&& x < this.originX + this.width && y < this.originY + this.height;
+	}
+
+	/**
+	 * Getter for the top left cell of the grid
+	 * @return the level coordinates of the top left cell
+	 */
+	public Point getOrigin() {
+		return new Point(this.originX, this.originY);
+	}
+
+	/**
+	 * Getter for the number of columns in the grid
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Getter for the number of rows in the grid
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+
+	/**
+	 * Finds the EntityType that is rendered at a cell. An actor is drawn over
+	 * an item, which is drawn over the terrain
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @param cell - the index of the cell
+	 * @return the EntityType rendered at the cell
+	 */
+	private EntityType getRenderedType(int x, int y, int cell) {
+		int actorSlot = this.actorCells.get(x, y);
+		if (actorSlot > 0) {
+			return this.actors.get(actorSlot - 1).getEntityType();
+		}
+		int itemSlot = this.itemCells.get(x, y);
+		if (itemSlot > 0) {
+			return this.items.get(itemSlot - 1).getEntityType();
+		}
+		return entityTypeValues[this.terrain[cell]];
+	}
+
+	/**
+	 * Marks the row of a cell as changed if the EntityType rendered at the cell
+	 * changed, so that the row is rebuilt in the next snapshot
+	 * @param location - the location of the cell
+	 * @param previousType - the EntityType rendered at the cell before it changed
+	 * @param cell - the index of the cell
+	 */
+	private void markChanged(Point location, EntityType previousType, int cell) {
+		if (getRenderedType(location.x, location.y, cell) != previousType) {
+			this.changedRows.set(cell / this.width);
+			this.changedCells.add(cell);
+		}
+	}
+
+	/**
+	 * Marks the row of a cell as changed in the next copy of where the actors are
+	 * @param cell - the index of the cell whose actor changed
+	 */
+	private void markActorChanged(int cell) {
+		this.changedActorRows.set(cell / this.width);
+		this.changedActorCells.add(cell);
+	}
+
+	/**
+	 * Draws the cells that hold actors or items onto the rows that are being rebuilt
+	 * @param rows - the EntityTypes of each row being rebuilt, or null for other rows
+	 * @param entityCells - the cells of the actors or items
+	 */
+	private void drawEntities(EntityType[][] rows, CoordinateMap entityCells) {
+		for (long location : entityCells.getCells()) {
+			int x = Coordinates.getX(location);
+			int y = Coordinates.getY(location);
+			EntityType[] row = rows[y - this.originY];
+			if (row != null) {
+				row[x - this.originX] = getRenderedType(x, y, cellIndex(x, y));
+			}
+		}
+	}
+
+	/**
+	 * Gets the slot number for the actor, assigning a new slot if the actor
+	 * has not been placed in the grid before
+	 * @param actor - the actor
+	 * @return the slot number of the actor
+	 */
+	private int getActorSlot(Actor actor) {
+		Integer slot = this.actorSlotNumbers.get(actor);
+		if (slot == null) {
+			this.actors.add(actor);
+			slot = this.actors.size();
+			this.actorSlotNumbers.put(actor, slot);
+			//Copies already handed out keep the table they were taken with
+			this.actorTable = null;
+		}
+		return slot;
+	}
+
+	/**
+	 * Gets the slot number for the item, assigning a new slot if the item
+	 * has not been placed in the grid before
+	 * @param item - the item
+	 * @return the slot number of the item
+	 */
+	private int getItemSlot(Item item) {
+		Integer slot = this.itemSlotNumbers.get(item);
+		if (slot == null) {
+			this.items.add(item);
+			slot = this.items.size();
+			this.itemSlotNumbers.put(item, slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Converts a location to the index of its cell, checking that it is in the grid
+	 * @param location - the location in the level
+	 * @return the index of the cell
+	 * @throws IllegalArgumentException if the location is outside of the grid
+	 */
+	private int checkedCellIndex(Point location) {
+		if (!inBounds(location.x, location.y)) {
+			throw new IllegalArgumentException("Point is not within the level");
+		}
+		return cellIndex(location.x, location.y);
+	}
+
+	/**
+	 * Converts a location in the level to the index of its cell
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the index of the cell in the flat arrays
+	 */
+	private int cellIndex(int x, int y) {
+		return (y - this.originY) * this.width + (x - this.originX);
+	}
+}
@@ -0,0 +1,62 @@
+package Game.model;
+
+import java.util.List;
+
+/**
+ * A level of a dungeon that is only resolved from its list of levels when it
+ * is first needed. Lists of levels loaded from a file build each level when it
+ * is asked for, so a dungeon that starts at a later level, or ends early,
+ * never builds the levels it does not play.
+ *
+ * A handle may be resolved from any thread, and always resolves to the same
+ * level.
+ */
+public class LevelHandle {
+
+	//The levels the level is resolved from, and its index in them
+	private final List<Level> levels;
+	private final int index;
+
+	//The level, or null if it has not been resolved
+	private Level level;
+
+	/**
+	 * Initializes a handle to a level that has not been resolved
+	 * @param levels - the levels the level is resolved from
+	 * @param index - the index of the level in the levels
+	 */
+	public LevelHandle(List<Level> levels, int index) {
+		if (index < 0 || index >= levels.size()) {
+			throw new IllegalArgumentException("Invalid level index");
+		}
+		this.levels = levels;
+		this.index = index;
+	}
+
+	/**
+	 * Gets the level, resolving it if this is the first time it is needed
+	 * @return the level
+	 */
+	public synchronized Level getLevel() {
+		if (this.level == null) {
+			this.level = this.levels.get(this.index);
+		}
+		return this.level;
+	}
+
+	/**
+	 * Checks if the level has been resolved
+	 * @return true if the level has been resolved
+	 */
+	public synchronized boolean isResolved() {
+		return this.level != null;
+	}
+
+	/**
+	 * Gets the index of the level in its levels
+	 * @return the index of the level
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+}
@@ -2,14 +2,14 @@ package Game.model;
 
 import java.awt.Point;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import Game.modelView.EntityType;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Represents a Level within a game of Snarl
@@ -40,13 +40,27 @@ import java.util.Set;
  */
 public class LevelImpl implements Level {
 	
-	//The map of LevelComponents that compose the Level
+	//The map of LevelComponents that compose the Level. The components read their
+	//tiles from the level grid, so they show the actors and items as they move
 	private List<LevelComponent> levelMap;
 
-	//The map of all EntityTypes used to render the Level
-	//TODO do we actually need this here
-	private List<List<EntityType>> viewableMap;
-	
+	//Spatial index used to find the LevelComponent that contains a point
+	private ComponentIndex componentIndex;
+
+	//Dense store of every cell in the level, and the only place that actors and items are kept
+	private LevelGrid levelGrid;
+
+	//The current location of every actor in the level. The actor at a location
+	//is found through the level grid
+	private Map<Actor, Point> actorPositions;
+
+	//The free cells of every room, used to place new actors. Rooms are compared
+	//by identity, which is much cheaper than comparing their tiles
+	private Map<LevelComponent, FreeCellIndex> freeCells;
+
+	//The template whose structure the level shares with other games, or null if it has none
+	private LevelTemplate template;
+
 	//Ordered map of players that reflects the turn order 
 	//and maps to each player to their current location
 	private LinkedHashMap<Player,LevelComponent> playerLocations;
@@ -61,11 +75,29 @@ public class LevelImpl implements Level {
 	//True if at least one player has exited the level
 	private Boolean levelExited;
 	
-	//All items in the level
-	private List<Item> items;
+	//All items in the level, indexed by location and EntityType
+	private ItemRegistry items;
 
 	//Random generator
 	private Random random;
+
+	//Counts the changes to the actors and items in the level, and the snapshot
+	//taken of the latest version, if any
+	private long version;
+	private LevelSnapshot snapshot;
+
+	//The static layout of the level used by simulations, built on first use
+	private SimulationLayout simulationLayout;
+
+	//The graph of the rooms and halls used to find paths, built on first use
+	private RoomGraph roomGraph;
+
+	//The Zobrist hash of the actor positions and items, kept up to date by the
+	//methods that place and remove them
+	private long stateHash;
+
+	//The listeners told about each change to the locations of the actors
+	private List<ActorLocationListener> locationListeners;
 	
 	/** 
 	 * Initializes a new level. This constructor is used primarily for testing 
@@ -78,22 +110,56 @@ public class LevelImpl implements Level {
 		 * A level is valid if no two rooms overlap, no two hallways overlap,
 		 * and no hallways overlap with any rooms.
 		 *
-		 * This validation will be implemented when levels are generated 
-		 * automatically
+		 * The level map is not validated here, since checking a large level on
+		 * every construction is wasted work for levels that are known to be valid.
+		 * Use LevelValidator when loading levels that may be invalid
 		 */
 		this.levelMap = levelMap;
+		this.componentIndex = new ComponentIndex(levelMap);
+		this.levelGrid = new LevelGrid(levelMap, this.componentIndex);
+		useLevelGrid(levelMap, this.levelGrid);
+		this.actorPositions = new HashMap<>();
+		this.freeCells = createFreeCells(levelMap, this.levelGrid);
 		this.exitUnlocked = false;
 		this.levelExited = false;
 		this.playerLocations = new LinkedHashMap<>();
 		this.adversaryLocations = new LinkedHashMap<>();
-		this.items = items;
+		this.items = new ItemRegistry(items);
 		this.random = new Random();
+		this.locationListeners = new ArrayList<>();
 		
-		for (Item item : this.items) {	
+		for (Item item : items) {	
 			placeItem(item);
 		}	
 	}
 	
+	/**
+	 * Initializes a new level from the structure of a LevelTemplate. The spatial index
+	 * is shared with the template and every other game of it, the level grid shares
+	 * the template's terrain, and the rooms and halls of the level share the paths
+	 * and bounds of the template's components
+	 * @param template - the template of the level
+	 */
+	LevelImpl(LevelTemplate template) {
+		this.template = template;
+		this.componentIndex = template.getComponentIndex();
+		this.levelGrid = template.createLevelGrid();
+		this.levelMap = template.createLevelMap(this.levelGrid);
+		this.actorPositions = new HashMap<>();
+		this.freeCells = createFreeCells(this.levelMap, this.levelGrid);
+		this.exitUnlocked = false;
+		this.levelExited = false;
+		this.playerLocations = new LinkedHashMap<>();
+		this.adversaryLocations = new LinkedHashMap<>();
+		this.items = new ItemRegistry(template.getItems());
+		this.random = new Random();
+		this.locationListeners = new ArrayList<>();
+		
+		for (Item item : template.getItems()) {	
+			placeItem(item);
+		}
+	}
+	
 	/** 
 	 * Initializes a new level and places actors in starting positions
 	 * All players are placed in the top left-most room of the level
@@ -111,14 +177,20 @@ public class LevelImpl implements Level {
 		
 		//Initialize fields
 		this.levelMap = levelMap;
+		this.componentIndex = new ComponentIndex(levelMap);
+		this.levelGrid = new LevelGrid(levelMap, this.componentIndex);
+		useLevelGrid(levelMap, this.levelGrid);
+		this.actorPositions = new HashMap<>();
+		this.freeCells = createFreeCells(levelMap, this.levelGrid);
 		this.exitUnlocked = false;
 		this.levelExited = false;
 		this.playerLocations = new LinkedHashMap<>();
 		this.adversaryLocations = new LinkedHashMap<>();
-		this.items = items;
+		this.items = new ItemRegistry(items);
 		this.random = new Random();
+		this.locationListeners = new ArrayList<>();
 		
-		for (Item item : this.items) {	
+		for (Item item : items) {	
 			placeItem(item);
 		}
 
@@ -149,28 +221,148 @@ public class LevelImpl implements Level {
 		
 		//Initialize fields
 		this.levelMap = levelMap;
+		this.componentIndex = new ComponentIndex(levelMap);
+		this.levelGrid = new LevelGrid(levelMap, this.componentIndex);
+		useLevelGrid(levelMap, this.levelGrid);
+		this.actorPositions = new HashMap<>();
+		this.freeCells = createFreeCells(levelMap, this.levelGrid);
 		this.exitUnlocked = exitUnlocked;
 		this.levelExited = levelExited;
 		this.playerLocations = new LinkedHashMap<>();
 		this.adversaryLocations = new LinkedHashMap<>();
-		this.items = items;
+		this.items = new ItemRegistry(items);
 		this.random = new Random();
+		this.locationListeners = new ArrayList<>();
 		
-		for (Item item : this.items) {	
+		for (Item item : items) {	
 			placeItem(item);
 		}
 
 		placeActorsSpecifiedLocation(players, adversaries);
 	}
 
+	/**
+	 * Makes every room and hall of the level read its tiles from the level grid,
+	 * so that the components show the actors and items of the level
+	 * @param levelMap - the map of all LevelComponents within the level
+	 * @param levelGrid - the grid that holds the actors and items of the level
+	 */
+	private static void useLevelGrid(List<LevelComponent> levelMap, LevelGrid levelGrid) {
+		for (LevelComponent component : levelMap) {
+			if (component instanceof Room) {
+				((Room)component).useGrid(levelGrid);
+			} else if (component instanceof Hall) {
+				((Hall)component).useGrid(levelGrid);
+			}
+		}
+	}
+
+	/**
+	 * Creates an index of the free cells in every room of the level
+	 * @param levelMap - the map of all LevelComponents within the level
+	 * @param levelGrid - the grid that holds the actors and items of the level
+	 * @return the index of each room
+	 */
+	private static Map<LevelComponent, FreeCellIndex> createFreeCells(List<LevelComponent> levelMap,
+			LevelGrid levelGrid) {
+		Map<LevelComponent, FreeCellIndex> freeCells = new IdentityHashMap<>();
+		for (LevelComponent component : levelMap) {
+			if (component instanceof Room) {
+				freeCells.put(component, new FreeCellIndex((Room)component, levelGrid));
+			}
+		}
+		return freeCells;
+	}
+
+	/**
+	 * Records whether the location is free after the given component has changed
+	 * @param component - the LevelComponent that was changed
+	 * @param location - the location that was changed
+	 */
+	private void updateFreeCell(LevelComponent component, Point location) {
+		FreeCellIndex roomFreeCells = this.freeCells.get(component);
+		if (roomFreeCells != null) {
+			roomFreeCells.update(location);
+		}
+	}
+
 	/**
 	 * Places the item (key or exit) in the level
 	 * @param item - the item to be placed
 	 */
 	private void placeItem(Item item) {
 		LevelComponent component = findComponent(item.getLocation());
-		component.placeItem(item);
-		
+		this.levelGrid.placeItem(item);
+		updateFreeCell(component, item.getLocation());
+		this.stateHash ^= getItemKey(item.getEntityType(), item.getLocation());
+		this.version++;
+	}
+
+	/**
+	 * Places the actor at the destination in the given component and records
+	 * it in the level grid and the actor positions. All actors are placed through
+	 * this method so that the grid and positions always match. The component
+	 * reads its tiles from the grid, so it does not need to be changed
+	 * @param actor - the actor to place
+	 * @param component - the LevelComponent that contains the destination
+	 * @param destination - the location to place the actor
+	 */
+	private void placeActorInComponent(Actor actor, LevelComponent component, Point destination) {
+		//An actor that was on the destination has been replaced and is no longer in the level
+		Actor replacedActor = this.levelGrid.getActor(destination.x, destination.y);
+		if (replacedActor != null && !replacedActor.equals(actor)) {
+			Point replacedLocation = this.actorPositions.remove(replacedActor);
+			if (replacedLocation != null) {
+				this.stateHash ^= getActorKey(replacedActor, replacedLocation);
+			}
+		}
+		this.levelGrid.placeActor(actor, destination);
+		Point previousLocation = this.actorPositions.put(actor, new Point(destination));
+		if (previousLocation != null) {
+			this.stateHash ^= getActorKey(actor, previousLocation);
+		}
+		this.stateHash ^= getActorKey(actor, destination);
+		updateFreeCell(component, destination);
+		this.version++;
+	}
+
+	/**
+	 * Removes the actor in the given component from the level grid and the actor
+	 * positions. All actors are removed through this method so that the grid and
+	 * positions always match
+	 * @param actor - the actor to remove
+	 * @param component - the LevelComponent that the actor is located in
+	 * @throws IllegalArgumentException if the actor is not in the level
+	 */
+	private void removeActorFromComponent(Actor actor, LevelComponent component) {
+		Point location = this.actorPositions.remove(actor);
+		if (location == null) {
+			throw new IllegalArgumentException("Actor is not in the level");
+		}
+		this.stateHash ^= getActorKey(actor, location);
+		this.levelGrid.removeActor(location);
+		updateFreeCell(component, location);
+		this.version++;
+	}
+
+	/**
+	 * Gets the Zobrist key of an actor at a location
+	 * @param actor - the actor
+	 * @param location - the location of the actor
+	 * @return the key
+	 */
+	private static long getActorKey(Actor actor, Point location) {
+		return ZobristKeys.getKey(ZobristKeys.getActorSeed(actor), location.x, location.y);
+	}
+
+	/**
+	 * Gets the Zobrist key of an item at a location
+	 * @param entityType - the EntityType of the item
+	 * @param location - the location of the item
+	 * @return the key
+	 */
+	private static long getItemKey(EntityType entityType, Point location) {
+		return ZobristKeys.getKey(ZobristKeys.getItemSeed(entityType), location.x, location.y);
 	}
 
 	@Override
@@ -206,12 +398,11 @@ public class LevelImpl implements Level {
 
 			//Check that the destination of the player is a space and place the actor
 			//If the location is not a space, throw the corresponding error
-			Tile destinationTile = component.getDestinationTile(entry.getValue());
-			EntityType destinationEntity = component.getEntityType(destinationTile);
+			EntityType destinationEntity = this.levelGrid.getEntityType(entry.getValue().x, entry.getValue().y);
 			if (!(entry.getKey().isTraversable(destinationEntity))) {
 				throw new IllegalArgumentException("Cannot place player, destination is not a space");
 			}
-			component.placeActor(entry.getKey(), entry.getValue());
+			placeActorInComponent(entry.getKey(), component, entry.getValue());
 		}
 		//Add adversaries to corresponding LevelComponent
 		for (Map.Entry<Adversary, Point> entry : adversaries.entrySet()) {
@@ -223,12 +414,11 @@ public class LevelImpl implements Level {
 
 			//Check that the destination of the adversary is a space and place the actor
 			//If the location is not a space, throw the corresponding error
-			Tile destinationTile = component.getDestinationTile(entry.getValue());
-			EntityType destinationEntity = component.getEntityType(destinationTile);
+			EntityType destinationEntity = this.levelGrid.getEntityType(entry.getValue().x, entry.getValue().y);
 			if (!(entry.getKey().isTraversable(destinationEntity))) {
 				throw new IllegalArgumentException("Cannot place adversary, destination is not a space");
 			}
-			component.placeActor(entry.getKey(), entry.getValue());
+			placeActorInComponent(entry.getKey(), component, entry.getValue());
 		}
 	}
 
@@ -313,217 +503,130 @@ public class LevelImpl implements Level {
 	 * Places the actor at the first valid position in the given room
 	 * @param actor - the actor to be placed
 	 * @param room - the room to place the actor in
+	 * @throws IllegalArgumentException if the room has no free cells
 	 */
 	private void placeActorValidly(Actor actor, Room room) {
-		Point roomTopLeft = room.getTopLeftBound();
-		Point roomBottomRight = room.getBottomRightBound();
-
-		//Iterate through each position in the room
-		for (int row = roomTopLeft.y; row <= roomBottomRight.y; row++) {
-			for (int col = roomTopLeft.x; col <= roomBottomRight.x; col++) {
-				Point currPoint = new Point(col, row);
-				try {
-					//If the position contains a space, place the actor here
-					Tile destinationTile = room.getDestinationTile(currPoint);
-					EntityType destinationEntity = room.getEntityType(destinationTile);
-					if (destinationEntity.equals(EntityType.SPACE)) {
-						room.placeActor(actor, currPoint);
-						return;
-					}
-				} catch (IllegalArgumentException e) {
-					//Do nothing
-				}
-			}
-		}
-		throw new IllegalArgumentException("Room has no empty spaces to place a new actor");
+		Point destination = this.freeCells.get(room).getFirstFreeCell();
+		placeActorInComponent(actor, room, destination);
 	}
 
 	/**
-	 * Places the provided actor at a random position in the room
+	 * Places the provided actor at a random position in the room. Every free 
+	 * cell in the room is equally likely to be chosen
 	 * @param actor - the actor to place
 	 * @param room - the room to place them in
+	 * @throws IllegalArgumentException if the room has no free cells
 	 */
 	private void placeActorRandomly(Actor actor, Room room) {
-		Point roomTopLeft = room.getTopLeftBound();
-		Point roomBottomRight = room.getBottomRightBound();
-
-		//Iterate until actor is places
-		while (true) {
-			//Get random location in this room
-			int row = this.random.nextInt(roomBottomRight.y - roomTopLeft.y) + roomTopLeft.y;
-			int col = this.random.nextInt(roomBottomRight.x - roomTopLeft.x) + roomTopLeft.x;
-			Point currPoint = new Point(col, row);
-			try {
-				//If the position contains a space, place the actor here
-				Tile destinationTile = room.getDestinationTile(currPoint);
-				EntityType destinationEntity = room.getEntityType(destinationTile);
-				if (destinationEntity.equals(EntityType.SPACE)) {
-					room.placeActor(actor, currPoint);
-					return;
-				}
-			} catch (IllegalArgumentException e) {
-				//Do nothing
-			}
+		FreeCellIndex roomFreeCells = this.freeCells.get(room);
+		if (roomFreeCells.getFreeCellCount() == 0) {
+			throw new IllegalArgumentException("Room has no empty spaces to place a new actor");
 		}
+		Point destination = roomFreeCells.getFreeCell(this.random.nextInt(roomFreeCells.getFreeCellCount()));
+		placeActorInComponent(actor, room, destination);
 	}
 
 
 	@Override
 	public void removeActor(Actor actor) {
+		Point source = this.actorPositions.get(actor);
 		if (actor instanceof Player) {
 			if (!this.playerLocations.containsKey(actor)) {
 				throw new IllegalArgumentException("Player does not exist in the level");
 			}
 			LevelComponent playerLocation = this.playerLocations.get(actor);
-			playerLocation.removeActor(actor);
+			removeActorFromComponent(actor, playerLocation);
 			this.playerLocations.remove(actor);
 		} else if (actor instanceof Adversary) {
 			if (!this.adversaryLocations.containsKey(actor)) {
 				throw new IllegalArgumentException("Adversary does not exist in the level");
 			}
 			LevelComponent adversaryLocation = this.adversaryLocations.get(actor);
-			adversaryLocation.removeActor(actor);
+			removeActorFromComponent(actor, adversaryLocation);
 			this.adversaryLocations.remove(actor);
 		}
+		if (source != null) {
+			notifyActorRemoved(actor, source);
+		}
 	}
 
 	@Override
-	public LevelComponent findComponent(Point point) {
-		for (LevelComponent component : this.levelMap) {
-			if (component.inComponent(point)) {
-				return component;
-			}
-		}
-		throw new IllegalArgumentException("Point is not within a LevelComponent");
+	public void addLocationListener(ActorLocationListener listener) {
+		this.locationListeners.add(listener);
 	}
-	
-	@Override
-	public List<List<EntityType>> getMap() {
-		Point topLeftBound = getTopLeft();
-		Point bottomRightBound = getBottomRight();
-		this.viewableMap = initializeEmptyMap(topLeftBound, bottomRightBound);
 
-		for (LevelComponent component : levelMap) {
-			addToViewableMap(component, topLeftBound, bottomRightBound);
-		}
-
-		return this.viewableMap;
+	@Override
+	public void removeLocationListener(ActorLocationListener listener) {
+		this.locationListeners.remove(listener);
 	}
 
 	/**
-	 * Returns the top left boundary for the level
-	 * This is the left most coordinate at which a LevelComponent is placed
-	 * @return the coordinates of the top left boundary
+	 * Tells the location listeners that an actor stepped to a new location. An
+	 * actor that stayed where it was has not moved
+	 * @param actor - the actor that moved
+	 * @param source - the location the actor left
+	 * @param destination - the location of the actor
 	 */
-	private Point getTopLeft() {
-		//Level will always have at least one component
-		LevelComponent firstComponent = this.levelMap.get(0);
-		Point initTopLeft = firstComponent.getTopLeftBound();
-		Integer minX = initTopLeft.x;
-		Integer minY = initTopLeft.y;
-
-		//Iterate through all LevelComponents
-		//Return the minimum X and minimum Y values that are found
-		for (LevelComponent component : levelMap) {
-			Point topLeft = component.getTopLeftBound();
-			if (topLeft.x < minX) {
-				minX = topLeft.x;
-			}
-			if (topLeft.y < minY) {
-				minY = topLeft.y;
-			}
+	private void notifyActorMoved(Actor actor, Point source, Point destination) {
+		if (destination.equals(source)) {
+			return;
+		}
+		for (ActorLocationListener listener : this.locationListeners) {
+			listener.actorMoved(actor, source, new Point(destination));
 		}
-		return new Point(minX, minY);
 	}
 
 	/**
-	 * Returns the bottom right boundary for the level
-	 * This is the right most coordinate at which a LevelComponent is placed
-	 * @return the coordinates of the bottom right boundary
+	 * Tells the location listeners that an actor is no longer in the level
+	 * @param actor - the actor that was removed
+	 * @param source - the last location of the actor
 	 */
-	private Point getBottomRight() {
-		//Level will always have at least one component
-		LevelComponent firstComponent = this.levelMap.get(0);
-		Point initBottomRight = firstComponent.getBottomRightBound();
-		Integer maxX = initBottomRight.x;
-		Integer maxY = initBottomRight.y;
-		
-		//Iterate through all LevelComponents
-		//Return the maximum X and maximum Y values that are found
-		for (LevelComponent component : levelMap) {
-			Point bottomRight = component.getBottomRightBound();
-			if (bottomRight.x > maxX) {
-				maxX = bottomRight.x;
-			}
-			if (bottomRight.y > maxY) {
-				maxY = bottomRight.y;
-			}
+	private void notifyActorRemoved(Actor actor, Point source) {
+		for (ActorLocationListener listener : this.locationListeners) {
+			listener.actorRemoved(actor, new Point(source));
 		}
-		return new Point(maxX, maxY);
 	}
 
-	/**
-	 * Initializes a new map of EntityTypes as EMPTY
-	 * @return the map of EMPTY EntityTypes
-	 * @param topLeftBound - top left bound of viewable level
-	 * @param bottomRightBound - bottom right bound of viewable level
-	 */
-	private List<List<EntityType>> initializeEmptyMap(Point topLeftBound,
-			Point bottomRightBound) {
-		//Determine the size of the map based on the bounds
-		int xSize = bottomRightBound.x - topLeftBound.x + 1;
-		int ySize = bottomRightBound.y - topLeftBound.y + 1;
-
-		List<List<EntityType>> emptyMap = new ArrayList<>();
-
-		//Iterate through the map and place an EMPTY EntityType at
-		//each coordinate
-		for (int i = 0; i < ySize; i++) {
-			List<EntityType> emptyRow = new ArrayList<>();
-			for (int j = 0; j < xSize; j++) {
-				emptyRow.add(j, EntityType.EMPTY);
-			}
-			emptyMap.add(i, emptyRow);
+	@Override
+	public LevelComponent findComponent(Point point) {
+		LevelComponent component = findComponentOrNull(point);
+		if (component == null) {
+			throw new IllegalArgumentException("Point is not within a LevelComponent");
 		}
-		return emptyMap;
+		return component;
 	}
 
 	/**
-	 * Adds each EntityType within a LevelComponent to the viewableMap
-	 * @param component - the LevelComponent to add to the viewableMap
-	 * @param topLeftBound - top left bound of viewable level
-	 * @param bottomRightBound - bottom right bound of viewable level
+	 * Finds the LevelComponent that contains the given point using the spatial index
+	 * @param point - the point used to locate the LevelComponent
+	 * @return the LevelComponent that the point is located in, or null if the point
+	 * is not within any LevelComponent
 	 */
-	private void addToViewableMap(LevelComponent component, Point topLeftBound,
-			Point bottomRightBound) {
-		//Iterate through the viewableMap
-		for (int i = topLeftBound.y; i <= bottomRightBound.y; i++) {
-			for (int j = topLeftBound.x; j <= bottomRightBound.x; j++) {
-				try {
-					//Check if a Tile exists at the given coordinates in the LevelComponent
-					//If these coordinates are not available for this LevelComponent, no changes are made
-					Tile destTile = component.getDestinationTile(new Point(j, i));
-					
-					//Get the EntityType of the tile at these coordinates
-					EntityType destEntityDrawable = component.getEntityType(destTile);
-					
-					//Add the EntityType to the viewableMap
-					int croppedYIndex = i - topLeftBound.y;
-					int croppedXIndex = j - topLeftBound.x;
-					List<EntityType> editRow = this.viewableMap.get(croppedYIndex);
-					editRow.set(croppedXIndex, destEntityDrawable);
-				} catch (IllegalArgumentException e) {
-					//Do Nothing
-				}
-			}
+	private LevelComponent findComponentOrNull(Point point) {
+		int index = this.componentIndex.findComponentIndex(point);
+		if (index < 0) {
+			return null;
 		}
+		return this.levelMap.get(index);
+	}
+	
+	@Override
+	public Tile getTile(Point point) {
+		return this.levelGrid.getTile(point);
+	}
+
+	@Override
+	public List<List<EntityType>> getMap() {
+		//The level grid keeps the rendered map up to date as actors and items move
+		return this.levelGrid.getEntityMap();
 	}
 
 	@Override
 	public InteractionResult playerAction(Player player, Point destination) {
 		LevelComponent sourceComponent = this.playerLocations.get(player);
+		Point source = this.actorPositions.get(player);
 		LevelComponent destinationComponent = findDestinationComponent(sourceComponent, destination);
-		Tile destTile = destinationComponent.getDestinationTile(destination);
+		Tile destTile = this.levelGrid.getTile(destination);
 		InteractionResult interaction = player.getTileInteractionResult(destTile);
 
 		if (interaction.equals(InteractionResult.EXIT) && !exitUnlocked) {
@@ -545,29 +648,35 @@ public class LevelImpl implements Level {
 			//If player is moving to a new room, remove them from the source room
 			//Otherwise, remove them from their current position
 			if (!destinationComponent.equals(sourceComponent)) {
-				sourceComponent.removeActor(player);
+				removeActorFromComponent(player, sourceComponent);
 			} else {
-				destinationComponent.removeActor(player);
+				removeActorFromComponent(player, destinationComponent);
 			}
 			
 			//If the player is not removed from the level, place them at the destination
 			if (!removePlayer) {
-				destinationComponent.placeActor(player, destination);
+				placeActorInComponent(player, destinationComponent, destination);
 				this.playerLocations.replace(player, destinationComponent);
+				notifyActorMoved(player, source, destination);
 			} else {
 				this.playerLocations.remove(player);
+				notifyActorRemoved(player, source);
 			}		
 		}
 
 		if (interaction.equals(InteractionResult.FOUND_KEY)) {
-			Tile destinationTile = destinationComponent.getDestinationTile(destination);
-			this.items.remove(destinationTile.getItem());
-			destinationTile.removeItem();
+			Item key = destTile.getItem();
+			this.items.removeItem(key);
+			this.stateHash ^= getItemKey(key.getEntityType(), destination);
+			this.levelGrid.removeItem(destination);
+			updateFreeCell(destinationComponent, destination);
 			this.exitUnlocked = true;
+			this.version++;
 		}
 
 		if (interaction.equals(InteractionResult.EXIT)) {
 			this.levelExited = true;
+			this.version++;
 		}
 
 		return interaction;
@@ -576,9 +685,10 @@ public class LevelImpl implements Level {
 	@Override
 	public InteractionResult adversaryAction(Adversary adversary, Point destination) {
 		LevelComponent sourceComponent = this.adversaryLocations.get(adversary);
+		Point source = this.actorPositions.get(adversary);
 		LevelComponent destinationComponent = findDestinationComponent(sourceComponent, destination);
 
-		Tile destTile = destinationComponent.getDestinationTile(destination);
+		Tile destTile = this.levelGrid.getTile(destination);
 		InteractionResult interaction = adversary.getTileInteractionResult(destTile);
 			
 		//If the adversary damages a player, decrease the player's health
@@ -590,14 +700,15 @@ public class LevelImpl implements Level {
 			//If adversary is moving to a new room, remove them from the source room
 			//Otherwise, remove them from their current position
 			if (!destinationComponent.equals(sourceComponent)) {
-				sourceComponent.removeActor(adversary);
+				removeActorFromComponent(adversary, sourceComponent);
 			} else {
-				destinationComponent.removeActor(adversary);
+				removeActorFromComponent(adversary, destinationComponent);
 			}			
 			//If the adversary interacts with a player, remove the player from the level
+			Actor removedPlayer = null;
 			if (interaction.equals(InteractionResult.REMOVE_PLAYER)) {
-				Tile destinationTile = destinationComponent.getDestinationTile(destination);
-				this.playerLocations.remove(destinationTile.getActor());
+				removedPlayer = destTile.getActor();
+				this.playerLocations.remove(removedPlayer);
 			}	
 			
 			//Place the adversary and update their location, if they are teleporting place in random room
@@ -606,9 +717,21 @@ public class LevelImpl implements Level {
 				placeActorValidly(adversary, randomRoom);
 				this.adversaryLocations.replace(adversary, randomRoom);
 			} else {
-				destinationComponent.placeActor(adversary, destination);
+				placeActorInComponent(adversary, destinationComponent, destination);
 				this.adversaryLocations.replace(adversary, destinationComponent);
 			}
+
+			//The ejected player is reported before the adversary that took their place
+			if (removedPlayer != null) {
+				notifyActorRemoved(removedPlayer, destination);
+			}
+			if (interaction.equals(InteractionResult.TELEPORT)) {
+				for (ActorLocationListener listener : this.locationListeners) {
+					listener.actorTeleported(adversary, source, new Point(this.actorPositions.get(adversary)));
+				}
+			} else {
+				notifyActorMoved(adversary, source, destination);
+			}
 			
 		}
 
@@ -639,9 +762,9 @@ public class LevelImpl implements Level {
 	 * @return the LevelComponent that the destination point is in
 	 */
 	private LevelComponent findDestinationComponent(LevelComponent sourceComponent, Point destination) {		
-		//If the actor is not moving within the same LevelComponent, 
-		//find the destination LevelComponent
-		if (sourceComponent.inComponent(destination)) {
+		//A room can check its own bounds directly. Checking a hall would require walking 
+		//the hall, so use the spatial index instead
+		if (sourceComponent instanceof Room && sourceComponent.inComponent(destination)) {
 			return sourceComponent;		
 		} else {
 			return findComponent(destination);
@@ -678,12 +801,19 @@ public class LevelImpl implements Level {
 		}
 		
 		//Find the point that the actor is located at
-		Point source = sourceComponent.findActorLocation(actor);
+		Point source = this.actorPositions.get(actor);
 
 		//Check that the actor is moving a valid distance
 		if (!actor.checkValidMoveDistance(source, destination)) {
 			return false;
 		}
+
+		//Find every cell the player can reach and check if the destination is one of them
+		if (actor instanceof Player) {
+			long validMoveCells = findValidMoveCells((Player)actor, source);
+			int destinationBit = Player.getMoveWindowBit(destination.x - source.x, destination.y - source.y);
+			return (validMoveCells & (1L << destinationBit)) != 0;
+		}
 		
 		//Identify all intermediate EntityTypes between the source and the destination
 		//If a valid path exists, return true
@@ -711,17 +841,8 @@ public class LevelImpl implements Level {
 		for (int row = minY; row <= maxY; row++) {			
 			List<EntityType> currRow = new ArrayList<>();
 			for (int col = minX; col <= maxX; col++) {
-				Point currPoint = new Point(col, row);
-				EntityType currType;
-				//If the point is not in a LevelComponent, it is the EMPTY EntityType
-				try {
-					LevelComponent destinationComponent = findComponent(currPoint);
-					Tile currTile = destinationComponent.getDestinationTile(currPoint);
-					currType = destinationComponent.getEntityType(currTile);
-				} catch (IllegalArgumentException e) {
-					currType = EntityType.EMPTY;
-				}
-				currRow.add(currType);	
+				//If the point is not in a LevelComponent, the grid returns the EMPTY EntityType
+				currRow.add(this.levelGrid.getEntityType(col, row));
 			} 		
 			intermediateTypes.add(currRow);	
 		}  
@@ -749,30 +870,16 @@ public class LevelImpl implements Level {
 	 * @return true if the items in the level are valid
 	 */
 	private Boolean checkValidItems() {
-		int exitCount = 0;
-		int keyCount = 0;
-		List<Point> positions = new ArrayList<>();
+		//No two items can share a location, and every item must be a key or an exit
+		int keyCount = this.items.getItemCount(EntityType.KEY);
+		int exitCount = this.items.getItemCount(EntityType.EXIT);
+		if (this.items.hasSharedLocations() || keyCount + exitCount != this.items.getItemCount()) {
+			return false;
+		}
+
 		//Check that there is at exactly one exit
 		//Check if there is exactly one key or if the exit is unlocked
-		for (Item item : this.items) {
-			if (positions.contains(item.getLocation())) {
-				return false;
-			} else {
-				positions.add(item.getLocation());
-			}
-			
-			if (item instanceof Exit) {
-				exitCount++;
-			} else if (item instanceof Key) {
-				keyCount++;
-			} else {
-				//Return false if the level contains an invalid item
-				return false;
-			}
-		}
-		
 		return exitCount == 1 && (keyCount == 1 || (keyCount == 0 && this.exitUnlocked));
-		
 	}
 	
 	/**
@@ -796,13 +903,15 @@ public class LevelImpl implements Level {
 
 	@Override
 	public List<List<EntityType>> getPlayerMap(Player player) {
-		LevelComponent sourceComponent = playerLocations.get(player);
-		Point playerLocation = sourceComponent.findActorLocation(player);
-		
-		List<List<EntityType>> fullLevel = getMap();
-		Point topLeft = getTopLeft();
-		//Crop map based on player's location
-		return player.cropViewableMap(fullLevel, topLeft, playerLocation);
+		Point playerLocation = getActorPosition(player);
+		int sightRadius = player.getSightRadius();
+
+		//Read only the cells around the player's location from the level grid
+		return this.levelGrid.getEntityWindow(
+				playerLocation.x - sightRadius,
+				playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius,
+				playerLocation.y + sightRadius);
 	}
 
 	@Override
@@ -818,100 +927,102 @@ public class LevelImpl implements Level {
 
 	@Override
 	public List<Point> getValidMoves(Player player) {
-		LevelComponent sourceComponent = playerLocations.get(player);
-		Point playerLocation = sourceComponent.findActorLocation(player);	
+		Point playerLocation = getActorPosition(player);
 		
-		//Get all potential moves based on the player's location
-		List<Point> allPotentialMoves = player.getPotentialMoves(playerLocation);	
+		int maxMoveDistance = player.getMaxMoveDistance();
 		List<Point> validMoves = new ArrayList<>();
-		
-		for (Point point : allPotentialMoves) {		
-			//Identify all intermediate EntityTypes between the source and the destination
-			//If a valid path exists, return true
-			List<List<EntityType>> intermediateTypes = getIntermediateTypes(playerLocation, point, sourceComponent);
-			if (player.checkValidMovePath(playerLocation, point, intermediateTypes)) {
-				validMoves.add(point);
+
+		//Find every cell the player can reach in a single search, then keep the
+		//potential moves that land on one of them. The potential moves are the
+		//diamond of cells within the move distance, as in getPotentialMoves, and
+		//only the valid ones are made into points
+		long validMoveCells = findValidMoveCells(player, playerLocation);
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			int rowDistance = maxMoveDistance - Math.abs(offsetY);
+			for (int offsetX = -rowDistance; offsetX <= rowDistance; offsetX++) {
+				if ((validMoveCells & (1L << Player.getMoveWindowBit(offsetX, offsetY))) != 0) {
+					validMoves.add(new Point(playerLocation.x + offsetX, playerLocation.y + offsetY));
+				}
 			}
 		}
 		return validMoves;
 	}
 
+	/**
+	 * Finds every cell that the player can move to from their location. The
+	 * EntityTypes in the window around the player are read from the level grid
+	 * @param player - the player that is moving
+	 * @param playerLocation - the current location of the player
+	 * @return the cells in the player's move window that are valid destinations
+	 */
+	private long findValidMoveCells(Player player, Point playerLocation) {
+		int maxMoveDistance = player.getMaxMoveDistance();
+		long traversableCells = 0;
+		long playerCells = 0;
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			for (int offsetX = -maxMoveDistance; offsetX <= maxMoveDistance; offsetX++) {
+				EntityType entityType = this.levelGrid.getEntityType(
+						playerLocation.x + offsetX, playerLocation.y + offsetY);
+				long cellBit = 1L << Player.getMoveWindowBit(offsetX, offsetY);
+				if (player.isTraversable(entityType)) {
+					traversableCells |= cellBit;
+				} else if (entityType.equals(EntityType.PLAYER)) {
+					playerCells |= cellBit;
+				}
+			}
+		}
+		return player.findReachableMoves(traversableCells, playerCells);
+	}
+
 	@Override
 	public Point getActorPosition(Actor actor) {
-		LevelComponent sourceComponent;
-		if (actor instanceof Player) {
-			sourceComponent = playerLocations.get(actor);
-		} else if (actor instanceof Adversary) {
-			sourceComponent = adversaryLocations.get(actor);
-		} else {
+		if (!(actor instanceof Player) && !(actor instanceof Adversary)) {
 			throw new IllegalArgumentException("Invalid actor type");
 		}
-		return sourceComponent.findActorLocation(actor);
+		Point position = this.actorPositions.get(actor);
+		if (position == null) {
+			throw new IllegalArgumentException("Actor does not exist in the level");
+		}
+		return new Point(position);
 	}
 
 	@Override
 	public List<Point> getVisibleDoors(Player player) {
 		Point playerLocation = getActorPosition(player);
-		Set<Point> allDoors = new HashSet<>();
-		for (LevelComponent component : this.levelMap) {
-			//If the component is a room, add the door locations to the set
-			if (component instanceof Room) {
-				Room room = (Room)component;
-				Set<Point> roomDoors = room.getDoors().keySet();
-				allDoors.addAll(roomDoors);
-			}
-		}
-		return player.visibleDoors(allDoors, playerLocation);
+		int sightRadius = player.getSightRadius();
+
+		//Only the doors near the area of the level that the player can see are checked
+		List<Point> nearbyDoors = this.componentIndex.getDoorCandidates(
+				playerLocation.x - sightRadius, playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius, playerLocation.y + sightRadius);
+		return player.visibleDoors(nearbyDoors, playerLocation);
 	}
 
 	@Override
 	public List<Item> getVisibleItems(Player player) {
-		List<Item> visibleItems = new ArrayList<>();
 		Point playerLocation = getActorPosition(player);
-		
-		//Get the cropped map of the level that the player can see
-		List<List<Tile>> tileMap = getTileMap();
-		Point topLeft = getTopLeft();
-		List<List<Tile>> croppedTileMap = player.cropTileMap(tileMap, topLeft, playerLocation);
-		
-		for (List<Tile> tileRow : croppedTileMap) {
-			for (Tile tile : tileRow) {
-				if (tile instanceof Wall) {
-					continue;
-				}
-				Item item = tile.getItem();
-				//If an item exists on the tile, add it to the list
-				if (item != null) {
-					visibleItems.add(item);
-				}
-			}
-		}
-		return visibleItems;
+		int sightRadius = player.getSightRadius();
+
+		//Get the items within the area of the level that the player can see
+		return this.levelGrid.getItemsInWindow(
+				playerLocation.x - sightRadius,
+				playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius,
+				playerLocation.y + sightRadius);
 	}
 
 	@Override
 	public Map<Actor, Point> getVisibleActors(Player player) {
-		Map<Actor, Point> visibleActors = new LinkedHashMap<>();
 		Point playerLocation = getActorPosition(player);
-		
-		//Get the cropped map of the level that the player can see
-		List<List<Tile>> tileMap = getTileMap();
-		Point topLeft = getTopLeft();
-		List<List<Tile>> croppedTileMap = player.cropTileMap(tileMap, topLeft, playerLocation);
-		
-		for (List<Tile> tileRow : croppedTileMap) {
-			for (Tile tile : tileRow) {
-				if (tile instanceof Wall) {
-					continue;
-				}
-				Actor actor = tile.getActor();
-				//If an actor exists on the tile, add it to the list
-				if (actor != null && !player.equals(actor)) {
-					Point actorPosition = getActorPosition(actor);
-					visibleActors.put(actor, actorPosition);
-				}
-			}
-		}
+		int sightRadius = player.getSightRadius();
+
+		//Get the actors within the area of the level that the player can see
+		Map<Actor, Point> visibleActors = this.levelGrid.getActorsInWindow(
+				playerLocation.x - sightRadius,
+				playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius,
+				playerLocation.y + sightRadius);
+		visibleActors.remove(player);
 		return visibleActors;
 	}
 
@@ -920,8 +1031,7 @@ public class LevelImpl implements Level {
 		Map<Player, Point> activePlayers = new LinkedHashMap<>();
 		for (Map.Entry<Player, LevelComponent> locationEntry : this.playerLocations.entrySet()) {
 			Player player = locationEntry.getKey();
-			Point playerPoint = locationEntry.getValue().findActorLocation(player);
-			activePlayers.put(player, playerPoint);
+			activePlayers.put(player, new Point(this.actorPositions.get(player)));
 		}
 		return activePlayers;
 	}
@@ -931,12 +1041,41 @@ public class LevelImpl implements Level {
 		Map<Adversary, Point> activeAdversaries = new LinkedHashMap<>();
 		for (Map.Entry<Adversary, LevelComponent> locationEntry : this.adversaryLocations.entrySet()) {
 			Adversary adversary = locationEntry.getKey();
-			Point adversaryPoint = locationEntry.getValue().findActorLocation(adversary);
-			activeAdversaries.put(adversary, adversaryPoint);
+			activeAdversaries.put(adversary, new Point(this.actorPositions.get(adversary)));
 		}
 		return activeAdversaries;
 	}
 
+	/**
+	 * Checks that the actor positions agree with the LevelComponents and the
+	 * level grid. Every player and adversary in the level must have a position,
+	 * the component that they are tracked in must contain that position, and
+	 * the grid must show them at that position
+	 * @return true if the actor positions are consistent
+	 */
+	public Boolean checkActorPositions() {
+		if (this.actorPositions.size() != this.playerLocations.size() + this.adversaryLocations.size()) {
+			return false;
+		}
+		Map<Actor, LevelComponent> trackedComponents = new HashMap<>();
+		trackedComponents.putAll(this.playerLocations);
+		trackedComponents.putAll(this.adversaryLocations);
+
+		for (Map.Entry<Actor, LevelComponent> entry : trackedComponents.entrySet()) {
+			Actor actor = entry.getKey();
+			LevelComponent component = entry.getValue();
+			Point position = this.actorPositions.get(actor);
+			if (position == null || !component.inComponent(position)) {
+				return false;
+			}
+			if (this.levelGrid.getTerrain(position.x, position.y).equals(EntityType.WALL)
+					|| !actor.equals(this.levelGrid.getActor(position.x, position.y))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public Boolean getExitUnlocked() {
 		return this.exitUnlocked;
@@ -950,90 +1089,64 @@ public class LevelImpl implements Level {
 
 	@Override
 	public List<Item> getItems() {
-		return this.items;
+		return this.items.getItems();
 	}
 
-	/**
-	 * Gets the map for the level composed of tiles
-	 * @return a map of all tiles within the level
-	 */
-	private List<List<Tile>> getTileMap() {
-		Point topLeftBound = getTopLeft();
-		Point bottomRightBound = getBottomRight();
-		List<List<Tile>> tileMap = initializeEmptyTileMap(topLeftBound, bottomRightBound);
+	@Override
+	public long getStateHash() {
+		return this.stateHash ^ ZobristKeys.getFlagKey(this.exitUnlocked, this.levelExited);
+	}
 
-		for (LevelComponent component : this.levelMap) {
-			addToTileMap(tileMap, component, topLeftBound, bottomRightBound);
+	@Override
+	public SimulationState createSimulation(long seed) {
+		prepare();
+		return new SimulationState(this.simulationLayout, getActivePlayers(), getActiveAdversaries(),
+				this.items.getItems(), this.exitUnlocked, this.levelExited, new Random(seed));
+	}
+
+	@Override
+	public void prepare() {
+		//The layout never changes, so every simulation of the level, and every game of its template, shares it
+		if (this.simulationLayout == null) {
+			this.simulationLayout = this.template != null ? this.template.getSimulationLayout()
+					: new SimulationLayout(this.levelMap, this.componentIndex, this.levelGrid);
 		}
+	}
 
-		return tileMap;
+	@Override
+	public DistanceField createDistanceField() {
+		prepare();
+		return new DistanceField(this.simulationLayout);
 	}
 
-	/**
-	 * Initializes a new map of Tiles as Walls
-	 * @return the map of Wall Tiles
-	 * @param topLeftBound - top left bound of viewable level
-	 * @param bottomRightBound - bottom right bound of viewable level
-	 */
-	private List<List<Tile>> initializeEmptyTileMap(Point topLeftBound,
-			Point bottomRightBound) {
-		//Determine the size of the map based on the bounds
-		int xSize = bottomRightBound.x - topLeftBound.x + 1;
-		int ySize = bottomRightBound.y - topLeftBound.y + 1;
-
-		List<List<Tile>> emptyMap = new ArrayList<>();
-
-		//Iterate through the map and place a Wall at
-		//each coordinate
-		for (int i = 0; i < ySize; i++) {
-			List<Tile> emptyRow = new ArrayList<>();
-			for (int j = 0; j < xSize; j++) {
-				emptyRow.add(j, new Wall());
-			}
-			emptyMap.add(i, emptyRow);
+	@Override
+	public synchronized RoomGraph getRoomGraph() {
+		//Adversaries may ask for the graph on another thread before the level starts
+		if (this.roomGraph == null) {
+			this.roomGraph = this.template != null ? this.template.getRoomGraph()
+					: new RoomGraph(this.levelMap, this.componentIndex);
 		}
-		return emptyMap;
+		return this.roomGraph;
 	}
 
-	/**
-	 * Adds each Tile within a LevelComponent to the tileMap
-	 * @param component - the LevelComponent to add to the tileMap
-	 * @param topLeftBound - top left bound of the level
-	 * @param bottomRightBound - bottom right bound of the level
-	 */
-	private void addToTileMap(
-			List<List<Tile>> tileMap,
-			LevelComponent component,
-			Point topLeftBound,
-			Point bottomRightBound) {
-		//Iterate through the level bounds
-		for (int i = topLeftBound.y; i <= bottomRightBound.y; i++) {
-			for (int j = topLeftBound.x; j <= bottomRightBound.x; j++) {
-				try {
-					//Check if a Tile exists at the given coordinates in the LevelComponent
-					//If these coordinates are not available for this LevelComponent, no changes are made
-					Tile destTile = component.getDestinationTile(new Point(j, i));
-
-					//Add the Tile to the viewableMap
-					int croppedYIndex = i - topLeftBound.y;
-					int croppedXIndex = j - topLeftBound.x;
-					List<Tile> editRow = tileMap.get(croppedYIndex);
-					editRow.set(croppedXIndex, destTile);
-				} catch (IllegalArgumentException e) {
-					//Do Nothing
-				}
-			}
+	@Override
+	public LevelSnapshot getSnapshot() {
+		//Nothing has changed since the last snapshot, so it can be shared
+		if (this.snapshot != null && this.snapshot.getVersion() == this.version) {
+			return this.snapshot;
 		}
+		this.snapshot = new LevelSnapshot(this.version, getStateHash(), this.levelGrid.getEntityMap(),
+				this.levelGrid.getOrigin(), this.componentIndex, getActivePlayers(), this.levelGrid.getActorRows(),
+				this.items.getItems(), this.exitUnlocked, this.levelExited);
+		return this.snapshot;
 	}
 
 	@Override
 	public int hashCode() {
-		return this.levelMap.hashCode()
-				* this.playerLocations.hashCode()
-				* this.adversaryLocations.hashCode()
-				* this.exitUnlocked.hashCode()
-				* this.levelExited.hashCode()
-				* this.items.hashCode();
+		//Equal levels have the same actors and items in the same places, so they have
+		//the same state hash
+		long hash = getStateHash();
+		return (int)(hash ^ (hash >>> 32));
 	}
 
 	@Override
@@ -1046,12 +1159,18 @@ public class LevelImpl implements Level {
 		}
 
 		LevelImpl otherLevel = (LevelImpl) obj;
+		//Levels with different state hashes cannot be equal, which is much cheaper to
+		//check than comparing every tile
+		if (getStateHash() != otherLevel.getStateHash()) {
+			return false;
+		}
 		return this.levelMap.equals(otherLevel.levelMap)
+				&& this.actorPositions.equals(otherLevel.actorPositions)
 				&& this.playerLocations.equals(otherLevel.playerLocations)
 				&& this.adversaryLocations.equals(otherLevel.adversaryLocations)
 				&& this.exitUnlocked.equals(otherLevel.exitUnlocked)
 				&& this.levelExited.equals(otherLevel.levelExited)
-				&& this.items.equals(otherLevel.items);
+				&& this.items.getItems().equals(otherLevel.items.getItems());
 	}
 
 }
@@ -0,0 +1,219 @@
+package Game.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The location of each level in a JSON levels file, so that one level can be
+ * read without tokenizing the levels before it. A levels file is the number
+ * of levels followed by a JSON object for each level.
+ *
+ * The index is built by scanning the file for the start and end of each
+ * level object, which is much faster than parsing it. The index is then
+ * cached in a file next to the levels file, and the cache is used for as
+ * long as the levels file has the same length and modification time.
+ */
+public class LevelIndex {
+
+	//Identifies a cached index file, and the version of its format
+	private static final int magic = 0x534E4C49;
+	private static final int formatVersion = 1;
+
+	//The extension added to the name of a levels file to name its cached index
+	public static final String indexExtension = ".index";
+
+	//The levels file
+	private final File file;
+
+	//The offset of the first byte of each level, and of the byte after its last
+	private final long[] starts;
+	private final long[] ends;
+
+	//True if the index was read from its cache rather than built
+	private final boolean cached;
+
+	/**
+	 * Opens the index of a levels file, building and caching it if there is no
+	 * cached index for the file as it is now
+	 * @param fileName - the name of the levels file
+	 * @throws IOException if the levels file cannot be read
+	 * @throws IllegalArgumentException if the file is not a count followed by
+	 * that many JSON objects
+	 */
+	public LevelIndex(String fileName) throws IOException {
+		this.file = new File(fileName);
+		File indexFile = new File(fileName + indexExtension);
+		long[][] offsets = readCache(indexFile);
+		this.cached = offsets != null;
+		if (offsets == null) {
+			offsets = scan();
+		}
+		this.starts = offsets[0];
+		this.ends = offsets[1];
+		if (!this.cached) {
+			writeCache(indexFile);
+		}
+	}
+
+	/**
+	 * Gets the number of levels in the file
+	 * @return the number of levels
+	 */
+	public int getLevelCount() {
+		return this.starts.length;
+	}
+
+	/**
+	 * Checks if the index was read from its cache
+	 * @return true if the index was cached, false if it was built
+	 */
+	public boolean isCached() {
+		return this.cached;
+	}
+
+	/**
+	 * Reads the JSON object of a level from the file
+	 * @param index - the index of the level in the file
+	 * @return the text of the level's JSON object
+	 * @throws IOException if the file cannot be read
+	 * @throws IndexOutOfBoundsException if there is no level at the index
+	 */
+	public String readLevel(int index) throws IOException {
+		byte[] bytes = new byte[(int)(this.ends[index] - this.starts[index])];
+		try (RandomAccessFile in = new RandomAccessFile(this.file, "r")) {
+			in.seek(this.starts[index]);
+			in.readFully(bytes);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Scans the levels file for the start and end of each level object. Only
+	 * braces, brackets and strings are tracked, so the objects are not checked
+	 * to be valid JSON until they are parsed
+	 * @return the start offsets and the end offsets of the levels
+	 */
+	private long[][] scan() throws IOException {
+		try (InputStream in = new BufferedInputStream(new FileInputStream(this.file))) {
+			long offset = 0;
+			int c = in.read();
+			while (c != -1 && Character.isWhitespace(c)) {
+				c = in.read();
+				offset++;
+			}
+			int numLevels = 0;
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Levels file must start with the number of levels");
+			}
+			while (c >= '0' && c <= '9') {
+				numLevels = numLevels * 10 + (c - '0');
+				c = in.read();
+				offset++;
+			}
+
+			long[] levelStarts = new long[numLevels];
+			long[] levelEnds = new long[numLevels];
+			for (int i = 0; i < numLevels; i++) {
+				while (c != -1 && Character.isWhitespace(c)) {
+					c = in.read();
+					offset++;
+				}
+				if (c == -1) {
+					throw new IllegalArgumentException("Levels file has " + i + " levels but a count of " + numLevels);
+				}
+				if (c != '{') {
+					throw new IllegalArgumentException("Level " + (i + 1) + " is not a JSON object");
+				}
+				levelStarts[i] = offset;
+
+				//Find the brace that closes the level, skipping over strings
+				int depth = 0;
+				boolean inString = false;
+				do {
+					if (c == -1) {
+						throw new IllegalArgumentException("Level " + (i + 1) + " is not closed");
+					}
+					if (inString) {
+						if (c == '\\') {
+							in.read();
+							offset++;
+						} else if (c == '"') {
+							inString = false;
+						}
+					} else if (c == '"') {
+						inString = true;
+					} else if (c == '{' || c == '[') {
+						depth++;
+					} else if (c == '}' || c == ']') {
+						depth--;
+					}
+					c = in.read();
+					offset++;
+				} while (depth > 0);
+				levelEnds[i] = offset;
+			}
+			return new long[][] {levelStarts, levelEnds};
+		}
+	}
+
+	/**
+	 * Reads the cached index of the levels file
+	 * @param indexFile - the cached index file
+	 * @return the start offsets and the end offsets of the levels, or null if
+	 * there is no cached index for the levels file as it is now
+	 */
+	private long[][] readCache(File indexFile) {
+		if (!indexFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			if (in.readInt() != magic || in.readInt() != formatVersion
+					|| in.readLong() != this.file.length() || in.readLong() != this.file.lastModified()) {
+				return null;
+			}
+			int numLevels = in.readInt();
+			if (numLevels < 0) {
+				return null;
+			}
+			long[] levelStarts = new long[numLevels];
+			long[] levelEnds = new long[numLevels];
+			for (int i = 0; i < numLevels; i++) {
+				levelStarts[i] = in.readLong();
+				levelEnds[i] = in.readLong();
+			}
+			return new long[][] {levelStarts, levelEnds};
+		} catch (IOException e) {
+			//A cache that cannot be read, or was cut short, is built again
+			return null;
+		}
+	}
+
+	/**
+	 * Caches the index next to the levels file. The index can always be built
+	 * again, so it is not an error if the cache cannot be written
+	 * @param indexFile - the cached index file
+	 */
+	private void writeCache(File indexFile) {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(indexFile))) {
+			out.writeInt(magic);
+			out.writeInt(formatVersion);
+			out.writeLong(this.file.length());
+			out.writeLong(this.file.lastModified());
+			out.writeInt(this.starts.length);
+			for (int i = 0; i < this.starts.length; i++) {
+				out.writeLong(this.starts[i]);
+				out.writeLong(this.ends[i]);
+			}
+		} catch (IOException e) {
+			indexFile.delete();
+		}
+	}
+}
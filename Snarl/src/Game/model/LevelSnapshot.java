@@ -0,0 +1,347 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import Game.modelView.EntityType;
+import Game.modelView.LevelModelView;
+
+/**
+ * A read-only copy of the state of a Level at one point in the game. A
+ * snapshot never changes after it is taken, so it can be read on any thread
+ * while the game goes on changing the Level.
+ *
+ * Snapshots share as much as they can with the Level and with each other:
+ * - the rows of the map are the rows of the level grid, which are replaced
+ *   rather than changed when a cell in them changes
+ * - the item list is shared until an item is added or removed
+ * - the actors are found from rows of actor slots, which are shared with the
+ *   level grid in the same way as the rows of the map, so taking a snapshot
+ *   does not copy the location of every adversary
+ * - the positions of the players are copied, since there are only a few players
+ *
+ * The actors themselves are the live actors of the game. Only their
+ * positions are recorded in the snapshot.
+ *
+ * What a player can see and where they can move are found from the
+ * snapshot when they are asked for, in the same way as the Level finds
+ * them, so a snapshot that is never asked does no work for its players
+ */
+public class LevelSnapshot implements LevelModelView {
+
+	//The version of the Level that the snapshot was taken of, and the hash of its state
+	private final long version;
+	private final long stateHash;
+
+	//The rendered map of the level, and the level coordinates of its top left cell
+	private final List<List<EntityType>> map;
+	private final Point origin;
+
+	//The spatial index of the components of the level, which never changes
+	private final ComponentIndex componentIndex;
+
+	//The players in the level and their locations, in turn order
+	private final Map<Player, Point> players;
+
+	//Where every actor in the level was, and the adversaries and their locations
+	//in turn order, found from the rows the first time they are asked for.
+	//Guarded by the snapshot, since it may be read on any thread
+	private final ActorRows actorRows;
+	private Map<Adversary, Point> adversaries;
+
+	//All items in the level
+	private final List<Item> items;
+
+	//True if the exit has been unlocked, and if a player has exited the level
+	private final boolean exitUnlocked;
+	private final boolean levelExited;
+
+	/**
+	 * Initializes a snapshot with the state of a level
+	 * @param version - the version of the level
+	 * @param stateHash - the Zobrist hash of the state of the level
+	 * @param map - the rendered map of the level, which must not change
+	 * @param origin - the level coordinates of the top left cell of the map
+	 * @param componentIndex - the spatial index of the components of the level
+	 * @param players - the players in the level and their locations
+	 * @param actorRows - where every actor in the level is, which must not change
+	 * @param items - all items in the level, which must not change
+	 * @param exitUnlocked - true if the exit has been unlocked
+	 * @param levelExited - true if a player has exited the level
+	 */
+	public LevelSnapshot(long version, long stateHash, List<List<EntityType>> map, Point origin,
+			ComponentIndex componentIndex, Map<Player, Point> players, ActorRows actorRows,
+			List<Item> items, boolean exitUnlocked, boolean levelExited) {
+		this.version = version;
+		this.stateHash = stateHash;
+		this.map = map;
+		this.origin = new Point(origin);
+		this.componentIndex = componentIndex;
+		this.players = Collections.unmodifiableMap(new LinkedHashMap<>(players));
+		this.actorRows = actorRows;
+		this.items = items;
+		this.exitUnlocked = exitUnlocked;
+		this.levelExited = levelExited;
+	}
+
+	/**
+	 * Gets the version of the Level that the snapshot was taken of. A Level
+	 * has a new version each time an actor or item in it changes
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets the Zobrist hash of the state of the Level when the snapshot was
+	 * taken. Snapshots of the same state have the same hash, so it can be used
+	 * to find repeated states
+	 * @return the 64-bit hash of the level state
+	 */
+	public long getStateHash() {
+		return this.stateHash;
+	}
+
+	@Override
+	public List<List<EntityType>> getMap() {
+		return this.map;
+	}
+
+	/**
+	 * Gets the players in the level
+	 * @return a read-only map of the players and their locations, in turn order
+	 */
+	public Map<Player, Point> getActivePlayers() {
+		return this.players;
+	}
+
+	/**
+	 * Gets the adversaries in the level
+	 * @return a read-only map of the adversaries and their locations, in turn order
+	 */
+	public synchronized Map<Adversary, Point> getActiveAdversaries() {
+		if (this.adversaries == null) {
+			this.adversaries = Collections.unmodifiableMap(this.actorRows.getAdversaries());
+		}
+		return this.adversaries;
+	}
+
+	/**
+	 * Gets the items in the level
+	 * @return a read-only list of the items
+	 */
+	public List<Item> getItems() {
+		return this.items;
+	}
+
+	/**
+	 * Checks if the exit had been unlocked when the snapshot was taken
+	 * @return true if the exit is unlocked
+	 */
+	public boolean getExitUnlocked() {
+		return this.exitUnlocked;
+	}
+
+	/**
+	 * Checks if a player had exited the level when the snapshot was taken
+	 * @return true if the level has been exited
+	 */
+	public boolean getLevelExited() {
+		return this.levelExited;
+	}
+
+	/**
+	 * Checks if the player was in the level when the snapshot was taken
+	 * @param player - the player to find
+	 * @return true if the player is in the level
+	 */
+	public boolean isPlayerAlive(Player player) {
+		return this.players.containsKey(player);
+	}
+
+	/**
+	 * Gets the location of the actor when the snapshot was taken
+	 * @param actor - the actor to find
+	 * @return the location of the actor
+	 * @throws IllegalArgumentException if the actor was not in the level
+	 */
+	public Point getActorPosition(Actor actor) {
+		Point position = actor instanceof Player ? this.players.get(actor) : getActiveAdversaries().get(actor);
+		if (position == null) {
+			throw new IllegalArgumentException("Actor does not exist in the level");
+		}
+		return new Point(position);
+	}
+
+	/**
+	 * Gets the EntityType rendered at a location when the snapshot was taken
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the EntityType at the location, EMPTY if it is outside of the map
+	 */
+	public EntityType getEntityType(int x, int y) {
+		int row = y - this.origin.y;
+		int column = x - this.origin.x;
+		if (row < 0 || row >= this.map.size() || column < 0 || column >= this.map.get(row).size()) {
+			return EntityType.EMPTY;
+		}
+		return this.map.get(row).get(column);
+	}
+
+	/**
+	 * Gets the part of the map that the player could see
+	 * @param player - the player
+	 * @return the EntityTypes around the player, indexed by row and then column
+	 * @throws IllegalArgumentException if the player was not in the level
+	 */
+	public List<List<EntityType>> getPlayerMap(Player player) {
+		Point playerLocation = getActorPosition(player);
+		int sightRadius = player.getSightRadius();
+		List<List<EntityType>> window = new ArrayList<>(2 * sightRadius + 1);
+		for (int y = playerLocation.y - sightRadius; y <= playerLocation.y + sightRadius; y++) {
+			List<EntityType> row = new ArrayList<>(2 * sightRadius + 1);
+			for (int x = playerLocation.x - sightRadius; x <= playerLocation.x + sightRadius; x++) {
+				row.add(getEntityType(x, y));
+			}
+			window.add(row);
+		}
+		return window;
+	}
+
+	/**
+	 * Gets the moves the player could make, in the same order as the Level
+	 * @param player - the player
+	 * @return the valid destinations of the player
+	 * @throws IllegalArgumentException if the player was not in the level
+	 */
+	public List<Point> getValidMoves(Player player) {
+		Point playerLocation = getActorPosition(player);
+		int maxMoveDistance = player.getMaxMoveDistance();
+
+		//Find the cells in the move window the player could move through, as the Level does
+		long traversableCells = 0;
+		long playerCells = 0;
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			for (int offsetX = -maxMoveDistance; offsetX <= maxMoveDistance; offsetX++) {
+				EntityType entityType = getEntityType(playerLocation.x + offsetX, playerLocation.y + offsetY);
+				long cellBit = 1L << Player.getMoveWindowBit(offsetX, offsetY);
+				if (player.isTraversable(entityType)) {
+					traversableCells |= cellBit;
+				} else if (entityType.equals(EntityType.PLAYER)) {
+					playerCells |= cellBit;
+				}
+			}
+		}
+		long validMoveCells = player.findReachableMoves(traversableCells, playerCells);
+
+		List<Point> validMoves = new ArrayList<>();
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			int rowDistance = maxMoveDistance - Math.abs(offsetY);
+			for (int offsetX = -rowDistance; offsetX <= rowDistance; offsetX++) {
+				if ((validMoveCells & (1L << Player.getMoveWindowBit(offsetX, offsetY))) != 0) {
+					validMoves.add(new Point(playerLocation.x + offsetX, playerLocation.y + offsetY));
+				}
+			}
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Gets the doors the player could see
+	 * @param player - the player
+	 * @return the locations of the visible doors
+	 * @throws IllegalArgumentException if the player was not in the level
+	 */
+	public List<Point> getVisibleDoors(Player player) {
+		Point playerLocation = getActorPosition(player);
+		int sightRadius = player.getSightRadius();
+		List<Point> nearbyDoors = this.componentIndex.getDoorCandidates(
+				playerLocation.x - sightRadius, playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius, playerLocation.y + sightRadius);
+		return player.visibleDoors(nearbyDoors, playerLocation);
+	}
+
+	/**
+	 * Gets the items the player could see, in row-major order
+	 * @param player - the player
+	 * @return the visible items
+	 * @throws IllegalArgumentException if the player was not in the level
+	 */
+	public List<Item> getVisibleItems(Player player) {
+		Point playerLocation = getActorPosition(player);
+		int sightRadius = player.getSightRadius();
+		List<Item> visibleItems = new ArrayList<>();
+		for (Item item : this.items) {
+			if (inSight(item.getLocation(), playerLocation, sightRadius)) {
+				visibleItems.add(item);
+			}
+		}
+		Collections.sort(visibleItems, new Comparator<Item>() {
+			public int compare(Item first, Item second) {
+				return compareRowMajor(first.getLocation(), second.getLocation());
+			}
+		});
+		return visibleItems;
+	}
+
+	/**
+	 * Gets the other actors the player could see and their locations, in row-major order
+	 * @param player - the player
+	 * @return the visible actors mapped to their locations
+	 * @throws IllegalArgumentException if the player was not in the level
+	 */
+	public Map<Actor, Point> getVisibleActors(Player player) {
+		Point playerLocation = getActorPosition(player);
+		int sightRadius = player.getSightRadius();
+		//Only the rows the player can see are read
+		Map<Actor, Point> visibleActors = this.actorRows.getActorsInWindow(
+				playerLocation.x - sightRadius, playerLocation.y - sightRadius,
+				playerLocation.x + sightRadius, playerLocation.y + sightRadius);
+		visibleActors.remove(player);
+		return visibleActors;
+	}
+
+	/**
+	 * Checks if a location is within the square that a player sees
+	 * @param location - the location to check
+	 * @param playerLocation - the location of the player
+	 * @param sightRadius - the sight radius of the player
+	 * @return true if the player can see the location
+	 */
+	private static boolean inSight(Point location, Point playerLocation, int sightRadius) {
+		return Math.abs(location.x - playerLocation.x) <= sightRadius
+				&& Math.abs(location.y - playerLocation.y) <= sightRadius;
+	}
+
+	/**
+	 * Compares two locations by row and then by column
+	 * @param first - the first location
+	 * @param second - the second location
+	 * @return a negative number, zero, or a positive number as the first location
+	 * comes before, at, or after the second
+	 */
+	private static int compareRowMajor(Point first, Point second) {
+		if (first.y != second.y) {
+			return Integer.compare(first.y, second.y);
+		}
+		return Integer.compare(first.x, second.x);
+	}
+
+	/**
+	 * Checks if the level was over when the snapshot was taken, in the
+	 * same way as the Level
+	 * @return the GameState of the level
+	 */
+	public GameState isLevelOver() {
+		if (!this.players.isEmpty()) {
+			return GameState.ACTIVE;
+		}
+		return this.levelExited ? GameState.WON : GameState.LOST;
+	}
+}
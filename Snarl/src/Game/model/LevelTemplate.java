@@ -0,0 +1,242 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The structure of a level, which is built once and shared by every game
+ * that is played on the level. The structure is made up of:
+ * - the rooms and halls of the level
+ * - the items that the level starts with
+ * - the spatial index of the components, including the door index
+ * - the terrain of the level grid
+ * - the simulation layout and room graph, once a game asks for them
+ *
+ * A Level keeps its actors and items in its LevelGrid, so none of these
+ * change while a game is played. Each new game only allocates the parts of a
+ * level that do change: the per-game layer of the level grid, the free cells
+ * of each room, and a room or hall for each component that reads its tiles
+ * from the game's grid. These share their bounds and hall paths with the
+ * template's components rather than copying them.
+ *
+ * Actors placed directly in the components the template is built from are
+ * not part of the structure, and are not copied into new games
+ */
+public class LevelTemplate {
+
+	//The rooms and halls of the structure, in the order of the level map they were built from
+	private final List<LevelComponent> levelMap;
+
+	//The items that every game of the level starts with
+	private final List<Item> items;
+
+	//Structural indexes shared by every game of the level
+	private final ComponentIndex componentIndex;
+	private final LevelGrid structureGrid;
+
+	//Structure that is only built once a game needs it
+	private SimulationLayout simulationLayout;
+	private RoomGraph roomGraph;
+
+	/**
+	 * Builds a template from the components and items of a level
+	 * @param levelMap - the map of all LevelComponents within the level
+	 * @param items - all items that the level starts with
+	 * @throws IllegalArgumentException if the level map is empty, or a hall is not
+	 * connected to rooms in the level map
+	 */
+	public LevelTemplate(List<LevelComponent> levelMap, List<Item> items) {
+		if (levelMap.isEmpty()) {
+			throw new IllegalArgumentException("Level map does not have any components");
+		}
+		this.levelMap = Collections.unmodifiableList(copyLevelMap(levelMap));
+		this.items = Collections.unmodifiableList(new ArrayList<>(items));
+
+		//The indexes are built from the empty copy, so that actors in the given
+		//components are not included
+		this.componentIndex = new ComponentIndex(this.levelMap);
+		this.structureGrid = new LevelGrid(this.levelMap, this.componentIndex);
+		this.structureGrid.getEntityMap();
+
+		//The components of the structure read their tiles from the structure grid, so
+		//the grids the copied rooms were built with can be dropped
+		for (LevelComponent component : this.levelMap) {
+			if (component instanceof Room) {
+				((Room)component).useGrid(this.structureGrid);
+			} else {
+				((Hall)component).useGrid(this.structureGrid);
+			}
+		}
+	}
+
+	/**
+	 * Creates empty rooms and halls with the structure of the given components
+	 * @param levelMap - the components to copy
+	 * @return the copied level map, in the same order as the given components
+	 * @throws IllegalArgumentException if a hall is not connected to rooms in the level map
+	 */
+	private static List<LevelComponent> copyLevelMap(List<LevelComponent> levelMap) {
+		int numComponents = levelMap.size();
+		LevelComponent[] components = new LevelComponent[numComponents];
+
+		//Rooms are copied first, since halls connect to them
+		Map<LevelComponent, Room> roomCopies = new IdentityHashMap<>();
+		for (int i = 0; i < numComponents; i++) {
+			if (levelMap.get(i) instanceof Room) {
+				Room room = copyRoom((Room)levelMap.get(i));
+				roomCopies.put(levelMap.get(i), room);
+				components[i] = room;
+			}
+		}
+		for (int i = 0; i < numComponents; i++) {
+			if (!(levelMap.get(i) instanceof Room)) {
+				Hall hall = (Hall)levelMap.get(i);
+				Room startRoom = roomCopies.get(hall.getStartRoom());
+				Room endRoom = roomCopies.get(hall.getEndRoom());
+				if (startRoom == null || endRoom == null) {
+					throw new IllegalArgumentException("Hall is not connected to rooms in the level");
+				}
+				components[i] = new Hall(
+						new Point(hall.getStartRoomPosition()), startRoom,
+						new Point(hall.getEndRoomPosition()), endRoom,
+						copyPoints(hall.getWaypoints()));
+			}
+		}
+
+		List<LevelComponent> copy = new ArrayList<>(numComponents);
+		Collections.addAll(copy, components);
+		return copy;
+	}
+
+	/**
+	 * Creates an empty room with the layout of walls and spaces of the given room
+	 * @param room - the room to copy
+	 * @return the new room
+	 */
+	private static Room copyRoom(Room room) {
+		Point topLeft = room.getTopLeftBound();
+		Point bottomRight = room.getBottomRightBound();
+		List<List<Tile>> componentMap = new ArrayList<>(bottomRight.y - topLeft.y + 1);
+		for (int y = topLeft.y; y <= bottomRight.y; y++) {
+			List<Tile> row = new ArrayList<>(bottomRight.x - topLeft.x + 1);
+			for (int x = topLeft.x; x <= bottomRight.x; x++) {
+				Tile tile = room.getDestinationTile(new Point(x, y));
+				row.add(tile instanceof Wall ? Wall.instance : new Space());
+			}
+			componentMap.add(row);
+		}
+		return new Room(new Point(topLeft), componentMap);
+	}
+
+	/**
+	 * Copies each point in the list
+	 * @param points - the points to copy
+	 * @return a new list of new points
+	 */
+	private static List<Point> copyPoints(List<Point> points) {
+		List<Point> copy = new ArrayList<>(points.size());
+		for (Point point : points) {
+			copy.add(new Point(point));
+		}
+		return copy;
+	}
+
+	/**
+	 * Creates a new level for a game from the template. The level has the
+	 * template's items and no actors
+	 * @return the new level
+	 */
+	public Level createLevel() {
+		return new LevelImpl(this);
+	}
+
+	/**
+	 * Gets the items that every game of the level starts with
+	 * @return a read-only list of the items
+	 */
+	public List<Item> getItems() {
+		return this.items;
+	}
+
+	/**
+	 * Gets the rooms and halls of the structure, which hold no actors or items
+	 * @return a read-only list of the components
+	 */
+	List<LevelComponent> getLevelMap() {
+		return this.levelMap;
+	}
+
+	/**
+	 * Creates the rooms and halls of a new game, which read their tiles from the
+	 * game's grid and share everything else with the components of the structure
+	 * @param grid - the level grid of the game
+	 * @return the level map of the game, in the same order as the structure
+	 */
+	List<LevelComponent> createLevelMap(LevelGrid grid) {
+		int numComponents = this.levelMap.size();
+		LevelComponent[] components = new LevelComponent[numComponents];
+
+		//Rooms are created first, since halls connect to them
+		Map<LevelComponent, Room> gameRooms = new IdentityHashMap<>();
+		for (int i = 0; i < numComponents; i++) {
+			if (this.levelMap.get(i) instanceof Room) {
+				Room room = new Room((Room)this.levelMap.get(i), grid);
+				gameRooms.put(this.levelMap.get(i), room);
+				components[i] = room;
+			}
+		}
+		for (int i = 0; i < numComponents; i++) {
+			if (!(this.levelMap.get(i) instanceof Room)) {
+				Hall hall = (Hall)this.levelMap.get(i);
+				components[i] = new Hall(hall, gameRooms.get(hall.getStartRoom()),
+						gameRooms.get(hall.getEndRoom()), grid);
+			}
+		}
+
+		List<LevelComponent> gameMap = new ArrayList<>(numComponents);
+		Collections.addAll(gameMap, components);
+		return Collections.unmodifiableList(gameMap);
+	}
+
+	/**
+	 * Gets the spatial index of the components
+	 * @return the component index
+	 */
+	ComponentIndex getComponentIndex() {
+		return this.componentIndex;
+	}
+
+	/**
+	 * Creates the level grid of a new game, which shares the terrain of the template
+	 * @return a level grid with no actors or items
+	 */
+	LevelGrid createLevelGrid() {
+		return new LevelGrid(this.structureGrid);
+	}
+
+	/**
+	 * Gets the simulation layout of the level, building it the first time it is needed
+	 * @return the simulation layout
+	 */
+	synchronized SimulationLayout getSimulationLayout() {
+		if (this.simulationLayout == null) {
+			this.simulationLayout = new SimulationLayout(this.levelMap, this.componentIndex, this.structureGrid);
+		}
+		return this.simulationLayout;
+	}
+
+	/**
+	 * Gets the room graph of the level, building it the first time it is needed
+	 * @return the room graph
+	 */
+	synchronized RoomGraph getRoomGraph() {
+		if (this.roomGraph == null) {
+			this.roomGraph = new RoomGraph(this.levelMap, this.componentIndex);
+		}
+		return this.roomGraph;
+	}
+}
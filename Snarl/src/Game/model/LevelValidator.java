@@ -0,0 +1,448 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Checks that the rooms and halls of a level fit together. A level is valid if:
+ * - no two rooms overlap, no two halls overlap, and no hall overlaps a room
+ * - no hall crosses itself, and every hall turns only at right angles
+ * - every door of a room is on the room and leads to a hall in the level
+ *   that ends at that door, and every hall ends at a door of a room in the level
+ * - every room can be reached from the first room of the level
+ *
+ * The checks do not throw at the first problem. Every violation is recorded,
+ * so that a level can be fixed in one pass.
+ *
+ * Overlaps are found with a sweep line rather than by comparing every pair of
+ * components, since generated levels have thousands of rooms. Each room, and
+ * each straight segment of a hall, is a rectangle of cells. The rectangles are
+ * swept from left to right, and the ones the sweep line is crossing are kept
+ * ordered by their top row, in buckets by height. The rectangles in a bucket
+ * are at most twice as tall as each other. A rectangle can only overlap an
+ * active rectangle of a bucket whose top row is at most the bucket's tallest
+ * height above it, so only those are compared. Active rectangles that do not
+ * overlap each other cross the sweep line at different rows, so each bucket
+ * only has a few rectangles in that range that do not overlap, however tall
+ * the other buckets are. This takes O(n log n log h) time for n rectangles
+ * with heights up to h, plus the number of overlaps found.
+ *
+ * Connectivity is found with a union-find over the components, joining each
+ * hall with the rooms at its ends.
+ */
+public class LevelValidator {
+
+	//The components being validated, and the index of each in the level map
+	private final List<LevelComponent> levelMap;
+	private final Map<LevelComponent, Integer> componentIndices;
+
+	//The rectangles of cells covered by the rooms and hall segments, and the
+	//index of the component each one belongs to
+	private int[] rectLeft;
+	private int[] rectTop;
+	private int[] rectRight;
+	private int[] rectBottom;
+	private int[] rectOwner;
+	private int rectCount;
+
+	//The number of buckets that rectangles are sorted into by height
+	private static final int heightBuckets = Integer.SIZE + 1;
+
+	//Every violation found, in the order they were found
+	private final List<String> violations;
+
+	/**
+	 * Validates the rooms and halls of a level
+	 * @param levelMap - the map of all LevelComponents within the level
+	 */
+	public LevelValidator(List<LevelComponent> levelMap) {
+		this.levelMap = levelMap;
+		this.componentIndices = new IdentityHashMap<>();
+		for (int i = 0; i < levelMap.size(); i++) {
+			this.componentIndices.put(levelMap.get(i), i);
+		}
+		this.violations = new ArrayList<>();
+
+		int maxRects = 0;
+		for (LevelComponent component : levelMap) {
+			maxRects += component instanceof Hall ? ((Hall)component).getWaypoints().size() + 1 : 1;
+		}
+		this.rectLeft = new int[maxRects];
+		this.rectTop = new int[maxRects];
+		this.rectRight = new int[maxRects];
+		this.rectBottom = new int[maxRects];
+		this.rectOwner = new int[maxRects];
+		this.rectCount = 0;
+
+		for (int i = 0; i < levelMap.size(); i++) {
+			LevelComponent component = levelMap.get(i);
+			if (component instanceof Room) {
+				checkDoors(i, (Room)component);
+				Point topLeft = component.getTopLeftBound();
+				Point bottomRight = component.getBottomRightBound();
+				addRect(i, topLeft.x, topLeft.y, bottomRight.x, bottomRight.y);
+			} else if (component instanceof Hall) {
+				if (checkHallEnds(i, (Hall)component)) {
+					addHallSegments(i, (Hall)component);
+				}
+			}
+		}
+		findOverlaps();
+		findDisconnectedRooms();
+	}
+
+	/**
+	 * Validates a level, throwing if it is not valid
+	 * @param levelMap - the map of all LevelComponents within the level
+	 * @throws IllegalArgumentException if the level is not valid, with every
+	 * violation on its own line of the message
+	 */
+	public static void checkValid(List<LevelComponent> levelMap) {
+		LevelValidator validator = new LevelValidator(levelMap);
+		if (!validator.isValid()) {
+			throw new IllegalArgumentException(validator.getReport());
+		}
+	}
+
+	/**
+	 * Checks if the level is valid
+	 * @return true if no violations were found
+	 */
+	public boolean isValid() {
+		return this.violations.isEmpty();
+	}
+
+	/**
+	 * Getter for the violations found in the level
+	 * @return a read-only list of the violations, in the order they were found
+	 */
+	public List<String> getViolations() {
+		return Collections.unmodifiableList(this.violations);
+	}
+
+	/**
+	 * Gets a report of every violation found in the level
+	 * @return the number of violations followed by each violation on its own line
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder();
+		report.append("Level has ").append(this.violations.size()).append(" violation")
+				.append(this.violations.size() == 1 ? "" : "s");
+		for (String violation : this.violations) {
+			report.append("\n  ").append(violation);
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Checks that every door of a room is on the room and leads to a hall in the
+	 * level that ends at the door
+	 * @param index - the index of the room in the level map
+	 * @param room - the room to check
+	 */
+	private void checkDoors(int index, Room room) {
+		for (Map.Entry<Point, Hall> door : room.getDoors().entrySet()) {
+			Point position = door.getKey();
+			Hall hall = door.getValue();
+			if (!room.inComponent(position)) {
+				this.violations.add("Door at " + describe(position) + " of " + describe(index)
+						+ " is outside the room");
+			}
+			if (hall == null || !this.componentIndices.containsKey(hall)) {
+				this.violations.add("Door at " + describe(position) + " of " + describe(index)
+						+ " leads to a hall that is not in the level");
+			} else if (!(hall.getStartRoom() == room && position.equals(hall.getStartRoomPosition()))
+					&& !(hall.getEndRoom() == room && position.equals(hall.getEndRoomPosition()))) {
+				this.violations.add("Door at " + describe(position) + " of " + describe(index)
+						+ " is not an end of " + describe(this.componentIndices.get(hall)));
+			}
+		}
+	}
+
+	/**
+	 * Checks that both ends of a hall are doors of rooms in the level
+	 * @param index - the index of the hall in the level map
+	 * @param hall - the hall to check
+	 * @return true if the hall is connected at both ends, so that its cells are known
+	 */
+	private boolean checkHallEnds(int index, Hall hall) {
+		if (hall.getStartRoom() == null || hall.getEndRoom() == null
+				|| hall.getStartRoomPosition() == null || hall.getEndRoomPosition() == null) {
+			this.violations.add(describe(index) + " is not connected to two rooms");
+			return false;
+		}
+		checkHallEnd(index, hall, hall.getStartRoom(), hall.getStartRoomPosition());
+		checkHallEnd(index, hall, hall.getEndRoom(), hall.getEndRoomPosition());
+		return true;
+	}
+
+	/**
+	 * Checks that one end of a hall is a door of a room in the level
+	 * @param index - the index of the hall in the level map
+	 * @param hall - the hall to check
+	 * @param room - the room at the end of the hall
+	 * @param position - the door position in the room
+	 */
+	private void checkHallEnd(int index, Hall hall, Room room, Point position) {
+		if (!this.componentIndices.containsKey(room)) {
+			this.violations.add(describe(index) + " ends at " + describe(position)
+					+ " in a room that is not in the level");
+		} else if (room.getDoors().get(position) != hall) {
+			this.violations.add(describe(index) + " ends at " + describe(position)
+					+ ", which is not a door of " + describe(this.componentIndices.get(room)));
+		}
+	}
+
+	/**
+	 * Adds a rectangle for each straight segment of a hall. A segment covers the
+	 * cells after its start up to and including its end, except that the doors at
+	 * either end of the hall belong to the rooms
+	 * @param index - the index of the hall in the level map
+	 * @param hall - the hall to add
+	 */
+	private void addHallSegments(int index, Hall hall) {
+		List<Point> path = new ArrayList<>();
+		path.add(hall.getStartRoomPosition());
+		path.addAll(hall.getWaypoints());
+		path.add(hall.getEndRoomPosition());
+
+		for (int segment = 0; segment + 1 < path.size(); segment++) {
+			Point start = path.get(segment);
+			Point end = path.get(segment + 1);
+			if (start.x != end.x && start.y != end.y) {
+				this.violations.add(describe(index) + " is not straight between " + describe(start)
+						+ " and " + describe(end));
+				continue;
+			}
+			int directionX = Integer.signum(end.x - start.x);
+			int directionY = Integer.signum(end.y - start.y);
+			int length = Math.abs(end.x - start.x) + Math.abs(end.y - start.y);
+			if (segment + 2 == path.size()) {
+				length--;
+			}
+			if (length <= 0) {
+				continue;
+			}
+			int firstX = start.x + directionX;
+			int firstY = start.y + directionY;
+			int lastX = start.x + directionX * length;
+			int lastY = start.y + directionY * length;
+			addRect(index, Math.min(firstX, lastX), Math.min(firstY, lastY),
+					Math.max(firstX, lastX), Math.max(firstY, lastY));
+		}
+	}
+
+	/**
+	 * Adds a rectangle of cells covered by a component
+	 * @param owner - the index of the component in the level map
+	 * @param left - the left-most column
+	 * @param top - the top-most row
+	 * @param right - the right-most column
+	 * @param bottom - the bottom-most row
+	 */
+	private void addRect(int owner, int left, int top, int right, int bottom) {
+		this.rectLeft[this.rectCount] = left;
+		this.rectTop[this.rectCount] = top;
+		this.rectRight[this.rectCount] = right;
+		this.rectBottom[this.rectCount] = bottom;
+		this.rectOwner[this.rectCount] = owner;
+		this.rectCount++;
+	}
+
+	/**
+	 * Sweeps a vertical line from left to right across the rectangles, and records
+	 * a violation for each pair of components whose rectangles share a cell
+	 */
+	private void findOverlaps() {
+		Integer[] order = new Integer[this.rectCount];
+		for (int rect = 0; rect < this.rectCount; rect++) {
+			order[rect] = rect;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				return Integer.compare(rectLeft[first], rectLeft[second]);
+			}
+		});
+
+		//The rectangles crossing the sweep line, ordered by top row in a set for each
+		//bucket of heights, and the same rectangles ordered by right-most column so
+		//they can be removed once passed
+		List<TreeSet<Long>> active = new ArrayList<>();
+		int[] bucketMaxHeights = new int[heightBuckets];
+		for (int bucket = 0; bucket < heightBuckets; bucket++) {
+			active.add(new TreeSet<Long>());
+		}
+		PriorityQueue<Long> leaving = new PriorityQueue<>();
+		Set<Long> reportedPairs = new HashSet<>();
+
+		for (int rect : order) {
+			while (!leaving.isEmpty() && (int)(leaving.peek() >> 32) < this.rectLeft[rect]) {
+				int passed = (int)(long)leaving.poll();
+				active.get(getHeightBucket(passed)).remove(pack(this.rectTop[passed], passed));
+			}
+
+			for (int bucket = 0; bucket < heightBuckets; bucket++) {
+				TreeSet<Long> bucketRects = active.get(bucket);
+				if (bucketRects.isEmpty()) {
+					continue;
+				}
+				for (long entry : bucketRects.subSet(pack(this.rectTop[rect] - bucketMaxHeights[bucket], 0), true,
+						pack(this.rectBottom[rect], Integer.MAX_VALUE), true)) {
+					int other = (int)entry;
+					if (this.rectBottom[other] >= this.rectTop[rect]) {
+						reportOverlap(this.rectOwner[other], this.rectOwner[rect], reportedPairs);
+					}
+				}
+			}
+
+			int bucket = getHeightBucket(rect);
+			bucketMaxHeights[bucket] = Math.max(bucketMaxHeights[bucket], this.rectBottom[rect] - this.rectTop[rect]);
+			active.get(bucket).add(pack(this.rectTop[rect], rect));
+			leaving.add(pack(this.rectRight[rect], rect));
+		}
+	}
+
+	/**
+	 * Finds the bucket of a rectangle's height. A rectangle spanning one row is in
+	 * bucket 0, and otherwise a rectangle whose bottom row is between 2^(k-1) and
+	 * 2^k - 1 rows below its top row is in bucket k
+	 * @param rect - the rectangle
+	 * @return the bucket of the rectangle
+	 */
+	private int getHeightBucket(int rect) {
+		return Integer.SIZE - Integer.numberOfLeadingZeros(this.rectBottom[rect] - this.rectTop[rect]);
+	}
+
+	/**
+	 * Records a violation for two overlapping components, once for each pair
+	 * @param first - the index of one component in the level map
+	 * @param second - the index of the other component in the level map
+	 * @param reportedPairs - the pairs of components already reported
+	 */
+	private void reportOverlap(int first, int second, Set<Long> reportedPairs) {
+		int low = Math.min(first, second);
+		int high = Math.max(first, second);
+		if (!reportedPairs.add(pack(low, high))) {
+			return;
+		}
+		if (low == high) {
+			this.violations.add(describe(low) + " crosses itself");
+			return;
+		}
+		boolean lowIsRoom = this.levelMap.get(low) instanceof Room;
+		boolean highIsRoom = this.levelMap.get(high) instanceof Room;
+		String kind = lowIsRoom && highIsRoom ? "Rooms overlap: "
+				: !lowIsRoom && !highIsRoom ? "Halls overlap: " : "Hall overlaps room: ";
+		this.violations.add(kind + describe(low) + " and " + describe(high));
+	}
+
+	/**
+	 * Records a violation for each room that cannot be reached from the first room
+	 * through the halls of the level
+	 */
+	private void findDisconnectedRooms() {
+		int[] parents = new int[this.levelMap.size()];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+		for (int i = 0; i < this.levelMap.size(); i++) {
+			if (this.levelMap.get(i) instanceof Hall) {
+				Hall hall = (Hall)this.levelMap.get(i);
+				Integer startRoom = this.componentIndices.get(hall.getStartRoom());
+				Integer endRoom = this.componentIndices.get(hall.getEndRoom());
+				if (startRoom != null) {
+					union(parents, i, startRoom);
+				}
+				if (endRoom != null) {
+					union(parents, i, endRoom);
+				}
+			}
+		}
+
+		int firstRoom = -1;
+		for (int i = 0; i < this.levelMap.size(); i++) {
+			if (!(this.levelMap.get(i) instanceof Room)) {
+				continue;
+			}
+			if (firstRoom < 0) {
+				firstRoom = i;
+			} else if (find(parents, i) != find(parents, firstRoom)) {
+				this.violations.add(describe(i) + " cannot be reached from " + describe(firstRoom));
+			}
+		}
+	}
+
+	/**
+	 * Finds the representative of a set in the union-find, halving the path to it
+	 * @param parents - the parent of each element
+	 * @param element - the element to find
+	 * @return the representative of the element's set
+	 */
+	private static int find(int[] parents, int element) {
+		while (parents[element] != element) {
+			parents[element] = parents[parents[element]];
+			element = parents[element];
+		}
+		return element;
+	}
+
+	/**
+	 * Joins the sets of two elements in the union-find
+	 * @param parents - the parent of each element
+	 * @param first - an element of one set
+	 * @param second - an element of the other set
+	 */
+	private static void union(int[] parents, int first, int second) {
+		parents[find(parents, first)] = find(parents, second);
+	}
+
+	/**
+	 * Packs two ints into a long that orders first by the high int and then by the
+	 * low int, which must not be negative
+	 * @param high - the int to order by first
+	 * @param low - the int to order by second
+	 * @return the packed long
+	 */
+	private static long pack(int high, int low) {
+		return ((long)high << 32) | (low & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Describes a component for a violation
+	 * @param index - the index of the component in the level map
+	 * @return the description of the component
+	 */
+	private String describe(int index) {
+		LevelComponent component = this.levelMap.get(index);
+		if (component instanceof Hall) {
+			Hall hall = (Hall)component;
+			if (hall.getStartRoomPosition() == null || hall.getEndRoomPosition() == null) {
+				return "Hall " + index;
+			}
+			return "Hall " + index + " from " + describe(hall.getStartRoomPosition())
+					+ " to " + describe(hall.getEndRoomPosition());
+		}
+		return (component instanceof Room ? "Room " : "Component ") + index
+				+ " at " + describe(component.getTopLeftBound());
+	}
+
+	/**
+	 * Describes a location for a violation
+	 * @param point - the location
+	 * @return the location as (x, y)
+	 */
+	private static String describe(Point point) {
+		return "(" + point.x + ", " + point.y + ")";
+	}
+}
@@ -6,7 +6,7 @@ import java.util.List;
 
 import Game.modelView.EntityType;
 import java.util.Map;
-import java.util.Set;
+import java.util.Collection;
 
 /**
  * Represents a player within a game of Snarl
@@ -16,6 +16,13 @@ public class Player extends AbstractActor {
 	private static final int sightBoxWidth = 2;
 	private static final int startingHealthPoints = 20;
 
+	//The cells a player can move to lie in a square window centered on the player.
+	//Each cell in the window is one bit of a long, in row-major order
+	private static final int moveWindowWidth = 2 * maxMoveDistance + 1;
+	private static final long moveWindowMask = (1L << (moveWindowWidth * moveWindowWidth)) - 1;
+	private static final long leftColumnMask = columnMask(0);
+	private static final long rightColumnMask = columnMask(moveWindowWidth - 1);
+
 	private int keysFound;
 	private int numExits;
 	private int numEjects;
@@ -34,6 +41,19 @@ public class Player extends AbstractActor {
 		this.healthPoints = startingHealthPoints;
 	}
 
+	/**
+	 * Initialize a copy of a Player, with the same name and the same health,
+	 * keys, exits, and ejects as the Player has now
+	 * @param player - the Player to copy
+	 */
+	public Player(Player player) {
+		super(player.name);
+		this.keysFound = player.keysFound;
+		this.numExits = player.numExits;
+		this.numEjects = player.numEjects;
+		this.healthPoints = player.healthPoints;
+	}
+
 	/**
 	 * Initialize a Player with a unique ID
 	 */
@@ -119,92 +139,105 @@ public class Player extends AbstractActor {
 	@Override
 	public Boolean checkValidMovePath(Point source, Point destination, 
 			List<List<EntityType>> intermediateTypes) {
-		
-		//Determine the relative source and destination 
-		int minX = Math.min(source.x, destination.x);
-		int minY = Math.min(source.y, destination.y);
-		Point relativeSourcePoint = new Point(source.x - minX, source.y - minY);
-		Point relativeDestPoint = new Point(destination.x - minX, destination.y - minY);
-		
-		List<Point> visited = new ArrayList<>();
-		
 		//If the player is located at the destination, the move path is valid
-		//Otherwise, conduct depth first search to locate a valid move path
-		if (relativeSourcePoint.equals(relativeDestPoint)) {
+		if (source.equals(destination)) {
 			return true;
-		} else {
-			visited.add(relativeSourcePoint);
-			return depthFirstSearchRecursive(visited, relativeSourcePoint, 
-					relativeDestPoint, intermediateTypes);
 		}
-		
-	}
-	
-	/**
-	 * Conduct depth first search on potential paths between the source
-	 * and destination
-	 * @param visited - visited neighbors 
-	 * @param currPoint - the current point being searched
-	 * @param destPoint - the destination that the player is trying to move to
-	 * @param intermediateTypes - a map of all intermediate entities between the 
-	 * source and destination
-	 * @return true if there is a valid path to the destination
-	 */
-	private Boolean depthFirstSearchRecursive(List<Point> visited, Point currPoint, 
-			Point destPoint, List<List<EntityType>> intermediateTypes) {
-		List<Point> neighbors = getNeighbors(currPoint, destPoint);
-		
-		for (Point point : neighbors) {
-			
-			if (visited.contains(point)) {
-				continue;
-			} else {
-				visited.add(point);
-			}
-			//Get the entity at this location
-			EntityType entityType = intermediateTypes.get(point.y).get(point.x);
-			
-			//If the entity is at the destination, and the destination can be landed on,
-			//return true.
-			if (isTraversable(entityType) && point.equals(destPoint)) {
-				return true;
-			}
-			//Do not explore this node if the entity can not be landed on and is not a player
-			else if (!isTraversable(entityType) && !entityType.equals(EntityType.PLAYER)) {
-				continue;
-			} else {
-				if (depthFirstSearchRecursive(visited, point, destPoint, intermediateTypes)) {
-					return true;
+
+		//Moves that leave the window around the player are too long to be valid
+		int destX = destination.x - source.x;
+		int destY = destination.y - source.y;
+		if (Math.abs(destX) > maxMoveDistance || Math.abs(destY) > maxMoveDistance) {
+			return false;
+		}
+
+		//Copy the intermediate EntityTypes into the window, relative to the source
+		int minX = Math.min(source.x, destination.x);
+		int minY = Math.min(source.y, destination.y);
+		long traversableCells = 0;
+		long playerCells = 0;
+		for (int row = 0; row < intermediateTypes.size(); row++) {
+			List<EntityType> typeRow = intermediateTypes.get(row);
+			for (int col = 0; col < typeRow.size(); col++) {
+				int offsetX = minX + col - source.x;
+				int offsetY = minY + row - source.y;
+				if (Math.abs(offsetX) > maxMoveDistance || Math.abs(offsetY) > maxMoveDistance) {
+					continue;
+				}
+				int windowBit = getMoveWindowBit(offsetX, offsetY);
+				EntityType entityType = typeRow.get(col);
+				if (isTraversable(entityType)) {
+					traversableCells |= 1L << windowBit;
+				} else if (entityType.equals(EntityType.PLAYER)) {
+					playerCells |= 1L << windowBit;
 				}
 			}
-		}	
-		//if no valid move paths are found
-		return false;
+		}
+
+		long reachableMoves = findReachableMoves(traversableCells, playerCells);
+		return (reachableMoves & (1L << getMoveWindowBit(destX, destY))) != 0;
 	}
-	
+
 	/**
-	 * Gets all the neighbors around the given point
-	 * @param currPoint - the current point
-	 * @param bottomRightBound - the bound that the point is contained within
-	 * @return the list of points directly surrounding the given point
+	 * Finds every cell that the player can move to in the window around them.
+	 * A breadth first search spreads out one step at a time from the center
+	 * of the window by shifting the bits of the cells reached so far. The
+	 * search can pass through cells that are traversable or hold another
+	 * player, and the destination must be traversable
+	 * @param traversableCells - the cells in the window that the player can land on
+	 * @param playerCells - the cells in the window that hold a player
+	 * @return the cells in the window that are valid destinations, including
+	 * the player's current location
 	 */
-	private List<Point> getNeighbors(Point currPoint, Point bottomRightBound) {
-		List<Point> neighbors = new ArrayList<>();
-		
-		//If the neighbor is within the bounds, add it to the list
-		if ((currPoint.x + 1) <= bottomRightBound.x) {
-			neighbors.add(new Point(currPoint.x + 1, currPoint.y));		
+	public long findReachableMoves(long traversableCells, long playerCells) {
+		long start = 1L << getMoveWindowBit(0, 0);
+		long passableCells = traversableCells | playerCells;
+		long reached = start;
+		long frontier = start;
+		for (int step = 0; step < maxMoveDistance; step++) {
+			long next = expandMoveWindow(frontier) & ~reached;
+			reached |= next;
+			frontier = next & passableCells;
 		}
-		if ((currPoint.x - 1) >= 0) {
-			neighbors.add(new Point(currPoint.x - 1, currPoint.y));		
-		}
-		if ((currPoint.y + 1) <= bottomRightBound.y) {
-			neighbors.add(new Point(currPoint.x, currPoint.y + 1));	
-		}
-		if ((currPoint.y - 1) >= 0) {
-			neighbors.add(new Point(currPoint.x, currPoint.y - 1));	
+		return (reached & traversableCells) | start;
+	}
+
+	/**
+	 * Gets the bit for a cell in the window around the player
+	 * @param offsetX - the column of the cell relative to the player
+	 * @param offsetY - the row of the cell relative to the player
+	 * @return the position of the bit for the cell
+	 */
+	public static int getMoveWindowBit(int offsetX, int offsetY) {
+		return (offsetY + maxMoveDistance) * moveWindowWidth + (offsetX + maxMoveDistance);
+	}
+
+	/**
+	 * Moves every cell in the window one step in each direction
+	 * @param cells - the cells to move from
+	 * @return every cell in the window that is adjacent to one of the cells
+	 */
+	private static long expandMoveWindow(long cells) {
+		//Shifting by one moves a cell to the next column, which wraps around to the other
+		//side of the window at the edges, so those columns are masked out
+		long expanded = ((cells << 1) & ~leftColumnMask)
+				| ((cells >>> 1) & ~rightColumnMask)
+				| (cells << moveWindowWidth)
+				| (cells >>> moveWindowWidth);
+		return expanded & moveWindowMask;
+	}
+
+	/**
+	 * Gets the bits for every cell in one column of the window
+	 * @param column - the column of the window
+	 * @return the bits for the column
+	 */
+	private static long columnMask(int column) {
+		long mask = 0;
+		for (int row = 0; row < moveWindowWidth; row++) {
+			mask |= 1L << (row * moveWindowWidth + column);
 		}
-		return neighbors;		
+		return mask;
 	}
 
 	/**
@@ -292,7 +325,7 @@ public class Player extends AbstractActor {
 					Tile tile = fullLevel.get(fullLevelY).get(fullLevelX);
 					croppedRow.add(tile);
 				} else {
-					croppedRow.add(new Wall());
+					croppedRow.add(Wall.instance);
 				}
 			}
 			croppedMap.add(croppedRow);
@@ -381,12 +414,21 @@ public class Player extends AbstractActor {
 		return startingHealthPoints; 
 	}
 
+	/**
+	 * Gets the number of cells the player can see in each direction from
+	 * their location. The player sees a square centered on their location
+	 * @return the sight radius of the player
+	 */
+	public int getSightRadius() {
+		return sightBoxWidth;
+	}
+
 	/**
 	 * Finds all doors that are within the player's view
-	 * @param allDoors - all doors within the level
+	 * @param allDoors - the doors to check, which may be every door in the level
 	 * @return the list of door locations that are visible
 	 */
-	public List<Point> visibleDoors(Set<Point> allDoors, Point playerLocation) {
+	public List<Point> visibleDoors(Collection<Point> allDoors, Point playerLocation) {
 		List<Point> visibleDoors = new ArrayList<>();
 		for (Point door : allDoors) {
 			int distanceX = Math.abs(door.x - playerLocation.x);
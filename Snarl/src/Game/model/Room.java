@@ -25,14 +25,24 @@ import Game.modelView.EntityType;
  * a Key corresponds to "!", an Exit corresponds to "@", and an Empty Space
  * is simply " "
  * For more examples, see test/model/RoomTest.java
+ *
+ * The tiles of a Room are read from a LevelGrid rather than kept as Tile
+ * objects. A Room that is not part of a Level has a grid of its own, the
+ * size of the Room. Once a Level is built from the Room, the Room reads the
+ * Level's grid, so its tiles show the actors and items of the Level as they
+ * move. A returned Tile reads the grid, so it shows later changes as well
  */
 public class Room implements LevelComponent {
 	
 	//Upper-left Cartesian coordinates of the Room
 	private Point position;
-	
-	//A list of all tiles within this LevelComponent
-	private List<List<Tile>> componentMap;
+
+	//The number of columns and rows of the Room
+	private int width;
+	private int height;
+
+	//The grid that holds the tiles of the Room
+	private LevelGrid grid;
 	
 	//A Map of the location and Hall that doors in the Room connect to
 	private Map<Point, Hall> doors;
@@ -48,10 +58,55 @@ public class Room implements LevelComponent {
 			throw new IllegalArgumentException("The component map is empty");
 		}
 		this.position = position;
-		this.componentMap = componentMap;
+		this.width = componentMap.get(0).size();
+		this.height = componentMap.size();
+		this.grid = new LevelGrid(position, getBottomRightBound());
+		this.doors = new HashMap<Point, Hall>();
+
+		for (int y = 0; y < this.height; y++) {
+			List<Tile> row = componentMap.get(y);
+			for (int x = 0; x < Math.min(row.size(), this.width); x++) {
+				Point location = new Point(this.position.x + x, this.position.y + y);
+				Tile tile = row.get(x);
+				if (tile instanceof Wall) {
+					this.grid.setTerrain(location, EntityType.WALL);
+				} else {
+					this.grid.setTerrain(location, EntityType.SPACE);
+					if (tile.getItem() != null) {
+						this.grid.placeItem(tile.getItem(), location);
+					}
+					if (tile.getActor() != null) {
+						this.grid.placeActor(tile.getActor(), location);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Initializes a Room for a new game of a level, with the same position and
+	 * size as a Room of the level's structure. The doors are connected when the
+	 * halls of the game are built
+	 * @param structure - the Room of the level's structure
+	 * @param grid - the grid of the game, which holds the tiles of the Room
+	 */
+	Room(Room structure, LevelGrid grid) {
+		this.position = structure.position;
+		this.width = structure.width;
+		this.height = structure.height;
+		this.grid = grid;
 		this.doors = new HashMap<Point, Hall>();
 	}
 
+	/**
+	 * Makes the Room read its tiles from the grid of a Level. The grid must
+	 * already hold the tiles of the Room
+	 * @param levelGrid - the grid of the Level
+	 */
+	void useGrid(LevelGrid levelGrid) {
+		this.grid = levelGrid;
+	}
+
 	/**
 	 * Connects the Room to the given Hall
 	 * @param doorPosition - the position in the Room that connects through the door to the Hall
@@ -96,14 +151,8 @@ public class Room implements LevelComponent {
 
 	@Override
 	public Point getBottomRightBound() {
-		//Get the size of the Room
-		int roomY = this.componentMap.size() - 1;
-		List<Tile> roomTopRow = this.componentMap.get(0);
-		int roomX = roomTopRow.size() - 1;
-
 		//Find the bottom right bound based on the upper left bound and the size of the Room
-		Point bottomRightPosition = new Point(this.position.x + roomX, this.position.y + roomY);
-		return bottomRightPosition;
+		return new Point(this.position.x + this.width - 1, this.position.y + this.height - 1);
 	}
 
 	@Override
@@ -117,40 +166,24 @@ public class Room implements LevelComponent {
 		if (!inComponent(point)) {
 			throw new IllegalArgumentException("Point not in component");
 		}
-
-		//If the destination exists, return the tile at that location 
-		int relativeX = point.x - this.position.x;
-		int relativeY = point.y - this.position.y;
-		List<Tile> row = this.componentMap.get(relativeY);
-		return row.get(relativeX);
+		return this.grid.getTile(point);
 	}
 
 	@Override
 	public void removeActor(Actor actor) {
-		Point absoluteActorLocation = findActorLocation(actor);
-		//Find the relative location in the room
-		Point relativeActorLocation = new Point(absoluteActorLocation.x - position.x,
-				absoluteActorLocation.y - position.y);
-		List<Tile> actorRow = componentMap.get(relativeActorLocation.y);
-		Tile tile = actorRow.get(relativeActorLocation.x);
-		tile.removeActor();
+		this.grid.removeActor(findActorLocation(actor));
 	}
 	
 	@Override
 	public Point findActorLocation(Actor actor) {
 		//Iterate through the Room and check if the current tile
 		//has the given actor
-		for (int i = 0; i < componentMap.size(); i++) {
-			List<Tile> tileRow = componentMap.get(i);
-			for (int j = 0; j < tileRow.size(); j++) {
-				Tile currTile = tileRow.get(j);
-				try {
-					Actor tileActor = currTile.getActor();
-					if (tileActor != null && tileActor.equals(actor)) {
-						return new Point(j + position.x, i + position.y);
-					}
-				} catch (IllegalArgumentException e) {
-					continue;
+		Point bottomRight = getBottomRightBound();
+		for (int y = this.position.y; y <= bottomRight.y; y++) {
+			for (int x = this.position.x; x <= bottomRight.x; x++) {
+				Actor tileActor = this.grid.getActor(x, y);
+				if (tileActor != null && tileActor.equals(actor)) {
+					return new Point(x, y);
 				}
 			}
 		}
@@ -162,14 +195,7 @@ public class Room implements LevelComponent {
 		if (!inComponent(destination)) {
 			throw new IllegalArgumentException("Point not in component");
 		}
-
-		//Find the relative position of the actor in the room
-		Point relativePos = new Point(destination.x - this.position.x,
-				destination.y - this.position.y);
-		List<Tile> row = this.componentMap.get(relativePos.y);
-		Tile tile = row.get(relativePos.x);
-		tile.placeActor(actor);
-		row.set(relativePos.x, tile);
+		this.grid.placeActor(actor, destination);
 	}
 
 
@@ -180,13 +206,7 @@ public class Room implements LevelComponent {
 		if (!inComponent(destination)) {
 			throw new IllegalArgumentException("Point not in component");
 		}
-		
-		Point relativePos = new Point(destination.x - this.position.x,
-				destination.y - this.position.y);
-		List<Tile> row = this.componentMap.get(relativePos.y);
-		Tile tile = row.get(relativePos.x);
-		tile.placeItem(item);
-		row.set(relativePos.x, tile);
+		this.grid.placeItem(item, destination);
 	}
 
 
@@ -201,7 +221,7 @@ public class Room implements LevelComponent {
 	 */
 	public List<List<EntityType>> getComponentMap() {
 		List<List<EntityType>> entityMap = new ArrayList<>();
-		for (List<Tile> row : this.componentMap) {
+		for (List<Tile> row : getTiles()) {
 			List<EntityType> entityRow = new ArrayList<>();
 			for (Tile tile : row) {
 				entityRow.add(getEntityType(tile));
@@ -210,12 +230,28 @@ public class Room implements LevelComponent {
 		}
 		return entityMap;
 	}
+
+	/**
+	 * Builds the tiles of the Room from its grid
+	 * @return the tiles, indexed by row and then column from the top left of the Room
+	 */
+	private List<List<Tile>> getTiles() {
+		List<List<Tile>> tiles = new ArrayList<>(this.height);
+		for (int y = 0; y < this.height; y++) {
+			List<Tile> row = new ArrayList<>(this.width);
+			for (int x = 0; x < this.width; x++) {
+				row.add(getDestinationTile(new Point(this.position.x + x, this.position.y + y)));
+			}
+			tiles.add(row);
+		}
+		return tiles;
+	}
 	
 	@Override
 	public int hashCode() {
 		//Can not check hashCode of Hall because that relies on the hashCode of room
 		return this.position.hashCode()
-				* this.componentMap.hashCode()
+				* getTiles().hashCode()
 				* this.doors.keySet().hashCode();
 	}
 
@@ -229,7 +265,7 @@ public class Room implements LevelComponent {
         } 
         
         Room room = (Room) obj;       
-        return room.checkSameFields(this.position, this.componentMap, this.doors);
+        return room.checkSameFields(this.position, getTiles(), this.doors);
 	}
 
 	/**
@@ -246,7 +282,7 @@ public class Room implements LevelComponent {
 			Map<Point, Hall> doors
 	) {
 		return position.equals(this.position)
-				&& componentMap.equals(this.componentMap)
+				&& componentMap.equals(getTiles())
 				&& doors.keySet().equals(this.doors.keySet());
 	}
 
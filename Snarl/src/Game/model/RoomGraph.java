@@ -0,0 +1,816 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The rooms of a level and the halls between them, as a graph for finding
+ * paths. The nodes of the graph are the doors of the rooms. Two doors of the
+ * same room are joined by the number of steps between them inside the room,
+ * and the doors at the two ends of a hall are joined by the number of steps
+ * along the hall.
+ *
+ * When the graph is built, the distance from every door of a room to every
+ * cell of the room is found, so the distance between two doors, or from a
+ * location in a room to one of its doors, is an array lookup. A route across
+ * the level is found by an A* search over the doors, which is guided towards
+ * the destination and so only visits the rooms around the way there. The
+ * route is then followed one step at a time, within one room or hall at a
+ * time.
+ *
+ * A straight line is a poor guide when the way to the destination first leads
+ * away from it, and the search then tries every dead end on the way. So the
+ * level is also split into parts when the graph is built. Where a hall, or a
+ * walk through a room, is the only way between two groups of doors, the groups
+ * are in different parts, and the parts joined this way form a tree. A route
+ * that goes into a part off the way through the tree between the start and the
+ * destination has to come back out the way it went in, so it cannot be a
+ * shortest route, and the search only visits the parts on the way.
+ *
+ * The graph depends only on the layout of the level, and never changes once
+ * it is built, so one graph is shared by every adversary in the level.
+ */
+public class RoomGraph {
+
+	//The distance of a location that cannot be reached
+	public static final int unreachable = -1;
+
+	//The components of the level, and the spatial index used to find them
+	private final List<LevelComponent> levelMap;
+	private final ComponentIndex componentIndex;
+
+	//The number of the room of each component in the level map, or -1 for halls
+	private final int[] componentRooms;
+
+	//The top left cell and the size of each room, and which of its cells in
+	//row-major order are not walls
+	private final int[] roomX;
+	private final int[] roomY;
+	private final int[] roomWidths;
+	private final int[] roomHeights;
+	private final boolean[][] roomWalkable;
+
+	//The numbers of the doors of each room
+	private final int[][] roomDoors;
+
+	//The location of each door, the room it is in and its cell in the room, the hall
+	//it opens onto, and the number of the door at the other end of the hall, or -1
+	private final Point[] doorLocations;
+	private final int[] doorRooms;
+	private final int[] doorCells;
+	private final Hall[] doorHalls;
+	private final int[] doorPartners;
+
+	//The number of steps from each door to every cell of its room
+	private final int[][] doorDistances;
+
+	//The number of each door by its location
+	private final CoordinateMap doorNumbers;
+
+	//The parts of the level, which are joined to each other by only one way, so
+	//that they form a tree: the part of each door, the part above each part in
+	//its tree or -1, how many parts are above each part, and the top part of its tree
+	private final int[] doorParts;
+	private final int[] partParents;
+	private final int[] partDepths;
+	private final int[] partRoots;
+
+	//The arrays used by route searches on each thread, which are kept between
+	//searches so that a search only touches the doors it reaches: the distance
+	//to each door and the door before it, the last search to reach and to settle
+	//each door, the number of searches so far, and the last search each part
+	//was on the route of
+	private final ThreadLocal<int[][]> searchState;
+
+	/**
+	 * Builds the graph of a level, finding the distances from every door to
+	 * the cells of its room
+	 * @param levelMap - all LevelComponents in the level
+	 * @param componentIndex - the spatial index for the level map
+	 */
+	public RoomGraph(List<LevelComponent> levelMap, ComponentIndex componentIndex) {
+		this.levelMap = levelMap;
+		this.componentIndex = componentIndex;
+
+		List<Room> rooms = new ArrayList<>();
+		this.componentRooms = new int[levelMap.size()];
+		for (int i = 0; i < levelMap.size(); i++) {
+			if (levelMap.get(i) instanceof Room) {
+				this.componentRooms[i] = rooms.size();
+				rooms.add((Room)levelMap.get(i));
+			} else {
+				this.componentRooms[i] = -1;
+			}
+		}
+
+		int numRooms = rooms.size();
+		this.roomX = new int[numRooms];
+		this.roomY = new int[numRooms];
+		this.roomWidths = new int[numRooms];
+		this.roomHeights = new int[numRooms];
+		this.roomWalkable = new boolean[numRooms][];
+		this.roomDoors = new int[numRooms][];
+		this.doorNumbers = new CoordinateMap();
+		List<Point> doors = new ArrayList<>();
+		List<Integer> doorRoomsOf = new ArrayList<>();
+		List<Hall> halls = new ArrayList<>();
+		for (int room = 0; room < numRooms; room++) {
+			Room component = rooms.get(room);
+			Point topLeft = component.getTopLeftBound();
+			Point bottomRight = component.getBottomRightBound();
+			this.roomX[room] = topLeft.x;
+			this.roomY[room] = topLeft.y;
+			this.roomWidths[room] = bottomRight.x - topLeft.x + 1;
+			this.roomHeights[room] = bottomRight.y - topLeft.y + 1;
+			this.roomWalkable[room] = new boolean[this.roomWidths[room] * this.roomHeights[room]];
+			for (int y = topLeft.y; y <= bottomRight.y; y++) {
+				for (int x = topLeft.x; x <= bottomRight.x; x++) {
+					this.roomWalkable[room][getRoomCell(room, x, y)] =
+							!(component.getDestinationTile(new Point(x, y)) instanceof Wall);
+				}
+			}
+
+			List<Integer> doorsOfRoom = new ArrayList<>();
+			for (Map.Entry<Point, Hall> door : component.getDoors().entrySet()) {
+				Point location = door.getKey();
+				if (this.doorNumbers.putIfAbsent(location.x, location.y, doors.size())) {
+					doorsOfRoom.add(doors.size());
+					doors.add(new Point(location));
+					doorRoomsOf.add(room);
+					halls.add(door.getValue());
+				}
+			}
+			this.roomDoors[room] = toArray(doorsOfRoom);
+		}
+
+		final int numDoors = doors.size();
+		this.doorLocations = doors.toArray(new Point[numDoors]);
+		this.doorRooms = toArray(doorRoomsOf);
+		this.doorHalls = halls.toArray(new Hall[numDoors]);
+		this.doorCells = new int[numDoors];
+		this.doorPartners = new int[numDoors];
+		this.doorDistances = new int[numDoors][];
+		for (int door = 0; door < numDoors; door++) {
+			Point location = this.doorLocations[door];
+			Hall hall = this.doorHalls[door];
+			Point otherEnd = location.equals(hall.getStartRoomPosition())
+					? hall.getEndRoomPosition() : hall.getStartRoomPosition();
+			this.doorPartners[door] = this.doorNumbers.get(otherEnd.x, otherEnd.y);
+			this.doorCells[door] = getRoomCell(this.doorRooms[door], location.x, location.y);
+			this.doorDistances[door] = findRoomDistances(this.doorRooms[door], location);
+		}
+		int[][] parts = findParts();
+		this.doorParts = parts[0];
+		this.partParents = parts[1];
+		this.partDepths = parts[2];
+		this.partRoots = parts[3];
+
+		this.searchState = new ThreadLocal<int[][]>() {
+			@Override
+			protected int[][] initialValue() {
+				return new int[][] {new int[numDoors], new int[numDoors], new int[numDoors], new int[numDoors], new int[1],
+						new int[numDoors]};
+			}
+		};
+	}
+
+	/**
+	 * Gets the number of doors in the level
+	 * @return the number of doors
+	 */
+	public int getDoorCount() {
+		return this.doorLocations.length;
+	}
+
+	/**
+	 * Gets the number of steps between two doors of the same room, walking inside the room
+	 * @param from - the location of the first door
+	 * @param to - the location of the second door
+	 * @return the number of steps, or unreachable if either location is not a door,
+	 * the doors are in different rooms, or one cannot be reached from the other
+	 */
+	public int getDoorDistance(Point from, Point to) {
+		int fromDoor = this.doorNumbers.get(from.x, from.y);
+		int toDoor = this.doorNumbers.get(to.x, to.y);
+		if (fromDoor == -1 || toDoor == -1 || this.doorRooms[fromDoor] != this.doorRooms[toDoor]) {
+			return unreachable;
+		}
+		return this.doorDistances[fromDoor][this.doorCells[toDoor]];
+	}
+
+	/**
+	 * Finds the door of the component at a location that takes the fewest steps to reach.
+	 * For a hall, the doors are the doors of the rooms at its ends
+	 * @param from - the location
+	 * @return the location of the closest door, or null if the location is not in the level
+	 * or no door can be reached from it
+	 */
+	public Point findClosestDoor(Point from) {
+		int component = this.componentIndex.findComponentIndex(from);
+		if (component == -1) {
+			return null;
+		}
+		int[][] doors = getDoorDistances(component, from);
+		int closestDoor = -1;
+		for (int i = 0; i < doors[0].length; i++) {
+			if (closestDoor == -1 || doors[1][i] < doors[1][closestDoor]) {
+				closestDoor = i;
+			}
+		}
+		return closestDoor == -1 ? null : this.doorLocations[doors[0][closestDoor]];
+	}
+
+	/**
+	 * Finds the shortest route between two locations. The route is the doors
+	 * walked through on the way, in order, after which the destination is in
+	 * the same room or hall. Each door can be walked to from the one before
+	 * it with getStepsTowards
+	 * @param from - the location to start from
+	 * @param to - the destination
+	 * @return the doors on the route, which is empty if the destination can be
+	 * reached without leaving the room or hall, or null if there is no route
+	 */
+	public List<Point> findRoute(Point from, Point to) {
+		int fromComponent = this.componentIndex.findComponentIndex(from);
+		int toComponent = this.componentIndex.findComponentIndex(to);
+		if (fromComponent == -1 || toComponent == -1) {
+			return null;
+		}
+		int[][] startDoors = getDoorDistances(fromComponent, from);
+		int[][] goalDoors = getDoorDistances(toComponent, to);
+
+		int bestDistance = Integer.MAX_VALUE;
+		int lastDoor = -1;
+		if (fromComponent == toComponent) {
+			int direct = getDistanceWithin(fromComponent, from, to);
+			if (direct != unreachable) {
+				bestDistance = direct;
+			}
+		}
+
+		//A door's distance and previous door are only set if it was reached by this search
+		int[][] state = this.searchState.get();
+		int[] distances = state[0];
+		int[] previous = state[1];
+		int[] reached = state[2];
+		int[] settled = state[3];
+		int search = ++state[4][0];
+		if (search == Integer.MAX_VALUE) {
+			Arrays.fill(reached, 0);
+			Arrays.fill(settled, 0);
+			Arrays.fill(state[5], 0);
+			search = state[4][0] = 1;
+		}
+
+		//The queue holds each door's estimate of the length of a route through it
+		//in the high half of an entry, and the number of the door in the low half
+		PriorityQueue<Long> queue = new PriorityQueue<>();
+		if (markRouteParts(state[5], search, startDoors, goalDoors)) {
+			for (int i = 0; i < startDoors[0].length; i++) {
+				reachDoor(state, search, startDoors[0][i], startDoors[1][i], -1, to, queue);
+			}
+		}
+
+		while (!queue.isEmpty()) {
+			long entry = queue.poll();
+			int door = (int)entry;
+			//No route left to search can be shorter than the best one found
+			if ((int)(entry >>> 32) >= bestDistance) {
+				break;
+			}
+			if (settled[door] == search) {
+				continue;
+			}
+			settled[door] = search;
+
+			for (int i = 0; i < goalDoors[0].length; i++) {
+				if (goalDoors[0][i] == door && distances[door] + goalDoors[1][i] < bestDistance) {
+					bestDistance = distances[door] + goalDoors[1][i];
+					lastDoor = door;
+				}
+			}
+
+			//Walk to the other doors of the room, or along the hall to the door at its other end
+			int[] fromDoor = this.doorDistances[door];
+			for (int other : this.roomDoors[this.doorRooms[door]]) {
+				int steps = fromDoor[this.doorCells[other]];
+				if (other != door && steps != unreachable) {
+					reachDoor(state, search, other, distances[door] + steps, door, to, queue);
+				}
+			}
+			int partner = this.doorPartners[door];
+			if (partner != -1) {
+				int steps = this.doorHalls[door].getLength() + 1;
+				reachDoor(state, search, partner, distances[door] + steps, door, to, queue);
+			}
+		}
+
+		if (bestDistance == Integer.MAX_VALUE) {
+			return null;
+		}
+		List<Point> route = new ArrayList<>();
+		for (int door = lastDoor; door != -1; door = previous[door]) {
+			route.add(this.doorLocations[door]);
+		}
+		Collections.reverse(route);
+		return route;
+	}
+
+	/**
+	 * Reaches a door in a route search, and adds it to the queue if this is the
+	 * shortest walk to it the search has found and its part of the level is on the route
+	 * @param state - the arrays of the search
+	 * @param search - the number of the search
+	 * @param door - the number of the door
+	 * @param distance - the number of steps of the walk to the door
+	 * @param previousDoor - the door the walk came through, or -1 if it started at the door
+	 * @param to - the destination of the search
+	 * @param queue - the queue of the search
+	 */
+	private void reachDoor(int[][] state, int search, int door, int distance, int previousDoor, Point to,
+			PriorityQueue<Long> queue) {
+		int[] distances = state[0];
+		int[] reached = state[2];
+		if (state[5][this.doorParts[door]] != search
+				|| (reached[door] == search && distance >= distances[door])) {
+			return;
+		}
+		reached[door] = search;
+		distances[door] = distance;
+		state[1][door] = previousDoor;
+		queue.add(((long)(distance + estimate(door, to)) << 32) | door);
+	}
+
+	/**
+	 * Gets the moves of one step that start a shortest walk from a location to
+	 * another location in the same room or hall, to a door of the room or hall,
+	 * or from a door along its hall to the door at the other end
+	 * @param from - the location to step from
+	 * @param to - the location to walk to
+	 * @return the moves, with the moves closest to the destination first, or
+	 * no moves if the location cannot be walked to this way
+	 */
+	public List<Point> getStepsTowards(Point from, final Point to) {
+		List<Point> steps = new ArrayList<>();
+		int component = this.componentIndex.findComponentIndex(from);
+		if (component == -1 || from.equals(to)) {
+			return steps;
+		}
+
+		int room = this.componentRooms[component];
+		if (room == -1) {
+			Point step = stepAlongHall((Hall)this.levelMap.get(component), from, to);
+			if (step != null) {
+				steps.add(step);
+			}
+			return steps;
+		}
+
+		int fromDoor = this.doorNumbers.get(from.x, from.y);
+		int toDoor = this.doorNumbers.get(to.x, to.y);
+		boolean throughHall = fromDoor != -1 && toDoor != -1 && this.doorPartners[fromDoor] == toDoor;
+		if (toDoor != -1 && this.doorRooms[toDoor] == room) {
+			//A hall between two doors of the same room is only taken if it is shorter
+			int inside = this.doorDistances[toDoor][getRoomCell(room, from.x, from.y)];
+			if (!throughHall || (inside != unreachable && inside <= this.doorHalls[fromDoor].getLength() + 1)) {
+				addStepsDown(steps, room, this.doorDistances[toDoor], from);
+				throughHall = false;
+			}
+		} else if (!throughHall && getRoomCell(room, to.x, to.y) != -1) {
+			addStepsDown(steps, room, findRoomDistances(room, to), from);
+		}
+		if (throughHall) {
+			Hall hall = this.doorHalls[fromDoor];
+			if (hall.getLength() == 0) {
+				steps.add(new Point(to));
+			} else {
+				steps.add(hall.getTileLocation(from.equals(hall.getStartRoomPosition()) ? 0 : hall.getLength() - 1));
+			}
+		}
+
+		Collections.sort(steps, new Comparator<Point>() {
+			@Override
+			public int compare(Point first, Point second) {
+				return Integer.compare(Math.abs(first.x - to.x) + Math.abs(first.y - to.y),
+						Math.abs(second.x - to.x) + Math.abs(second.y - to.y));
+			}
+		});
+		return steps;
+	}
+
+	/**
+	 * Gets the doors of a component and the number of steps to each of them from a location.
+	 * For a hall, the doors are the doors of the rooms at its ends
+	 * @param component - the index of the component in the level map
+	 * @param from - a location in the component
+	 * @return the numbers of the reachable doors, and the number of steps to each
+	 */
+	private int[][] getDoorDistances(int component, Point from) {
+		int room = this.componentRooms[component];
+		List<Integer> doors = new ArrayList<>();
+		List<Integer> distances = new ArrayList<>();
+		if (room != -1) {
+			int cell = getRoomCell(room, from.x, from.y);
+			for (int door : this.roomDoors[room]) {
+				if (this.doorDistances[door][cell] != unreachable) {
+					doors.add(door);
+					distances.add(this.doorDistances[door][cell]);
+				}
+			}
+		} else {
+			Hall hall = (Hall)this.levelMap.get(component);
+			int index = hall.getTileIndex(from);
+			int startDoor = this.doorNumbers.get(hall.getStartRoomPosition().x, hall.getStartRoomPosition().y);
+			int endDoor = this.doorNumbers.get(hall.getEndRoomPosition().x, hall.getEndRoomPosition().y);
+			if (startDoor != -1) {
+				doors.add(startDoor);
+				distances.add(index + 1);
+			}
+			if (endDoor != -1) {
+				doors.add(endDoor);
+				distances.add(hall.getLength() - index);
+			}
+		}
+		return new int[][] {toArray(doors), toArray(distances)};
+	}
+
+	/**
+	 * Gets the number of steps between two locations in the same component,
+	 * without leaving it
+	 * @param component - the index of the component in the level map
+	 * @param from - the first location
+	 * @param to - the second location
+	 * @return the number of steps, or unreachable if there is no walk inside the component
+	 */
+	private int getDistanceWithin(int component, Point from, Point to) {
+		int room = this.componentRooms[component];
+		if (room == -1) {
+			Hall hall = (Hall)this.levelMap.get(component);
+			return Math.abs(hall.getTileIndex(from) - hall.getTileIndex(to));
+		}
+		return findRoomDistances(room, to)[getRoomCell(room, from.x, from.y)];
+	}
+
+	/**
+	 * Gets the step along a hall towards one of its doors or another of its tiles
+	 * @param hall - the hall
+	 * @param from - a location in the hall
+	 * @param to - the location to walk to
+	 * @return the step, or null if the location to walk to is not in the hall or at its ends
+	 */
+	private Point stepAlongHall(Hall hall, Point from, Point to) {
+		int index = hall.getTileIndex(from);
+		int last = hall.getLength() - 1;
+		int target;
+		if (to.equals(hall.getStartRoomPosition())) {
+			target = -1;
+		} else if (to.equals(hall.getEndRoomPosition())) {
+			target = last + 1;
+		} else {
+			target = hall.getTileIndex(to);
+			if (target == -1) {
+				return null;
+			}
+		}
+		int next = index + Integer.signum(target - index);
+		if (next < 0 || next > last) {
+			return new Point(to);
+		}
+		return hall.getTileLocation(next);
+	}
+
+	/**
+	 * Adds the moves of one step from a location that lower its distance in a room
+	 * @param steps - the list to add the moves to
+	 * @param room - the number of the room
+	 * @param distances - the distance of every cell of the room from where the walk ends
+	 * @param from - the location to step from, which must be in the room
+	 */
+	private void addStepsDown(List<Point> steps, int room, int[] distances, Point from) {
+		int distance = distances[getRoomCell(room, from.x, from.y)];
+		if (distance == unreachable || distance == 0) {
+			return;
+		}
+		int[] stepX = {1, -1, 0, 0};
+		int[] stepY = {0, 0, 1, -1};
+		for (int i = 0; i < stepX.length; i++) {
+			int cell = getRoomCell(room, from.x + stepX[i], from.y + stepY[i]);
+			if (cell != -1 && distances[cell] == distance - 1) {
+				steps.add(new Point(from.x + stepX[i], from.y + stepY[i]));
+			}
+		}
+	}
+
+	/**
+	 * Finds the number of steps from a location in a room to every cell of the room,
+	 * walking only inside the room
+	 * @param room - the number of the room
+	 * @param from - the location to find the distances from
+	 * @return the distance of every cell in row-major order, or unreachable
+	 */
+	private int[] findRoomDistances(int room, Point from) {
+		int width = this.roomWidths[room];
+		boolean[] walkable = this.roomWalkable[room];
+		int[] distances = new int[walkable.length];
+		Arrays.fill(distances, unreachable);
+		int start = getRoomCell(room, from.x, from.y);
+		if (start == -1 || !walkable[start]) {
+			return distances;
+		}
+
+		int[] queue = new int[walkable.length];
+		int tail = 0;
+		distances[start] = 0;
+		queue[tail++] = start;
+		for (int head = 0; head < tail; head++) {
+			int cell = queue[head];
+			int column = cell % width;
+			int[] neighbours = {
+				column + 1 < width ? cell + 1 : -1,
+				column > 0 ? cell - 1 : -1,
+				cell + width < walkable.length ? cell + width : -1,
+				cell - width};
+			for (int neighbour : neighbours) {
+				if (neighbour >= 0 && walkable[neighbour] && distances[neighbour] == unreachable) {
+					distances[neighbour] = distances[cell] + 1;
+					queue[tail++] = neighbour;
+				}
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Gets the number of a cell in a room
+	 * @param room - the number of the room
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the number of the cell in row-major order, or -1 if the location is not in the room
+	 */
+	private int getRoomCell(int room, int x, int y) {
+		int column = x - this.roomX[room];
+		int row = y - this.roomY[room];
+		if (column < 0 || row < 0 || column >= this.roomWidths[room] || row >= this.roomHeights[room]) {
+			return -1;
+		}
+		return row * this.roomWidths[room] + column;
+	}
+
+	/**
+	 * Gets the fewest steps there could be between a door and a location
+	 * @param door - the number of the door
+	 * @param to - the location
+	 * @return the distance between the door and the location, ignoring walls
+	 */
+	private int estimate(int door, Point to) {
+		Point location = this.doorLocations[door];
+		return Math.abs(location.x - to.x) + Math.abs(location.y - to.y);
+	}
+
+	/**
+	 * Marks the parts of the level that a shortest route from the start to the
+	 * destination can go through: the parts on the way through the tree of parts
+	 * between them, and the parts of the doors at either end
+	 * @param onRoute - the last search each part was on the route of
+	 * @param search - the number of the search
+	 * @param startDoors - the numbers of the doors the route can start from, and the steps to each
+	 * @param goalDoors - the numbers of the doors the destination can be reached from, and the steps from each
+	 * @return true if the parts were marked, or false if there is no route between the doors
+	 */
+	private boolean markRouteParts(int[] onRoute, int search, int[][] startDoors, int[][] goalDoors) {
+		if (startDoors[0].length == 0 || goalDoors[0].length == 0) {
+			return false;
+		}
+		int start = this.doorParts[startDoors[0][0]];
+		int goal = this.doorParts[goalDoors[0][0]];
+		if (this.partRoots[start] != this.partRoots[goal]) {
+			return false;
+		}
+		for (int door : startDoors[0]) {
+			onRoute[this.doorParts[door]] = search;
+		}
+		for (int door : goalDoors[0]) {
+			onRoute[this.doorParts[door]] = search;
+		}
+		while (start != goal) {
+			if (this.partDepths[start] >= this.partDepths[goal]) {
+				onRoute[start] = search;
+				start = this.partParents[start];
+			} else {
+				onRoute[goal] = search;
+				goal = this.partParents[goal];
+			}
+		}
+		onRoute[start] = search;
+		return true;
+	}
+
+	/**
+	 * Splits the doors into the parts of the level. The ways between doors are
+	 * the walks between two doors of a room and the halls. A way that is the only
+	 * way between the doors on either side of it splits two parts, so a route
+	 * that crosses it into a part can only come back the same way. The parts are
+	 * joined by these ways into trees, which are rooted at their first part
+	 * @return the part of each door, and the part above each part or -1, the
+	 * depth of each part, and the top part of each part's tree
+	 */
+	private int[][] findParts() {
+		int numDoors = this.doorLocations.length;
+		List<Integer> wayStarts = new ArrayList<>();
+		List<Integer> wayEnds = new ArrayList<>();
+		for (int[] doors : this.roomDoors) {
+			for (int i = 0; i < doors.length; i++) {
+				for (int j = i + 1; j < doors.length; j++) {
+					if (this.doorDistances[doors[i]][this.doorCells[doors[j]]] != unreachable) {
+						wayStarts.add(doors[i]);
+						wayEnds.add(doors[j]);
+					}
+				}
+			}
+		}
+		for (int door = 0; door < numDoors; door++) {
+			if (this.doorPartners[door] > door) {
+				wayStarts.add(door);
+				wayEnds.add(this.doorPartners[door]);
+			}
+		}
+
+		//The ways of each door are listed together: the ways of a door start at
+		//its offset, and each is the door at the other end and the number of the way
+		int numWays = wayStarts.size();
+		int[] offsets = new int[numDoors + 1];
+		for (int way = 0; way < numWays; way++) {
+			offsets[wayStarts.get(way) + 1]++;
+			offsets[wayEnds.get(way) + 1]++;
+		}
+		for (int door = 0; door < numDoors; door++) {
+			offsets[door + 1] += offsets[door];
+		}
+		int[] wayDoors = new int[numWays * 2];
+		int[] wayNumbers = new int[numWays * 2];
+		int[] filled = Arrays.copyOf(offsets, numDoors);
+		for (int way = 0; way < numWays; way++) {
+			int first = wayStarts.get(way);
+			int second = wayEnds.get(way);
+			wayDoors[filled[first]] = second;
+			wayNumbers[filled[first]++] = way;
+			wayDoors[filled[second]] = first;
+			wayNumbers[filled[second]++] = way;
+		}
+
+		boolean[] splits = findSplittingWays(offsets, wayDoors, wayNumbers, numWays);
+
+		//Doors joined by ways that do not split the level are in the same part
+		int[] doorParts = new int[numDoors];
+		Arrays.fill(doorParts, -1);
+		int numParts = 0;
+		int[] queue = new int[numDoors];
+		for (int first = 0; first < numDoors; first++) {
+			if (doorParts[first] != -1) {
+				continue;
+			}
+			int tail = 0;
+			doorParts[first] = numParts;
+			queue[tail++] = first;
+			for (int head = 0; head < tail; head++) {
+				int door = queue[head];
+				for (int i = offsets[door]; i < offsets[door + 1]; i++) {
+					if (!splits[wayNumbers[i]] && doorParts[wayDoors[i]] == -1) {
+						doorParts[wayDoors[i]] = numParts;
+						queue[tail++] = wayDoors[i];
+					}
+				}
+			}
+			numParts++;
+		}
+
+		//The parts are joined into trees by the ways that split them
+		int[] partOffsets = new int[numParts + 1];
+		for (int way = 0; way < numWays; way++) {
+			if (splits[way]) {
+				partOffsets[doorParts[wayStarts.get(way)] + 1]++;
+				partOffsets[doorParts[wayEnds.get(way)] + 1]++;
+			}
+		}
+		for (int part = 0; part < numParts; part++) {
+			partOffsets[part + 1] += partOffsets[part];
+		}
+		int[] neighbours = new int[partOffsets[numParts]];
+		int[] partFilled = Arrays.copyOf(partOffsets, numParts);
+		for (int way = 0; way < numWays; way++) {
+			if (splits[way]) {
+				int first = doorParts[wayStarts.get(way)];
+				int second = doorParts[wayEnds.get(way)];
+				neighbours[partFilled[first]++] = second;
+				neighbours[partFilled[second]++] = first;
+			}
+		}
+
+		int[] partParents = new int[numParts];
+		int[] partDepths = new int[numParts];
+		int[] partRoots = new int[numParts];
+		Arrays.fill(partRoots, -1);
+		int[] partQueue = new int[numParts];
+		for (int root = 0; root < numParts; root++) {
+			if (partRoots[root] != -1) {
+				continue;
+			}
+			int tail = 0;
+			partParents[root] = -1;
+			partRoots[root] = root;
+			partQueue[tail++] = root;
+			for (int head = 0; head < tail; head++) {
+				int part = partQueue[head];
+				for (int i = partOffsets[part]; i < partOffsets[part + 1]; i++) {
+					int child = neighbours[i];
+					if (partRoots[child] == -1) {
+						partParents[child] = part;
+						partDepths[child] = partDepths[part] + 1;
+						partRoots[child] = root;
+						partQueue[tail++] = child;
+					}
+				}
+			}
+		}
+		return new int[][] {doorParts, partParents, partDepths, partRoots};
+	}
+
+	/**
+	 * Finds the ways that are the only way between the doors on either side of
+	 * them, by a depth-first search that finds, for each door, the earliest door
+	 * in the search that can be reached from below it without taking the way it
+	 * was reached by
+	 * @param offsets - where the ways of each door start
+	 * @param wayDoors - the door at the other end of each way of each door
+	 * @param wayNumbers - the number of each way of each door
+	 * @param numWays - the number of ways
+	 * @return whether each way splits the level
+	 */
+	private static boolean[] findSplittingWays(int[] offsets, int[] wayDoors, int[] wayNumbers, int numWays) {
+		int numDoors = offsets.length - 1;
+		boolean[] splits = new boolean[numWays];
+		int[] order = new int[numDoors];
+		int[] lowest = new int[numDoors];
+		int[] arrivals = new int[numDoors];
+		int[] nextWays = new int[numDoors];
+		int[] stack = new int[numDoors];
+		int visited = 0;
+		for (int root = 0; root < numDoors; root++) {
+			if (order[root] != 0) {
+				continue;
+			}
+			int top = 0;
+			stack[0] = root;
+			order[root] = lowest[root] = ++visited;
+			arrivals[root] = -1;
+			nextWays[root] = offsets[root];
+			while (top >= 0) {
+				int door = stack[top];
+				if (nextWays[door] < offsets[door + 1]) {
+					int i = nextWays[door]++;
+					int other = wayDoors[i];
+					if (wayNumbers[i] == arrivals[door]) {
+						continue;
+					}
+					if (order[other] == 0) {
+						order[other] = lowest[other] = ++visited;
+						arrivals[other] = wayNumbers[i];
+						nextWays[other] = offsets[other];
+						stack[++top] = other;
+					} else {
+						lowest[door] = Math.min(lowest[door], order[other]);
+					}
+				} else {
+					top--;
+					if (top >= 0) {
+						int parent = stack[top];
+						lowest[parent] = Math.min(lowest[parent], lowest[door]);
+						if (lowest[door] > order[parent]) {
+							splits[arrivals[door]] = true;
+						}
+					}
+				}
+			}
+		}
+		return splits;
+	}
+
+	/**
+	 * Copies a list of ints into an array
+	 * @param values - the list
+	 * @return the array
+	 */
+	private static int[] toArray(List<Integer> values) {
+		int[] array = new int[values.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = values.get(i);
+		}
+		return array;
+	}
+}
@@ -0,0 +1,223 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import Game.modelView.EntityType;
+
+/**
+ * The parts of a Level that never change while it is played, stored in flat
+ * arrays for use by a SimulationState. Every cell within the bounds of the
+ * Level is numbered in row-major order, and for each cell the layout records:
+ * - the terrain of the cell (WALL, SPACE, HALL_SPACE or EMPTY)
+ * - the index in the level map of the LevelComponent that holds the cell,
+ *   found in the same way as the Level finds it
+ * - whether the cell is a door of the LevelComponent that holds it
+ *
+ * The layout also lists the cells of every room that are not walls, in
+ * row-major order, which is the order the Level searches a room for a
+ * free cell to place an actor in.
+ *
+ * A layout is built once for a Level and shared by every SimulationState
+ * of the Level
+ */
+public class SimulationLayout {
+
+	//The top left cell of the layout in level coordinates
+	private final int originX;
+	private final int originY;
+
+	//The number of columns and rows in the layout
+	private final int width;
+	private final int height;
+
+	//The EntityType ordinal of the terrain at each cell
+	private final byte[] terrain;
+
+	//The level map index of the component that holds each cell, or -1 if no component does
+	private final int[] components;
+
+	//True for each cell that is a door of the component that holds it
+	private final boolean[] doors;
+
+	//The level map index of each room, and the cells of each room that are not walls
+	private final int[] roomComponents;
+	private final int[][] roomCells;
+
+	/**
+	 * Builds the layout of a level
+	 * @param levelMap - all LevelComponents in the level
+	 * @param componentIndex - the spatial index for the level map
+	 * @param levelGrid - the level grid, used for the bounds and terrain of the level
+	 */
+	public SimulationLayout(List<LevelComponent> levelMap, ComponentIndex componentIndex, LevelGrid levelGrid) {
+		Point origin = levelGrid.getOrigin();
+		this.originX = origin.x;
+		this.originY = origin.y;
+		this.width = levelGrid.getWidth();
+		this.height = levelGrid.getHeight();
+
+		int numCells = this.width * this.height;
+		this.terrain = new byte[numCells];
+		this.components = new int[numCells];
+		for (int y = 0; y < this.height; y++) {
+			for (int x = 0; x < this.width; x++) {
+				int cell = y * this.width + x;
+				EntityType terrainType = levelGrid.getTerrain(this.originX + x, this.originY + y);
+				this.terrain[cell] = (byte)terrainType.ordinal();
+				this.components[cell] = terrainType.equals(EntityType.EMPTY) ? -1
+						: componentIndex.findComponentIndex(new Point(this.originX + x, this.originY + y));
+			}
+		}
+
+		this.doors = new boolean[numCells];
+		for (int i = 0; i < levelMap.size(); i++) {
+			for (Point door : levelMap.get(i).getDoors().keySet()) {
+				int cell = getCell(door.x, door.y);
+				if (cell >= 0 && this.components[cell] == i) {
+					this.doors[cell] = true;
+				}
+			}
+		}
+
+		List<Integer> rooms = new ArrayList<>();
+		for (int i = 0; i < levelMap.size(); i++) {
+			if (levelMap.get(i) instanceof Room) {
+				rooms.add(i);
+			}
+		}
+		this.roomComponents = new int[rooms.size()];
+		this.roomCells = new int[rooms.size()][];
+		for (int i = 0; i < rooms.size(); i++) {
+			this.roomComponents[i] = rooms.get(i);
+			this.roomCells[i] = findRoomCells((Room)levelMap.get(rooms.get(i)));
+		}
+	}
+
+	/**
+	 * Finds the cells of the room that are not walls
+	 * @param room - the room to search
+	 * @return the cells, in row-major order
+	 */
+	private int[] findRoomCells(Room room) {
+		Point topLeft = room.getTopLeftBound();
+		Point bottomRight = room.getBottomRightBound();
+		List<Integer> cells = new ArrayList<>();
+		for (int y = topLeft.y; y <= bottomRight.y; y++) {
+			for (int x = topLeft.x; x <= bottomRight.x; x++) {
+				Point location = new Point(x, y);
+				if (!(room.getDestinationTile(location) instanceof Wall)) {
+					cells.add(getCell(x, y));
+				}
+			}
+		}
+		int[] roomCells = new int[cells.size()];
+		for (int i = 0; i < roomCells.length; i++) {
+			roomCells[i] = cells.get(i);
+		}
+		return roomCells;
+	}
+
+	/**
+	 * Gets the number of the cell at the given location
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the number of the cell, or -1 if the location is outside of the layout
+	 */
+	public int getCell(int x, int y) {
+		if (x < this.originX || y < this.originY
+				|| x >= this.originX + this.width || y >= this.originY + this.height) {
+			return -1;
+		}
+		return (y - this.originY) * this.width + (x - this.originX);
+	}
+
+	/**
+	 * Gets the column of a cell in level coordinates
+	 * @param cell - the number of the cell
+	 * @return the column of the cell
+	 */
+	public int getX(int cell) {
+		return this.originX + cell % this.width;
+	}
+
+	/**
+	 * Gets the row of a cell in level coordinates
+	 * @param cell - the number of the cell
+	 * @return the row of the cell
+	 */
+	public int getY(int cell) {
+		return this.originY + cell / this.width;
+	}
+
+	/**
+	 * Gets the number of columns in the layout, which is the difference between
+	 * the numbers of vertically neighbouring cells
+	 * @return the number of columns
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Gets the number of cells in the layout
+	 * @return the number of cells
+	 */
+	public int getCellCount() {
+		return this.terrain.length;
+	}
+
+	/**
+	 * Gets the EntityType ordinal of the terrain at a cell
+	 * @param cell - the number of the cell
+	 * @return the ordinal of WALL, SPACE, HALL_SPACE or EMPTY
+	 */
+	public byte getTerrain(int cell) {
+		return this.terrain[cell];
+	}
+
+	/**
+	 * Gets the level map index of the component that holds a cell
+	 * @param cell - the number of the cell
+	 * @return the index of the component, or -1 if no component holds the cell
+	 */
+	public int getComponent(int cell) {
+		return this.components[cell];
+	}
+
+	/**
+	 * Checks if a cell is a door of the component that holds it
+	 * @param cell - the number of the cell
+	 * @return true if the cell is a door
+	 */
+	public boolean isDoor(int cell) {
+		return this.doors[cell];
+	}
+
+	/**
+	 * Gets the number of rooms in the level
+	 * @return the number of rooms
+	 */
+	public int getRoomCount() {
+		return this.roomComponents.length;
+	}
+
+	/**
+	 * Gets the level map index of a room
+	 * @param room - the room, counting rooms in level map order
+	 * @return the index of the room in the level map
+	 */
+	public int getRoomComponent(int room) {
+		return this.roomComponents[room];
+	}
+
+	/**
+	 * Gets the cells of a room that are not walls. The array must not be modified
+	 * @param room - the room, counting rooms in level map order
+	 * @return the cells, in row-major order
+	 */
+	public int[] getRoomCells(int room) {
+		return this.roomCells[room];
+	}
+}
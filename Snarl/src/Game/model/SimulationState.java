@@ -0,0 +1,831 @@
+package Game.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import Game.modelView.EntityType;
+
+/**
+ * A compact copy of the state of a Level that moves can be tried on and
+ * taken back, for adversaries that search ahead. Actors are numbered with
+ * the players first, in turn order, followed by the adversaries. The state
+ * is kept in arrays of primitives:
+ * - the cell of each actor, or -1 once the actor has left the level
+ * - the health of each player
+ * - the actor on each cell and the EntityType of the item on each cell
+ * - whether the exit is unlocked and whether the level has been exited
+ *
+ * The parts of the level that never change are kept in a SimulationLayout,
+ * which is shared with every fork of the state.
+ *
+ * Moves are applied with the same rules as LevelImpl.playerAction and
+ * LevelImpl.adversaryAction. Every change a move makes is written to a log
+ * along with the value it replaced, so the move can be undone by replaying
+ * its few log entries backwards. A move is not checked before it is applied,
+ * just as the Level does not check it; use checkValidMove first.
+ *
+ * The only rule that is not reproduced exactly is where a Ghost teleports to.
+ * The room is chosen at random in the same way as the Level chooses it, but
+ * from the state's own random generator
+ */
+public class SimulationState {
+
+	//The kinds of changes that are written to the undo log
+	private static final int actorCellChange = 0;
+	private static final int occupantChange = 1;
+	private static final int healthChange = 2;
+	private static final int itemChange = 3;
+	private static final int exitUnlockedChange = 4;
+	private static final int levelExitedChange = 5;
+
+	//The number of ints written to the undo log for each change
+	private static final int changeSize = 3;
+
+	//Marks a cell that has no item
+	private static final byte noItem = -1;
+
+	//Shared list of all EntityTypes so that ordinals can be converted without copying values()
+	private static final EntityType[] entityTypeValues = EntityType.values();
+	private static final int ghostType = EntityType.GHOST.ordinal();
+
+	//The static parts of the level
+	private final SimulationLayout layout;
+
+	//Every actor, their EntityType ordinal and damage, and the number of each actor.
+	//These are shared with every fork of the state
+	private final Actor[] actors;
+	private final byte[] actorTypes;
+	private final int[] damage;
+	private final Map<Actor, Integer> actorNumbers;
+	private final int numPlayers;
+
+	//The seed of each actor's Zobrist keys, shared with every fork of the state
+	private final long[] actorSeeds;
+
+	//The cell of each actor, or -1 if the actor is not in the level
+	private int[] actorCells;
+
+	//The health points of each player
+	private int[] health;
+
+	//One more than the number of the actor on each cell, or 0 if the cell has no actor
+	private int[] occupants;
+
+	//The EntityType ordinal of the item on each cell, or -1 if the cell has no item
+	private byte[] items;
+
+	//True if the exit has been unlocked, and if a player has exited the level
+	private boolean exitUnlocked;
+	private boolean levelExited;
+
+	//The Zobrist hash of the actor cells and items, computed in the same way as the Level
+	private long stateHash;
+
+	//Random generator used to choose the room that a Ghost teleports to
+	private Random random;
+
+	//The changes made by every move that can be undone, and where each move's changes begin
+	private int[] undoLog;
+	private int undoLogSize;
+	private int[] moveStarts;
+	private int moveCount;
+
+	/**
+	 * Initializes the state of a level
+	 * @param layout - the layout of the level
+	 * @param players - the players in the level and their locations, in turn order
+	 * @param adversaries - the adversaries in the level and their locations, in turn order
+	 * @param levelItems - the items in the level
+	 * @param exitUnlocked - true if the exit has been unlocked
+	 * @param levelExited - true if a player has exited the level
+	 * @param random - the random generator used to choose where Ghosts teleport to
+	 * @throws IllegalArgumentException if an actor is outside of the layout
+	 */
+	public SimulationState(SimulationLayout layout, Map<Player, Point> players, Map<Adversary, Point> adversaries,
+			List<Item> levelItems, boolean exitUnlocked, boolean levelExited, Random random) {
+		this.layout = layout;
+		this.numPlayers = players.size();
+		int numActors = this.numPlayers + adversaries.size();
+		this.actors = new Actor[numActors];
+		this.actorTypes = new byte[numActors];
+		this.damage = new int[numActors];
+		this.actorNumbers = new HashMap<>();
+		this.actorSeeds = new long[numActors];
+		this.actorCells = new int[numActors];
+		this.health = new int[this.numPlayers];
+		this.occupants = new int[layout.getCellCount()];
+		this.items = new byte[layout.getCellCount()];
+		Arrays.fill(this.items, noItem);
+
+		List<Actor> orderedActors = new ArrayList<>(numActors);
+		List<Point> locations = new ArrayList<>(numActors);
+		for (Map.Entry<Player, Point> playerEntry : players.entrySet()) {
+			orderedActors.add(playerEntry.getKey());
+			locations.add(playerEntry.getValue());
+		}
+		for (Map.Entry<Adversary, Point> adversaryEntry : adversaries.entrySet()) {
+			orderedActors.add(adversaryEntry.getKey());
+			locations.add(adversaryEntry.getValue());
+		}
+		for (int actor = 0; actor < numActors; actor++) {
+			Actor avatar = orderedActors.get(actor);
+			Point location = locations.get(actor);
+			int cell = layout.getCell(location.x, location.y);
+			if (cell < 0) {
+				throw new IllegalArgumentException("Actor is outside of the level");
+			}
+			this.actors[actor] = avatar;
+			this.actorTypes[actor] = (byte)avatar.getEntityType().ordinal();
+			this.actorNumbers.put(avatar, actor);
+			this.actorSeeds[actor] = ZobristKeys.getActorSeed(avatar);
+			this.actorCells[actor] = -1;
+			assignActorCell(actor, cell);
+			this.occupants[cell] = actor + 1;
+			if (avatar instanceof Player) {
+				this.health[actor] = ((Player)avatar).getCurrentHealth();
+			} else {
+				this.damage[actor] = ((Adversary)avatar).getDamage();
+			}
+		}
+
+		for (Item item : levelItems) {
+			int cell = layout.getCell(item.getLocation().x, item.getLocation().y);
+			if (cell >= 0) {
+				assignItem(cell, (byte)item.getEntityType().ordinal());
+			}
+		}
+
+		this.exitUnlocked = exitUnlocked;
+		this.levelExited = levelExited;
+		this.random = random;
+		this.undoLog = new int[changeSize * 16];
+		this.undoLogSize = 0;
+		this.moveStarts = new int[16];
+		this.moveCount = 0;
+	}
+
+	/**
+	 * Initializes a copy of the given state that shares its layout and actors
+	 * @param state - the state to copy
+	 */
+	private SimulationState(SimulationState state) {
+		this.layout = state.layout;
+		this.actors = state.actors;
+		this.actorTypes = state.actorTypes;
+		this.damage = state.damage;
+		this.actorNumbers = state.actorNumbers;
+		this.numPlayers = state.numPlayers;
+		this.actorSeeds = state.actorSeeds;
+		this.actorCells = state.actorCells.clone();
+		this.health = state.health.clone();
+		this.occupants = state.occupants.clone();
+		this.items = state.items.clone();
+		this.exitUnlocked = state.exitUnlocked;
+		this.levelExited = state.levelExited;
+		this.stateHash = state.stateHash;
+		this.random = new Random(state.random.nextLong());
+		this.undoLog = new int[changeSize * 16];
+		this.undoLogSize = 0;
+		this.moveStarts = new int[16];
+		this.moveCount = 0;
+	}
+
+	/**
+	 * Creates an independent copy of the state. The copy has no moves to undo,
+	 * and its random generator is seeded from this state's generator
+	 * @return the copy
+	 */
+	public SimulationState fork() {
+		return new SimulationState(this);
+	}
+
+	/**
+	 * Applies a move, using the same rules as the Level
+	 * @param actor - the number of the actor that is moving
+	 * @param x - the column of the destination
+	 * @param y - the row of the destination
+	 * @return the result of the interaction at the destination
+	 * @throws IllegalArgumentException if the actor is not in the level, the destination
+	 * is not in a LevelComponent, or the actor cannot interact with the destination.
+	 * The state is left unchanged
+	 */
+	public InteractionResult apply(int actor, int x, int y) {
+		if (!isActive(actor)) {
+			throw new IllegalArgumentException("Actor does not exist in the level");
+		}
+		int destination = this.layout.getCell(x, y);
+		if (destination < 0 || this.layout.getComponent(destination) < 0) {
+			throw new IllegalArgumentException("Point is not within a LevelComponent");
+		}
+
+		if (this.moveCount == this.moveStarts.length) {
+			this.moveStarts = Arrays.copyOf(this.moveStarts, this.moveCount * 2);
+		}
+		this.moveStarts[this.moveCount++] = this.undoLogSize;
+		try {
+			if (actor < this.numPlayers) {
+				return applyPlayerMove(actor, destination);
+			}
+			return applyAdversaryMove(actor, destination);
+		} catch (IllegalArgumentException e) {
+			undo();
+			throw e;
+		}
+	}
+
+	/**
+	 * Undoes the last move that was applied and has not been undone
+	 * @throws IllegalArgumentException if there is no move to undo
+	 */
+	public void undo() {
+		if (this.moveCount == 0) {
+			throw new IllegalArgumentException("There is no move to undo");
+		}
+		int moveStart = this.moveStarts[--this.moveCount];
+		while (this.undoLogSize > moveStart) {
+			this.undoLogSize -= changeSize;
+			int index = this.undoLog[this.undoLogSize + 1];
+			int oldValue = this.undoLog[this.undoLogSize + 2];
+			switch (this.undoLog[this.undoLogSize]) {
+				case actorCellChange:
+					assignActorCell(index, oldValue);
+					break;
+				case occupantChange:
+					this.occupants[index] = oldValue;
+					break;
+				case healthChange:
+					this.health[index] = oldValue;
+					break;
+				case itemChange:
+					assignItem(index, (byte)oldValue);
+					break;
+				case exitUnlockedChange:
+					this.exitUnlocked = oldValue != 0;
+					break;
+				default:
+					this.levelExited = oldValue != 0;
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of moves that can be undone
+	 * @return the number of moves
+	 */
+	public int getMoveCount() {
+		return this.moveCount;
+	}
+
+	/**
+	 * Applies a move of a player, in the same way as LevelImpl.playerAction
+	 * @param player - the number of the player
+	 * @param destination - the cell the player is moving to
+	 * @return the result of the interaction at the destination
+	 */
+	private InteractionResult applyPlayerMove(int player, int destination) {
+		int source = this.actorCells[player];
+		InteractionResult interaction = getPlayerInteraction(player, destination);
+		if (interaction.equals(InteractionResult.EXIT) && !this.exitUnlocked) {
+			interaction = InteractionResult.NONE;
+		}
+
+		//A damaged player stays where they are. Otherwise, the player leaves their cell
+		//and is placed at the destination unless they are removed from the level
+		if (interaction.equals(InteractionResult.DAMAGE_PLAYER)) {
+			int adversary = this.occupants[destination] - 1;
+			setHealth(player, this.health[player] - this.damage[adversary]);
+		} else {
+			setOccupant(source, 0);
+			if (interaction.equals(InteractionResult.EXIT) || interaction.equals(InteractionResult.REMOVE_PLAYER)) {
+				setActorCell(player, -1);
+			} else {
+				placeActor(player, destination);
+			}
+		}
+
+		if (interaction.equals(InteractionResult.FOUND_KEY)) {
+			setItem(destination, noItem);
+			setExitUnlocked(true);
+		}
+		if (interaction.equals(InteractionResult.EXIT)) {
+			setLevelExited(true);
+		}
+		return interaction;
+	}
+
+	/**
+	 * Applies a move of an adversary, in the same way as LevelImpl.adversaryAction
+	 * @param adversary - the number of the adversary
+	 * @param destination - the cell the adversary is moving to
+	 * @return the result of the interaction at the destination
+	 */
+	private InteractionResult applyAdversaryMove(int adversary, int destination) {
+		int source = this.actorCells[adversary];
+		InteractionResult interaction = getAdversaryInteraction(adversary, destination);
+
+		//A player that survives the attack is damaged and the adversary stays where they are.
+		//Otherwise, the adversary moves and replaces any player at the destination
+		if (interaction.equals(InteractionResult.DAMAGE_PLAYER)) {
+			int player = this.occupants[destination] - 1;
+			setHealth(player, this.health[player] - this.damage[adversary]);
+		} else {
+			setOccupant(source, 0);
+			if (interaction.equals(InteractionResult.TELEPORT)) {
+				placeActor(adversary, findTeleportCell(this.layout.getComponent(source)));
+			} else {
+				placeActor(adversary, destination);
+			}
+		}
+		return interaction;
+	}
+
+	/**
+	 * Finds the result of a player interacting with a cell, in the same way
+	 * as Player.getTileInteractionResult
+	 * @param player - the number of the player
+	 * @param cell - the cell the player is moving to
+	 * @return the result of the interaction
+	 * @throws IllegalArgumentException if the player cannot interact with the cell
+	 */
+	private InteractionResult getPlayerInteraction(int player, int cell) {
+		int occupant = this.occupants[cell] - 1;
+		if (occupant == player) {
+			//A player staying in place interacts with the item they are standing on
+			return getItemInteraction(this.items[cell]);
+		} else if (occupant >= this.numPlayers) {
+			return this.health[player] <= this.damage[occupant]
+					? InteractionResult.REMOVE_PLAYER : InteractionResult.DAMAGE_PLAYER;
+		} else if (occupant >= 0) {
+			throw new IllegalArgumentException("Illegal interaction entity for player");
+		}
+		EntityType entityType = entityTypeValues[this.items[cell] != noItem ? this.items[cell] : this.layout.getTerrain(cell)];
+		switch (entityType) {
+			case HALL_SPACE:
+				//Same as SPACE
+			case SPACE:
+				return InteractionResult.NONE;
+			case KEY:
+				//Same as an item under the player
+			case EXIT:
+				return getItemInteraction(this.items[cell]);
+			default:
+				throw new IllegalArgumentException("Illegal interaction entity for player");
+		}
+	}
+
+	/**
+	 * Finds the result of a player reaching an item
+	 * @param item - the EntityType ordinal of the item, or -1 if there is no item
+	 * @return the result of the interaction
+	 */
+	private static InteractionResult getItemInteraction(byte item) {
+		if (item == noItem) {
+			return InteractionResult.NONE;
+		} else if (item == EntityType.KEY.ordinal()) {
+			return InteractionResult.FOUND_KEY;
+		} else if (item == EntityType.EXIT.ordinal()) {
+			return InteractionResult.EXIT;
+		}
+		throw new IllegalArgumentException("Unhandled item type");
+	}
+
+	/**
+	 * Finds the result of an adversary interacting with a cell, in the same way
+	 * as Zombie.getTileInteractionResult and Ghost.getTileInteractionResult
+	 * @param adversary - the number of the adversary
+	 * @param cell - the cell the adversary is moving to
+	 * @return the result of the interaction
+	 * @throws IllegalArgumentException if the adversary cannot interact with the cell
+	 */
+	private InteractionResult getAdversaryInteraction(int adversary, int cell) {
+		int occupant = this.occupants[cell] - 1;
+		if (occupant == adversary) {
+			return InteractionResult.NONE;
+		} else if (occupant >= this.numPlayers) {
+			throw new IllegalArgumentException("Illegal interaction entity for adversary");
+		} else if (occupant >= 0) {
+			return this.health[occupant] <= this.damage[adversary]
+					? InteractionResult.REMOVE_PLAYER : InteractionResult.DAMAGE_PLAYER;
+		}
+		EntityType entityType = entityTypeValues[this.items[cell] != noItem ? this.items[cell] : this.layout.getTerrain(cell)];
+		switch (entityType) {
+			case KEY:
+				//This will return the same result as space
+			case EXIT:
+				//This will return the same result as space
+			case HALL_SPACE:
+				//This will return the same result as space
+			case SPACE:
+				return InteractionResult.NONE;
+			case WALL:
+				if (this.actorTypes[adversary] == ghostType) {
+					return InteractionResult.TELEPORT;
+				}
+				throw new IllegalArgumentException("Illegal interaction entity for adversary");
+			default:
+				throw new IllegalArgumentException("Illegal interaction entity for adversary");
+		}
+	}
+
+	/**
+	 * Finds the cell that a Ghost teleports to. A room other than the component
+	 * the Ghost is leaving is chosen at random, and the Ghost is placed on the
+	 * first free cell of the room, as the Level does
+	 * @param sourceComponent - the level map index of the component the Ghost is leaving
+	 * @return the cell to place the Ghost on
+	 * @throws IllegalArgumentException if there is no other room, or the room has no free cells
+	 */
+	private int findTeleportCell(int sourceComponent) {
+		int numRooms = 0;
+		for (int room = 0; room < this.layout.getRoomCount(); room++) {
+			if (this.layout.getRoomComponent(room) != sourceComponent) {
+				numRooms++;
+			}
+		}
+		if (numRooms == 0) {
+			throw new IllegalArgumentException("Level has no other room to teleport to");
+		}
+
+		int chosen = this.random.nextInt(numRooms);
+		for (int room = 0; room < this.layout.getRoomCount(); room++) {
+			if (this.layout.getRoomComponent(room) == sourceComponent) {
+				continue;
+			}
+			if (chosen-- == 0) {
+				for (int cell : this.layout.getRoomCells(room)) {
+					if (this.occupants[cell] == 0 && this.items[cell] == noItem) {
+						return cell;
+					}
+				}
+				break;
+			}
+		}
+		throw new IllegalArgumentException("Room has no empty spaces to place a new actor");
+	}
+
+	/**
+	 * Places an actor on a cell. An actor that was already on the cell is
+	 * replaced and is no longer in the level
+	 * @param actor - the number of the actor
+	 * @param cell - the cell to place the actor on
+	 */
+	private void placeActor(int actor, int cell) {
+		int replaced = this.occupants[cell] - 1;
+		if (replaced >= 0 && replaced != actor) {
+			setActorCell(replaced, -1);
+		}
+		setOccupant(cell, actor + 1);
+		setActorCell(actor, cell);
+	}
+
+	/**
+	 * Checks if the actor can move to the destination, in the same way as
+	 * LevelImpl.checkValidMove
+	 * @param actor - the number of the actor
+	 * @param x - the column of the destination
+	 * @param y - the row of the destination
+	 * @return true if the move is valid
+	 * @throws IllegalArgumentException if the actor is not in the level
+	 */
+	public boolean checkValidMove(int actor, int x, int y) {
+		Point source = getPosition(actor);
+		int offsetX = x - source.x;
+		int offsetY = y - source.y;
+		Actor avatar = this.actors[actor];
+		if (Math.abs(offsetX) + Math.abs(offsetY) > avatar.getMaxMoveDistance()) {
+			return false;
+		}
+		if (actor < this.numPlayers) {
+			long validMoveCells = findValidMoveCells(actor, source);
+			return (validMoveCells & (1L << Player.getMoveWindowBit(offsetX, offsetY))) != 0;
+		}
+		return ((AbstractActor)avatar).isTraversable(getEntityType(x, y));
+	}
+
+	/**
+	 * Finds every valid move of the actor, including staying in place if that is valid
+	 * @param actor - the number of the actor
+	 * @return the destinations of the valid moves
+	 * @throws IllegalArgumentException if the actor is not in the level
+	 */
+	public List<Point> getValidMoves(int actor) {
+		Point source = getPosition(actor);
+		int maxMoveDistance = this.actors[actor].getMaxMoveDistance();
+		long validMoveCells = actor < this.numPlayers ? findValidMoveCells(actor, source) : 0;
+		List<Point> validMoves = new ArrayList<>();
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			for (int offsetX = -maxMoveDistance; offsetX <= maxMoveDistance; offsetX++) {
+				if (Math.abs(offsetX) + Math.abs(offsetY) > maxMoveDistance) {
+					continue;
+				}
+				boolean valid;
+				if (actor < this.numPlayers) {
+					valid = (validMoveCells & (1L << Player.getMoveWindowBit(offsetX, offsetY))) != 0;
+				} else {
+					valid = ((AbstractActor)this.actors[actor]).isTraversable(getEntityType(source.x + offsetX, source.y + offsetY));
+				}
+				if (valid) {
+					validMoves.add(new Point(source.x + offsetX, source.y + offsetY));
+				}
+			}
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Finds every cell that the player can move to from their location
+	 * @param player - the number of the player
+	 * @param source - the location of the player
+	 * @return the cells in the player's move window that are valid destinations
+	 */
+	private long findValidMoveCells(int player, Point source) {
+		Player avatar = (Player)this.actors[player];
+		int maxMoveDistance = avatar.getMaxMoveDistance();
+		long traversableCells = 0;
+		long playerCells = 0;
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			for (int offsetX = -maxMoveDistance; offsetX <= maxMoveDistance; offsetX++) {
+				EntityType entityType = getEntityType(source.x + offsetX, source.y + offsetY);
+				long cellBit = 1L << Player.getMoveWindowBit(offsetX, offsetY);
+				if (avatar.isTraversable(entityType)) {
+					traversableCells |= cellBit;
+				} else if (entityType.equals(EntityType.PLAYER)) {
+					playerCells |= cellBit;
+				}
+			}
+		}
+		return avatar.findReachableMoves(traversableCells, playerCells);
+	}
+
+	/**
+	 * Gets the EntityType that the Level would render at the location. An actor
+	 * is drawn over an item, which is drawn over the terrain
+	 * @param x - the column in the level
+	 * @param y - the row in the level
+	 * @return the EntityType at the location, EMPTY if it is outside of the level
+	 */
+	public EntityType getEntityType(int x, int y) {
+		int cell = this.layout.getCell(x, y);
+		if (cell < 0) {
+			return EntityType.EMPTY;
+		}
+		int occupant = this.occupants[cell];
+		if (occupant != 0) {
+			return entityTypeValues[this.actorTypes[occupant - 1]];
+		}
+		if (this.items[cell] != noItem) {
+			return entityTypeValues[this.items[cell]];
+		}
+		return entityTypeValues[this.layout.getTerrain(cell)];
+	}
+
+	/**
+	 * Gets the layout of the level
+	 * @return the SimulationLayout
+	 */
+	public SimulationLayout getLayout() {
+		return this.layout;
+	}
+
+	/**
+	 * Gets the number of actors, including those that have left the level
+	 * @return the number of actors
+	 */
+	public int getActorCount() {
+		return this.actors.length;
+	}
+
+	/**
+	 * Gets the number of players, including those that have left the level.
+	 * Players are numbered before adversaries
+	 * @return the number of players
+	 */
+	public int getPlayerCount() {
+		return this.numPlayers;
+	}
+
+	/**
+	 * Gets the actor with the given number
+	 * @param actor - the number of the actor
+	 * @return the actor
+	 */
+	public Actor getActor(int actor) {
+		return this.actors[actor];
+	}
+
+	/**
+	 * Gets the number of the given actor
+	 * @param actor - the actor to find
+	 * @return the number of the actor, or -1 if the actor was not in the level
+	 */
+	public int getActorNumber(Actor actor) {
+		Integer number = this.actorNumbers.get(actor);
+		return number == null ? -1 : number;
+	}
+
+	/**
+	 * Checks if the actor is still in the level
+	 * @param actor - the number of the actor
+	 * @return true if the actor is in the level
+	 */
+	public boolean isActive(int actor) {
+		return actor >= 0 && actor < this.actorCells.length && this.actorCells[actor] >= 0;
+	}
+
+	/**
+	 * Gets the cell of the actor
+	 * @param actor - the number of the actor
+	 * @return the number of the cell in the layout, or -1 if the actor is not in the level
+	 */
+	public int getCell(int actor) {
+		return this.actorCells[actor];
+	}
+
+	/**
+	 * Gets the location of the actor
+	 * @param actor - the number of the actor
+	 * @return the location of the actor
+	 * @throws IllegalArgumentException if the actor is not in the level
+	 */
+	public Point getPosition(int actor) {
+		if (!isActive(actor)) {
+			throw new IllegalArgumentException("Actor does not exist in the level");
+		}
+		int cell = this.actorCells[actor];
+		return new Point(this.layout.getX(cell), this.layout.getY(cell));
+	}
+
+	/**
+	 * Gets the health points of a player
+	 * @param player - the number of the player
+	 * @return the health points
+	 */
+	public int getHealth(int player) {
+		return this.health[player];
+	}
+
+	/**
+	 * Getter for whether the exit has been unlocked
+	 */
+	public boolean getExitUnlocked() {
+		return this.exitUnlocked;
+	}
+
+	/**
+	 * Getter for whether a player has exited the level
+	 */
+	public boolean getLevelExited() {
+		return this.levelExited;
+	}
+
+	/**
+	 * Gets the Zobrist hash of the state. A simulation and the Level it was
+	 * created from have the same hash while they are in the same state
+	 * @return the 64-bit hash of the state
+	 */
+	public long getStateHash() {
+		return this.stateHash ^ ZobristKeys.getFlagKey(this.exitUnlocked, this.levelExited);
+	}
+
+	/**
+	 * Gets the Zobrist hash of the state together with the health of every
+	 * player in the level. States that differ only in the health of their
+	 * players have the same state hash, but not the same health hash
+	 * @return the 64-bit hash of the state and the health of its players
+	 */
+	public long getHealthHash() {
+		long hash = getStateHash();
+		for (int player = 0; player < this.numPlayers; player++) {
+			if (this.actorCells[player] >= 0) {
+				hash ^= ZobristKeys.getHealthKey(this.actorSeeds[player], this.health[player]);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Checks if the level is over, in the same way as the Level
+	 * @return the GameState of the level
+	 */
+	public GameState isLevelOver() {
+		for (int player = 0; player < this.numPlayers; player++) {
+			if (this.actorCells[player] >= 0) {
+				return GameState.ACTIVE;
+			}
+		}
+		return this.levelExited ? GameState.WON : GameState.LOST;
+	}
+
+	/**
+	 * Writes a change to the undo log
+	 * @param kind - the kind of change
+	 * @param index - the actor or cell that changed
+	 * @param oldValue - the value before the change
+	 */
+	private void logChange(int kind, int index, int oldValue) {
+		if (this.undoLogSize + changeSize > this.undoLog.length) {
+			this.undoLog = Arrays.copyOf(this.undoLog, this.undoLog.length * 2);
+		}
+		this.undoLog[this.undoLogSize] = kind;
+		this.undoLog[this.undoLogSize + 1] = index;
+		this.undoLog[this.undoLogSize + 2] = oldValue;
+		this.undoLogSize += changeSize;
+	}
+
+	/**
+	 * Moves an actor to a cell, or out of the level
+	 * @param actor - the number of the actor
+	 * @param cell - the new cell of the actor, or -1 if the actor has left the level
+	 */
+	private void setActorCell(int actor, int cell) {
+		logChange(actorCellChange, actor, this.actorCells[actor]);
+		assignActorCell(actor, cell);
+	}
+
+	/**
+	 * Moves an actor to a cell, or out of the level, without writing to the undo log
+	 * @param actor - the number of the actor
+	 * @param cell - the new cell of the actor, or -1 if the actor has left the level
+	 */
+	private void assignActorCell(int actor, int cell) {
+		int oldCell = this.actorCells[actor];
+		if (oldCell >= 0) {
+			this.stateHash ^= ZobristKeys.getKey(this.actorSeeds[actor], this.layout.getX(oldCell), this.layout.getY(oldCell));
+		}
+		if (cell >= 0) {
+			this.stateHash ^= ZobristKeys.getKey(this.actorSeeds[actor], this.layout.getX(cell), this.layout.getY(cell));
+		}
+		this.actorCells[actor] = cell;
+	}
+
+	/**
+	 * Sets the actor on a cell
+	 * @param cell - the number of the cell
+	 * @param occupant - one more than the number of the actor, or 0 for no actor
+	 */
+	private void setOccupant(int cell, int occupant) {
+		logChange(occupantChange, cell, this.occupants[cell]);
+		this.occupants[cell] = occupant;
+	}
+
+	/**
+	 * Sets the health points of a player
+	 * @param player - the number of the player
+	 * @param healthPoints - the new health points
+	 */
+	private void setHealth(int player, int healthPoints) {
+		logChange(healthChange, player, this.health[player]);
+		this.health[player] = healthPoints;
+	}
+
+	/**
+	 * Sets the item on a cell
+	 * @param cell - the number of the cell
+	 * @param item - the EntityType ordinal of the item, or -1 for no item
+	 */
+	private void setItem(int cell, byte item) {
+		logChange(itemChange, cell, this.items[cell]);
+		assignItem(cell, item);
+	}
+
+	/**
+	 * Sets the item on a cell without writing to the undo log
+	 * @param cell - the number of the cell
+	 * @param item - the EntityType ordinal of the item, or -1 for no item
+	 */
+	private void assignItem(int cell, byte item) {
+		int x = this.layout.getX(cell);
+		int y = this.layout.getY(cell);
+		if (this.items[cell] != noItem) {
+			this.stateHash ^= ZobristKeys.getKey(ZobristKeys.getItemSeed(entityTypeValues[this.items[cell]]), x, y);
+		}
+		if (item != noItem) {
+			this.stateHash ^= ZobristKeys.getKey(ZobristKeys.getItemSeed(entityTypeValues[item]), x, y);
+		}
+		this.items[cell] = item;
+	}
+
+	/**
+	 * Sets whether the exit is unlocked
+	 * @param exitUnlocked - true if the exit is unlocked
+	 */
+	private void setExitUnlocked(boolean exitUnlocked) {
+		logChange(exitUnlockedChange, 0, this.exitUnlocked ? 1 : 0);
+		this.exitUnlocked = exitUnlocked;
+	}
+
+	/**
+	 * Sets whether a player has exited the level
+	 * @param levelExited - true if the level has been exited
+	 */
+	private void setLevelExited(boolean levelExited) {
+		logChange(levelExitedChange, 0, this.levelExited ? 1 : 0);
+		this.levelExited = levelExited;
+	}
+}
@@ -27,6 +27,8 @@ public class Space implements Tile {
 
   @Override
   public EntityType getEntityType() {
+	Actor actor = getActor();
+	Item item = getItem();
 	if (actor != null) {
 		return actor.getEntityType();
 	} 
@@ -48,14 +50,14 @@ public class Space implements Tile {
 	  Boolean sameActor;
 	  
 	  if (item != null) {
-		  sameItem = item.equals(this.item);
+		  sameItem = item.equals(getItem());
 	  } else {
-		  sameItem = (this.item == null);
+		  sameItem = (getItem() == null);
 	  }
 	  if (actor != null) {
-		  sameActor = actor.equals(this.actor);
+		  sameActor = actor.equals(getActor());
 	  } else {
-		  sameActor = (this.actor == null);
+		  sameActor = (getActor() == null);
 	  }
 	  
 	  return sameItem && sameActor;   
@@ -91,11 +93,11 @@ public class Space implements Tile {
   public int hashCode() {
     int itemHash = 1;
     int actorHash = 1;
-    if (item != null) {
-      itemHash = this.item.hashCode();
+    if (getItem() != null) {
+      itemHash = getItem().hashCode();
     }
-    if (actor != null) {
-      actorHash = this.actor.hashCode();
+    if (getActor() != null) {
+      actorHash = getActor().hashCode();
     }
     return itemHash * actorHash;
   }
@@ -110,7 +112,7 @@ public class Space implements Tile {
       } 
       
       Space space = (Space) obj;
-      return space.checkSameFields(this.item, this.actor);
+      return space.checkSameFields(getItem(), getActor());
   }
   
 }
@@ -0,0 +1,164 @@
+package Game.model;
+
+/**
+ * A cache of values keyed by the Zobrist hash of a level state, such as the
+ * evaluation of a state by an adversary, or a marker for states already
+ * seen in a replay. The table holds at most a fixed number of entries, so
+ * it can be kept for a whole game without growing.
+ *
+ * Each hash has one slot in the table, chosen by the low bits of the hash.
+ * When two hashes share a slot, the newer entry replaces the older one, so
+ * a value that was put may later be missing. Each slot also keeps the full
+ * hash, so a value is never returned for a different hash.
+ *
+ * @param <V> the type of the cached values
+ */
+public class TranspositionTable<V> {
+
+	//The hash and value stored in each slot, where a null value marks an empty slot
+	private final long[] hashes;
+	private final Object[] values;
+
+	//Selects the slot of a hash from its low bits
+	private final int mask;
+
+	//The number of slots that hold a value
+	private int size;
+
+	//The number of lookups that found a value, and that did not
+	private long hits;
+	private long misses;
+
+	/**
+	 * Initializes an empty table
+	 * @param capacity - the largest number of entries to keep, which is rounded
+	 * up to a power of two
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public TranspositionTable(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("Table capacity must be between 1 and 2^30");
+		}
+		int slots = Integer.highestOneBit(capacity);
+		if (slots < capacity) {
+			slots <<= 1;
+		}
+		this.hashes = new long[slots];
+		this.values = new Object[slots];
+		this.mask = slots - 1;
+		this.size = 0;
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Gets the value cached for the hash
+	 * @param hash - the Zobrist hash of the state
+	 * @return the value, or null if there is no value for the hash
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long hash) {
+		int slot = getSlot(hash);
+		if (this.values[slot] != null && this.hashes[slot] == hash) {
+			this.hits++;
+			return (V)this.values[slot];
+		}
+		this.misses++;
+		return null;
+	}
+
+	/**
+	 * Checks if a value is cached for the hash. This is not counted as a lookup
+	 * @param hash - the Zobrist hash of the state
+	 * @return true if there is a value for the hash
+	 */
+	public boolean containsKey(long hash) {
+		int slot = getSlot(hash);
+		return this.values[slot] != null && this.hashes[slot] == hash;
+	}
+
+	/**
+	 * Caches a value for the hash, replacing any entry in its slot
+	 * @param hash - the Zobrist hash of the state
+	 * @param value - the value to cache
+	 * @throws IllegalArgumentException if the value is null
+	 */
+	public void put(long hash, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cannot cache a null value");
+		}
+		int slot = getSlot(hash);
+		if (this.values[slot] == null) {
+			this.size++;
+		}
+		this.hashes[slot] = hash;
+		this.values[slot] = value;
+	}
+
+	/**
+	 * Removes the value cached for the hash, if there is one
+	 * @param hash - the Zobrist hash of the state
+	 * @return true if a value was removed
+	 */
+	public boolean remove(long hash) {
+		int slot = getSlot(hash);
+		if (this.values[slot] != null && this.hashes[slot] == hash) {
+			this.values[slot] = null;
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes every entry and resets the lookup counts
+	 */
+	public void clear() {
+		for (int slot = 0; slot < this.values.length; slot++) {
+			this.values[slot] = null;
+		}
+		this.size = 0;
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	/**
+	 * Gets the number of entries in the table
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the largest number of entries the table can hold
+	 * @return the number of slots
+	 */
+	public int getCapacity() {
+		return this.values.length;
+	}
+
+	/**
+	 * Getter for the number of lookups that found a value
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Getter for the number of lookups that did not find a value
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Gets the slot of a hash. The bits of a Zobrist hash are already well
+	 * mixed, so the low bits are used directly
+	 * @param hash - the Zobrist hash
+	 * @return the index of the slot
+	 */
+	private int getSlot(long hash) {
+		return (int)hash & this.mask;
+	}
+}
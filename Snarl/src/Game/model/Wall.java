@@ -7,10 +7,14 @@ import Game.modelView.EntityType;
  * The ASCII representation of a Space is "X"
  * 
  * An instance of a Wall is considered to be the
- * same as any other Wall
+ * same as any other Wall. A Wall has no state, so the
+ * shared instance can be used anywhere a Wall is needed
  */
 public class Wall implements Tile {
 
+  //The Wall shared by every component and map
+  public static final Wall instance = new Wall();
+
   @Override
   public EntityType getEntityType() {
     return EntityType.WALL;
@@ -0,0 +1,98 @@
+package Game.model;
+
+import Game.modelView.EntityType;
+
+/**
+ * The 64-bit keys used to hash the state of a level. The hash of a state is
+ * the XOR of the keys of everything in it:
+ * - each actor at its location
+ * - each item at its location
+ * - the exit being unlocked, and the level having been exited
+ *
+ * Since XOR undoes itself, the hash is kept up to date as the state changes
+ * by XOR-ing out the key of what was removed and XOR-ing in the key of what
+ * was added.
+ *
+ * Rather than filling a table with random keys for each level, a key is
+ * found by mixing the bits of what it stands for. Keys therefore do not
+ * depend on the size of the level, and the same state gets the same hash in
+ * every Level, SimulationState and run of the game. An actor is identified
+ * by its EntityType and name, which are unique within a game.
+ *
+ * The hash only covers what changes within a level. States of different
+ * levels with the same actors and items hash the same. The health of the
+ * players is left out of the hash of a Level, but a SimulationState can add
+ * it for searches that must tell apart states that differ only in health
+ */
+public class ZobristKeys {
+
+	//Added to each input before it is mixed, so that small inputs give unrelated keys
+	private static final long goldenGamma = 0x9E3779B97F4A7C15L;
+
+	//The keys of the exit and level flags
+	public static final long exitUnlockedKey = mix(1 * goldenGamma);
+	public static final long levelExitedKey = mix(2 * goldenGamma);
+
+	/**
+	 * Gets the seed of an actor's keys
+	 * @param actor - the actor
+	 * @return the seed to find the actor's keys with
+	 */
+	public static long getActorSeed(Actor actor) {
+		return mix(((long)actor.getEntityType().ordinal() << 32 | (actor.getName().hashCode() & 0xFFFFFFFFL))
+				+ 3 * goldenGamma);
+	}
+
+	/**
+	 * Gets the seed of the keys of an item type
+	 * @param entityType - the EntityType of the item
+	 * @return the seed to find the item's keys with
+	 */
+	public static long getItemSeed(EntityType entityType) {
+		return mix(((long)entityType.ordinal() << 32) + 4 * goldenGamma);
+	}
+
+	/**
+	 * Gets the key of an actor or item at a location
+	 * @param seed - the seed of the actor or item
+	 * @param x - the column of the location
+	 * @param y - the row of the location
+	 * @return the key
+	 */
+	public static long getKey(long seed, int x, int y) {
+		return mix(seed ^ (Coordinates.pack(x, y) * goldenGamma));
+	}
+
+	/**
+	 * Gets the key of a player's health points
+	 * @param seed - the seed of the player
+	 * @param health - the health points of the player
+	 * @return the key
+	 */
+	public static long getHealthKey(long seed, int health) {
+		return mix(seed ^ ((health + 5L) * goldenGamma));
+	}
+
+	/**
+	 * Gets the key of the exit and level flags
+	 * @param exitUnlocked - true if the exit has been unlocked
+	 * @param levelExited - true if a player has exited the level
+	 * @return the XOR of the keys of the flags that are set
+	 */
+	public static long getFlagKey(boolean exitUnlocked, boolean levelExited) {
+		return (exitUnlocked ? exitUnlockedKey : 0) ^ (levelExited ? levelExitedKey : 0);
+	}
+
+	/**
+	 * Mixes the bits of a value so that every bit of the result depends on
+	 * every bit of the value. This is the finalizer of the SplitMix64 generator
+	 * @param value - the value to mix
+	 * @return the mixed value
+	 */
+	private static long mix(long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -3,12 +3,23 @@ package Adversary;
 import static org.junit.Assert.*;
 
 import Game.model.Adversary;
+import Game.model.DistanceField;
+import Game.model.Item;
 import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.LevelImpl;
 import Game.model.ModelCreator;
 import Game.model.Player;
+import Game.model.Room;
+import Game.model.Space;
+import Game.model.Tile;
+import Game.model.Wall;
 import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.junit.Before;
@@ -169,4 +180,69 @@ public class LocalGhostTest {
     this.ghostClient.updateActorLocations(this.playerLocations, adversaryLocation, this.ghost1);
     assertFalse(this.ghostClient.checkValidMove(new Point(6, 10)));
   }
-}
\ No newline at end of file
+
+  /*
+  Room for the pursuit tests, with the player at P and the ghost at G
+
+  XXXXXXX
+  X..P..X
+  X.XXX.X
+  X...G.X
+  XXXXXXX
+
+   */
+
+  //Creates a level of one room from rows of walls (X) and spaces (.)
+  private Level createRoomLevel(String[] rows) {
+    List<List<Tile>> componentMap = new ArrayList<>();
+    for (String row : rows) {
+      List<Tile> tiles = new ArrayList<>();
+      for (char c : row.toCharArray()) {
+        tiles.add(c == 'X' ? Wall.instance : new Space());
+      }
+      componentMap.add(tiles);
+    }
+    List<LevelComponent> levelMap = new ArrayList<>();
+    levelMap.add(new Room(new Point(0, 0), componentMap));
+    return new LevelImpl(levelMap, new ArrayList<Item>());
+  }
+
+  //Places the player and the ghost in the pursuit room and starts the ghost in it
+  private Level startPursuit(Point ghostLocation) {
+    Level roomLevel = createRoomLevel(new String[] {"XXXXXXX", "X.....X", "X.XXX.X", "X.....X", "XXXXXXX"});
+    Map<Player, Point> players = new HashMap<>();
+    players.put(this.player1, new Point(3, 1));
+    Map<Adversary, Point> adversaries = new HashMap<>();
+    adversaries.put(this.ghost1, ghostLocation);
+    roomLevel.placeActorsSpecifiedLocation(players, adversaries);
+    this.ghostClient.getLevelStart(roomLevel);
+    this.ghostClient.updateActorLocations(players, adversaries, this.ghost1);
+    return roomLevel;
+  }
+
+  //Test that a ghost with a distance field walks around the wall instead of
+  //stepping back and forth beneath the player
+  @Test
+  public void testTakeTurnFollowsDistanceField() {
+    Level roomLevel = startPursuit(new Point(4, 3));
+    DistanceField playerDistances = roomLevel.createDistanceField();
+    playerDistances.compute(Arrays.asList(new Point(3, 1)));
+    this.ghostClient.updatePlayerDistances(playerDistances);
+    assertEquals(new Point(5, 3), this.ghostClient.takeTurn());
+  }
+
+  //Test that a ghost without a distance field follows its route around the wall to
+  //the player, where stepping by straight-line distance would move it back and forth
+  @Test
+  public void testTakeTurnFollowsRoute() {
+    Level roomLevel = startPursuit(new Point(4, 3));
+    Point[] expected = {new Point(5, 3), new Point(5, 2), new Point(5, 1), new Point(4, 1), new Point(3, 1)};
+    for (Point step : expected) {
+      Point move = this.ghostClient.takeTurn();
+      assertEquals(step, move);
+      roomLevel.adversaryAction(this.ghost1, move);
+      this.ghostClient.updateActorLocations(roomLevel.getActivePlayers(),
+          roomLevel.getActiveAdversaries(), this.ghost1);
+    }
+  }
+}
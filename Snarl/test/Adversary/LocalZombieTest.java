@@ -3,10 +3,15 @@ package Adversary;
 import static org.junit.Assert.*;
 
 import Game.model.Adversary;
+import Game.model.Item;
 import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.LevelImpl;
 import Game.model.ModelCreator;
 import Game.model.Player;
 import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -168,4 +173,20 @@ public class LocalZombieTest {
     assertFalse(this.zombieClient.checkValidMove(new Point(3, 1)));
     assertFalse(this.zombieClient.checkValidMove(new Point(4, 2)));
   }
-}
\ No newline at end of file
+
+  //Tests that a move out of the room through a door with no hall is invalid,
+  //rather than failing to find the component of the move
+  @Test
+  public void testCheckValidMoveOutsideComponents() {
+    ModelCreator creator = new ModelCreator();
+    Level roomLevel = new LevelImpl(Arrays.asList((LevelComponent)creator.initializeRoom1()), new ArrayList<Item>());
+    Map<Adversary, Point> adversaryLocation = new HashMap<>();
+    adversaryLocation.put(this.zombie1, new Point(3, 2));
+    roomLevel.placeActorsSpecifiedLocation(new HashMap<Player, Point>(), adversaryLocation);
+    this.zombieClient.getLevelStart(roomLevel);
+    this.zombieClient.updateActorLocations(new HashMap<Player, Point>(), adversaryLocation, this.zombie1);
+
+    assertFalse(this.zombieClient.checkValidMove(new Point(4, 2)));
+    assertEquals(new Point(2, 2), this.zombieClient.takeTurn());
+  }
+}
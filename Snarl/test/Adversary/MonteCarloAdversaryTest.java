@@ -0,0 +1,124 @@
+package Adversary;
+
+import static org.junit.Assert.*;
+
+import Game.model.Adversary;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.ModelCreator;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the MonteCarloAdversary, on the first level of the ModelCreator
+public class MonteCarloAdversaryTest {
+  Level level;
+  Player player;
+  Zombie zombie;
+  Ghost ghost;
+  MonteCarloAdversary client;
+
+  @Before
+  public void initializeLevel() {
+    this.level = new ModelCreator().initializeLevel1NoActor();
+    this.player = new Player("Player");
+    this.zombie = new Zombie("Zombie");
+    this.ghost = new Ghost("Ghost");
+    Map<Player, Point> players = new LinkedHashMap<>();
+    players.put(this.player, new Point(6, 10));
+    Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+    adversaries.put(this.zombie, new Point(6, 9));
+    adversaries.put(this.ghost, new Point(1, 15));
+    this.level.placeActorsSpecifiedLocation(players, adversaries);
+  }
+
+  @After
+  public void shutdownClient() {
+    if (this.client != null) {
+      this.client.shutdown();
+    }
+  }
+
+  /**
+   * Starts the client on the level and gives it the locations for a turn of an adversary
+   * @param adversary - the adversary taking the turn
+   */
+  private void startTurn(Adversary adversary) {
+    this.client.getLevelStart(this.level);
+    this.client.updateActorLocations(this.level.getActivePlayers(), this.level.getActiveAdversaries(), adversary);
+  }
+
+  //Test that a client without a time budget takes the move of the local adversary of its type
+  @Test
+  public void testNoBudgetFallsBack() {
+    this.client = new MonteCarloAdversary(0, 1, 1);
+    startTurn(this.zombie);
+    LocalZombie zombieClient = new LocalZombie();
+    zombieClient.getLevelStart(this.level);
+    zombieClient.updateActorLocations(this.level.getActivePlayers(), this.level.getActiveAdversaries(), this.zombie);
+
+    assertEquals(zombieClient.takeTurn(), this.client.takeTurn());
+    assertTrue(this.client.getLastTurnFellBack());
+    assertEquals(0, this.client.getLastPlayoutCount());
+  }
+
+  //Test that a zombie next to a player with little health ejects them
+  @Test
+  public void testAttacksWeakPlayer() {
+    this.player.decreaseHealth(this.player.getCurrentHealth() - 1);
+    this.client = new MonteCarloAdversary(50, 1, 1);
+    startTurn(this.zombie);
+
+    assertEquals(new Point(6, 10), this.client.takeTurn());
+    assertFalse(this.client.getLastTurnFellBack());
+    assertTrue(this.client.getLastPlayoutCount() > 0);
+  }
+
+  //Test that every move taken by searching threads is valid
+  @Test
+  public void testValidMovesWithThreads() {
+    this.client = new MonteCarloAdversary(20, 3, 7);
+    startTurn(this.ghost);
+    for (int turn = 0; turn < 5; turn++) {
+      this.client.updateActorLocations(this.level.getActivePlayers(), this.level.getActiveAdversaries(),
+          this.ghost);
+      Point move = this.client.takeTurn();
+      assertTrue(this.level.checkValidMove(this.ghost, move));
+      this.level.adversaryAction(this.ghost, move);
+    }
+  }
+
+  //Test that a zombie stays in its room and off its door, even with a player just outside the door
+  @Test
+  public void testZombieStaysInRoom() {
+    this.level = new ModelCreator().initializeLevel1NoActor();
+    Map<Player, Point> players = new LinkedHashMap<>();
+    players.put(this.player, new Point(4, 2));
+    Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+    adversaries.put(this.zombie, new Point(2, 2));
+    this.level.placeActorsSpecifiedLocation(players, adversaries);
+    LevelComponent room = this.level.findComponent(new Point(2, 2));
+    this.client = new MonteCarloAdversary(20, 1, 3);
+    startTurn(this.zombie);
+    for (int turn = 0; turn < 5; turn++) {
+      this.client.updateActorLocations(this.level.getActivePlayers(), this.level.getActiveAdversaries(),
+          this.zombie);
+      Point move = this.client.takeTurn();
+      assertEquals(room, this.level.findComponent(move));
+      assertNotEquals(new Point(3, 2), move);
+      this.level.adversaryAction(this.zombie, move);
+    }
+  }
+
+  //Test that a client needs a thread to search on
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new MonteCarloAdversary(10, 0, 1);
+  }
+}
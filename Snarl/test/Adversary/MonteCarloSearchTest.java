@@ -0,0 +1,107 @@
+package Adversary;
+
+import static org.junit.Assert.*;
+
+import Game.model.Adversary;
+import Game.model.Level;
+import Game.model.ModelCreator;
+import Game.model.Player;
+import Game.model.SimulationState;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the MonteCarloSearch, on the first level of the ModelCreator
+public class MonteCarloSearchTest {
+  SimulationState state;
+  int zombie;
+
+  @Before
+  public void initializeState() {
+    Level level = new ModelCreator().initializeLevel1NoActor();
+    Zombie zombieAvatar = new Zombie("Zombie");
+    Map<Player, Point> players = new LinkedHashMap<>();
+    players.put(new Player("Player"), new Point(6, 11));
+    Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+    adversaries.put(zombieAvatar, new Point(6, 8));
+    level.placeActorsSpecifiedLocation(players, adversaries);
+    this.state = level.createSimulation(1);
+    this.zombie = this.state.getActorNumber(zombieAvatar);
+  }
+
+  //Test that a search leaves the state as it was, and records its playouts in the root
+  @Test
+  public void testSearch() {
+    long hash = this.state.getStateHash();
+    MonteCarloSearch search = new MonteCarloSearch(1024, 4, 1);
+    MonteCarloNode root = search.search(this.state, this.zombie, System.nanoTime() + 20000000L);
+
+    assertEquals(hash, this.state.getStateHash());
+    assertEquals(0, this.state.getMoveCount());
+    assertTrue(search.getPlayoutCount() > 0);
+    //A playout that comes back to the state of the root goes through it again
+    assertTrue(root.getTotalVisits() >= search.getPlayoutCount());
+    assertTrue(search.getNodeCount() > 1);
+  }
+
+  //Test that a second search of the same state continues the tree of the first
+  @Test
+  public void testTreeReuse() {
+    MonteCarloSearch search = new MonteCarloSearch(1024, 4, 1);
+    MonteCarloNode first = search.search(this.state, this.zombie, System.nanoTime() + 10000000L);
+    int firstVisits = first.getTotalVisits();
+    MonteCarloNode second = search.search(this.state, this.zombie, System.nanoTime() + 10000000L);
+
+    assertSame(first, second);
+    assertTrue(second.getTotalVisits() >= search.getPlayoutCount());
+    assertTrue(second.getTotalVisits() > firstVisits);
+  }
+
+  //Test that the move towards the player is tried the most
+  @Test
+  public void testPrefersChase() {
+    MonteCarloSearch search = new MonteCarloSearch(1 << 14, 6, 1);
+    MonteCarloNode root = search.search(this.state, this.zombie, System.nanoTime() + 100000000L);
+    int best = 0;
+    for (int move = 1; move < root.getMoveCount(); move++) {
+      if (root.getVisits(move) > root.getVisits(best)) {
+        best = move;
+      }
+    }
+    int cell = root.getMove(best);
+
+    assertEquals(new Point(6, 9),
+        new Point(this.state.getLayout().getX(cell), this.state.getLayout().getY(cell)));
+  }
+
+  //Test that a zombie only searches the moves that keep it in its room and off its door,
+  //although the simulation, like the level, lets it step onto the door
+  @Test
+  public void testZombieStaysInRoom() {
+    Level level = new ModelCreator().initializeLevel1NoActor();
+    Zombie zombieAvatar = new Zombie("Zombie");
+    Map<Player, Point> players = new LinkedHashMap<>();
+    players.put(new Player("Player"), new Point(4, 2));
+    Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+    adversaries.put(zombieAvatar, new Point(2, 2));
+    level.placeActorsSpecifiedLocation(players, adversaries);
+    SimulationState state = level.createSimulation(1);
+    int zombie = state.getActorNumber(zombieAvatar);
+
+    assertTrue(state.checkValidMove(zombie, 3, 2));
+    assertTrue(state.getValidMoves(zombie).contains(new Point(3, 2)));
+    assertEquals(Arrays.asList(new Point(2, 1), new Point(1, 2)), MonteCarloSearch.findAdversaryMoves(state, zombie));
+    MonteCarloNode root = new MonteCarloSearch(1024, 4, 1).search(state, zombie, System.nanoTime() + 10000000L);
+    assertEquals(2, root.getMoveCount());
+  }
+
+  //Test that only an adversary in the level can be searched for
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemovedAdversary() {
+    new MonteCarloSearch(16, 4, 1).search(this.state, this.state.getActorCount(), System.nanoTime());
+  }
+}
@@ -0,0 +1,268 @@
+package Game.controller;
+
+import static org.junit.Assert.assertEquals;
+
+import Adversary.LocalGhost;
+import Adversary.LocalZombie;
+import Common.AdversaryClient;
+import Common.Observer;
+import Game.model.Adversary;
+import Game.model.DistanceField;
+import Game.model.Ghost;
+import Game.model.Hall;
+import Game.model.Item;
+import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.LevelImpl;
+import Game.model.ModelCreator;
+import Game.model.Player;
+import Game.model.Room;
+import Game.model.Space;
+import Game.model.Tile;
+import Game.model.Wall;
+import Game.model.Zombie;
+import Manager.TestPlayer;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the AdversaryBatches class
+public class AdversaryBatchesTest {
+
+	private Level level;
+	private Map<Player, Point> players;
+	private Map<Adversary, Point> adversaries;
+
+	@Before
+	public void initLevel() {
+		this.level = new ModelCreator().initializeLevel1NoActor();
+		this.players = new LinkedHashMap<>();
+		this.adversaries = new LinkedHashMap<>();
+	}
+
+	//Places the actors in the level and finds the end of the batch starting at the first adversary,
+	//where every adversary has a local client
+	private int findBatchEnd(List<Adversary> turnOrder) {
+		Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+		for (Adversary adversary : turnOrder) {
+			clients.put(adversary, new LocalZombie());
+		}
+		return findBatchEnd(turnOrder, clients);
+	}
+
+	//Places the actors in the level and finds the end of the batch starting at the first adversary
+	private int findBatchEnd(List<Adversary> turnOrder, Map<Adversary, AdversaryClient> clients) {
+		this.level.placeActorsSpecifiedLocation(this.players, this.adversaries);
+		return AdversaryBatches.findBatchEnd(this.level, turnOrder, 0, clients, this.level.getActivePlayers(),
+				this.level.getActiveAdversaries());
+	}
+
+	//Creates a client that does not decide its move locally, such as a client played by a person
+	private AdversaryClient createNonLocalClient() {
+		return new AdversaryClient() {
+			public void getLevelStart(Level startLevel) {}
+			public void updateActorLocations(Map<Player, Point> playerLocations,
+					Map<Adversary, Point> adversaryLocations, Adversary adversaryAvatar) {}
+			public Point takeTurn() {
+				return null;
+			}
+		};
+	}
+
+	//Test that adversaries in different rooms are decided together
+	@Test
+	public void testBatchOfDistantAdversaries() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		this.adversaries.put(new Zombie("Zombie1"), new Point(1, 1));
+		this.adversaries.put(new Zombie("Zombie2"), new Point(15, 13));
+		this.adversaries.put(new Zombie("Zombie3"), new Point(2, 16));
+		assertEquals(3, findBatchEnd(new ArrayList<>(this.adversaries.keySet())));
+	}
+
+	//Test that a batch ends before an adversary that could move next to an adversary of the batch
+	@Test
+	public void testBatchEndsAtNearbyAdversary() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		this.adversaries.put(new Zombie("Zombie1"), new Point(15, 13));
+		this.adversaries.put(new Zombie("Zombie2"), new Point(1, 16));
+		this.adversaries.put(new Zombie("Zombie3"), new Point(14, 12));
+		assertEquals(2, findBatchEnd(new ArrayList<>(this.adversaries.keySet())));
+	}
+
+	//Test that a batch ends after a ghost that could teleport by moving into a wall
+	@Test
+	public void testBatchEndsAfterTeleport() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		this.adversaries.put(new Zombie("Zombie"), new Point(15, 13));
+		this.adversaries.put(new Ghost("Ghost"), new Point(1, 1));
+		this.adversaries.put(new Zombie("Zombie2"), new Point(2, 16));
+		assertEquals(2, findBatchEnd(new ArrayList<>(this.adversaries.keySet())));
+	}
+
+	//Test that a batch ends after an adversary that could damage or remove a player
+	@Test
+	public void testBatchEndsAfterAttack() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		this.adversaries.put(new Zombie("Zombie1"), new Point(6, 10));
+		this.adversaries.put(new Zombie("Zombie2"), new Point(15, 13));
+		assertEquals(1, findBatchEnd(new ArrayList<>(this.adversaries.keySet())));
+	}
+
+	//Test that adversaries that are not in the level are part of the batch they fall in
+	@Test
+	public void testBatchSkipsInactiveAdversaries() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		Adversary zombie1 = new Zombie("Zombie1");
+		Adversary zombie2 = new Zombie("Zombie2");
+		this.adversaries.put(zombie1, new Point(15, 13));
+		this.adversaries.put(zombie2, new Point(14, 12));
+		assertEquals(2, findBatchEnd(Arrays.asList(zombie1, new Zombie("Inactive"), zombie2)));
+	}
+
+	//Test that a batch ends before an adversary whose client does not decide its move locally
+	@Test
+	public void testBatchEndsBeforeNonLocalClient() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		Adversary zombie1 = new Zombie("Zombie1");
+		Adversary zombie2 = new Zombie("Zombie2");
+		Adversary zombie3 = new Zombie("Zombie3");
+		this.adversaries.put(zombie1, new Point(1, 1));
+		this.adversaries.put(zombie2, new Point(15, 13));
+		this.adversaries.put(zombie3, new Point(2, 16));
+		Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+		clients.put(zombie1, new LocalZombie());
+		clients.put(zombie2, createNonLocalClient());
+		clients.put(zombie3, new LocalZombie());
+		assertEquals(1, findBatchEnd(new ArrayList<>(this.adversaries.keySet()), clients));
+	}
+
+	//Test that an adversary whose client does not decide its move locally is decided on its own
+	@Test
+	public void testNonLocalClientDecidedAlone() {
+		this.players.put(new Player("Player"), new Point(6, 9));
+		Adversary inactive = new Zombie("Inactive");
+		Adversary zombie1 = new Zombie("Zombie1");
+		Adversary zombie2 = new Zombie("Zombie2");
+		this.adversaries.put(zombie1, new Point(15, 13));
+		this.adversaries.put(zombie2, new Point(2, 16));
+		Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+		clients.put(inactive, new LocalZombie());
+		clients.put(zombie1, createNonLocalClient());
+		clients.put(zombie2, new LocalZombie());
+		assertEquals(2, findBatchEnd(Arrays.asList(inactive, zombie1, zombie2), clients));
+	}
+
+	//Test that the moves decided together are the moves decided one at a time
+	@Test
+	public void testDecideMatchesSequentialMoves() {
+		this.players.put(new Player("Player1"), new Point(4, 15));
+		this.players.put(new Player("Player2"), new Point(14, 11));
+		this.players.put(new Player("Player3"), new Point(7, 11));
+		this.adversaries.put(new Zombie("Zombie1"), new Point(1, 17));
+		this.adversaries.put(new Zombie("Zombie2"), new Point(16, 14));
+		this.adversaries.put(new Zombie("Zombie3"), new Point(7, 8));
+		this.level.placeActorsSpecifiedLocation(this.players, this.adversaries);
+		Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+		for (Adversary adversary : this.adversaries.keySet()) {
+			AdversaryClient client = new LocalZombie();
+			client.getLevelStart(this.level);
+			clients.put(adversary, client);
+		}
+		List<Adversary> batch = new ArrayList<>(this.adversaries.keySet());
+		Map<Player, Point> activePlayers = this.level.getActivePlayers();
+		Map<Adversary, Point> activeAdversaries = this.level.getActiveAdversaries();
+		DistanceField playerDistances = this.level.createDistanceField();
+		playerDistances.compute(activePlayers.values());
+
+		Map<Adversary, Point> expected = new LinkedHashMap<>();
+		for (Adversary adversary : batch) {
+			clients.get(adversary).updateActorLocations(activePlayers, activeAdversaries, adversary);
+			clients.get(adversary).updatePlayerDistances(playerDistances);
+			expected.put(adversary, clients.get(adversary).takeTurn());
+		}
+		Map<Adversary, Point> moves = new AdversaryBatches(new ForkJoinPool(3)).decide(batch, clients,
+				activePlayers, activeAdversaries, playerDistances);
+
+		assertEquals(expected, moves);
+		assertEquals(batch, new ArrayList<>(moves.keySet()));
+		assertEquals(new Point(2, 17), moves.get(batch.get(0)));
+	}
+
+	//Creates a room of spaces surrounded by walls, with a door in the middle of its left or right wall
+	private Room createRoom(Point position, int size, boolean doorOnRight) {
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int y = 0; y < size; y++) {
+			List<Tile> row = new ArrayList<>();
+			for (int x = 0; x < size; x++) {
+				boolean door = y == size / 2 && x == (doorOnRight ? size - 1 : 0);
+				boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+				row.add(border && !door ? Wall.instance : new Space());
+			}
+			componentMap.add(row);
+		}
+		return new Room(position, componentMap);
+	}
+
+	//Plays a level of two rooms joined by a hall with ghosts, until the players run out of
+	//moves, and returns every update of the game that the observers were sent. A ghost that
+	//teleports out of one room always lands in the first free cell of the other room, so a
+	//game only depends on the moves the adversaries decide
+	private List<String> playGhostGame(boolean parallel) {
+		Room left = createRoom(new Point(0, 0), 10, true);
+		Room right = createRoom(new Point(14, 0), 10, false);
+		Hall hall = new Hall(new Point(9, 5), left, new Point(14, 5), right, new ArrayList<Point>());
+		Level level = new LevelImpl(Arrays.asList((LevelComponent)left, right, hall), new ArrayList<Item>());
+
+		GameManager gameManager = new GameManager();
+		gameManager.setParallelAdversaries(parallel);
+		final List<String> updates = new ArrayList<>();
+		gameManager.attachObserver(new Observer() {
+			public void update(String gameState) {
+				updates.add(gameState);
+			}
+		});
+		Map<Player, Point> players = new LinkedHashMap<>();
+		players.put(new Player("Player1"), new Point(3, 4));
+		players.put(new Player("Player2"), new Point(19, 6));
+		for (Map.Entry<Player, Point> player : players.entrySet()) {
+			List<Point> moves = new ArrayList<>(Collections.nCopies(20, player.getValue()));
+			gameManager.registerPlayer(player.getKey().getName(), new TestPlayer(moves, new JSONArray()));
+		}
+		Map<Adversary, Point> ghosts = new LinkedHashMap<>();
+		Point[] ghostLocations = {new Point(1, 1), new Point(8, 8), new Point(7, 2), new Point(15, 8),
+				new Point(22, 1), new Point(22, 8), new Point(16, 2), new Point(2, 8)};
+		for (int i = 0; i < ghostLocations.length; i++) {
+			ghosts.put(new Ghost("Ghost" + i), ghostLocations[i]);
+		}
+		level.placeActorsSpecifiedLocation(players, ghosts);
+		for (Adversary ghost : ghosts.keySet()) {
+			AdversaryClient client = new LocalGhost();
+			client.getLevelStart(level);
+			gameManager.registerAdversary(ghost, client);
+		}
+		gameManager.initDungeon(Collections.singletonList(level));
+
+		try {
+			gameManager.playLevel(level);
+		} catch (IllegalStateException e) {
+			//The game ends when the players run out of moves
+		}
+		return updates;
+	}
+
+	//Test that ghosts decided in batches play the same game as ghosts decided one at a time
+	@Test
+	public void testParallelPlayMatchesSequentialPlay() {
+		List<String> sequential = playGhostGame(false);
+		List<String> parallel = playGhostGame(true);
+		assertEquals(sequential, parallel);
+	}
+}
@@ -1,24 +1,38 @@
 package Game.controller;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
+import Adversary.MonteCarloAdversary;
+import Common.AdversaryClient;
 import Game.model.Actor;
+import Game.model.DistanceField;
 import Game.model.GameState;
+import Game.model.Ghost;
 import Game.model.ModelCreator;
+import Game.model.Zombie;
 import Manager.TestPlayer;
 import java.awt.Point;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONTokener;
 import org.junit.Before;
 import org.junit.Test;
+import Common.Observer;
 import Game.model.Adversary;
 import Game.model.Level;
 import Game.model.Player;
@@ -78,6 +92,12 @@ public class GameManagerTest {
 		this.gameManager.registerAdversary("Jacob");
 	}
 
+	@Test (expected = IllegalArgumentException.class)
+	public void registerAdversaryClientNotUnique() {
+		this.gameManager.registerAdversary("Boo");
+		this.gameManager.registerAdversary(new Ghost("Boo"), new MonteCarloAdversary(10));
+	}
+
 	@Test
 	public void testStartGame() {
 		Common.Player player1 = new TestPlayer(new ArrayList<>(), new JSONArray());
@@ -117,6 +137,49 @@ public class GameManagerTest {
 		assertEquals(true, firstLevel.getExitUnlocked());
 	}
 
+	//Test that deciding adversary moves in parallel plays the same game
+	@Test
+	public void testPlayGameParallelAdversaries() {
+		Common.Player player1 = new TestPlayer(ModelCreator.initGetKeyMoves(), new JSONArray());
+		this.gameManager.registerPlayer("Jacob", player1);
+		this.gameManager.setParallelAdversaries(true);
+		this.gameManager.startGame(this.levels);
+
+		Level firstLevel = this.gameManager.dungeon.getCurrentLevel();
+		Map<Actor, Point> expectedPlayers = new HashMap<>();
+		expectedPlayers.put(new Player("Jacob"), new Point(4, 17));
+		try {
+			this.gameManager.playGame();
+		} catch (IllegalStateException e) {
+			//Do nothing this will happen when the player runs out of moves
+		}
+
+		assertEquals(1, this.gameManager.dungeon.getCurrentLevelIndex());
+		assertEquals(expectedPlayers, firstLevel.getActivePlayers());
+		assertEquals(true, firstLevel.getExitUnlocked());
+	}
+
+	//Test that the thread that prepares the next level is stopped when a level ends with an exception
+	@Test
+	public void testPlayGameStopsLevelThread() throws InterruptedException {
+		Common.Player player1 = new TestPlayer(ModelCreator.initGetKeyMoves(), new JSONArray());
+		this.gameManager.registerPlayer("Jacob", player1);
+		this.gameManager.startGame(this.levels);
+		Set<Thread> threadsBefore = new HashSet<>(Thread.getAllStackTraces().keySet());
+		try {
+			this.gameManager.playGame();
+		} catch (IllegalStateException e) {
+			//Do nothing this will happen when the player runs out of moves
+		}
+
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("snarl-levels") && !threadsBefore.contains(thread)) {
+				thread.join(5000);
+				assertFalse(thread.isAlive());
+			}
+		}
+	}
+
 	@Test
 	public void testPlayGameNewLevel() {
 		Common.Player player1 = new TestPlayer(ModelCreator.initWinningMoves(), new JSONArray());
@@ -154,6 +217,36 @@ public class GameManagerTest {
 		assertEquals(true, expectedArray.similar(updates));
 	}
 
+	//Test that observers updated on their own thread get every update in order
+	//once the game ends, and that the game thread does not deliver them
+	@Test
+	public void testAsyncObservers() {
+		final List<String> updates = Collections.synchronizedList(new ArrayList<String>());
+		final List<Thread> updateThreads = Collections.synchronizedList(new ArrayList<Thread>());
+		this.gameManager.attachObserver(new Observer() {
+			public void update(String gameState) {
+				updates.add(gameState);
+				updateThreads.add(Thread.currentThread());
+			}
+		});
+		this.gameManager.setAsyncObservers(true);
+
+		Common.Player player1 = new TestPlayer(new ArrayList<>(), new JSONArray());
+		this.gameManager.registerPlayer("Jacob", player1);
+		this.gameManager.initDungeon(this.levels);
+		this.gameManager.dungeon.startCurrentLevel(new ArrayList<>());
+		this.gameManager.notifyAllObservers(null);
+		this.gameManager.notifyAllObservers(null);
+		this.gameManager.endGame();
+
+		assertEquals(3, updates.size());
+		assertEquals(updates.get(0), updates.get(1));
+		assertTrue(updates.get(2).startsWith("Player Rankings:"));
+		for (Thread updateThread : updateThreads) {
+			assertNotSame(Thread.currentThread(), updateThread);
+		}
+	}
+
 	@Test
 	public void testPlayLevel() {
 		Common.Player player1 = new TestPlayer(ModelCreator.initWinningMoves(), new JSONArray());
@@ -171,4 +264,58 @@ public class GameManagerTest {
 		assertEquals(expectedPlayers, players);
 		assertEquals(GameState.WON, currLevel.isLevelOver());
 	}
+
+	//Test that the adversaries that move after a player is ejected are given
+	//distances from the players that are still in the level
+	@Test
+	public void testDistancesAfterEject() {
+		//Jacob stays where the zombie Brainy attacks, and is ejected by the third attack
+		final Point ejectedLocation = new Point(1, 1);
+		List<Point> jacobMoves = new ArrayList<>(Collections.nCopies(3, ejectedLocation));
+		List<Point> julietteMoves = new ArrayList<>(Collections.nCopies(3, new Point(3, 2)));
+		this.gameManager.registerPlayer("Jacob", new TestPlayer(jacobMoves, new JSONArray()));
+		this.gameManager.registerPlayer("Juliette", new TestPlayer(julietteMoves, new JSONArray()));
+		final List<Integer> distances = new ArrayList<>();
+		Zombie brainy = new Zombie("Brainy");
+		Zombie dracula = new Zombie("Dracula");
+		this.gameManager.registerAdversary(brainy, new AdversaryClient() {
+			public void getLevelStart(Level startLevel) {}
+			public void updateActorLocations(Map<Player, Point> playerLocations,
+					Map<Adversary, Point> adversaryLocations, Adversary adversaryAvatar) {}
+			public Point takeTurn() {
+				return ejectedLocation;
+			}
+		});
+		this.gameManager.registerAdversary(dracula, new AdversaryClient() {
+			private DistanceField playerDistances;
+			public void getLevelStart(Level startLevel) {}
+			public void updateActorLocations(Map<Player, Point> playerLocations,
+					Map<Adversary, Point> adversaryLocations, Adversary adversaryAvatar) {}
+			public void updatePlayerDistances(DistanceField playerDistances) {
+				this.playerDistances = playerDistances;
+			}
+			public Point takeTurn() {
+				distances.add(this.playerDistances.getDistance(ejectedLocation));
+				return distances.size() % 2 == 0 ? new Point(6, 4) : new Point(6, 5);
+			}
+		});
+		this.gameManager.initDungeon(this.levels);
+
+		Map<Player, Point> players = new LinkedHashMap<>();
+		players.put(new Player("Jacob"), new Point(1, 2));
+		players.put(new Player("Juliette"), new Point(2, 2));
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		adversaries.put(brainy, new Point(2, 1));
+		adversaries.put(dracula, new Point(6, 4));
+		Level level = this.levels.get(0);
+		level.placeActorsSpecifiedLocation(players, adversaries);
+		try {
+			this.gameManager.playLevel(level);
+		} catch (IllegalStateException e) {
+			//Do nothing this will happen when the players run out of moves
+		}
+
+		assertEquals(1, level.getActivePlayers().size());
+		assertEquals(Arrays.asList(0, 0, 3), distances);
+	}
 }
@@ -0,0 +1,150 @@
+package Game.controller;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Common.AdversaryClient;
+import Game.model.Adversary;
+import Game.model.Dungeon;
+import Game.model.Level;
+import Game.model.LevelImpl;
+import Game.model.LevelComponent;
+import Game.model.Item;
+import Game.model.ModelCreator;
+import Game.model.Player;
+
+//Tests for the LevelPipeline
+public class LevelPipelineTest {
+
+	private ModelCreator creator;
+	private List<Player> players;
+	private List<Level> levels;
+
+	//The levels each adversary was asked to prepare for, and the threads that asked
+	private List<Level> preparedLevels;
+	private List<Thread> preparingThreads;
+	private AdversaryClient client;
+
+	@Before
+	public void initializePipeline() {
+		this.creator = new ModelCreator();
+		this.players = this.creator.initializeDungeonPlayers();
+		this.levels = this.creator.initializeDungeonLevels();
+		this.preparedLevels = Collections.synchronizedList(new ArrayList<Level>());
+		this.preparingThreads = Collections.synchronizedList(new ArrayList<Thread>());
+		this.client = new AdversaryClient() {
+			public void getLevelStart(Level startLevel) {
+			}
+
+			public void updateActorLocations(Map<Player, Point> playerLocations,
+					Map<Adversary, Point> adversaryLocations, Adversary adversaryAvatar) {
+			}
+
+			public Point takeTurn() {
+				return null;
+			}
+
+			@Override
+			public void prepareLevel(Level level) {
+				preparedLevels.add(level);
+				preparingThreads.add(Thread.currentThread());
+			}
+		};
+	}
+
+	//Test that a level prepared in the background is the level of the dungeon, and that
+	//adversaries prepare for it on the background thread
+	@Test
+	public void testPrepareInBackground() {
+		Dungeon dungeon = new Dungeon(this.players, 1, this.levels);
+		LevelPipeline pipeline = new LevelPipeline(dungeon, Arrays.asList(this.client), false);
+		pipeline.prepare(2, dungeon.getCurrentLevel());
+		assertTrue(pipeline.isPreparing(2));
+		assertSame(this.levels.get(1), pipeline.take(2));
+		assertFalse(pipeline.isPreparing(2));
+		assertEquals(Arrays.asList(this.levels.get(1)), this.preparedLevels);
+		assertNotSame(Thread.currentThread(), this.preparingThreads.get(0));
+		pipeline.shutdown();
+	}
+
+	//Test that a level that was not prepared in the background is prepared when it is taken
+	@Test
+	public void testTakeWithoutPrepare() {
+		Dungeon dungeon = new Dungeon(this.players, 1, this.levels);
+		LevelPipeline pipeline = new LevelPipeline(dungeon, Arrays.asList(this.client), false);
+		pipeline.prepare(2, dungeon.getCurrentLevel());
+		assertSame(this.levels.get(2), pipeline.take(3));
+		assertFalse(pipeline.isPreparing(2));
+		assertTrue(this.preparedLevels.contains(this.levels.get(2)));
+		assertSame(Thread.currentThread(), this.preparingThreads.get(this.preparedLevels.indexOf(this.levels.get(2))));
+		pipeline.shutdown();
+	}
+
+	//Test that levels are only resolved from the dungeon's levels when they are prepared
+	@Test
+	public void testPrepareResolvesLevel() {
+		final List<Integer> requested = Collections.synchronizedList(new ArrayList<Integer>());
+		List<Level> lazyLevels = new AbstractList<Level>() {
+			@Override
+			public Level get(int index) {
+				requested.add(index);
+				return levels.get(index);
+			}
+
+			@Override
+			public int size() {
+				return levels.size();
+			}
+		};
+		Dungeon dungeon = new Dungeon(this.players, 1, lazyLevels);
+		LevelPipeline pipeline = new LevelPipeline(dungeon, new ArrayList<AdversaryClient>(), false);
+		assertSame(this.levels.get(0), pipeline.take(1));
+		pipeline.prepare(2, this.levels.get(0));
+		pipeline.take(2);
+		assertEquals(Arrays.asList(0, 1), requested);
+		assertTrue(dungeon.getLevelHandle(2).isResolved());
+		assertFalse(dungeon.getLevelHandle(3).isResolved());
+		pipeline.shutdown();
+	}
+
+	//Test that a level that is being played is not prepared again
+	@Test
+	public void testRepeatedLevel() {
+		Level level = this.levels.get(0);
+		Dungeon dungeon = new Dungeon(this.players, 1, new ArrayList<>(Arrays.asList(level, level)));
+		LevelPipeline pipeline = new LevelPipeline(dungeon, Arrays.asList(this.client), false);
+		pipeline.prepare(2, level);
+		assertSame(level, pipeline.take(2));
+		assertTrue(this.preparedLevels.isEmpty());
+		pipeline.shutdown();
+	}
+
+	//Test that an invalid level prepared in the background is reported when it is taken
+	@Test (expected = IllegalArgumentException.class)
+	public void testValidateInBackground() {
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		levelMap.add(this.creator.initializeRoom5());
+		Level invalidLevel = new LevelImpl(levelMap, new ArrayList<Item>());
+		Dungeon dungeon = new Dungeon(this.players, 1,
+				new ArrayList<>(Arrays.asList(this.levels.get(0), invalidLevel)));
+		LevelPipeline pipeline = new LevelPipeline(dungeon, Arrays.asList(this.client), true);
+		pipeline.take(1);
+		pipeline.prepare(2, this.levels.get(0));
+		try {
+			pipeline.take(2);
+		} finally {
+			assertFalse(this.preparedLevels.contains(invalidLevel));
+			pipeline.shutdown();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the ActorLocations class, following the changes made to the first level of the ModelCreator
+public class ActorLocationsTest {
+
+	private Level level;
+	private Player player;
+	private Zombie zombie;
+	private Ghost ghost;
+	private ActorLocations locations;
+
+	//The changes passed on by the locations, in the order they were made
+	private List<String> changes;
+
+	@Before
+	public void initLocations() {
+		this.level = new ModelCreator().initializeLevel1NoActor();
+		this.player = new Player("Player");
+		this.zombie = new Zombie("Zombie");
+		this.ghost = new Ghost("Ghost");
+		Map<Player, Point> players = new LinkedHashMap<>();
+		players.put(this.player, new Point(6, 10));
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		adversaries.put(this.zombie, new Point(6, 8));
+		adversaries.put(this.ghost, new Point(1, 15));
+		this.level.placeActorsSpecifiedLocation(players, adversaries);
+
+		this.locations = new ActorLocations(this.level.getActivePlayers(), this.level.getActiveAdversaries());
+		this.level.addLocationListener(this.locations);
+		this.changes = new ArrayList<>();
+		this.locations.addListener(new ActorLocationListener() {
+			public void actorMoved(Actor actor, Point from, Point to) {
+				changes.add("moved " + actor.getName() + " " + from.x + "," + from.y + " " + to.x + "," + to.y);
+			}
+
+			public void actorTeleported(Actor actor, Point from, Point to) {
+				changes.add("teleported " + actor.getName() + " " + from.x + "," + from.y);
+			}
+
+			public void actorRemoved(Actor actor, Point from) {
+				changes.add("removed " + actor.getName() + " " + from.x + "," + from.y);
+			}
+		});
+	}
+
+	//Test that the locations follow moves of players and adversaries
+	@Test
+	public void testMoves() {
+		this.level.playerAction(this.player, new Point(7, 10));
+		this.level.adversaryAction(this.zombie, new Point(6, 9));
+
+		assertEquals(new Point(7, 10), this.locations.getPlayers().get(this.player));
+		assertEquals(new Point(6, 9), this.locations.getAdversaries().get(this.zombie));
+		assertEquals(Arrays.asList("moved Player 6,10 7,10", "moved Zombie 6,8 6,9"), this.changes);
+	}
+
+	//Test that staying in place is not a move, and damage does not move anyone
+	@Test
+	public void testNoMove() {
+		this.level.adversaryAction(this.ghost, new Point(1, 15));
+		this.level.adversaryAction(this.zombie, new Point(6, 9));
+		this.level.adversaryAction(this.zombie, new Point(6, 10));
+
+		assertEquals(new Point(6, 10), this.locations.getPlayers().get(this.player));
+		assertEquals(Arrays.asList("moved Zombie 6,8 6,9"), this.changes);
+	}
+
+	//Test that a ghost moving into a wall is placed where the level put it
+	@Test
+	public void testTeleport() {
+		this.level.adversaryAction(this.ghost, new Point(0, 15));
+
+		assertEquals(this.level.getActorPosition(this.ghost), this.locations.getAdversaries().get(this.ghost));
+		assertEquals(Arrays.asList("teleported Ghost 1,15"), this.changes);
+	}
+
+	//Test that an ejected player is removed before the adversary takes their place
+	@Test
+	public void testEject() {
+		this.player.decreaseHealth(this.player.getCurrentHealth() - 1);
+		this.level.adversaryAction(this.zombie, new Point(6, 9));
+		this.level.adversaryAction(this.zombie, new Point(6, 10));
+
+		assertFalse(this.locations.getPlayers().containsKey(this.player));
+		assertEquals(new Point(6, 10), this.locations.getAdversaries().get(this.zombie));
+		assertEquals(Arrays.asList("moved Zombie 6,8 6,9", "removed Player 6,10", "moved Zombie 6,9 6,10"),
+				this.changes);
+	}
+
+	//Test that a player who runs into an adversary, or an actor removed from the level, is removed
+	@Test
+	public void testRemove() {
+		this.player.decreaseHealth(this.player.getCurrentHealth() - 1);
+		this.level.playerAction(this.player, new Point(6, 8));
+		this.level.removeActor(this.ghost);
+
+		assertTrue(this.locations.getPlayers().isEmpty());
+		assertEquals(1, this.locations.getAdversaries().size());
+		assertEquals(Arrays.asList("removed Player 6,10", "removed Ghost 1,15"), this.changes);
+	}
+
+	//Test that the views cannot be changed, and that a removed listener is not told about changes
+	@Test
+	public void testViews() {
+		Map<Player, Point> players = this.locations.getPlayers();
+		this.level.removeLocationListener(this.locations);
+		this.level.playerAction(this.player, new Point(7, 10));
+
+		assertEquals(new Point(6, 10), players.get(this.player));
+		assertTrue(this.changes.isEmpty());
+		try {
+			players.remove(this.player);
+			fail("The players can be changed");
+		} catch (UnsupportedOperationException e) {
+			//The view is read-only
+		}
+	}
+}
@@ -219,6 +219,58 @@ public class ActorTest {
     assertFalse(player.checkValidMovePath(new Point(0,5), new Point(0, 6), badMap4));
   }
   
+  //Tests for findReachableMoves
+  @Test
+  public void testFindReachableMovesOpen() {
+    Player player = new Player();
+    long all = (1L << 25) - 1;
+    //Only cells within two cardinal steps of the center can be reached
+    long expected = 0;
+    for (int y = -2; y <= 2; y++) {
+      for (int x = -2; x <= 2; x++) {
+        if (Math.abs(x) + Math.abs(y) <= 2) {
+          expected |= 1L << Player.getMoveWindowBit(x, y);
+        }
+      }
+    }
+    assertEquals(expected, player.findReachableMoves(all, 0L));
+  }
+
+  @Test
+  public void testFindReachableMovesWalls() {
+    Player player = new Player();
+    long start = 1L << Player.getMoveWindowBit(0, 0);
+    long right = 1L << Player.getMoveWindowBit(1, 0);
+    long beyondWall = 1L << Player.getMoveWindowBit(2, 0);
+    //Only the start and the cell two to the right can be walked on
+    long reachable = player.findReachableMoves(start | beyondWall, 0L);
+    assertEquals(start, reachable);
+    //Once the cell between them is open the move is allowed
+    reachable = player.findReachableMoves(start | right | beyondWall, 0L);
+    assertEquals(start | right | beyondWall, reachable);
+  }
+
+  @Test
+  public void testFindReachableMovesThroughPlayer() {
+    Player player = new Player();
+    long start = 1L << Player.getMoveWindowBit(0, 0);
+    long other = 1L << Player.getMoveWindowBit(0, 1);
+    long below = 1L << Player.getMoveWindowBit(0, 2);
+    //A player can be walked through but not landed on
+    long reachable = player.findReachableMoves(start | below, other);
+    assertEquals(start | below, reachable);
+  }
+
+  @Test
+  public void testCheckValidMovePathOutsideWindow() {
+    EntityType s = EntityType.SPACE;
+    Actor player = new Player();
+    List<List<EntityType>> map = Arrays.asList(
+        Arrays.asList(s, s, s, s));
+    assertFalse(player.checkValidMovePath(new Point(0, 0), new Point(3, 0), map));
+    assertTrue(player.checkValidMovePath(new Point(0, 0), new Point(2, 0), map));
+  }
+
   //Tests for cropViewableMap
 
   @Test 
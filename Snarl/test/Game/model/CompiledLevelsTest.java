@@ -0,0 +1,150 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import Game.modelView.EntityType;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the LevelCompiler and CompiledLevels classes
+public class CompiledLevelsTest {
+
+	private ModelCreator creator;
+	private File file;
+
+	//Initialize the model and a file to compile levels to
+	@Before
+	public void initFile() throws IOException {
+		this.creator = new ModelCreator();
+		this.file = File.createTempFile("levels", ".snlc");
+		this.file.deleteOnExit();
+	}
+
+	//Gets the items of the first level
+	private List<Item> getLevel1Items() {
+		return new ArrayList<Item>(Arrays.asList(new Exit(this.creator.getLevel1Exit().getLocation()),
+				new Key(this.creator.getLevel1Key().getLocation())));
+	}
+
+	//Test that levels loaded from a compiled file match the levels they were compiled from
+	@Test
+	public void testRoundTrip() throws IOException {
+		LevelCompiler compiler = new LevelCompiler();
+		compiler.addLevel(this.creator.initializeLevel1Map(), getLevel1Items());
+		LevelGenerator generator = new LevelGenerator(6, 40, 3, 9, 2);
+		compiler.addLevel(generator.createLevelMap(), generator.createItems());
+		compiler.write(this.file.getPath());
+
+		CompiledLevels levels = new CompiledLevels(this.file.getPath());
+		assertEquals(2, levels.size());
+		Level level1 = new LevelImpl(this.creator.initializeLevel1Map(), getLevel1Items());
+		assertEquals(level1.getMap(), levels.get(0).getMap());
+		assertEquals(level1.getItems(), levels.get(0).getItems());
+		assertEquals(level1.getLevelMap(), levels.get(0).getLevelMap());
+		assertEquals(generator.createLevel().getMap(), levels.get(1).getMap());
+		assertTrue(new LevelValidator(levels.get(1).getLevelMap()).isValid());
+	}
+
+	//Test that levels are only built when they are asked for, and only once
+	@Test
+	public void testLazyLevels() throws IOException {
+		LevelCompiler compiler = new LevelCompiler();
+		for (int i = 0; i < 5; i++) {
+			LevelGenerator generator = new LevelGenerator(i, 10);
+			compiler.addLevel(generator.createLevelMap(), generator.createItems());
+		}
+		compiler.write(this.file.getPath());
+
+		CompiledLevels levels = new CompiledLevels(this.file.getPath());
+		assertFalse(levels.isBuilt(3));
+		Level level = levels.get(3);
+		assertTrue(levels.isBuilt(3));
+		assertFalse(levels.isBuilt(0));
+		assertSame(level, levels.get(3));
+		assertEquals(new LevelGenerator(3, 10).createLevel().getMap(), level.getMap());
+	}
+
+	//Test that every game of a compiled file shares the templates of its levels
+	@Test
+	public void testNewGameSharesTemplates() throws IOException {
+		LevelCompiler compiler = new LevelCompiler();
+		compiler.addLevel(this.creator.initializeLevel1Map(), getLevel1Items());
+		compiler.write(this.file.getPath());
+
+		CompiledLevels levels = new CompiledLevels(this.file.getPath());
+		Level firstGame = levels.get(0);
+		CompiledLevels secondGameLevels = levels.newGame();
+		assertFalse(secondGameLevels.isBuilt(0));
+		Level secondGame = secondGameLevels.get(0);
+		assertNotSame(firstGame, secondGame);
+		assertSame(levels.getTemplate(0), secondGameLevels.getTemplate(0));
+
+		Player player = new Player("Player");
+		firstGame.placeActors(Arrays.asList(player), new ArrayList<Adversary>());
+		assertEquals(EntityType.PLAYER, firstGame.getMap().get(1).get(1));
+		assertEquals(EntityType.SPACE, secondGame.getMap().get(1).get(1));
+	}
+
+	//Test that a compiled level can be played by a dungeon
+	@Test
+	public void testStartCompiledLevel() throws IOException {
+		LevelCompiler compiler = new LevelCompiler();
+		compiler.addLevel(this.creator.initializeLevel1Map(), getLevel1Items());
+		compiler.write(this.file.getPath());
+
+		List<Player> players = new ArrayList<>(Arrays.asList(new Player("Player")));
+		Dungeon dungeon = new Dungeon(players, 1, new CompiledLevels(this.file.getPath()));
+		Level level = dungeon.startCurrentLevel(new ArrayList<Adversary>(Arrays.asList(new Zombie("Zombie"))));
+		assertEquals(1, level.getActivePlayers().size());
+		assertEquals(1, level.getActiveAdversaries().size());
+	}
+
+	//Test that only compiled files are recognized as compiled
+	@Test
+	public void testIsCompiled() throws IOException {
+		new LevelCompiler().write(this.file.getPath());
+		assertTrue(CompiledLevels.isCompiled(this.file.getPath()));
+		assertEquals(0, new CompiledLevels(this.file.getPath()).size());
+
+		try (FileOutputStream out = new FileOutputStream(this.file)) {
+			out.write("1\n{\"type\": \"level\"}".getBytes("UTF-8"));
+		}
+		assertFalse(CompiledLevels.isCompiled(this.file.getPath()));
+	}
+
+	//Test that a file that is not compiled cannot be opened
+	@Test (expected = IllegalArgumentException.class)
+	public void testOpenNotCompiled() throws IOException {
+		try (FileOutputStream out = new FileOutputStream(this.file)) {
+			out.write("1\n{\"type\": \"level\"}".getBytes("UTF-8"));
+		}
+		new CompiledLevels(this.file.getPath());
+	}
+
+	//Test that a truncated file is rejected when it is opened
+	@Test (expected = IllegalArgumentException.class)
+	public void testOpenTruncated() throws IOException {
+		LevelCompiler compiler = new LevelCompiler();
+		compiler.addLevel(this.creator.initializeLevel1Map(), getLevel1Items());
+		compiler.write(this.file.getPath());
+		try (RandomAccessFile out = new RandomAccessFile(this.file, "rw")) {
+			out.setLength(out.length() - 10);
+		}
+		new CompiledLevels(this.file.getPath());
+	}
+
+	//Test that levels with actors in them cannot be compiled
+	@Test (expected = IllegalArgumentException.class)
+	public void testCompileWithActors() {
+		Room room = this.creator.initializeRoom5();
+		new LevelCompiler().addLevel(new ArrayList<LevelComponent>(Arrays.asList(room)), new ArrayList<Item>());
+	}
+}
@@ -0,0 +1,89 @@
+package Game.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the ComponentIndex class
+public class ComponentIndexTest {
+  private List<LevelComponent> levelMap;
+  private ComponentIndex index;
+
+  @Before
+  public void initIndex() {
+    ModelCreator creator = new ModelCreator();
+    this.levelMap = creator.initializeLevel1Map();
+    this.index = new ComponentIndex(this.levelMap);
+  }
+
+  //Tests that a point in a room maps to that room
+  @Test
+  public void testFindRoom() {
+    assertEquals(0, this.index.findComponentIndex(new Point(1, 1)));
+    assertEquals(1, this.index.findComponentIndex(new Point(7, 11)));
+    assertEquals(3, this.index.findComponentIndex(new Point(15, 15)));
+  }
+
+  //Tests that doors belong to the room and not the hall connected to them
+  @Test
+  public void testFindDoor() {
+    assertEquals(0, this.index.findComponentIndex(new Point(3, 2)));
+    assertEquals(1, this.index.findComponentIndex(new Point(6, 7)));
+  }
+
+  //Tests that a point along a hall maps to that hall
+  @Test
+  public void testFindHall() {
+    assertEquals(4, this.index.findComponentIndex(new Point(4, 2)));
+    assertEquals(4, this.index.findComponentIndex(new Point(6, 2)));
+    assertEquals(5, this.index.findComponentIndex(new Point(4, 11)));
+  }
+
+  //Tests that points outside of every component are not found
+  @Test
+  public void testFindNoComponent() {
+    assertEquals(-1, this.index.findComponentIndex(new Point(11, 0)));
+    assertEquals(-1, this.index.findComponentIndex(new Point(5, 3)));
+    assertEquals(-1, this.index.findComponentIndex(new Point(-10, 40)));
+  }
+
+  //Tests that the index agrees with checking every component for every point in the level
+  @Test
+  public void testMatchesComponentScan() {
+    Point topLeft = this.index.getTopLeftBound();
+    Point bottomRight = this.index.getBottomRightBound();
+    for (int y = topLeft.y - 1; y <= bottomRight.y + 1; y++) {
+      for (int x = topLeft.x - 1; x <= bottomRight.x + 1; x++) {
+        Point point = new Point(x, y);
+        int expected = -1;
+        for (int i = 0; i < this.levelMap.size(); i++) {
+          if (this.levelMap.get(i).inComponent(point)) {
+            expected = i;
+            break;
+          }
+        }
+        assertEquals(expected, this.index.findComponentIndex(point));
+      }
+    }
+  }
+
+  //Tests the bounds of the area covered by the components
+  @Test
+  public void testBounds() {
+    assertEquals(new Point(0, 0), this.index.getTopLeftBound());
+    assertEquals(new Point(17, 18), this.index.getBottomRightBound());
+  }
+
+  //Tests that the doors near a window include every door in the window
+  @Test
+  public void testDoorCandidates() {
+    List<Point> candidates = this.index.getDoorCandidates(1, 0, 5, 4);
+    assertTrue(candidates.contains(new Point(3, 2)));
+    assertFalse(this.index.getDoorCandidates(30, 30, 34, 34).contains(new Point(3, 2)));
+  }
+}
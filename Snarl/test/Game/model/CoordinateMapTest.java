@@ -0,0 +1,100 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+//Tests for the CoordinateMap and Coordinates classes
+public class CoordinateMapTest {
+
+	//Test that packed cells unpack to the same column and row, including negative ones
+	@Test
+	public void testPackCoordinates() {
+		int[] values = {0, 1, -1, 17, -4000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		for (int x : values) {
+			for (int y : values) {
+				long cell = Coordinates.pack(x, y);
+				assertEquals(x, Coordinates.getX(cell));
+				assertEquals(y, Coordinates.getY(cell));
+				assertEquals(new Point(x, y), Coordinates.toPoint(cell));
+				assertEquals(cell, Coordinates.pack(new Point(x, y)));
+			}
+		}
+		assertNotEquals(Coordinates.pack(1, 2), Coordinates.pack(2, 1));
+	}
+
+	//Test that a cell keeps the first value it was mapped to
+	@Test
+	public void testPutIfAbsent() {
+		CoordinateMap map = new CoordinateMap();
+		assertEquals(-1, map.get(3, 4));
+		assertTrue(map.putIfAbsent(3, 4, 0));
+		assertFalse(map.putIfAbsent(3, 4, 7));
+		assertEquals(0, map.get(3, 4));
+		assertEquals(-1, map.get(4, 3));
+		assertEquals(1, map.size());
+	}
+
+	//Test that the map matches a HashMap as it grows to many cells
+	@Test
+	public void testManyCells() {
+		CoordinateMap map = new CoordinateMap();
+		Map<Point, Integer> expected = new HashMap<>();
+		Random random = new Random(5);
+		for (int i = 0; i < 20000; i++) {
+			int x = random.nextInt(400) - 200;
+			int y = random.nextInt(400) - 200;
+			assertEquals(expected.putIfAbsent(new Point(x, y), i) == null, map.putIfAbsent(x, y, i));
+		}
+		assertEquals(expected.size(), map.size());
+		for (int x = -200; x < 200; x++) {
+			for (int y = -200; y < 200; y++) {
+				Integer value = expected.get(new Point(x, y));
+				assertEquals(value == null ? -1 : value.intValue(), map.get(x, y));
+			}
+		}
+	}
+
+	//Test that the map matches a HashMap as cells are put and removed at random
+	@Test
+	public void testPutAndRemove() {
+		CoordinateMap map = new CoordinateMap();
+		Map<Point, Integer> expected = new HashMap<>();
+		Random random = new Random(9);
+		for (int i = 0; i < 50000; i++) {
+			int x = random.nextInt(60) - 30;
+			int y = random.nextInt(60) - 30;
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(new Point(x, y)) != null, map.remove(x, y));
+			} else {
+				expected.put(new Point(x, y), i);
+				map.put(x, y, i);
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		for (int x = -30; x < 30; x++) {
+			for (int y = -30; y < 30; y++) {
+				Integer value = expected.get(new Point(x, y));
+				assertEquals(value == null ? -1 : value.intValue(), map.get(x, y));
+			}
+		}
+		Set<Point> cells = new HashSet<>();
+		for (long cell : map.getCells()) {
+			cells.add(Coordinates.toPoint(cell));
+		}
+		assertEquals(expected.keySet(), cells);
+	}
+
+	//Test that cells cannot be mapped to negative values
+	@Test (expected = IllegalArgumentException.class)
+	public void testNegativeValue() {
+		new CoordinateMap().putIfAbsent(0, 0, -1);
+	}
+}
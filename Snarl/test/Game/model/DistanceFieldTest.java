@@ -0,0 +1,88 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the DistanceField class, on the first level of the ModelCreator
+public class DistanceFieldTest {
+
+	private DistanceField field;
+
+	@Before
+	public void initField() {
+		this.field = new ModelCreator().initializeLevel1NoActor().createDistanceField();
+	}
+
+	//Test that every location is unreachable before the field is computed
+	@Test
+	public void testEmptyField() {
+		assertEquals(DistanceField.unreachable, this.field.getDistance(1, 1));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(new Point(6, 11)));
+		assertEquals(0, this.field.getReachedCount());
+	}
+
+	//Test the distances from one source, along the halls and into other rooms
+	@Test
+	public void testSingleSource() {
+		this.field.compute(Arrays.asList(new Point(4, 2)));
+		assertEquals(0, this.field.getDistance(4, 2));
+		assertEquals(1, this.field.getDistance(3, 2));
+		assertEquals(4, this.field.getDistance(1, 1));
+		assertEquals(7, this.field.getDistance(6, 7));
+		assertEquals(11, this.field.getDistance(6, 11));
+		assertEquals(18, this.field.getDistance(2, 14));
+		assertEquals(24, this.field.getDistance(16, 14));
+	}
+
+	//Test that walls, empty locations and locations outside of the level are unreachable
+	@Test
+	public void testUnreachable() {
+		this.field.compute(Arrays.asList(new Point(4, 2)));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(0, 0));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(3, 1));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(10, 5));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(-3, 2));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(100, 100));
+	}
+
+	//Test that each location has the distance of the nearest source
+	@Test
+	public void testMultipleSources() {
+		this.field.compute(Arrays.asList(new Point(4, 2), new Point(2, 16)));
+		assertEquals(0, this.field.getDistance(2, 16));
+		assertEquals(2, this.field.getDistance(2, 14));
+		assertEquals(5, this.field.getDistance(2, 11));
+		assertEquals(9, this.field.getDistance(6, 11));
+		assertEquals(9, this.field.getDistance(6, 9));
+	}
+
+	//Test that sources on walls or outside of the level are ignored
+	@Test
+	public void testInvalidSources() {
+		this.field.compute(Arrays.asList(new Point(0, 0), new Point(-5, -5)));
+		assertEquals(0, this.field.getReachedCount());
+		assertEquals(DistanceField.unreachable, this.field.getDistance(1, 1));
+	}
+
+	//Test that computing the field again forgets the distances of the last computation
+	@Test
+	public void testRecompute() {
+		this.field.compute(Arrays.asList(new Point(4, 2)));
+		assertEquals(58, this.field.getReachedCount());
+
+		this.field.compute(Arrays.asList(new Point(16, 14)));
+		assertEquals(0, this.field.getDistance(16, 14));
+		assertEquals(24, this.field.getDistance(4, 2));
+
+		this.field.compute(new ArrayList<Point>());
+		assertEquals(0, this.field.getReachedCount());
+		assertEquals(DistanceField.unreachable, this.field.getDistance(4, 2));
+		assertEquals(DistanceField.unreachable, this.field.getDistance(16, 14));
+	}
+}
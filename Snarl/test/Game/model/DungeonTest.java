@@ -2,8 +2,12 @@ package Game.model;
 
 import static org.junit.Assert.*;
 
+import java.awt.Point;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -117,4 +121,170 @@ public class DungeonTest {
 		assertEquals(false, dungeon.isLastLevel());	
 	}
 
-}
\ No newline at end of file
+	//Test that a snapshot shows the same state as the dungeon it was taken of
+	@Test
+	public void testSnapshotMatchesDungeon() {
+		dungeon.startCurrentLevel(this.adversaries);
+		DungeonSnapshot snapshot = dungeon.getSnapshot();
+		Player player = this.players.get(0);
+
+		assertEquals(dungeon.getCurrentLevelIndex(), snapshot.getCurrentLevelIndex());
+		assertEquals(dungeon.isGameOver(), snapshot.isGameOver());
+		assertEquals(dungeon.isLevelOver(), snapshot.isLevelOver());
+		assertEquals(dungeon.getCurrentLevel().getMap(), snapshot.getCurrentLevelModelView().getMap());
+		assertEquals(dungeon.isPlayerAlive(player), snapshot.isPlayerAlive(player));
+		assertEquals(dungeon.getPosition(player), snapshot.getPosition(player));
+		assertEquals(dungeon.getPlayerMap(player), snapshot.getPlayerMap(player));
+		assertEquals(dungeon.getValidMoves(player), snapshot.getValidMoves(player));
+		assertEquals(dungeon.getVisibleDoors(player), snapshot.getVisibleDoors(player));
+		assertEquals(dungeon.getVisibleItems(player), snapshot.getVisibleItems(player));
+		assertEquals(dungeon.getVisibleActors(player), snapshot.getVisibleActors(player));
+		assertEquals(dungeon.getPosition(this.adversaries.get(0)), snapshot.getPosition(this.adversaries.get(0)));
+	}
+
+	//Test that a snapshot does not change when the game goes on
+	@Test
+	public void testSnapshotUnchangedByMoves() {
+		dungeon.startCurrentLevel(this.adversaries);
+		Player player = this.players.get(0);
+		DungeonSnapshot snapshot = dungeon.getSnapshot();
+		Point position = snapshot.getPosition(player);
+		List<List<Game.modelView.EntityType>> map = snapshot.getCurrentLevelModelView().getMap();
+		String drawnMap = map.toString();
+		List<Point> validMoves = new ArrayList<>(snapshot.getValidMoves(player));
+
+		//Move the player to a valid move other than staying in place
+		Point destination = validMoves.get(0).equals(position) ? validMoves.get(1) : validMoves.get(0);
+		dungeon.getCurrentLevel().playerAction(player, destination);
+
+		assertEquals(destination, dungeon.getPosition(player));
+		assertEquals(position, snapshot.getPosition(player));
+		assertEquals(drawnMap, snapshot.getCurrentLevelModelView().getMap().toString());
+		assertEquals(validMoves, snapshot.getValidMoves(player));
+		assertEquals(destination, dungeon.getSnapshot().getPosition(player));
+		assertNotEquals(drawnMap, dungeon.getSnapshot().getCurrentLevelModelView().getMap().toString());
+	}
+
+	//Test that views first asked for after the game goes on still show the game when the snapshot was taken
+	@Test
+	public void testSnapshotViewsFoundLater() {
+		dungeon.startCurrentLevel(this.adversaries);
+		Player player = this.players.get(0);
+		List<Point> validMoves = dungeon.getValidMoves(player);
+		List<List<Game.modelView.EntityType>> playerMap = dungeon.getPlayerMap(player);
+		List<Item> visibleItems = dungeon.getVisibleItems(player);
+		DungeonSnapshot snapshot = dungeon.getSnapshot();
+		int health = player.getCurrentHealth();
+
+		Point position = dungeon.getPosition(player);
+		Point destination = validMoves.get(0).equals(position) ? validMoves.get(1) : validMoves.get(0);
+		dungeon.getCurrentLevel().playerAction(player, destination);
+		player.decreaseHealth(1);
+
+		assertEquals(validMoves, snapshot.getValidMoves(player));
+		assertEquals(playerMap, snapshot.getPlayerMap(player));
+		assertEquals(visibleItems, snapshot.getVisibleItems(player));
+		assertEquals(health, snapshot.getPlayer(player).getCurrentHealth());
+		assertEquals(health - 1, dungeon.getSnapshot().getPlayer(player).getCurrentHealth());
+	}
+
+	//Test that the level snapshot is shared until the level changes
+	@Test
+	public void testLevelSnapshotShared() {
+		dungeon.startCurrentLevel(this.adversaries);
+		Level level = dungeon.getCurrentLevel();
+		LevelSnapshot snapshot = level.getSnapshot();
+		assertSame(snapshot, level.getSnapshot());
+
+		Player player = this.players.get(0);
+		level.playerAction(player, level.getValidMoves(player).get(0));
+		LevelSnapshot nextSnapshot = level.getSnapshot();
+		assertNotSame(snapshot, nextSnapshot);
+		assertTrue(nextSnapshot.getVersion() > snapshot.getVersion());
+
+		//Items did not change, so the snapshots share the item list
+		assertSame(snapshot.getItems(), nextSnapshot.getItems());
+	}
+
+	//Test that a snapshot keeps where the adversaries were, in turn order, after they move
+	@Test
+	public void testSnapshotAdversariesAfterMove() {
+		dungeon.startCurrentLevel(this.adversaries);
+		Level level = dungeon.getCurrentLevel();
+		Map<Adversary, Point> adversaryLocations = level.getActiveAdversaries();
+		LevelSnapshot snapshot = level.getSnapshot();
+
+		Adversary zombie = this.adversaries.get(this.adversaries.size() - 1);
+		Point location = adversaryLocations.get(zombie);
+		Point destination = new Point(location.x, location.y + 1);
+		assertTrue(level.checkValidMove(zombie, destination));
+		level.adversaryAction(zombie, destination);
+
+		assertEquals(adversaryLocations, snapshot.getActiveAdversaries());
+		assertEquals(new ArrayList<>(adversaryLocations.keySet()),
+				new ArrayList<>(snapshot.getActiveAdversaries().keySet()));
+		assertEquals(location, snapshot.getActorPosition(zombie));
+		assertEquals(level.getActiveAdversaries(), level.getSnapshot().getActiveAdversaries());
+		assertEquals(destination, level.getSnapshot().getActorPosition(zombie));
+		for (Player player : level.getActivePlayers().keySet()) {
+			assertEquals(level.getVisibleActors(player), level.getSnapshot().getVisibleActors(player));
+		}
+	}
+
+	//Test that a snapshot cannot be changed by its readers
+	@Test (expected = UnsupportedOperationException.class)
+	public void testSnapshotReadOnly() {
+		dungeon.startCurrentLevel(this.adversaries);
+		dungeon.getSnapshot().getLevelSnapshot().getActivePlayers().clear();
+	}
+
+	//Test that a snapshot rejects players that are not in the dungeon
+	@Test (expected = IllegalArgumentException.class)
+	public void testSnapshotUnknownPlayer() {
+		dungeon.startCurrentLevel(this.adversaries);
+		dungeon.getSnapshot().isPlayerAlive(new Player("Unknown"));
+	}
+
+	//Test that a snapshot rejects players that are not in the level
+	@Test (expected = IllegalArgumentException.class)
+	public void testSnapshotRemovedPlayer() {
+		dungeon.startCurrentLevel(this.adversaries);
+		Player player = this.players.get(0);
+		dungeon.getCurrentLevel().removeActor(player);
+		DungeonSnapshot snapshot = dungeon.getSnapshot();
+		assertFalse(snapshot.isPlayerAlive(player));
+		snapshot.getValidMoves(player);
+	}
+
+	//Test that a dungeon only takes a level from its list of levels when the level is needed
+	@Test
+	public void testLevelsResolvedOnDemand() {
+		final List<Integer> requested = new ArrayList<>();
+		List<Level> lazyLevels = new AbstractList<Level>() {
+			@Override
+			public Level get(int index) {
+				requested.add(index);
+				return levels.get(index);
+			}
+
+			@Override
+			public int size() {
+				return levels.size();
+			}
+		};
+		Dungeon lazyDungeon = new Dungeon(this.players, 2, lazyLevels);
+		assertTrue(requested.isEmpty());
+		assertFalse(lazyDungeon.getLevelHandle(2).isResolved());
+
+		assertEquals(this.levels.get(1), lazyDungeon.startCurrentLevel(this.adversaries));
+		assertEquals(this.levels.get(1), lazyDungeon.getCurrentLevel());
+		assertFalse(lazyDungeon.isLastLevel());
+		assertEquals(Arrays.asList(1), requested);
+		assertFalse(lazyDungeon.getLevelHandle(1).isResolved());
+
+		assertSame(this.levels.get(2), lazyDungeon.getLevelHandle(3).getLevel());
+		assertEquals(this.levels.get(2), lazyDungeon.getNextLevel());
+		assertEquals(Arrays.asList(1, 2), requested);
+	}
+
+}
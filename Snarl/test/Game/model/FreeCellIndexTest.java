@@ -0,0 +1,125 @@
+package Game.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the FreeCellIndex class
+public class FreeCellIndexTest {
+  private ModelCreator creator;
+  private Room room;
+  private LevelGrid grid;
+  private FreeCellIndex index;
+
+  @Before
+  public void initIndex() {
+    this.creator = new ModelCreator();
+    this.room = this.creator.initializeRoom1();
+    this.grid = createGrid(this.room);
+    this.index = new FreeCellIndex(this.room, this.grid);
+  }
+
+  //Creates the grid of a level made of only the room
+  private LevelGrid createGrid(Room room) {
+    List<LevelComponent> levelMap = Arrays.asList((LevelComponent)room);
+    return new LevelGrid(levelMap, new ComponentIndex(levelMap));
+  }
+
+  //Creates a room of spaces that needs more than one word of bits
+  private Room createLargeRoom(int size) {
+    List<List<Tile>> componentMap = new ArrayList<>();
+    for (int y = 0; y < size; y++) {
+      List<Tile> row = new ArrayList<>();
+      for (int x = 0; x < size; x++) {
+        row.add(new Space());
+      }
+      componentMap.add(row);
+    }
+    return new Room(new Point(3, 4), componentMap);
+  }
+
+  //Tests that only the spaces of a new room are free
+  @Test
+  public void testInitialFreeCells() {
+    assertEquals(5, this.index.getFreeCellCount());
+    assertTrue(this.index.isFree(new Point(1, 1)));
+    assertTrue(this.index.isFree(new Point(3, 2)));
+    assertFalse(this.index.isFree(new Point(0, 0)));
+    assertFalse(this.index.isFree(new Point(10, 10)));
+  }
+
+  //Tests that free cells are ranked in row-major order
+  @Test
+  public void testGetFreeCell() {
+    assertEquals(new Point(1, 1), this.index.getFirstFreeCell());
+    assertEquals(new Point(2, 1), this.index.getFreeCell(1));
+    assertEquals(new Point(1, 2), this.index.getFreeCell(2));
+    assertEquals(new Point(3, 2), this.index.getFreeCell(4));
+  }
+
+  //Tests that placing and removing an actor updates the free cells
+  @Test
+  public void testUpdate() {
+    this.grid.placeActor(this.creator.getPlayer1(), new Point(1, 1));
+    this.index.update(new Point(1, 1));
+    assertEquals(4, this.index.getFreeCellCount());
+    assertEquals(new Point(2, 1), this.index.getFirstFreeCell());
+
+    this.grid.removeActor(new Point(1, 1));
+    this.index.update(new Point(1, 1));
+    assertEquals(5, this.index.getFreeCellCount());
+    assertEquals(new Point(1, 1), this.index.getFirstFreeCell());
+  }
+
+  //Tests that a cell holding an item is not free
+  @Test
+  public void testItemNotFree() {
+    this.grid.placeItem(new Key(new Point(2, 2)));
+    FreeCellIndex itemIndex = new FreeCellIndex(this.room, this.grid);
+    assertEquals(4, itemIndex.getFreeCellCount());
+    assertFalse(itemIndex.isFree(new Point(2, 2)));
+  }
+
+  //Tests that every rank is found in a room that spans several words
+  @Test
+  public void testLargeRoom() {
+    Room largeRoom = createLargeRoom(20);
+    LevelGrid largeGrid = createGrid(largeRoom);
+    FreeCellIndex largeIndex = new FreeCellIndex(largeRoom, largeGrid);
+    assertEquals(400, largeIndex.getFreeCellCount());
+
+    //Fill every third cell so that the words have different counts
+    for (int y = 4; y < 24; y++) {
+      for (int x = 3; x < 23; x++) {
+        if ((x + y) % 3 == 0) {
+          largeGrid.placeActor(new Ghost(), new Point(x, y));
+          largeIndex.update(new Point(x, y));
+        }
+      }
+    }
+
+    int rank = 0;
+    for (int y = 4; y < 24; y++) {
+      for (int x = 3; x < 23; x++) {
+        if ((x + y) % 3 != 0) {
+          assertEquals(new Point(x, y), largeIndex.getFreeCell(rank));
+          rank++;
+        }
+      }
+    }
+    assertEquals(rank, largeIndex.getFreeCellCount());
+  }
+
+  //Tests that a rank past the last free cell is not allowed
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetFreeCellOutOfRange() {
+    this.index.getFreeCell(5);
+  }
+}
@@ -1,8 +1,14 @@
 package Game.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -56,6 +62,23 @@ public class HallTest {
 
   //Tests that the starting rooms are initialized properly. This is done in the constructor
   //and the returned room should be pointing to the same thing that we passed into the constructor.
+  //A hall built from a list of tiles only takes empty spaces, since the tiles have no location yet
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWithActor() {
+    new Hall(Arrays.<Tile>asList(new Space(null, new Player())), new ArrayList<Point>());
+  }
+
+  //Tests that a tile of the hall shows an actor placed after the tile was asked for
+  @Test
+  public void testTileFollowsHall() {
+    Tile tile = this.hall1.getDestinationTile(new Point(5, 2));
+    Player player = new Player();
+    this.hall1.placeActor(player, new Point(5, 2));
+    assertEquals(player, tile.getActor());
+    this.hall1.removeActor(player);
+    assertEquals(new Space(), tile);
+  }
+
   @Test
   public void testGetStartRoom() {
     assertEquals(this.room1, this.hall1.getStartRoom());
@@ -70,4 +93,64 @@ public class HallTest {
     assertEquals(this.room4, this.hall3.getEndRoom());
   }
 
-}
\ No newline at end of file
+  //Tests the number of tiles in each hall
+  @Test
+  public void testGetLength() {
+    assertEquals(7, this.hall1.getLength());
+    assertEquals(13, this.hall2.getLength());
+  }
+
+  //Tests finding the location of a tile from its index along the hall
+  @Test
+  public void testGetTileLocation() {
+    assertEquals(new Point(4, 2), this.hall2.getTileLocation(0));
+    assertEquals(new Point(9, 2), this.hall2.getTileLocation(5));
+    assertEquals(new Point(9, 3), this.hall2.getTileLocation(6));
+    assertEquals(new Point(8, 4), this.hall2.getTileLocation(8));
+    assertEquals(new Point(6, 6), this.hall2.getTileLocation(12));
+  }
+
+  //Tests that an index past the end of the hall is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetTileLocationOutOfRange() {
+    this.hall2.getTileLocation(13);
+  }
+
+  //Tests that iterating over the hall visits each tile in order
+  @Test
+  public void testCellIterator() {
+    List<Point> expected = Arrays.asList(
+        new Point(4, 2), new Point(5, 2), new Point(6, 2), new Point(7, 2), new Point(8, 2),
+        new Point(9, 2), new Point(9, 3), new Point(9, 4), new Point(8, 4), new Point(7, 4),
+        new Point(6, 4), new Point(6, 5), new Point(6, 6));
+    List<Point> actual = new ArrayList<>();
+    Iterator<Point> cells = this.hall2.cellIterator();
+    while (cells.hasNext()) {
+      actual.add(cells.next());
+    }
+    assertEquals(expected, actual);
+    assertEquals(expected, this.hall2.getTileLocations());
+  }
+
+  //Tests that every tile location maps back to its index and the doors are not in the hall
+  @Test
+  public void testInComponent() {
+    for (int i = 0; i < this.hall2.getLength(); i++) {
+      Point location = this.hall2.getTileLocation(i);
+      assertTrue(this.hall2.inComponent(location));
+    }
+    assertFalse(this.hall2.inComponent(new Point(3, 2)));
+    assertFalse(this.hall2.inComponent(new Point(6, 7)));
+    assertFalse(this.hall2.inComponent(new Point(7, 3)));
+    assertFalse(this.hall2.inComponent(new Point(10, 2)));
+  }
+
+  //Tests that an actor placed in the hall is located at the same point
+  @Test
+  public void testFindActorLocation() {
+    Player player = this.creator.getPlayer1();
+    this.hall2.placeActor(player, new Point(7, 4));
+    assertEquals(new Point(7, 4), this.hall2.findActorLocation(player));
+    assertEquals(player, this.hall2.getDestinationTile(new Point(7, 4)).getActor());
+  }
+}
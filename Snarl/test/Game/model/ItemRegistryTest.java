@@ -0,0 +1,78 @@
+package Game.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import Game.modelView.EntityType;
+import java.awt.Point;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the ItemRegistry class
+public class ItemRegistryTest {
+  private Key key;
+  private Exit exit;
+  private ItemRegistry registry;
+
+  @Before
+  public void initRegistry() {
+    this.key = new Key(new Point(4, 17));
+    this.exit = new Exit(new Point(7, 11));
+    this.registry = new ItemRegistry(Arrays.<Item>asList(this.key, this.exit));
+  }
+
+  //Tests that items are found by location
+  @Test
+  public void testGetItem() {
+    assertEquals(this.key, this.registry.getItem(new Point(4, 17)));
+    assertEquals(this.exit, this.registry.getItem(new Point(7, 11)));
+    assertNull(this.registry.getItem(new Point(0, 0)));
+  }
+
+  //Tests that items are counted and listed by EntityType
+  @Test
+  public void testGetItemsByType() {
+    assertEquals(1, this.registry.getItemCount(EntityType.KEY));
+    assertEquals(1, this.registry.getItemCount(EntityType.EXIT));
+    assertEquals(0, this.registry.getItemCount(EntityType.PLAYER));
+    assertEquals(Arrays.<Item>asList(this.key), this.registry.getItems(EntityType.KEY));
+    assertTrue(this.registry.getItems(EntityType.PLAYER).isEmpty());
+  }
+
+  //Tests that removing an item removes it from every index and keeps the order of the rest
+  @Test
+  public void testRemoveItem() {
+    Key otherKey = new Key(new Point(1, 1));
+    this.registry.addItem(otherKey);
+    assertTrue(this.registry.removeItem(new Key(new Point(4, 17))));
+    assertNull(this.registry.getItem(new Point(4, 17)));
+    assertEquals(1, this.registry.getItemCount(EntityType.KEY));
+    assertEquals(Arrays.<Item>asList(this.exit, otherKey), this.registry.getItems());
+    assertFalse(this.registry.removeItem(this.key));
+    assertFalse(this.registry.removeItem(null));
+  }
+
+  //Tests that items sharing a location are tracked until they no longer share it
+  @Test
+  public void testSharedLocations() {
+    assertFalse(this.registry.hasSharedLocations());
+    Key sharedKey = new Key(new Point(7, 11));
+    this.registry.addItem(sharedKey);
+    assertTrue(this.registry.hasSharedLocations());
+    assertEquals(this.exit, this.registry.getItem(new Point(7, 11)));
+    assertEquals(3, this.registry.getItems().size());
+
+    this.registry.removeItem(this.exit);
+    assertFalse(this.registry.hasSharedLocations());
+    assertEquals(sharedKey, this.registry.getItem(new Point(7, 11)));
+  }
+
+  //Tests that the list of items cannot be changed from outside of the registry
+  @Test(expected = UnsupportedOperationException.class)
+  public void testGetItemsReadOnly() {
+    this.registry.getItems().clear();
+  }
+}
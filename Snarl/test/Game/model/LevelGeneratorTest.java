@@ -0,0 +1,127 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import Game.modelView.EntityType;
+
+//Tests for the LevelGenerator class
+public class LevelGeneratorTest {
+
+	//Test that the same seed and settings always generate the same level
+	@Test
+	public void testSameSeedSameLevel() {
+		Level first = new LevelGenerator(7, 30, 4, 9, 2).createLevel();
+		Level second = new LevelGenerator(7, 30, 4, 9, 2).createLevel();
+		assertEquals(first.getMap(), second.getMap());
+		assertEquals(first.getItems(), second.getItems());
+	}
+
+	//Test that different seeds generate different levels
+	@Test
+	public void testDifferentSeedDifferentLevel() {
+		assertNotEquals(new LevelGenerator(1, 30).createLevel().getMap(),
+				new LevelGenerator(2, 30).createLevel().getMap());
+	}
+
+	//Test that generated levels of many sizes and shapes are valid
+	@Test
+	public void testGeneratedLevelsValid() {
+		for (long seed = 0; seed < 20; seed++) {
+			for (int numRooms : Arrays.asList(1, 2, 5, 12, 100)) {
+				for (int hallWindings = 0; hallWindings < 3; hallWindings++) {
+					LevelGenerator generator = new LevelGenerator(seed, numRooms, 3, 8, hallWindings);
+					LevelValidator validator = new LevelValidator(generator.createLevelMap());
+					assertEquals(validator.getReport(), new ArrayList<String>(), validator.getViolations());
+				}
+			}
+		}
+	}
+
+	//Test that the level has the requested rooms, a hall for each room after the first,
+	//and a key and exit inside different rooms
+	@Test
+	public void testLevelContents() {
+		LevelGenerator generator = new LevelGenerator(3, 50);
+		Level level = generator.createLevel();
+		int rooms = 0;
+		for (LevelComponent component : level.getLevelMap()) {
+			if (component instanceof Room) {
+				rooms++;
+			}
+		}
+		assertEquals(50, rooms);
+		assertEquals(50, generator.getRoomCount());
+		assertTrue(generator.getHallCount() >= 49);
+		assertEquals(50 + generator.getHallCount(), level.getLevelMap().size());
+
+		List<Item> items = level.getItems();
+		assertEquals(2, items.size());
+		LevelComponent exitRoom = level.findComponent(items.get(0).getLocation());
+		LevelComponent keyRoom = level.findComponent(items.get(1).getLocation());
+		assertTrue(exitRoom instanceof Room);
+		assertTrue(keyRoom instanceof Room);
+		assertNotSame(exitRoom, keyRoom);
+		assertEquals(EntityType.EXIT, getEntityType(level, items.get(0).getLocation()));
+		assertEquals(EntityType.KEY, getEntityType(level, items.get(1).getLocation()));
+	}
+
+	//Test that winding halls have more turns than straight ones
+	@Test
+	public void testWindingHalls() {
+		int straightTurns = countWaypoints(new LevelGenerator(4, 40, 4, 8, 0).createLevelMap());
+		int windingTurns = countWaypoints(new LevelGenerator(4, 40, 4, 8, 5).createLevelMap());
+		assertTrue(windingTurns > straightTurns * 3);
+	}
+
+	//Test that each level built from a generator has its own components
+	@Test
+	public void testLevelsDoNotShareComponents() {
+		LevelGenerator generator = new LevelGenerator(5, 10);
+		List<Player> players = new ArrayList<>(Arrays.asList(new Player("Player")));
+		Level first = generator.createLevel(players, new ArrayList<Adversary>());
+		Level second = generator.createLevel();
+		assertNotSame(first.getLevelMap().get(0), second.getLevelMap().get(0));
+		assertEquals(1, first.getActivePlayers().size());
+		assertTrue(second.getActivePlayers().isEmpty());
+	}
+
+	//Test that a level must have at least one room
+	@Test (expected = IllegalArgumentException.class)
+	public void testNoRooms() {
+		new LevelGenerator(1, 0);
+	}
+
+	//Test that rooms must have space inside their walls
+	@Test (expected = IllegalArgumentException.class)
+	public void testRoomTooSmall() {
+		new LevelGenerator(1, 5, 2, 5, 0);
+	}
+
+	//Gets the EntityType drawn at a location of the level
+	private EntityType getEntityType(Level level, Point location) {
+		Point origin = level.getLevelMap().get(0).getTopLeftBound();
+		for (LevelComponent component : level.getLevelMap()) {
+			origin = new Point(Math.min(origin.x, component.getTopLeftBound().x),
+					Math.min(origin.y, component.getTopLeftBound().y));
+		}
+		return level.getMap().get(location.y - origin.y).get(location.x - origin.x);
+	}
+
+	//Counts the waypoints of every hall in the level map
+	private int countWaypoints(List<LevelComponent> levelMap) {
+		int waypoints = 0;
+		for (LevelComponent component : levelMap) {
+			if (component instanceof Hall) {
+				waypoints += ((Hall)component).getWaypoints().size();
+			}
+		}
+		return waypoints;
+	}
+}
@@ -0,0 +1,265 @@
+package Game.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import Game.modelView.EntityType;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the LevelGrid class
+public class LevelGridTest {
+  private ModelCreator creator;
+  private List<LevelComponent> levelMap;
+  private LevelGrid grid;
+
+  @Before
+  public void initGrid() {
+    this.creator = new ModelCreator();
+    this.levelMap = this.creator.initializeLevel1Map();
+    this.grid = new LevelGrid(this.levelMap, new ComponentIndex(this.levelMap));
+  }
+
+  //Finds the EntityType at a point from the first component that contains it
+  private EntityType scanEntityType(Point point) {
+    for (LevelComponent component : this.levelMap) {
+      if (component.inComponent(point)) {
+        return component.getEntityType(component.getDestinationTile(point));
+      }
+    }
+    return EntityType.EMPTY;
+  }
+
+  //Creates a room where every tile is the given tile
+  private Room createFilledRoom(Point position, int size, Tile tile) {
+    List<List<Tile>> componentMap = new ArrayList<>();
+    for (int y = 0; y < size; y++) {
+      componentMap.add(new ArrayList<>(Collections.nCopies(size, tile)));
+    }
+    return new Room(position, componentMap);
+  }
+
+  //Checks that every cell in the grid matches the components
+  private void assertMatchesComponents() {
+    Point origin = this.grid.getOrigin();
+    for (int y = origin.y - 1; y <= origin.y + this.grid.getHeight(); y++) {
+      for (int x = origin.x - 1; x <= origin.x + this.grid.getWidth(); x++) {
+        assertEquals(scanEntityType(new Point(x, y)), this.grid.getEntityType(x, y));
+      }
+    }
+  }
+
+  //Tests that the grid covers the bounds of the level
+  @Test
+  public void testBounds() {
+    assertEquals(new Point(0, 0), this.grid.getOrigin());
+    assertEquals(18, this.grid.getWidth());
+    assertEquals(19, this.grid.getHeight());
+    assertTrue(this.grid.inBounds(17, 18));
+    assertFalse(this.grid.inBounds(18, 18));
+    assertFalse(this.grid.inBounds(-1, 0));
+  }
+
+  //Tests that where rooms overlap, the grid holds the same room that the component index finds
+  @Test
+  public void testOverlapKeepsFirstComponent() {
+    List<LevelComponent> overlapping = Arrays.asList(
+        (LevelComponent)createFilledRoom(new Point(0, 0), 3, new Space()),
+        createFilledRoom(new Point(1, 1), 3, Wall.instance));
+    ComponentIndex index = new ComponentIndex(overlapping);
+    LevelGrid overlapGrid = new LevelGrid(overlapping, index);
+    assertEquals(EntityType.SPACE, overlapGrid.getTerrain(2, 2));
+    assertEquals(0, index.findComponentIndex(new Point(2, 2)));
+    assertEquals(EntityType.WALL, overlapGrid.getTerrain(3, 3));
+    assertEquals(1, index.findComponentIndex(new Point(3, 3)));
+  }
+
+  //Tests that a new grid matches the EntityTypes of the components
+  @Test
+  public void testMatchesComponents() {
+    assertMatchesComponents();
+    assertEquals(EntityType.WALL, this.grid.getTerrain(0, 0));
+    assertEquals(EntityType.SPACE, this.grid.getTerrain(1, 1));
+    assertEquals(EntityType.HALL_SPACE, this.grid.getTerrain(5, 2));
+    assertEquals(EntityType.EMPTY, this.grid.getTerrain(11, 0));
+  }
+
+  //Tests that actors and items already placed in components are copied into the grid
+  @Test
+  public void testCopiesEntities() {
+    Player player = this.creator.getPlayer1();
+    Key key = this.creator.getLevel1Key();
+    this.levelMap.get(0).placeActor(player, new Point(1, 1));
+    this.levelMap.get(2).placeItem(key);
+    LevelGrid entityGrid = new LevelGrid(this.levelMap, new ComponentIndex(this.levelMap));
+
+    assertEquals(player, entityGrid.getActor(1, 1));
+    assertEquals(EntityType.PLAYER, entityGrid.getEntityType(1, 1));
+    assertEquals(key, entityGrid.getItem(4, 17));
+    assertEquals(EntityType.KEY, entityGrid.getEntityType(4, 17));
+  }
+
+  //Tests that actors are drawn over items and the terrain is restored when they leave
+  @Test
+  public void testPlaceAndRemove() {
+    Point keyLocation = this.creator.getLevel1Key().getLocation();
+    Ghost ghost = this.creator.getGhost1();
+
+    this.grid.placeItem(this.creator.getLevel1Key());
+    assertEquals(EntityType.KEY, this.grid.getEntityType(keyLocation.x, keyLocation.y));
+
+    this.grid.placeActor(ghost, keyLocation);
+    assertEquals(EntityType.GHOST, this.grid.getEntityType(keyLocation.x, keyLocation.y));
+    assertEquals(ghost, this.grid.getActor(keyLocation.x, keyLocation.y));
+
+    this.grid.removeActor(keyLocation);
+    assertEquals(EntityType.KEY, this.grid.getEntityType(keyLocation.x, keyLocation.y));
+    assertNull(this.grid.getActor(keyLocation.x, keyLocation.y));
+
+    this.grid.removeItem(keyLocation);
+    assertEquals(EntityType.SPACE, this.grid.getEntityType(keyLocation.x, keyLocation.y));
+    assertNull(this.grid.getItem(keyLocation.x, keyLocation.y));
+  }
+
+  //Tests that an actor placed in a hall is drawn over the hall space
+  @Test
+  public void testPlaceInHall() {
+    this.grid.placeActor(this.creator.getZombie1(), new Point(5, 2));
+    assertEquals(EntityType.ZOMBIE, this.grid.getEntityType(5, 2));
+    this.grid.removeActor(new Point(5, 2));
+    assertEquals(EntityType.HALL_SPACE, this.grid.getEntityType(5, 2));
+  }
+
+  //Tests that the rendered map is only rebuilt when a cell changes
+  @Test
+  public void testEntityMapSnapshot() {
+    List<List<EntityType>> firstMap = this.grid.getEntityMap();
+    assertSame(firstMap, this.grid.getEntityMap());
+    assertEquals(EntityType.HALL_SPACE, firstMap.get(2).get(5));
+
+    this.grid.placeActor(this.creator.getZombie1(), new Point(5, 2));
+    List<List<EntityType>> secondMap = this.grid.getEntityMap();
+    assertNotSame(firstMap, secondMap);
+
+    //The previous snapshot is not changed and rows that did not change are shared
+    assertEquals(EntityType.HALL_SPACE, firstMap.get(2).get(5));
+    assertEquals(EntityType.ZOMBIE, secondMap.get(2).get(5));
+    assertSame(firstMap.get(1), secondMap.get(1));
+  }
+
+  //Tests that snapshots stay correct after a few moves and after more moves than the grid keeps track of
+  @Test
+  public void testSnapshotsAfterManyMoves() {
+    Zombie zombie = this.creator.getZombie1();
+    Point hall = new Point(5, 2);
+    Point room = new Point(1, 1);
+    this.grid.placeActor(zombie, hall);
+    this.grid.getEntityMap();
+    this.grid.getActorRows();
+
+    for (int moves : new int[] {3, 700}) {
+      Point location = hall;
+      for (int i = 0; i < moves; i++) {
+        this.grid.removeActor(location);
+        location = location.equals(hall) ? room : hall;
+        this.grid.placeActor(zombie, location);
+      }
+      Point other = location.equals(hall) ? room : hall;
+
+      List<List<EntityType>> map = this.grid.getEntityMap();
+      assertEquals(EntityType.ZOMBIE, map.get(location.y).get(location.x));
+      assertEquals(this.grid.getEntityType(other.x, other.y), map.get(other.y).get(other.x));
+      assertFalse(EntityType.ZOMBIE == map.get(other.y).get(other.x));
+
+      Map<Actor, Point> actors = this.grid.getActorRows().getActorsInWindow(0, 0, 40, 40);
+      assertEquals(1, actors.size());
+      assertEquals(location, actors.get(zombie));
+    }
+  }
+
+  //Tests that the rendered map cannot be modified
+  @Test(expected = UnsupportedOperationException.class)
+  public void testEntityMapReadOnly() {
+    this.grid.getEntityMap().get(0).set(0, EntityType.SPACE);
+  }
+
+  //Tests that a window at the corner of the level is EMPTY outside of the grid
+  @Test
+  public void testEntityWindow() {
+    List<List<EntityType>> window = this.grid.getEntityWindow(-2, -2, 2, 2);
+    assertEquals(5, window.size());
+    assertEquals(EntityType.EMPTY, window.get(0).get(0));
+    assertEquals(EntityType.WALL, window.get(2).get(2));
+    assertEquals(EntityType.SPACE, window.get(3).get(3));
+  }
+
+  //Tests that only the items and actors inside a window are returned
+  @Test
+  public void testEntitiesInWindow() {
+    Key key = this.creator.getLevel1Key();
+    Zombie zombie = this.creator.getZombie1();
+    this.grid.placeItem(key);
+    this.grid.placeActor(zombie, new Point(2, 17));
+    this.grid.placeActor(this.creator.getPlayer1(), new Point(1, 1));
+
+    assertEquals(Arrays.asList(key), this.grid.getItemsInWindow(2, 15, 6, 19));
+    assertTrue(this.grid.getItemsInWindow(0, 0, 4, 4).isEmpty());
+
+    Map<Actor, Point> actors = this.grid.getActorsInWindow(2, 15, 6, 19);
+    assertEquals(1, actors.size());
+    assertEquals(new Point(2, 17), actors.get(zombie));
+  }
+
+  //Tests that placing outside of the grid is not allowed
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlaceOutOfBounds() {
+    this.grid.placeActor(this.creator.getPlayer1(), new Point(40, 40));
+  }
+
+  //Tests that the grid stays in sync with the level as actors move and pick up the key
+  @Test
+  public void testLevelKeepsGridInSync() {
+    Level level = this.creator.initializeLevel1();
+    Player player = this.creator.getPlayer3();
+    level.playerAction(player, new Point(4, 17));
+    assertEquals(EntityType.PLAYER, level.getMap().get(17).get(4));
+    assertEquals(EntityType.SPACE, level.getMap().get(17).get(3));
+
+    level.adversaryAction(this.creator.getGhost1(), new Point(7, 9));
+    assertEquals(EntityType.GHOST, level.getMap().get(9).get(7));
+    assertEquals(EntityType.SPACE, level.getMap().get(8).get(7));
+
+    level.playerAction(player, new Point(3, 17));
+    assertEquals(EntityType.SPACE, level.getMap().get(17).get(4));
+  }
+
+  //Tests that a grid for a new game starts from the structure and changes independently
+  @Test
+  public void testCopyStructure() {
+    List<List<EntityType>> structureMap = this.grid.getEntityMap();
+    LevelGrid game = new LevelGrid(this.grid);
+    assertSame(structureMap.get(2), game.getEntityMap().get(2));
+
+    game.placeActor(this.creator.getZombie1(), new Point(5, 2));
+    assertEquals(EntityType.ZOMBIE, game.getEntityType(5, 2));
+    assertEquals(EntityType.HALL_SPACE, this.grid.getEntityType(5, 2));
+    assertEquals(EntityType.HALL_SPACE, game.getTerrain(5, 2));
+  }
+
+  //Tests that a grid with actors cannot be used as the structure of a new game
+  @Test(expected = IllegalArgumentException.class)
+  public void testCopyStructureWithActors() {
+    this.grid.placeActor(this.creator.getZombie1(), new Point(5, 2));
+    new LevelGrid(this.grid);
+  }
+}
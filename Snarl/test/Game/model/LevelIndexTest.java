@@ -0,0 +1,103 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the LevelIndex class
+public class LevelIndexTest {
+
+	//Two levels whose strings contain braces, quotes and brackets
+	private static final String level1 = "{\"type\": \"level\", \"note\": \"a } \\\" { ]\", \"rooms\": []}";
+	private static final String level2 = "{\"rooms\": [{\"origin\": [1, 2]}], \"objects\": [[], {}]}";
+
+	private File file;
+
+	//Initialize a levels file with no cached index
+	@Before
+	public void initFile() throws IOException {
+		this.file = File.createTempFile("indexed", ".levels");
+		this.file.deleteOnExit();
+		new File(this.file.getPath() + LevelIndex.indexExtension).deleteOnExit();
+	}
+
+	//Remove the cached index
+	@After
+	public void removeIndex() {
+		new File(this.file.getPath() + LevelIndex.indexExtension).delete();
+	}
+
+	//Writes the contents of the levels file
+	private void writeFile(String contents) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(this.file)) {
+			out.write(contents.getBytes("UTF-8"));
+		}
+	}
+
+	//Test that each level can be read on its own
+	@Test
+	public void testReadLevels() throws IOException {
+		writeFile("  2\n" + level1 + "\n\n" + level2 + "\n");
+		LevelIndex index = new LevelIndex(this.file.getPath());
+		assertEquals(2, index.getLevelCount());
+		assertEquals(level2, index.readLevel(1));
+		assertEquals(level1, index.readLevel(0));
+	}
+
+	//Test that the index is cached, and the cache is used until the file changes
+	@Test
+	public void testCachedIndex() throws IOException {
+		writeFile("2\n" + level1 + "\n" + level2);
+		assertFalse(new LevelIndex(this.file.getPath()).isCached());
+		assertTrue(new File(this.file.getPath() + LevelIndex.indexExtension).isFile());
+		LevelIndex cached = new LevelIndex(this.file.getPath());
+		assertTrue(cached.isCached());
+		assertEquals(level2, cached.readLevel(1));
+
+		writeFile("1\n" + level2);
+		this.file.setLastModified(this.file.lastModified() + 2000);
+		LevelIndex rebuilt = new LevelIndex(this.file.getPath());
+		assertFalse(rebuilt.isCached());
+		assertEquals(1, rebuilt.getLevelCount());
+		assertEquals(level2, rebuilt.readLevel(0));
+	}
+
+	//Test that a corrupt cache is built again
+	@Test
+	public void testCorruptCache() throws IOException {
+		writeFile("2\n" + level1 + "\n" + level2);
+		try (FileOutputStream out = new FileOutputStream(this.file.getPath() + LevelIndex.indexExtension)) {
+			out.write(new byte[] {1, 2, 3});
+		}
+		LevelIndex index = new LevelIndex(this.file.getPath());
+		assertFalse(index.isCached());
+		assertEquals(level1, index.readLevel(0));
+	}
+
+	//Test that a file with fewer levels than its count is rejected
+	@Test (expected = IllegalArgumentException.class)
+	public void testMissingLevel() throws IOException {
+		writeFile("3\n" + level1 + "\n" + level2);
+		new LevelIndex(this.file.getPath());
+	}
+
+	//Test that a level that is not closed is rejected
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnclosedLevel() throws IOException {
+		writeFile("1\n{\"rooms\": [}");
+		new LevelIndex(this.file.getPath());
+	}
+
+	//Test that a file that does not start with a count is rejected
+	@Test (expected = IllegalArgumentException.class)
+	public void testNoCount() throws IOException {
+		writeFile(level1);
+		new LevelIndex(this.file.getPath());
+	}
+}
@@ -0,0 +1,103 @@
+package Game.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import Game.modelView.EntityType;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the LevelTemplate class
+public class LevelTemplateTest {
+  private ModelCreator creator;
+  private List<LevelComponent> levelMap;
+  private List<Item> items;
+  private LevelTemplate template;
+
+  @Before
+  public void initTemplate() {
+    this.creator = new ModelCreator();
+    this.levelMap = this.creator.initializeLevel1Map();
+    this.items = Arrays.<Item>asList(this.creator.getLevel1Exit(), this.creator.getLevel1Key());
+    this.template = new LevelTemplate(this.levelMap, this.items);
+  }
+
+  //Tests that a level created from a template matches a level built from the same components
+  @Test
+  public void testCreateLevelMatchesComponents() {
+    Level expected = new LevelImpl(this.creator.initializeLevel1Map(), new ArrayList<>(this.items));
+    Level level = this.template.createLevel();
+    assertEquals(expected.getMap(), level.getMap());
+    assertEquals(expected.getLevelMap(), level.getLevelMap());
+    assertEquals(this.items, level.getItems());
+    assertEquals(expected.getLevelMap().get(1).getDoors().keySet(),
+        level.getLevelMap().get(1).getDoors().keySet());
+  }
+
+  //Tests that two games of the same template do not affect each other
+  @Test
+  public void testGamesAreIndependent() {
+    Level firstGame = this.template.createLevel();
+    Level secondGame = this.template.createLevel();
+    Player player = new Player("Player");
+    firstGame.placeActors(Arrays.asList(player), new ArrayList<Adversary>());
+    firstGame.playerAction(player, new Point(2, 2));
+
+    assertEquals(EntityType.PLAYER, firstGame.getMap().get(2).get(2));
+    assertEquals(EntityType.SPACE, secondGame.getMap().get(2).get(2));
+    assertEquals(player, firstGame.getTile(new Point(2, 2)).getActor());
+    assertNull(secondGame.getTile(new Point(2, 2)).getActor());
+    assertTrue(secondGame.getActivePlayers().isEmpty());
+  }
+
+  //Tests that every game shares the room graph of the template, and has rooms and
+  //halls with the same bounds that only show the actors of that game
+  @Test
+  public void testStructureIsShared() {
+    Level firstGame = this.template.createLevel();
+    Level secondGame = this.template.createLevel();
+    for (int i = 0; i < firstGame.getLevelMap().size(); i++) {
+      LevelComponent first = firstGame.getLevelMap().get(i);
+      LevelComponent second = secondGame.getLevelMap().get(i);
+      assertEquals(first.getTopLeftBound(), second.getTopLeftBound());
+      assertEquals(first.getBottomRightBound(), second.getBottomRightBound());
+    }
+    assertSame(firstGame.getRoomGraph(), secondGame.getRoomGraph());
+
+    Player player = new Player("Player");
+    firstGame.placeActors(Arrays.asList(player), new ArrayList<Adversary>());
+    firstGame.playerAction(player, new Point(2, 2));
+    assertEquals(player, firstGame.findComponent(new Point(2, 2)).getDestinationTile(new Point(2, 2)).getActor());
+    assertNull(secondGame.findComponent(new Point(2, 2)).getDestinationTile(new Point(2, 2)).getActor());
+  }
+
+  //Tests that actors placed in the components are not part of the template
+  @Test
+  public void testActorsNotCopied() {
+    this.levelMap.get(0).placeActor(this.creator.getPlayer1(), new Point(1, 1));
+    LevelTemplate actorTemplate = new LevelTemplate(this.levelMap, this.items);
+    Level level = actorTemplate.createLevel();
+    assertEquals(EntityType.SPACE, level.getMap().get(1).get(1));
+    assertTrue(level.getActivePlayers().isEmpty());
+  }
+
+  //Tests that a hall that is not connected to rooms cannot be part of a template
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnconnectedHall() {
+    List<LevelComponent> hallMap = new ArrayList<>(this.levelMap);
+    hallMap.add(new Hall(Arrays.<Tile>asList(new Space()), new ArrayList<Point>()));
+    new LevelTemplate(hallMap, this.items);
+  }
+
+  //Tests that a template needs at least one component
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyLevelMap() {
+    new LevelTemplate(new ArrayList<LevelComponent>(), this.items);
+  }
+}
@@ -6,8 +6,10 @@ import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -741,6 +743,33 @@ public class LevelTest {
   public void testFindComponentHall() {
 	  assertEquals(this.hall2,level.findComponent(new Point(4, 11)));
   }
+
+  //Tests that a tile shows what is on it, and that the component shows the same
+  @Test
+  public void testGetTile() {
+	  assertEquals(this.player1, level.getTile(new Point(4, 2)).getActor());
+	  assertEquals(this.key, level.getTile(new Point(4, 17)).getItem());
+	  assertEquals(Wall.instance, level.getTile(new Point(0, 0)));
+	  assertEquals(this.player1,
+			  level.findComponent(new Point(4, 2)).getDestinationTile(new Point(4, 2)).getActor());
+  }
+
+  //Tests that the components of a level keep showing the actors as they move
+  @Test
+  public void testComponentTilesFollowMoves() {
+	  LevelComponent hall = level.findComponent(new Point(4, 2));
+	  Tile tile = hall.getDestinationTile(new Point(4, 2));
+	  level.playerAction(this.player1, new Point(5, 2));
+	  assertNull(tile.getActor());
+	  assertEquals(this.player1, hall.getDestinationTile(new Point(5, 2)).getActor());
+	  assertEquals(new Point(5, 2), hall.findActorLocation(this.player1));
+  }
+
+  //Tests that there is no tile outside of the components
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetTileOutsideComponents() {
+	  level.getTile(new Point(10, 2));
+  }
   
   //Tests for checkValidLevelState
   @Test
@@ -853,4 +882,126 @@ public class LevelTest {
 	public void testGetPlayerException() {
 	    level.getPlayer("AJ");
 	}
+
+	//Tests that actor positions stay consistent as players and adversaries move
+	@Test
+	public void testActorPositionsConsistent() {
+	    LevelImpl levelImpl = (LevelImpl)this.level;
+	    assertTrue(levelImpl.checkActorPositions());
+
+	    //Move through a door into a hall and pick up the key
+	    levelImpl.playerAction(this.player1, new Point(5, 2));
+	    assertTrue(levelImpl.checkActorPositions());
+	    assertEquals(new Point(5, 2), levelImpl.getActorPosition(this.player1));
+	    levelImpl.playerAction(this.player3, new Point(4, 17));
+	    assertTrue(levelImpl.checkActorPositions());
+
+	    //An adversary damages a player until it removes them by moving onto them
+	    levelImpl.adversaryAction(this.ghost1, new Point(7, 9));
+	    while (levelImpl.isPlayerAlive(this.player2)) {
+	      levelImpl.adversaryAction(this.ghost1, new Point(7, 10));
+	      assertTrue(levelImpl.checkActorPositions());
+	    }
+	    assertFalse(levelImpl.getActivePlayers().containsKey(this.player2));
+	    assertEquals(new Point(7, 10), levelImpl.getActiveAdversaries().get(this.ghost1));
+
+	    //Removing an actor removes its position
+	    levelImpl.removeActor(this.zombie);
+	    assertTrue(levelImpl.checkActorPositions());
+	    assertFalse(levelImpl.getActiveAdversaries().containsKey(this.zombie));
+	}
+
+	//Tests that the position of an actor that is not in the level cannot be found
+	@Test (expected = IllegalArgumentException.class)
+	public void testGetActorPositionRemoved() {
+	    this.level.removeActor(this.player1);
+	    this.level.getActorPosition(this.player1);
+	}
+
+	//Tests that random placement fills every free cell of a room and then stops
+	@Test
+	public void testPlaceActorsRandomlyFullRoom() {
+	    Room room = this.creator.initializeRoom1();
+	    Level level = new LevelImpl(new ArrayList<LevelComponent>(Arrays.asList(room)), new ArrayList<Item>());
+	    List<Player> players = new ArrayList<>();
+	    for (int i = 0; i < 5; i++) {
+	      players.add(new Player("Player" + i));
+	    }
+	    level.placeActorsRandomly(players, new ArrayList<Adversary>());
+	    assertEquals(5, level.getActivePlayers().size());
+	    for (Point location : level.getActivePlayers().values()) {
+	      assertEquals(EntityType.PLAYER, level.getMap().get(location.y).get(location.x));
+	    }
+
+	    try {
+	      level.placeActorsRandomly(new ArrayList<Player>(), new ArrayList<Adversary>(Arrays.asList(new Ghost())));
+	      fail("A full room should not accept another actor");
+	    } catch (IllegalArgumentException e) {
+	      assertEquals("Room has no empty spaces to place a new actor", e.getMessage());
+	    }
+	}
+
+	//Tests that placing actors in a full room fails instead of searching forever
+	@Test (expected = IllegalArgumentException.class)
+	public void testPlaceActorsFullRoom() {
+	    Room room = this.creator.initializeRoom1();
+	    Level level = new LevelImpl(new ArrayList<LevelComponent>(Arrays.asList(room)), new ArrayList<Item>());
+	    List<Player> players = new ArrayList<>();
+	    for (int i = 0; i < 6; i++) {
+	      players.add(new Player("Player" + i));
+	    }
+	    level.placeActors(players, new ArrayList<Adversary>());
+	}
+
+	//Tests that a player sees the door next to them
+	@Test
+	public void testGetVisibleDoors() {
+	    assertEquals(Arrays.asList(new Point(3, 2)), this.level.getVisibleDoors(this.player1));
+	}
+
+	//Tests that the visible doors match checking every door in the level
+	@Test
+	public void testGetVisibleDoorsMatchesAllDoors() {
+	    for (Map.Entry<Player, Point> entry : this.level.getActivePlayers().entrySet()) {
+	      Set<Point> allDoors = new HashSet<>();
+	      for (LevelComponent component : this.level.getLevelMap()) {
+	        if (component instanceof Room) {
+	          allDoors.addAll(component.getDoors().keySet());
+	        }
+	      }
+	      Set<Point> expected = new HashSet<>(entry.getKey().visibleDoors(allDoors, entry.getValue()));
+	      assertEquals(expected, new HashSet<>(this.level.getVisibleDoors(entry.getKey())));
+	    }
+	}
+
+	//Tests that the state hash changes when an actor moves and returns when it moves back
+	@Test
+	public void testStateHashMoveAndReturn() {
+	    long start = this.level.getStateHash();
+	    Point source = this.level.getActorPosition(this.player1);
+	    this.level.playerAction(this.player1, new Point(5, 2));
+	    assertNotEquals(start, this.level.getStateHash());
+	    this.level.playerAction(this.player1, source);
+	    assertEquals(start, this.level.getStateHash());
+	}
+
+	//Tests that picking up the key changes the state hash
+	@Test
+	public void testStateHashFoundKey() {
+	    Level other = new ModelCreator().initializeLevel1();
+	    assertEquals(other.getStateHash(), this.level.getStateHash());
+	    this.level.playerAction(this.player3, new Point(4, 17));
+	    assertTrue(this.level.getExitUnlocked());
+	    assertNotEquals(other.getStateHash(), this.level.getStateHash());
+	}
+
+	//Tests that equal levels have the same hash code
+	@Test
+	public void testStateHashEqualLevels() {
+	    Level other = this.creator.initializeLevel1();
+	    assertEquals(other, this.level);
+	    assertEquals(other.hashCode(), this.level.hashCode());
+	    this.level.playerAction(this.player1, new Point(5, 2));
+	    assertNotEquals(other, this.level);
+	}
 }
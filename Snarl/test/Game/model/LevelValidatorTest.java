@@ -0,0 +1,162 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the LevelValidator class
+public class LevelValidatorTest {
+
+	private ModelCreator creator;
+	private Room room1;
+	private Room room2;
+	private Room room3;
+	private Room room4;
+
+	//Initialize the rooms of the first level with no halls
+	@Before
+	public void initRooms() {
+		this.creator = new ModelCreator();
+		this.room1 = this.creator.initializeRoom1();
+		this.room2 = this.creator.initializeRoom2();
+		this.room3 = this.creator.initializeRoom3();
+		this.room4 = this.creator.initializeRoom4();
+	}
+
+	//Creates a level map of the four rooms and the given halls
+	private List<LevelComponent> createLevelMap(Hall... halls) {
+		List<LevelComponent> levelMap = new ArrayList<>();
+		levelMap.addAll(Arrays.asList(this.room1, this.room2, this.room3, this.room4));
+		levelMap.addAll(Arrays.asList(halls));
+		return levelMap;
+	}
+
+	//Test that the levels used throughout the tests are valid
+	@Test
+	public void testValidLevels() {
+		assertEquals(new ArrayList<String>(), new LevelValidator(this.creator.initializeLevel1Map()).getViolations());
+		assertTrue(new LevelValidator(createLevelMap(
+				this.creator.initializeHall1Snake(this.room1, this.room2),
+				this.creator.initializeHall2(this.room3, this.room2),
+				this.creator.initializeHall3(this.room2, this.room4))).isValid());
+		LevelValidator.checkValid(this.creator.initializeLevel1Map());
+	}
+
+	//Test that two overlapping rooms are reported
+	@Test
+	public void testRoomsOverlap() {
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		levelMap.add(this.creator.initializeRoom5());
+		LevelValidator validator = new LevelValidator(levelMap);
+		assertTrue(validator.getViolations().contains("Rooms overlap: Room 0 at (0, 0) and Room 7 at (0, 0)"));
+	}
+
+	//Test that a tall room is reported overlapping a small room far below its top row
+	@Test
+	public void testTallRoomOverlap() {
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int y = 0; y < 45; y++) {
+			componentMap.add(Arrays.asList(Wall.instance, new Space(), Wall.instance));
+		}
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		levelMap.add(new Room(new Point(-1, -40), componentMap));
+		LevelValidator validator = new LevelValidator(levelMap);
+		assertTrue(validator.getViolations().contains("Rooms overlap: Room 0 at (0, 0) and Room 7 at (-1, -40)"));
+	}
+
+	//Test that a hall that runs through a room is reported
+	@Test
+	public void testHallOverlapsRoom() {
+		List<Point> waypoints = new ArrayList<>();
+		waypoints.add(new Point(15, 2));
+		waypoints.add(new Point(15, 15));
+		waypoints.add(new Point(2, 15));
+		Hall hall = new Hall(new Point(3, 2), this.room1, new Point(2, 14), this.room3, waypoints);
+		LevelValidator validator = new LevelValidator(createLevelMap(
+				hall,
+				this.creator.initializeHall2(this.room3, this.room2),
+				this.creator.initializeHall3(this.room2, this.room4)));
+		assertFalse(validator.isValid());
+		assertTrue(validator.getViolations().contains(
+				"Hall overlaps room: Room 2 at (0, 14) and Hall 4 from (3, 2) to (2, 14)"));
+		assertTrue(validator.getViolations().contains(
+				"Hall overlaps room: Room 3 at (13, 10) and Hall 4 from (3, 2) to (2, 14)"));
+	}
+
+	//Test that two crossing halls are reported
+	@Test
+	public void testHallsOverlap() {
+		List<Point> waypoints = new ArrayList<>();
+		waypoints.add(new Point(10, 11));
+		waypoints.add(new Point(10, 9));
+		waypoints.add(new Point(11, 9));
+		waypoints.add(new Point(11, 11));
+		Hall hall = new Hall(new Point(8, 11), this.room2, new Point(13, 11), this.room4, waypoints);
+		LevelValidator validator = new LevelValidator(createLevelMap(
+				this.creator.initializeHall1(this.room1, this.room2),
+				this.creator.initializeHall2(this.room3, this.room2),
+				this.creator.initializeHall3(this.room2, this.room4),
+				hall));
+		assertTrue(validator.getViolations().contains(
+				"Halls overlap: Hall 6 from (8, 11) to (13, 11) and Hall 7 from (8, 11) to (13, 11)"));
+	}
+
+	//Test that a door leading to a hall that is not in the level is reported
+	@Test
+	public void testDanglingDoor() {
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		Hall hall3 = (Hall)levelMap.remove(6);
+		LevelValidator validator = new LevelValidator(levelMap);
+		assertTrue(validator.getViolations().contains(
+				"Door at (8, 11) of Room 1 at (5, 7) leads to a hall that is not in the level"));
+		assertTrue(validator.getViolations().contains(
+				"Door at (13, 11) of Room 3 at (13, 10) leads to a hall that is not in the level"));
+		assertNotNull(hall3);
+	}
+
+	//Test that a room that no hall leads to is reported
+	@Test
+	public void testDisconnectedRoom() {
+		List<LevelComponent> levelMap = createLevelMap(
+				this.creator.initializeHall1(this.room1, this.room2),
+				this.creator.initializeHall2(this.room3, this.room2));
+		this.room2.getDoors().remove(new Point(8, 11));
+		LevelValidator validator = new LevelValidator(levelMap);
+		assertEquals(Arrays.asList("Room 3 at (13, 10) cannot be reached from Room 0 at (0, 0)"),
+				validator.getViolations());
+	}
+
+	//Test that a hall with no rooms is reported
+	@Test
+	public void testUnconnectedHall() {
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		levelMap.add(new Hall(new ArrayList<Tile>(), new ArrayList<Point>()));
+		LevelValidator validator = new LevelValidator(levelMap);
+		assertEquals(Arrays.asList("Hall 7 is not connected to two rooms"), validator.getViolations());
+	}
+
+	//Test that every violation is in the report of an invalid level
+	@Test
+	public void testCheckValidReport() {
+		List<LevelComponent> levelMap = this.creator.initializeLevel1Map();
+		levelMap.add(this.creator.initializeRoom5());
+		levelMap.add(new Hall(new ArrayList<Tile>(), new ArrayList<Point>()));
+		LevelValidator validator = new LevelValidator(levelMap);
+		try {
+			LevelValidator.checkValid(levelMap);
+			fail("An invalid level should not pass validation");
+		} catch (IllegalArgumentException e) {
+			assertEquals(validator.getReport(), e.getMessage());
+			assertTrue(e.getMessage().startsWith("Level has " + validator.getViolations().size() + " violations"));
+			for (String violation : validator.getViolations()) {
+				assertTrue(e.getMessage().contains(violation));
+			}
+		}
+	}
+}
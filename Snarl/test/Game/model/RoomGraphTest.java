@@ -0,0 +1,224 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+//Tests for the RoomGraph class
+public class RoomGraphTest {
+
+	/*
+	Level with a wall in the middle of room A, so that the door of A closest in a
+	straight line to G is not the closest door to walk to
+
+	XXXXXXX
+	X.....X    room B
+	X.....X
+	X.....X
+	XXX.XXX
+	   .
+	XXX.XXX XXXXX
+	X...... ....X    room A, and room C to its right
+	X.XXX.X X...X
+	X..G..X X...X
+	XXXXXXX XXXXX
+	 */
+	private RoomGraph walledGraph;
+
+	//The graph of the first level of the ModelCreator
+	private RoomGraph graph;
+
+	@Before
+	public void initGraphs() {
+		this.graph = new ModelCreator().initializeLevel1NoActor().getRoomGraph();
+
+		Room roomB = createRoom(new Point(0, 0), "XXXXXXX", "X.....X", "X.....X", "X.....X", "XXX.XXX");
+		Room roomA = createRoom(new Point(0, 6), "XXX.XXX", "X......", "X.XXX.X", "X.....X", "XXXXXXX");
+		Room roomC = createRoom(new Point(8, 6), "XXXXX", "....X", "X...X", "X...X", "XXXXX");
+		List<LevelComponent> levelMap = new ArrayList<>();
+		levelMap.add(roomB);
+		levelMap.add(roomA);
+		levelMap.add(roomC);
+		levelMap.add(new Hall(new Point(3, 6), roomA, new Point(3, 4), roomB, new ArrayList<Point>()));
+		levelMap.add(new Hall(new Point(6, 7), roomA, new Point(8, 7), roomC, new ArrayList<Point>()));
+		this.walledGraph = new LevelImpl(levelMap, new ArrayList<Item>()).getRoomGraph();
+	}
+
+	//Creates a room from rows of walls (X) and spaces (.)
+	private Room createRoom(Point origin, String... rows) {
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (String row : rows) {
+			List<Tile> tiles = new ArrayList<>();
+			for (char c : row.toCharArray()) {
+				tiles.add(c == 'X' ? Wall.instance : new Space());
+			}
+			componentMap.add(tiles);
+		}
+		return new Room(origin, componentMap);
+	}
+
+	//Test that every door of every room is a node of the graph
+	@Test
+	public void testDoorCount() {
+		assertEquals(6, this.graph.getDoorCount());
+		assertEquals(4, this.walledGraph.getDoorCount());
+	}
+
+	//Test the cached distances between doors of the same room
+	@Test
+	public void testDoorDistance() {
+		assertEquals(4, this.walledGraph.getDoorDistance(new Point(3, 6), new Point(6, 7)));
+		assertEquals(4, this.walledGraph.getDoorDistance(new Point(6, 7), new Point(3, 6)));
+		assertEquals(0, this.walledGraph.getDoorDistance(new Point(3, 6), new Point(3, 6)));
+		assertEquals(6, this.graph.getDoorDistance(new Point(6, 7), new Point(8, 11)));
+		assertEquals(5, this.graph.getDoorDistance(new Point(6, 7), new Point(5, 11)));
+	}
+
+	//Test that doors in different rooms, and locations that are not doors, have no door distance
+	@Test
+	public void testDoorDistanceUnreachable() {
+		assertEquals(RoomGraph.unreachable, this.walledGraph.getDoorDistance(new Point(3, 6), new Point(3, 4)));
+		assertEquals(RoomGraph.unreachable, this.walledGraph.getDoorDistance(new Point(3, 9), new Point(3, 6)));
+	}
+
+	//Test that the closest door is the one with the fewest steps around walls
+	@Test
+	public void testFindClosestDoor() {
+		assertEquals(new Point(6, 7), this.walledGraph.findClosestDoor(new Point(3, 9)));
+		assertEquals(new Point(3, 6), this.walledGraph.findClosestDoor(new Point(1, 8)));
+		assertEquals(new Point(3, 2), this.graph.findClosestDoor(new Point(1, 1)));
+		assertEquals(new Point(13, 11), this.graph.findClosestDoor(new Point(16, 13)));
+	}
+
+	//Test that the closest door to a location in a hall is at the nearer end of the hall
+	@Test
+	public void testFindClosestDoorInHall() {
+		assertEquals(new Point(6, 7), this.graph.findClosestDoor(new Point(6, 5)));
+		assertEquals(new Point(3, 2), this.graph.findClosestDoor(new Point(5, 2)));
+		assertNull(this.graph.findClosestDoor(new Point(30, 30)));
+	}
+
+	//Test a route through several rooms and halls
+	@Test
+	public void testFindRouteAcrossLevel() {
+		assertEquals(Arrays.asList(new Point(3, 2), new Point(6, 7), new Point(8, 11), new Point(13, 11)),
+				this.graph.findRoute(new Point(1, 1), new Point(16, 14)));
+		assertEquals(Arrays.asList(new Point(6, 7), new Point(5, 11), new Point(2, 14)),
+				this.graph.findRoute(new Point(6, 5), new Point(2, 16)));
+	}
+
+	//Test that a destination in the same room needs no doors, even around a wall
+	@Test
+	public void testFindRouteWithinRoom() {
+		assertEquals(new ArrayList<Point>(), this.graph.findRoute(new Point(2, 16), new Point(3, 17)));
+		assertEquals(new ArrayList<Point>(), this.walledGraph.findRoute(new Point(3, 9), new Point(3, 7)));
+		assertEquals(new ArrayList<Point>(), this.walledGraph.findRoute(new Point(3, 9), new Point(3, 9)));
+	}
+
+	//Test that the route to a room takes the doors it must walk through
+	@Test
+	public void testFindRouteBetweenRooms() {
+		assertEquals(Arrays.asList(new Point(3, 6), new Point(3, 4)),
+				this.walledGraph.findRoute(new Point(1, 8), new Point(2, 2)));
+		assertEquals(Arrays.asList(new Point(6, 7), new Point(8, 7)),
+				this.walledGraph.findRoute(new Point(3, 9), new Point(10, 8)));
+		assertEquals(Arrays.asList(new Point(3, 4)),
+				this.walledGraph.findRoute(new Point(3, 5), new Point(3, 1)));
+	}
+
+	//Test routes in a level of two groups of rooms that are not joined to each other
+	@Test
+	public void testFindRouteBetweenParts() {
+		Room roomB = createRoom(new Point(0, 0), "XXXXXXX", "X.....X", "X.....X", "X.....X", "XXX.XXX");
+		Room roomA = createRoom(new Point(0, 6), "XXX.XXX", "X......", "X.XXX.X", "X.....X", "XXXXXXX");
+		Room roomE = createRoom(new Point(20, 0), "XXXXX", "X...X", "XX.XX");
+		Room roomF = createRoom(new Point(20, 4), "XX.XX", "X...X", "XXXXX");
+		List<LevelComponent> levelMap = new ArrayList<>();
+		levelMap.add(roomB);
+		levelMap.add(roomA);
+		levelMap.add(roomE);
+		levelMap.add(roomF);
+		levelMap.add(new Hall(new Point(3, 6), roomA, new Point(3, 4), roomB, new ArrayList<Point>()));
+		levelMap.add(new Hall(new Point(22, 2), roomE, new Point(22, 4), roomF, new ArrayList<Point>()));
+		RoomGraph partsGraph = new LevelImpl(levelMap, new ArrayList<Item>()).getRoomGraph();
+
+		assertEquals(Arrays.asList(new Point(22, 2), new Point(22, 4)),
+				partsGraph.findRoute(new Point(21, 1), new Point(23, 5)));
+		assertEquals(Arrays.asList(new Point(3, 6), new Point(3, 4)),
+				partsGraph.findRoute(new Point(1, 8), new Point(2, 2)));
+		assertNull(partsGraph.findRoute(new Point(1, 8), new Point(21, 5)));
+	}
+
+	//Test that routes to a room at a dead end take the shorter of the two ways
+	//between the rooms before it
+	@Test
+	public void testFindRouteAroundLoop() {
+		Room roomB = createRoom(new Point(0, 0), "XXXXXXX", "X.....X", "......X", "X.....X", "XXX.XXX");
+		Room roomA = createRoom(new Point(0, 6), "XXX.XXX", ".......", "X.XXX.X", "X.....X", "XXXXXXX");
+		Room roomC = createRoom(new Point(8, 6), "XXXXX", "....X", "X...X", "X...X", "XXXXX");
+		List<LevelComponent> levelMap = new ArrayList<>();
+		levelMap.add(roomB);
+		levelMap.add(roomA);
+		levelMap.add(roomC);
+		levelMap.add(new Hall(new Point(3, 6), roomA, new Point(3, 4), roomB, new ArrayList<Point>()));
+		levelMap.add(new Hall(new Point(0, 2), roomB, new Point(0, 7), roomA,
+				new ArrayList<>(Arrays.asList(new Point(-2, 2), new Point(-2, 7)))));
+		levelMap.add(new Hall(new Point(6, 7), roomA, new Point(8, 7), roomC, new ArrayList<Point>()));
+		RoomGraph loopGraph = new LevelImpl(levelMap, new ArrayList<Item>()).getRoomGraph();
+
+		assertEquals(Arrays.asList(new Point(3, 4), new Point(3, 6), new Point(6, 7), new Point(8, 7)),
+				loopGraph.findRoute(new Point(3, 2), new Point(10, 8)));
+		assertEquals(Arrays.asList(new Point(0, 7), new Point(6, 7), new Point(8, 7)),
+				loopGraph.findRoute(new Point(-2, 4), new Point(10, 8)));
+		assertEquals(Arrays.asList(new Point(0, 2)),
+				loopGraph.findRoute(new Point(-2, 3), new Point(1, 1)));
+	}
+
+	//Test that there is no route to or from a location outside of the level
+	@Test
+	public void testFindRouteOutsideLevel() {
+		assertNull(this.graph.findRoute(new Point(1, 1), new Point(30, 30)));
+		assertNull(this.graph.findRoute(new Point(-5, 1), new Point(1, 1)));
+	}
+
+	//Test the steps inside a room, around a wall and towards a door
+	@Test
+	public void testStepsInRoom() {
+		assertEquals(new HashSet<>(Arrays.asList(new Point(4, 9), new Point(2, 9))),
+				new HashSet<>(this.walledGraph.getStepsTowards(new Point(3, 9), new Point(3, 7))));
+		assertEquals(Arrays.asList(new Point(4, 9)),
+				this.walledGraph.getStepsTowards(new Point(3, 9), new Point(6, 7)));
+		assertEquals(Arrays.asList(new Point(3, 16), new Point(2, 17)),
+				this.graph.getStepsTowards(new Point(2, 16), new Point(3, 17)));
+		assertTrue(this.graph.getStepsTowards(new Point(2, 16), new Point(2, 16)).isEmpty());
+	}
+
+	//Test the steps from a door into its hall, and along the hall to the door at its other end
+	@Test
+	public void testStepsThroughHall() {
+		assertEquals(Arrays.asList(new Point(3, 5)),
+				this.walledGraph.getStepsTowards(new Point(3, 6), new Point(3, 4)));
+		assertEquals(Arrays.asList(new Point(3, 4)),
+				this.walledGraph.getStepsTowards(new Point(3, 5), new Point(3, 4)));
+		assertEquals(Arrays.asList(new Point(4, 2)),
+				this.graph.getStepsTowards(new Point(3, 2), new Point(6, 7)));
+		assertEquals(Arrays.asList(new Point(6, 2)),
+				this.graph.getStepsTowards(new Point(6, 3), new Point(3, 2)));
+		assertEquals(Arrays.asList(new Point(3, 2)),
+				this.graph.getStepsTowards(new Point(4, 2), new Point(3, 2)));
+	}
+
+	//Test that there are no steps towards a location in another room
+	@Test
+	public void testStepsToAnotherRoom() {
+		assertTrue(this.graph.getStepsTowards(new Point(4, 2), new Point(7, 9)).isEmpty());
+		assertTrue(this.walledGraph.getStepsTowards(new Point(1, 8), new Point(2, 2)).isEmpty());
+	}
+}
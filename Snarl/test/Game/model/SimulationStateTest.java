@@ -0,0 +1,255 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Game.modelView.EntityType;
+
+//Tests for the SimulationState class
+public class SimulationStateTest {
+
+	private ModelCreator creator;
+	private Level level;
+	private SimulationState state;
+
+	//Initialize a level with actors in an intermediate state, and its simulation
+	@Before
+	public void initSimulation() {
+		this.creator = new ModelCreator();
+		this.level = this.creator.initializeLevel1();
+		this.state = this.level.createSimulation(1);
+	}
+
+	//Checks that the simulation renders every cell and tracks every actor the same way as the level
+	private void assertMatchesLevel(Level level, SimulationState state) {
+		SimulationLayout layout = state.getLayout();
+		int originX = layout.getX(0);
+		int originY = layout.getY(0);
+		List<List<EntityType>> map = level.getMap();
+		for (int row = 0; row < map.size(); row++) {
+			for (int col = 0; col < map.get(row).size(); col++) {
+				assertEquals(map.get(row).get(col), state.getEntityType(originX + col, originY + row));
+			}
+		}
+		for (int actor = 0; actor < state.getActorCount(); actor++) {
+			Actor avatar = state.getActor(actor);
+			boolean active = level.getActivePlayers().containsKey(avatar)
+					|| level.getActiveAdversaries().containsKey(avatar);
+			assertEquals(active, state.isActive(actor));
+			if (active) {
+				assertEquals(level.getActorPosition(avatar), state.getPosition(actor));
+			}
+			if (avatar instanceof Player) {
+				assertEquals(((Player)avatar).getCurrentHealth(), state.getHealth(actor));
+			}
+		}
+		assertEquals(level.getExitUnlocked(), state.getExitUnlocked());
+		assertEquals(level.getLevelExited(), state.getLevelExited());
+		assertEquals(level.isLevelOver(), state.isLevelOver());
+		assertEquals(level.getStateHash(), state.getStateHash());
+	}
+
+	//Gets every location within the move distance of the actor
+	private List<Point> getNearbyMoves(Point source, int maxMoveDistance) {
+		List<Point> moves = new ArrayList<>();
+		for (int offsetY = -maxMoveDistance; offsetY <= maxMoveDistance; offsetY++) {
+			for (int offsetX = -maxMoveDistance; offsetX <= maxMoveDistance; offsetX++) {
+				moves.add(new Point(source.x + offsetX, source.y + offsetY));
+			}
+		}
+		return moves;
+	}
+
+	//Test that a new simulation matches the level it was created from
+	@Test
+	public void testCreateSimulation() {
+		assertEquals(3, this.state.getPlayerCount());
+		assertEquals(6, this.state.getActorCount());
+		assertTrue(this.state.getActorNumber(this.creator.getPlayer1()) < this.state.getPlayerCount());
+		assertTrue(this.state.getActorNumber(this.creator.getGhost1()) >= this.state.getPlayerCount());
+		assertEquals(-1, this.state.getActorNumber(new Zombie()));
+		assertMatchesLevel(this.level, this.state);
+	}
+
+	//Test that random moves have the same results in the simulation as in the level
+	@Test
+	public void testMovesMatchLevel() {
+		Random random = new Random(3);
+		for (int game = 0; game < 20; game++) {
+			Level level = new ModelCreator().initializeLevel1();
+			SimulationState state = level.createSimulation(game);
+
+			for (int turn = 0; turn < 60 && state.isLevelOver().equals(GameState.ACTIVE); turn++) {
+				int actor = random.nextInt(state.getActorCount());
+				if (!state.isActive(actor)) {
+					continue;
+				}
+				Actor avatar = state.getActor(actor);
+				Point source = state.getPosition(actor);
+
+				//Valid moves are the same in both
+				List<Point> validMoves = new ArrayList<>();
+				for (Point move : getNearbyMoves(source, avatar.getMaxMoveDistance())) {
+					boolean valid = level.checkValidMove(avatar, move);
+					assertEquals(valid, state.checkValidMove(actor, move.x, move.y));
+					if (valid) {
+						validMoves.add(move);
+					}
+				}
+				assertEquals(validMoves.size(), state.getValidMoves(actor).size());
+				assertTrue(validMoves.containsAll(state.getValidMoves(actor)));
+
+				//Ghosts teleport to a random room, which the level and the simulation choose separately
+				List<Point> sameMoves = new ArrayList<>();
+				for (Point move : validMoves) {
+					if (!(avatar instanceof Ghost && state.getEntityType(move.x, move.y).equals(EntityType.WALL))) {
+						sameMoves.add(move);
+					}
+				}
+				if (sameMoves.isEmpty()) {
+					continue;
+				}
+				Point move = sameMoves.get(random.nextInt(sameMoves.size()));
+				InteractionResult expected = avatar instanceof Player
+						? level.playerAction((Player)avatar, move)
+						: level.adversaryAction((Adversary)avatar, move);
+				assertEquals(expected, state.apply(actor, move.x, move.y));
+				assertMatchesLevel(level, state);
+			}
+		}
+	}
+
+	//Test that undoing every move returns the simulation to where it started
+	@Test
+	public void testUndo() {
+		Random random = new Random(5);
+		SimulationState start = this.state.fork();
+		int moves = 0;
+		for (int turn = 0; turn < 200 && this.state.isLevelOver().equals(GameState.ACTIVE); turn++) {
+			int actor = random.nextInt(this.state.getActorCount());
+			if (!this.state.isActive(actor)) {
+				continue;
+			}
+			List<Point> validMoves = this.state.getValidMoves(actor);
+			if (validMoves.isEmpty()) {
+				continue;
+			}
+			Point move = validMoves.get(random.nextInt(validMoves.size()));
+			this.state.apply(actor, move.x, move.y);
+			moves++;
+		}
+		assertEquals(moves, this.state.getMoveCount());
+
+		while (this.state.getMoveCount() > 0) {
+			this.state.undo();
+		}
+		assertMatchesLevel(this.level, this.state);
+		for (int actor = 0; actor < start.getActorCount(); actor++) {
+			assertEquals(start.getCell(actor), this.state.getCell(actor));
+		}
+	}
+
+	//Test that a player that picks up the key unlocks the exit, and that undo locks it again
+	@Test
+	public void testFoundKeyUndo() {
+		Point key = this.creator.getLevel1Key().getLocation();
+		int player = this.state.getActorNumber(this.creator.getPlayer3());
+		Point source = this.state.getPosition(player);
+
+		assertEquals(EntityType.KEY, this.state.getEntityType(key.x, key.y));
+		assertTrue(this.state.checkValidMove(player, key.x, key.y));
+		assertEquals(InteractionResult.FOUND_KEY, this.state.apply(player, key.x, key.y));
+		assertTrue(this.state.getExitUnlocked());
+		assertEquals(EntityType.PLAYER, this.state.getEntityType(key.x, key.y));
+
+		this.state.undo();
+		assertFalse(this.state.getExitUnlocked());
+		assertEquals(EntityType.KEY, this.state.getEntityType(key.x, key.y));
+		assertEquals(source, this.state.getPosition(player));
+		assertMatchesLevel(this.level, this.state);
+	}
+
+	//Test that the health hash tells apart states that differ only in the health of a player
+	@Test
+	public void testHealthHash() {
+		Player player = this.creator.getPlayer3();
+		player.decreaseHealth(1);
+		SimulationState hurt = this.level.createSimulation(1);
+
+		assertEquals(this.state.getStateHash(), hurt.getStateHash());
+		assertNotEquals(this.state.getHealthHash(), hurt.getHealthHash());
+		assertEquals(hurt.getHealthHash(), hurt.fork().getHealthHash());
+	}
+
+	//Test that a ghost that moves into a wall teleports to a free cell of another room
+	@Test
+	public void testGhostTeleport() {
+		int ghost = this.state.getActorNumber(this.creator.getGhost1());
+		Point source = this.state.getPosition(ghost);
+		Point wall = null;
+		for (Point move : this.state.getValidMoves(ghost)) {
+			if (this.state.getEntityType(move.x, move.y).equals(EntityType.WALL)) {
+				wall = move;
+			}
+		}
+		assertNotNull(wall);
+
+		assertEquals(InteractionResult.TELEPORT, this.state.apply(ghost, wall.x, wall.y));
+		Point destination = this.state.getPosition(ghost);
+		assertNotEquals(source, destination);
+		assertTrue(this.level.findComponent(destination) instanceof Room);
+		assertNotSame(this.level.findComponent(source), this.level.findComponent(destination));
+		assertEquals(EntityType.GHOST, this.state.getEntityType(destination.x, destination.y));
+
+		this.state.undo();
+		assertEquals(source, this.state.getPosition(ghost));
+		assertMatchesLevel(this.level, this.state);
+	}
+
+	//Test that a fork can be changed without changing the state it was forked from
+	@Test
+	public void testFork() {
+		SimulationState fork = this.state.fork();
+		int actor = 0;
+		Point source = fork.getPosition(actor);
+		Point move = null;
+		for (Point validMove : fork.getValidMoves(actor)) {
+			if (fork.getEntityType(validMove.x, validMove.y).equals(EntityType.SPACE)) {
+				move = validMove;
+			}
+		}
+		fork.apply(actor, move.x, move.y);
+
+		assertEquals(move, fork.getPosition(actor));
+		assertEquals(source, this.state.getPosition(actor));
+		assertEquals(0, this.state.getMoveCount());
+		assertMatchesLevel(this.level, this.state);
+	}
+
+	//Test that a move the actor cannot make is rejected and leaves the state unchanged
+	@Test
+	public void testApplyIllegalMove() {
+		int player = 0;
+		Point other = this.state.getPosition(1);
+		try {
+			this.state.apply(player, other.x, other.y);
+			fail("A player cannot move onto another player");
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, this.state.getMoveCount());
+			assertMatchesLevel(this.level, this.state);
+		}
+	}
+
+	//Test that there is nothing to undo before a move is applied
+	@Test (expected = IllegalArgumentException.class)
+	public void testUndoWithoutMove() {
+		this.state.undo();
+	}
+}
@@ -154,4 +154,17 @@ public class TileTest {
 		Tile space = new Space(key, player);
 		assertFalse(space.equals(new Space()));
 	}
+
+	//Tests for the shared Wall
+	@Test
+	public void testSharedWallEqual() {
+		assertEquals(new Wall(), Wall.instance);
+		assertEquals(new Wall().hashCode(), Wall.instance.hashCode());
+		assertEquals(EntityType.WALL, Wall.instance.getEntityType());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testSharedWallExceptionPlaceItem() {
+		Wall.instance.placeItem(new Key(new Point(0, 0)));
+	}
 }
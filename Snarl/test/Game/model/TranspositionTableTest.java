@@ -0,0 +1,97 @@
+package Game.model;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import Game.modelView.EntityType;
+
+//Tests for the TranspositionTable class
+public class TranspositionTableTest {
+
+	private TranspositionTable<String> table;
+
+	//Initialize a small table
+	@Before
+	public void initTable() {
+		this.table = new TranspositionTable<>(6);
+	}
+
+	//Test that the capacity is rounded up to a power of two
+	@Test
+	public void testCapacity() {
+		assertEquals(8, this.table.getCapacity());
+		assertEquals(1, new TranspositionTable<String>(1).getCapacity());
+		assertEquals(16, new TranspositionTable<String>(16).getCapacity());
+	}
+
+	//Test that a value that was put can be found by its hash
+	@Test
+	public void testPutAndGet() {
+		this.table.put(42L, "state");
+		assertTrue(this.table.containsKey(42L));
+		assertEquals("state", this.table.get(42L));
+		assertEquals(1, this.table.size());
+		assertNull(this.table.get(43L));
+		assertEquals(1, this.table.getHits());
+		assertEquals(1, this.table.getMisses());
+	}
+
+	//Test that a hash sharing a slot replaces the older entry and is never confused with it
+	@Test
+	public void testCollisionReplaces() {
+		this.table.put(3L, "first");
+		this.table.put(3L + 8, "second");
+		assertEquals(1, this.table.size());
+		assertNull(this.table.get(3L));
+		assertEquals("second", this.table.get(3L + 8));
+	}
+
+	//Test that removing and clearing empty the table
+	@Test
+	public void testRemoveAndClear() {
+		this.table.put(1L, "one");
+		this.table.put(2L, "two");
+		assertTrue(this.table.remove(1L));
+		assertFalse(this.table.remove(1L));
+		assertFalse(this.table.containsKey(1L));
+		assertEquals(1, this.table.size());
+		this.table.clear();
+		assertEquals(0, this.table.size());
+		assertNull(this.table.get(2L));
+	}
+
+	//Test that level states can be cached by their hash
+	@Test
+	public void testLevelStates() {
+		Level level = new ModelCreator().initializeLevel1();
+		SimulationState state = level.createSimulation(1);
+		TranspositionTable<Integer> seen = new TranspositionTable<>(1024);
+		seen.put(state.getStateHash(), state.getMoveCount());
+		int actor = 0;
+		Point source = state.getPosition(actor);
+		for (Point move : state.getValidMoves(actor)) {
+			if (!move.equals(source) && state.getEntityType(move.x, move.y).equals(EntityType.SPACE)) {
+				state.apply(actor, move.x, move.y);
+				assertFalse(seen.containsKey(state.getStateHash()));
+				state.undo();
+			}
+		}
+		assertEquals(Integer.valueOf(0), seen.get(level.getStateHash()));
+	}
+
+	//Test that a table must have room for at least one entry
+	@Test (expected = IllegalArgumentException.class)
+	public void testBadCapacity() {
+		new TranspositionTable<String>(0);
+	}
+
+	//Test that null values cannot be cached, since they mark empty slots
+	@Test (expected = IllegalArgumentException.class)
+	public void testPutNull() {
+		this.table.put(1L, null);
+	}
+}
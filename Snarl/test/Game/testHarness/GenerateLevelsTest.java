@@ -0,0 +1,44 @@
+package Game.testHarness;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.Test;
+
+import Game.model.LevelComponent;
+import Game.model.LevelGenerator;
+import Game.model.LevelImpl;
+import Game.model.LevelValidator;
+import Level.GenerateLevels;
+import Level.TestLevel;
+
+//Tests that the levels files written by GenerateLevels can be read back
+public class GenerateLevelsTest {
+
+	//Test that each level read back from the file matches the level generated from its seed
+	@Test
+	public void testLevelsRoundTrip() throws IOException {
+		File file = File.createTempFile("generated", ".levels");
+		file.deleteOnExit();
+		GenerateLevels.main(new String[] {"--seed", "4", "--levels", "2", "--rooms", "25",
+				"--windings", "2", "--out", file.getPath()});
+
+		try (FileInputStream input = new FileInputStream(file)) {
+			JSONTokener inputTokens = new JSONTokener(input);
+			assertEquals(2, inputTokens.nextValue());
+			for (int level = 0; level < 2; level++) {
+				JSONObject JSONLevel = (JSONObject)inputTokens.nextValue();
+				List<LevelComponent> levelMap = TestLevel.parseLevelMap(JSONLevel);
+				assertTrue(new LevelValidator(levelMap).isValid());
+				assertEquals(new LevelGenerator(4 + level, 25, 4, 10, 2).createLevel().getMap(),
+						new LevelImpl(levelMap, TestLevel.parseObjects(JSONLevel)).getMap());
+			}
+		}
+	}
+}
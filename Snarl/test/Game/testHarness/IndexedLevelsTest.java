@@ -0,0 +1,75 @@
+package Game.testHarness;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import Game.model.Dungeon;
+import Game.model.Level;
+import Game.model.LevelGenerator;
+import Game.model.LevelIndex;
+import Game.model.Player;
+import Game.model.Zombie;
+import Game.model.Adversary;
+import Level.GenerateLevels;
+import Level.IndexedLevels;
+
+//Tests that levels files can be played through their index, parsing only the levels that are reached
+public class IndexedLevelsTest {
+
+	//Test that each indexed level matches the level generated from its seed, and is only
+	//parsed when a dungeon reaches it
+	@Test
+	public void testStartLaterLevel() throws IOException {
+		File file = File.createTempFile("indexed", ".levels");
+		file.deleteOnExit();
+		new File(file.getPath() + LevelIndex.indexExtension).deleteOnExit();
+		GenerateLevels.main(new String[] {"--seed", "9", "--levels", "4", "--rooms", "15", "--out", file.getPath()});
+
+		IndexedLevels levels = new IndexedLevels(file.getPath());
+		assertEquals(4, levels.size());
+		List<Player> players = new ArrayList<>(Arrays.asList(new Player("Player")));
+		Dungeon dungeon = new Dungeon(players, 3, levels);
+		dungeon.startCurrentLevelRandom(new ArrayList<Adversary>(Arrays.asList(new Zombie("Zombie"))));
+		assertFalse(levels.isParsed(0));
+		assertFalse(levels.isParsed(1));
+		assertTrue(levels.isParsed(2));
+		assertFalse(levels.isParsed(3));
+		assertEquals(new LevelGenerator(11, 15).createLevel().getMap().size(),
+				dungeon.getCurrentLevel().getMap().size());
+
+		//A second game uses the cached index, and parses the same levels
+		IndexedLevels reopened = new IndexedLevels(file.getPath());
+		assertEquals(new LevelGenerator(12, 15).createLevel().getMap(), reopened.get(3).getMap());
+		assertEquals(reopened.get(0).getMap(), levels.get(0).getMap());
+	}
+
+	//Test that a new game of the file shares the parsed templates but has its own levels
+	@Test
+	public void testNewGameSharesTemplates() throws IOException {
+		File file = File.createTempFile("indexed", ".levels");
+		file.deleteOnExit();
+		new File(file.getPath() + LevelIndex.indexExtension).deleteOnExit();
+		GenerateLevels.main(new String[] {"--seed", "4", "--levels", "2", "--rooms", "10", "--out", file.getPath()});
+
+		IndexedLevels levels = new IndexedLevels(file.getPath());
+		Level firstGame = levels.get(1);
+		IndexedLevels secondGameLevels = levels.newGame();
+		assertFalse(secondGameLevels.isParsed(1));
+		Level secondGame = secondGameLevels.get(1);
+		assertNotSame(firstGame, secondGame);
+		assertSame(levels.getTemplate(1), secondGameLevels.getTemplate(1));
+
+		Player player = new Player("Player");
+		firstGame.placeActorsRandomly(Arrays.asList(player), new ArrayList<Adversary>());
+		assertEquals(1, firstGame.getActivePlayers().size());
+		assertTrue(secondGame.getActivePlayers().isEmpty());
+		assertEquals(levels.getTemplate(1).createLevel().getMap(), secondGame.getMap());
+	}
+}
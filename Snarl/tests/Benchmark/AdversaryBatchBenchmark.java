@@ -0,0 +1,153 @@
+package Benchmark;
+
+import Adversary.LocalGhost;
+import Adversary.LocalZombie;
+import Common.AdversaryClient;
+import Game.controller.AdversaryBatches;
+import Game.model.Adversary;
+import Game.model.DistanceField;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how long the adversaries of a level take to decide their moves,
+ * either one at a time as the game manager does by default, or in batches of
+ * adversaries that cannot affect each other, each batch decided at once on
+ * the common ForkJoinPool. The moves are not made, so every phase sees the
+ * same level.
+ *
+ * Every room holds a zombie and a ghost, away from the walls and from each
+ * other, and every tenth room holds a player for them to chase, so every
+ * adversary is in one batch. The speedup of batches depends on the number of
+ * cores, which is printed, and finding the batches is measured on its own.
+ *
+ * Run with: java Benchmark.AdversaryBatchBenchmark
+ */
+public class AdversaryBatchBenchmark {
+
+	//The numbers of rooms along each side of the benchmarked levels
+	private static final int[] roomsPerSideCounts = {8, 12, 16};
+
+	private static final int warmupIterations = 500;
+	private static final int measuredIterations = 2000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.printf("cores %d, pool parallelism %d%n", Runtime.getRuntime().availableProcessors(),
+				ForkJoinPool.commonPool().getParallelism());
+		System.out.println("adversaries\tbatches\tone at a time us/phase\tbatched us/phase\tfinding batches us");
+		AdversaryBatches batches = new AdversaryBatches(ForkJoinPool.commonPool());
+		for (int roomsPerSide : roomsPerSideCounts) {
+			Map<Player, Point> players = new LinkedHashMap<>();
+			Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+			Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+			for (int row = 0; row < roomsPerSide; row++) {
+				for (int col = 0; col < roomsPerSide; col++) {
+					int room = row * roomsPerSide + col;
+					if (room % 10 == 0) {
+						players.put(new Player("Player" + room), BenchmarkLevels.roomInterior(row, col, 3));
+					}
+					Adversary zombie = new Zombie("Zombie" + room);
+					adversaries.put(zombie, BenchmarkLevels.roomInterior(row, col, 1));
+					clients.put(zombie, new LocalZombie());
+					Adversary ghost = new Ghost("Ghost" + room);
+					adversaries.put(ghost, BenchmarkLevels.roomInterior(row, col, 4));
+					clients.put(ghost, new LocalGhost());
+				}
+			}
+			Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+			for (AdversaryClient client : clients.values()) {
+				client.getLevelStart(level);
+				client.prepareLevel(level);
+			}
+			DistanceField field = level.createDistanceField();
+			List<Adversary> turnOrder = new ArrayList<>(clients.keySet());
+
+			int numBatches = 0;
+			for (int start = 0; start < turnOrder.size(); numBatches++) {
+				start = AdversaryBatches.findBatchEnd(level, turnOrder, start, clients,
+						level.getActivePlayers(), level.getActiveAdversaries());
+			}
+			double oneAtATime = measure(level, clients, turnOrder, field, null);
+			double batched = measure(level, clients, turnOrder, field, batches);
+			long start = System.nanoTime();
+			for (int i = 0; i < measuredIterations; i++) {
+				sink += AdversaryBatches.findBatchEnd(level, turnOrder, 0, clients,
+						level.getActivePlayers(), level.getActiveAdversaries());
+			}
+			double finding = (System.nanoTime() - start) / 1000.0 / measuredIterations;
+			System.out.printf("%d\t%d\t%.1f\t%.1f\t%.1f%n", turnOrder.size(), numBatches, oneAtATime, batched,
+					finding);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time of an adversary phase
+	 * @param level - the level the adversaries are in
+	 * @param clients - the client of each adversary
+	 * @param turnOrder - the adversaries, in the order they take their turns
+	 * @param field - the distance field computed each phase
+	 * @param batches - decides batches of moves, or null to decide moves one at a time
+	 * @return the average time in microseconds
+	 */
+	private static double measure(Level level, Map<Adversary, AdversaryClient> clients, List<Adversary> turnOrder,
+			DistanceField field, AdversaryBatches batches) {
+		for (int i = 0; i < warmupIterations; i++) {
+			runPhase(level, clients, turnOrder, field, batches);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			runPhase(level, clients, turnOrder, field, batches);
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Asks every adversary for its move, without making the moves
+	 * @param level - the level the adversaries are in
+	 * @param clients - the client of each adversary
+	 * @param turnOrder - the adversaries, in the order they take their turns
+	 * @param field - the distance field computed each phase
+	 * @param batches - decides batches of moves, or null to decide moves one at a time
+	 */
+	private static void runPhase(Level level, Map<Adversary, AdversaryClient> clients, List<Adversary> turnOrder,
+			DistanceField field, AdversaryBatches batches) {
+		Map<Player, Point> players = level.getActivePlayers();
+		Map<Adversary, Point> adversaries = level.getActiveAdversaries();
+		field.compute(players.values());
+		if (batches == null) {
+			for (Adversary adversary : turnOrder) {
+				AdversaryClient client = clients.get(adversary);
+				client.updateActorLocations(players, adversaries, adversary);
+				client.updatePlayerDistances(field);
+				sink += client.takeTurn().x;
+			}
+			return;
+		}
+		int start = 0;
+		while (start < turnOrder.size()) {
+			int end = AdversaryBatches.findBatchEnd(level, turnOrder, start, clients, players, adversaries);
+			Map<Adversary, Point> moves = batches.decide(turnOrder.subList(start, end), clients, players,
+					adversaries, field);
+			for (Point move : moves.values()) {
+				sink += move.x;
+			}
+			start = end;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Space;
+import Game.model.Tile;
+import Game.model.Wall;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the memory allocated by the steady-state work of a turn, which is
+ * what drives garbage collection during a game. Each operation is repeated
+ * many times on the game thread, and the bytes the thread allocated are
+ * divided by the number of repetitions:
+ * - getPotentialMoves, getValidMoves and checkValidMove, as each player turn does
+ * - getPlayerMap and cropTileMap, as each player update does
+ * - playerAction to a neighbouring cell and back, as each move does
+ * - findComponent, as each adversary move does
+ *
+ * Allocations are read from the JVM's per-thread allocation counter, so the
+ * benchmark needs a HotSpot JVM.
+ *
+ * Run with: java Benchmark.AllocationBenchmark
+ */
+public class AllocationBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 10;
+
+	private static final int warmupIterations = 20000;
+	private static final int measuredIterations = 100000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		Map<Player, Point> players = new LinkedHashMap<>();
+		final Player player = new Player("Player");
+		//Place the player by a door so that moves cross walls and halls
+		players.put(player, BenchmarkLevels.roomInterior(0, 0, 5));
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		adversaries.put(new Zombie("Zombie"), BenchmarkLevels.roomInterior(1, 1, 2));
+		final Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+		final Point location = level.getActorPosition(player);
+		final Point neighbour = new Point(location.x - 1, location.y);
+		final Point offset = new Point(0, 0);
+		final List<List<Tile>> tileMap = new ArrayList<>();
+		for (int y = 0; y < 20; y++) {
+			List<Tile> row = new ArrayList<>();
+			for (int x = 0; x < 20; x++) {
+				row.add(x == 0 || y == 0 ? new Wall() : new Space());
+			}
+			tileMap.add(row);
+		}
+
+		System.out.println("operation\tbytes/call");
+		report("getPotentialMoves", new Runnable() {
+			public void run() {
+				sink += player.getPotentialMoves(location).size();
+			}});
+		report("getValidMoves", new Runnable() {
+			public void run() {
+				sink += level.getValidMoves(player).size();
+			}});
+		report("checkValidMove", new Runnable() {
+			public void run() {
+				if (level.checkValidMove(player, neighbour)) {
+					sink++;
+				}
+			}});
+		report("getPlayerMap", new Runnable() {
+			public void run() {
+				sink += level.getPlayerMap(player).size();
+			}});
+		report("cropTileMap (edge of map)", new Runnable() {
+			public void run() {
+				sink += player.cropTileMap(tileMap, offset, offset).size();
+			}});
+		report("playerAction (move and back)", new Runnable() {
+			public void run() {
+				sink += level.playerAction(player, neighbour).ordinal();
+				sink += level.playerAction(player, location).ordinal();
+			}});
+		report("findComponent", new Runnable() {
+			public void run() {
+				sink += level.findComponent(neighbour).hashCode() & 1;
+			}});
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures and prints the average bytes allocated by one run of an operation
+	 * @param name - the name of the operation
+	 * @param operation - the operation to measure
+	 */
+	private static void report(String name, Runnable operation) {
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		for (int i = 0; i < warmupIterations; i++) {
+			operation.run();
+		}
+		long start = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < measuredIterations; i++) {
+			operation.run();
+		}
+		long allocated = threads.getThreadAllocatedBytes(thread) - start;
+		System.out.printf("%s\t%.1f%n", name, allocated / (double)measuredIterations);
+	}
+}
@@ -0,0 +1,153 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.Exit;
+import Game.model.Hall;
+import Game.model.Item;
+import Game.model.Key;
+import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.LevelTemplate;
+import Game.model.Player;
+import Game.model.Room;
+import Game.model.Space;
+import Game.model.Tile;
+import Game.model.Wall;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds large levels for the benchmarks. A level is a square grid of
+ * identical rooms. Each room is connected by a hall to the room on its
+ * right, and the rooms in the left-most column are connected by a hall
+ * to the room below them, so every room is reachable.
+ *
+ * The key is placed in the top left room and the exit in the bottom
+ * right room.
+ *
+ * Benchmarks play many games on levels of the same size, so each size is
+ * built once into a LevelTemplate and every level of that size is a new
+ * game of the template
+ */
+public class BenchmarkLevels {
+
+	//The number of cells along each side of a room, including its walls
+	public static final int roomSize = 8;
+
+	//The distance between the top left corners of neighboring rooms
+	public static final int roomSpacing = 12;
+
+	//The template of each size of level that has been built, by the number of rooms along each side
+	private static final Map<Integer, LevelTemplate> templates = new HashMap<>();
+
+	/**
+	 * Builds the components of a level with the given number of rooms along each side
+	 * @param roomsPerSide - the number of rooms in each row and column of the level
+	 * @return the level map
+	 */
+	public static List<LevelComponent> createLevelMap(int roomsPerSide) {
+		Room[][] rooms = new Room[roomsPerSide][roomsPerSide];
+		List<LevelComponent> levelMap = new ArrayList<>();
+		for (int row = 0; row < roomsPerSide; row++) {
+			for (int col = 0; col < roomsPerSide; col++) {
+				rooms[row][col] = createRoom(new Point(col * roomSpacing, row * roomSpacing));
+				levelMap.add(rooms[row][col]);
+			}
+		}
+
+		int middle = roomSize / 2;
+		List<Point> noWaypoints = new ArrayList<>();
+		for (int row = 0; row < roomsPerSide; row++) {
+			for (int col = 0; col < roomsPerSide; col++) {
+				Point origin = new Point(col * roomSpacing, row * roomSpacing);
+				//Connect the right door of this room to the left door of the next room
+				if (col + 1 < roomsPerSide) {
+					levelMap.add(new Hall(
+							new Point(origin.x + roomSize - 1, origin.y + middle), rooms[row][col],
+							new Point(origin.x + roomSpacing, origin.y + middle), rooms[row][col + 1],
+							noWaypoints));
+				}
+				//Connect the bottom door of the left-most room to the top door of the room below
+				if (col == 0 && row + 1 < roomsPerSide) {
+					levelMap.add(new Hall(
+							new Point(origin.x + middle, origin.y + roomSize - 1), rooms[row][col],
+							new Point(origin.x + middle, origin.y + roomSpacing), rooms[row + 1][col],
+							noWaypoints));
+				}
+			}
+		}
+		return levelMap;
+	}
+
+	/**
+	 * Builds a level with the given number of rooms along each side
+	 * @param roomsPerSide - the number of rooms in each row and column of the level
+	 * @param players - the players in the level and their locations
+	 * @param adversaries - the adversaries in the level and their locations
+	 * @return the level
+	 */
+	public static Level createLevel(int roomsPerSide, Map<Player, Point> players,
+			Map<Adversary, Point> adversaries) {
+		Level level = getTemplate(roomsPerSide).createLevel();
+		level.placeActorsSpecifiedLocation(players, adversaries);
+		return level;
+	}
+
+	/**
+	 * Gets the template of a level with the given number of rooms along each side,
+	 * building it the first time it is needed
+	 * @param roomsPerSide - the number of rooms in each row and column of the level
+	 * @return the template of the level
+	 */
+	public static synchronized LevelTemplate getTemplate(int roomsPerSide) {
+		LevelTemplate template = templates.get(roomsPerSide);
+		if (template == null) {
+			List<Item> items = new ArrayList<>();
+			items.add(new Key(new Point(2, 2)));
+			int lastRoom = (roomsPerSide - 1) * roomSpacing;
+			items.add(new Exit(new Point(lastRoom + 2, lastRoom + 2)));
+			template = new LevelTemplate(createLevelMap(roomsPerSide), items);
+			templates.put(roomsPerSide, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Gets a walkable location inside the room at the given row and column of rooms
+	 * @param roomRow - the row of the room
+	 * @param roomCol - the column of the room
+	 * @param offset - the number of cells right and down from the first walkable cell
+	 * @return a location inside the room
+	 */
+	public static Point roomInterior(int roomRow, int roomCol, int offset) {
+		return new Point(roomCol * roomSpacing + 1 + offset, roomRow * roomSpacing + 1 + offset);
+	}
+
+	/**
+	 * Creates a room surrounded by walls with a door opening in the middle of each side
+	 * @param origin - the top left corner of the room
+	 * @return the room
+	 */
+	private static Room createRoom(Point origin) {
+		Tile wall = Wall.instance;
+		int middle = roomSize / 2;
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int y = 0; y < roomSize; y++) {
+			List<Tile> row = new ArrayList<>();
+			for (int x = 0; x < roomSize; x++) {
+				boolean border = x == 0 || y == 0 || x == roomSize - 1 || y == roomSize - 1;
+				boolean door = x == middle || y == middle;
+				if (border && !door) {
+					row.add(wall);
+				} else {
+					row.add(new Space());
+				}
+			}
+			componentMap.add(row);
+		}
+		return new Room(origin, componentMap);
+	}
+}
@@ -0,0 +1,155 @@
+package Benchmark;
+
+import Adversary.LocalGhost;
+import Game.model.Adversary;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.RoomGraph;
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures how long ghosts take to decide their moves on a level of 10,000
+ * rooms, using the room graph of the level:
+ * - building the room graph, which is done once per level before it starts
+ * - a ghost with no player nearby walking to the closest door of its room
+ * - a ghost chasing a player without a distance field, following its route
+ * - finding routes between rooms a few rooms apart, across the whole level,
+ *   and between random rooms, of which the slowest route is also reported
+ *
+ * The moves are not made, so every decision sees the same level.
+ *
+ * Run with: java Benchmark.GhostBenchmark
+ */
+public class GhostBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 100;
+
+	private static final int warmupIterations = 20000;
+	private static final int measuredIterations = 100000;
+
+	//The number of routes between random rooms, and the number of times each is found
+	private static final int randomRoutes = 500;
+	private static final int routeRepeats = 5;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		Map<Player, Point> players = new LinkedHashMap<>();
+		Player player = new Player("Player");
+		players.put(player, BenchmarkLevels.roomInterior(50, 50, 0));
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		Ghost wanderer = new Ghost("Wanderer");
+		Ghost chaser = new Ghost("Chaser");
+		adversaries.put(wanderer, BenchmarkLevels.roomInterior(20, 30, 2));
+		adversaries.put(chaser, BenchmarkLevels.roomInterior(50, 50, 3));
+		Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+
+		long start = System.nanoTime();
+		final RoomGraph roomGraph = level.getRoomGraph();
+		System.out.printf("room graph of %d doors built in %.1f ms%n", roomGraph.getDoorCount(),
+				(System.nanoTime() - start) / 1e6);
+
+		System.out.println("operation\tus/call");
+		final LocalGhost wanderingGhost = new LocalGhost();
+		wanderingGhost.getLevelStart(level);
+		wanderingGhost.updateActorLocations(level.getActivePlayers(), level.getActiveAdversaries(), wanderer);
+		report("takeTurn (walk to door)", new Runnable() {
+			public void run() {
+				sink += wanderingGhost.takeTurn().x;
+			}});
+
+		final LocalGhost chasingGhost = new LocalGhost();
+		chasingGhost.getLevelStart(level);
+		chasingGhost.updateActorLocations(level.getActivePlayers(), level.getActiveAdversaries(), chaser);
+		report("takeTurn (chase by route)", new Runnable() {
+			public void run() {
+				sink += chasingGhost.takeTurn().x;
+			}});
+
+		//Routes between rooms in the same row, which are joined by one hall after another
+		final Point from = BenchmarkLevels.roomInterior(50, 10, 2);
+		final Point nearby = BenchmarkLevels.roomInterior(50, 15, 2);
+		report("findRoute (5 rooms along a row)", new Runnable() {
+			public void run() {
+				sink += routeLength(roomGraph.findRoute(from, nearby));
+			}});
+
+		//Rooms in different rows are only joined through the first column of rooms
+		final Point corner = BenchmarkLevels.roomInterior(0, 0, 2);
+		final Point farCorner = BenchmarkLevels.roomInterior(roomsPerSide - 1, roomsPerSide - 1, 2);
+		int iterations = 100;
+		for (int i = 0; i < iterations; i++) {
+			sink += routeLength(roomGraph.findRoute(corner, farCorner));
+		}
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += routeLength(roomGraph.findRoute(corner, farCorner));
+		}
+		System.out.printf("findRoute (corner to corner, %d doors)\t%.1f%n",
+				routeLength(roomGraph.findRoute(corner, farCorner)),
+				(System.nanoTime() - start) / 1000.0 / iterations);
+
+		//The routes are all found once before they are measured
+		Random random = new Random(1);
+		Point[] routeStarts = new Point[randomRoutes];
+		Point[] routeEnds = new Point[randomRoutes];
+		for (int i = 0; i < randomRoutes; i++) {
+			routeStarts[i] = BenchmarkLevels.roomInterior(random.nextInt(roomsPerSide), random.nextInt(roomsPerSide), 2);
+			routeEnds[i] = BenchmarkLevels.roomInterior(random.nextInt(roomsPerSide), random.nextInt(roomsPerSide), 2);
+			sink += routeLength(roomGraph.findRoute(routeStarts[i], routeEnds[i]));
+		}
+		//Each route is timed by its fastest search, so that a pause for garbage
+		//collection is not taken for a slow route
+		double totalMicros = 0;
+		double worstMicros = 0;
+		for (int i = 0; i < randomRoutes; i++) {
+			double micros = Double.MAX_VALUE;
+			for (int repeat = 0; repeat < routeRepeats; repeat++) {
+				start = System.nanoTime();
+				sink += routeLength(roomGraph.findRoute(routeStarts[i], routeEnds[i]));
+				micros = Math.min(micros, (System.nanoTime() - start) / 1000.0);
+			}
+			totalMicros += micros;
+			worstMicros = Math.max(worstMicros, micros);
+		}
+		System.out.printf("findRoute (%d random rooms, mean)\t%.1f%n", randomRoutes, totalMicros / randomRoutes);
+		System.out.printf("findRoute (%d random rooms, slowest)\t%.1f%n", randomRoutes, worstMicros);
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Gets the number of doors on a route
+	 * @param route - the route, or null if there is none
+	 * @return the number of doors, or -1 if there is no route
+	 */
+	private static int routeLength(List<Point> route) {
+		return route == null ? -1 : route.size();
+	}
+
+	/**
+	 * Measures the average time of an operation and prints it
+	 * @param name - the name of the operation
+	 * @param operation - the operation to measure
+	 */
+	private static void report(String name, Runnable operation) {
+		for (int i = 0; i < warmupIterations; i++) {
+			operation.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			operation.run();
+		}
+		System.out.printf("%s\t%.2f%n", name, (System.nanoTime() - start) / 1000.0 / measuredIterations);
+	}
+}
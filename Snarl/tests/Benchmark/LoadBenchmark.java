@@ -0,0 +1,147 @@
+package Benchmark;
+
+import Game.model.CompiledLevels;
+import Game.model.Level;
+import Game.model.LevelImpl;
+import Game.model.LevelIndex;
+import Game.model.LevelGenerator;
+import JSONUtils.Generator;
+import Level.CompileLevels;
+import Level.IndexedLevels;
+import Level.TestLevel;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Measures the time for a server to load a dungeon before the first player
+ * can join. A levels file of generated levels is written as JSON and then
+ * compiled, and two ways of loading it are compared:
+ * - JSON: parse every level and build it, as the server does with a
+ *   JSON levels file
+ * - indexed: open the JSON file through its cached index and parse only the
+ *   last level, as the local game does with --start at the last level
+ * - compiled: map the compiled file and build only the first level, as the
+ *   server does with a compiled levels file
+ *
+ * Run with: java Benchmark.LoadBenchmark
+ */
+public class LoadBenchmark {
+
+	//The number of levels in the dungeon, and of rooms in each level
+	private static final int numLevels = 200;
+	private static final int roomsPerLevel = 100;
+
+	private static final int warmupIterations = 3;
+	private static final int measuredIterations = 5;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 * @throws IOException if the levels files cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		File jsonFile = File.createTempFile("benchmark", ".levels");
+		File compiledFile = File.createTempFile("benchmark", ".snlc");
+		jsonFile.deleteOnExit();
+		new File(jsonFile.getPath() + LevelIndex.indexExtension).deleteOnExit();
+		compiledFile.deleteOnExit();
+
+		try (PrintStream out = new PrintStream(jsonFile)) {
+			out.println(numLevels);
+			for (int i = 0; i < numLevels; i++) {
+				out.println(Generator.generateJSONLevel(new LevelGenerator(i, roomsPerLevel).createLevel()));
+			}
+		}
+		long start = System.nanoTime();
+		CompileLevels.main(new String[] {"--levels", jsonFile.getPath(), "--out", compiledFile.getPath()});
+		double compileMillis = (System.nanoTime() - start) / 1000000.0;
+
+		System.out.printf("%d levels of %d rooms: JSON %d KB, compiled %d KB, compiled in %.0f ms%n",
+				numLevels, roomsPerLevel, jsonFile.length() / 1024, compiledFile.length() / 1024, compileMillis);
+		System.out.println("load\tms to first level");
+		System.out.printf("JSON\t%.2f%n", measureJSON(jsonFile.getPath()));
+		System.out.printf("indexed\t%.2f%n", measureIndexed(jsonFile.getPath()));
+		System.out.printf("compiled\t%.2f%n", measureCompiled(compiledFile.getPath()));
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time to parse and build every level of a JSON levels file
+	 * @param fileName - the name of the JSON levels file
+	 * @return the average time in milliseconds
+	 */
+	private static double measureJSON(String fileName) throws IOException {
+		for (int i = 0; i < warmupIterations; i++) {
+			sink += loadJSON(fileName).size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			sink += loadJSON(fileName).size();
+		}
+		return (System.nanoTime() - start) / 1000000.0 / measuredIterations;
+	}
+
+	/**
+	 * Measures the average time to open a JSON levels file through its cached
+	 * index and parse its last level
+	 * @param fileName - the name of the JSON levels file
+	 * @return the average time in milliseconds
+	 */
+	private static double measureIndexed(String fileName) throws IOException {
+		long start = System.nanoTime();
+		sink += new IndexedLevels(fileName).size();
+		System.out.printf("index\t%.2f (built and cached)%n", (System.nanoTime() - start) / 1000000.0);
+		for (int i = 0; i < warmupIterations * 10; i++) {
+			sink += new IndexedLevels(fileName).get(numLevels - 1).getItems().size();
+		}
+		start = System.nanoTime();
+		for (int i = 0; i < measuredIterations * 10; i++) {
+			sink += new IndexedLevels(fileName).get(numLevels - 1).getItems().size();
+		}
+		return (System.nanoTime() - start) / 1000000.0 / (measuredIterations * 10);
+	}
+
+	/**
+	 * Measures the average time to open a compiled levels file and build its first level
+	 * @param fileName - the name of the compiled levels file
+	 * @return the average time in milliseconds
+	 */
+	private static double measureCompiled(String fileName) throws IOException {
+		for (int i = 0; i < warmupIterations * 10; i++) {
+			sink += new CompiledLevels(fileName).get(0).getItems().size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations * 10; i++) {
+			sink += new CompiledLevels(fileName).get(0).getItems().size();
+		}
+		return (System.nanoTime() - start) / 1000000.0 / (measuredIterations * 10);
+	}
+
+	/**
+	 * Parses and builds every level of a JSON levels file
+	 * @param fileName - the name of the JSON levels file
+	 * @return the levels
+	 */
+	private static List<Level> loadJSON(String fileName) throws IOException {
+		List<Level> levels = new ArrayList<>();
+		try (FileInputStream input = new FileInputStream(fileName)) {
+			JSONTokener inputTokens = new JSONTokener(input);
+			int count = (int)inputTokens.nextValue();
+			for (int i = 0; i < count; i++) {
+				JSONObject JSONLevel = (JSONObject)inputTokens.nextValue();
+				levels.add(new LevelImpl(TestLevel.parseLevelMap(JSONLevel),
+						TestLevel.parseObjects(JSONLevel)));
+			}
+		}
+		return levels;
+	}
+}
@@ -0,0 +1,122 @@
+package Benchmark;
+
+import Adversary.LocalZombie;
+import Game.model.ActorLocations;
+import Game.model.Adversary;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the cost of giving every adversary the actor locations before its
+ * turn, over a round in which every adversary moves, as the number of
+ * adversaries grows:
+ * - reading the locations of every actor from the level before each turn,
+ *   as the game manager did
+ * - following the moves with ActorLocations, which the level tells about each
+ *   move, and giving every adversary views of the same locations
+ *
+ * Only the locations are measured, the adversaries do not decide their moves.
+ * Every adversary steps back and forth inside its own room, so the level is
+ * the same after every second round.
+ *
+ * Run with: java Benchmark.LocationFeedBenchmark
+ */
+public class LocationFeedBenchmark {
+
+	//The numbers of rooms along each side of the benchmarked levels, with four adversaries in each room
+	private static final int[] roomsPerSideCounts = {6, 12, 24};
+
+	private static final int warmupIterations = 200;
+	private static final int measuredIterations = 1000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("adversaries\tread from level us/round\tlocation feed us/round");
+		for (int roomsPerSide : roomsPerSideCounts) {
+			Map<Player, Point> players = new LinkedHashMap<>();
+			players.put(new Player("Player"), BenchmarkLevels.roomInterior(0, 0, 5));
+			Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+			for (int row = 0; row < roomsPerSide; row++) {
+				for (int col = 0; col < roomsPerSide; col++) {
+					for (int i = 0; i < 4; i++) {
+						Point corner = BenchmarkLevels.roomInterior(row, col, 0);
+						adversaries.put(new Zombie("Zombie" + row + "," + col + "," + i),
+								new Point(corner.x + i, corner.y));
+					}
+				}
+			}
+			Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+			List<Adversary> turnOrder = new ArrayList<>(adversaries.keySet());
+			LocalZombie client = new LocalZombie();
+			client.getLevelStart(level);
+
+			double fromLevel = measure(level, turnOrder, client, null);
+			ActorLocations locations = new ActorLocations(level.getActivePlayers(), level.getActiveAdversaries());
+			level.addLocationListener(locations);
+			double feed = measure(level, turnOrder, client, locations);
+			level.removeLocationListener(locations);
+			System.out.printf("%d\t%.1f\t%.1f%n", turnOrder.size(), fromLevel, feed);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time of a round
+	 * @param level - the level the adversaries are in
+	 * @param turnOrder - the adversaries, in the order they take their turns
+	 * @param client - the client given the locations before each turn
+	 * @param locations - the locations followed from the level, or null to read them from the level
+	 * @return the average time in microseconds
+	 */
+	private static double measure(Level level, List<Adversary> turnOrder, LocalZombie client,
+			ActorLocations locations) {
+		for (int i = 0; i < warmupIterations; i++) {
+			runRound(level, turnOrder, client, locations, i);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			runRound(level, turnOrder, client, locations, i);
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Gives every adversary the locations and moves it one step down, or back up on odd rounds
+	 * @param level - the level the adversaries are in
+	 * @param turnOrder - the adversaries, in the order they take their turns
+	 * @param client - the client given the locations before each turn
+	 * @param locations - the locations followed from the level, or null to read them from the level
+	 * @param round - the number of the round
+	 */
+	private static void runRound(Level level, List<Adversary> turnOrder, LocalZombie client,
+			ActorLocations locations, int round) {
+		int step = round % 2 == 0 ? 1 : -1;
+		for (Adversary adversary : turnOrder) {
+			Map<Player, Point> players;
+			Map<Adversary, Point> adversaries;
+			if (locations == null) {
+				players = level.getActivePlayers();
+				adversaries = level.getActiveAdversaries();
+			} else {
+				players = locations.getPlayers();
+				adversaries = locations.getAdversaries();
+			}
+			client.updateActorLocations(players, adversaries, adversary);
+			Point location = adversaries.get(adversary);
+			sink += location.x;
+			level.adversaryAction(adversary, new Point(location.x, location.y + step));
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package Benchmark;
+
+import Adversary.LocalGhost;
+import Adversary.LocalZombie;
+import Adversary.MonteCarloAdversary;
+import Common.AdversaryClient;
+import Game.model.Adversary;
+import Game.model.GameState;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the MonteCarloAdversary:
+ * - playouts per second: the playouts run in one turn of a zombie, with the
+ *   turn's time budget, as the number of search threads grows
+ * - win rate: games in which a zombie and a ghost hunt two players, played
+ *   once by a LocalZombie and a LocalGhost and once by MonteCarloAdversaries,
+ *   with the same players. The players step away from the nearest adversary
+ *   and otherwise towards the key and then the exit, with some random moves.
+ *   A game is won by the adversaries if both players are ejected, by the
+ *   players if one exits, and is a draw if neither happens within a number
+ *   of rounds
+ *
+ * Run with: java Benchmark.MonteCarloBenchmark
+ */
+public class MonteCarloBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 3;
+
+	//The time each turn of a MonteCarloAdversary may take, in milliseconds
+	private static final long turnBudgetMillis = 20;
+
+	//The numbers of search threads measured for playouts per second
+	private static final int[] threadCounts = {1, 2, 4};
+
+	private static final int warmupTurns = 50;
+	private static final int measuredTurns = 50;
+
+	//The number of games played by each team of adversaries, and the rounds each game may last
+	private static final int numGames = 10;
+	private static final int maxRounds = 100;
+
+	//The chance that a player makes a random move
+	private static final double playerRandomness = 0.3;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("threads\tplayouts/s\tfallback turns");
+		List<Integer> counts = new ArrayList<>();
+		for (int count : threadCounts) {
+			counts.add(count);
+		}
+		int processors = Runtime.getRuntime().availableProcessors();
+		if (!counts.contains(processors)) {
+			counts.add(processors);
+		}
+		for (int count : counts) {
+			measurePlayouts(count);
+		}
+
+		System.out.println("adversaries\tadversary wins\tplayer wins\tdraws\tplayers ejected\tms/game");
+		playGames("greedy", false);
+		playGames("monte carlo", true);
+	}
+
+	/**
+	 * Measures the playouts per second of a zombie searching on a number of threads
+	 * @param numThreads - the number of search threads
+	 */
+	private static void measurePlayouts(int numThreads) {
+		Zombie zombie = new Zombie("Zombie");
+		Level level = createGameLevel(zombie, new Ghost("Ghost"), new Player("Player1"), new Player("Player2"));
+		MonteCarloAdversary client = new MonteCarloAdversary(turnBudgetMillis, numThreads, 1);
+		client.getLevelStart(level);
+		for (int turn = 0; turn < warmupTurns; turn++) {
+			client.updateActorLocations(level.getActivePlayers(), level.getActiveAdversaries(), zombie);
+			client.takeTurn();
+		}
+		long playouts = 0;
+		int fallbacks = 0;
+		long start = System.nanoTime();
+		for (int turn = 0; turn < measuredTurns; turn++) {
+			client.updateActorLocations(level.getActivePlayers(), level.getActiveAdversaries(), zombie);
+			client.takeTurn();
+			playouts += client.getLastPlayoutCount();
+			fallbacks += client.getLastTurnFellBack() ? 1 : 0;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		client.shutdown();
+		System.out.printf("%d\t%.0f\t%d%n", numThreads, playouts / seconds, fallbacks);
+	}
+
+	/**
+	 * Plays the games of a team of adversaries and prints the results
+	 * @param name - the name of the team
+	 * @param monteCarlo - true if the adversaries are MonteCarloAdversaries, false for local adversaries
+	 */
+	private static void playGames(String name, boolean monteCarlo) {
+		int adversaryWins = 0;
+		int playerWins = 0;
+		int ejected = 0;
+		long start = System.nanoTime();
+		for (int game = 0; game < numGames; game++) {
+			Zombie zombie = new Zombie("Zombie");
+			Ghost ghost = new Ghost("Ghost");
+			List<Player> players = new ArrayList<>();
+			players.add(new Player("Player1"));
+			players.add(new Player("Player2"));
+			Level level = createGameLevel(zombie, ghost, players.get(0), players.get(1));
+
+			Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+			if (monteCarlo) {
+				clients.put(zombie, new MonteCarloAdversary(turnBudgetMillis, 1, game));
+				clients.put(ghost, new MonteCarloAdversary(turnBudgetMillis, 1, game + numGames));
+			} else {
+				clients.put(zombie, new LocalZombie());
+				clients.put(ghost, new LocalGhost());
+			}
+			for (AdversaryClient client : clients.values()) {
+				client.getLevelStart(level);
+			}
+
+			GameState result = playGame(level, players, clients, new Random(game));
+			if (result.equals(GameState.LOST)) {
+				adversaryWins++;
+			} else if (result.equals(GameState.WON)) {
+				playerWins++;
+			}
+			ejected += players.size() - level.getActivePlayers().size()
+					- (level.getLevelExited() ? 1 : 0);
+			for (AdversaryClient client : clients.values()) {
+				if (client instanceof MonteCarloAdversary) {
+					((MonteCarloAdversary) client).shutdown();
+				}
+			}
+		}
+		double millisPerGame = (System.nanoTime() - start) / 1e6 / numGames;
+		System.out.printf("%s\t%d\t%d\t%d\t%d\t%.0f%n", name, adversaryWins, playerWins,
+				numGames - adversaryWins - playerWins, ejected, millisPerGame);
+	}
+
+	/**
+	 * Plays a game until it is over or the rounds run out
+	 * @param level - the level of the game
+	 * @param players - the players, in turn order
+	 * @param clients - the adversaries and their clients, in turn order
+	 * @param random - the random choices of the players
+	 * @return the state of the level at the end of the game
+	 */
+	private static GameState playGame(Level level, List<Player> players, Map<Adversary, AdversaryClient> clients,
+			Random random) {
+		for (int round = 0; round < maxRounds; round++) {
+			for (Player player : players) {
+				if (level.getActivePlayers().containsKey(player)) {
+					level.playerAction(player, choosePlayerMove(level, player, random));
+				}
+				if (!level.isLevelOver().equals(GameState.ACTIVE)) {
+					return level.isLevelOver();
+				}
+			}
+			for (Map.Entry<Adversary, AdversaryClient> entry : clients.entrySet()) {
+				Map<Adversary, Point> adversaries = level.getActiveAdversaries();
+				if (!adversaries.containsKey(entry.getKey())) {
+					continue;
+				}
+				AdversaryClient client = entry.getValue();
+				client.updateActorLocations(level.getActivePlayers(), adversaries, entry.getKey());
+				Point move = client.takeTurn();
+				if (level.checkValidMove(entry.getKey(), move)) {
+					level.adversaryAction(entry.getKey(), move);
+				}
+				if (!level.isLevelOver().equals(GameState.ACTIVE)) {
+					return level.isLevelOver();
+				}
+			}
+		}
+		return GameState.ACTIVE;
+	}
+
+	/**
+	 * Chooses the move of a player: the valid move furthest from the nearest
+	 * adversary, and of those the closest to the key, or to the exit once it is
+	 * unlocked, or sometimes a random valid move
+	 * @param level - the level
+	 * @param player - the player
+	 * @param random - the random choices of the player
+	 * @return the move
+	 */
+	private static Point choosePlayerMove(Level level, Player player, Random random) {
+		List<Point> validMoves = level.getValidMoves(player);
+		if (validMoves.isEmpty()) {
+			return level.getActorPosition(player);
+		}
+		if (random.nextDouble() < playerRandomness) {
+			return validMoves.get(random.nextInt(validMoves.size()));
+		}
+		int lastRoom = (roomsPerSide - 1) * BenchmarkLevels.roomSpacing;
+		Point goal = level.getExitUnlocked() ? new Point(lastRoom + 2, lastRoom + 2) : new Point(2, 2);
+		Point best = null;
+		int bestSafety = -1;
+		int bestGoalDistance = Integer.MAX_VALUE;
+		for (Point move : validMoves) {
+			int safety = Integer.MAX_VALUE;
+			for (Point adversary : level.getActiveAdversaries().values()) {
+				safety = Math.min(safety, distance(move, adversary));
+			}
+			//Being further than this from every adversary is safe enough
+			safety = Math.min(safety, 2);
+			int goalDistance = distance(move, goal);
+			if (safety > bestSafety || (safety == bestSafety && goalDistance < bestGoalDistance)) {
+				best = move;
+				bestSafety = safety;
+				bestGoalDistance = goalDistance;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Finds the number of steps between two locations, ignoring walls
+	 * @param first - the first location
+	 * @param second - the second location
+	 * @return the number of steps
+	 */
+	private static int distance(Point first, Point second) {
+		return Math.abs(first.x - second.x) + Math.abs(first.y - second.y);
+	}
+
+	/**
+	 * Builds the level of a game, with the players in the top left room, the
+	 * zombie in the middle room and the ghost in the room below the first
+	 * @param zombie - the zombie
+	 * @param ghost - the ghost
+	 * @param first - the first player
+	 * @param second - the second player
+	 * @return the level
+	 */
+	private static Level createGameLevel(Zombie zombie, Ghost ghost, Player first, Player second) {
+		Map<Player, Point> players = new LinkedHashMap<>();
+		players.put(first, BenchmarkLevels.roomInterior(0, 0, 3));
+		players.put(second, BenchmarkLevels.roomInterior(0, 0, 4));
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		adversaries.put(zombie, BenchmarkLevels.roomInterior(1, 1, 2));
+		adversaries.put(ghost, BenchmarkLevels.roomInterior(1, 0, 2));
+		return BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+	}
+}
@@ -0,0 +1,94 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.Level;
+import Game.model.Player;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the cost of validating player moves. For every player, every
+ * destination within two cells of them is checked, and the list of all
+ * valid moves is built, as the player clients and the game manager do
+ * before every turn.
+ *
+ * Run with: java Benchmark.MoveBenchmark
+ */
+public class MoveBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 10;
+
+	//The number of players whose moves are validated
+	private static final int numPlayers = 4;
+
+	private static final int warmupIterations = 2000;
+	private static final int measuredIterations = 20000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		Map<Player, Point> players = new LinkedHashMap<>();
+		for (int i = 0; i < numPlayers; i++) {
+			//Place the first player by a door so that moves cross walls and halls
+			players.put(new Player("Player" + i), BenchmarkLevels.roomInterior(0, i, i == 0 ? 5 : 2));
+		}
+		Level level = BenchmarkLevels.createLevel(roomsPerSide, players, new HashMap<Adversary, Point>());
+		List<Player> playerList = new ArrayList<>(players.keySet());
+
+		System.out.println("operation\tns/player");
+		System.out.printf("checkValidMove (25 destinations)\t%.1f%n", measure(level, playerList, true));
+		System.out.printf("getValidMoves\t%.1f%n", measure(level, playerList, false));
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time to validate the moves of one player
+	 * @param level - the level the players are in
+	 * @param players - the players in the level
+	 * @param checkEach - true to check every destination, false to list the valid moves
+	 * @return the average time in nanoseconds
+	 */
+	private static double measure(Level level, List<Player> players, boolean checkEach) {
+		for (int i = 0; i < warmupIterations; i++) {
+			validateMoves(level, players, checkEach);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			validateMoves(level, players, checkEach);
+		}
+		return (System.nanoTime() - start) / (double) measuredIterations / players.size();
+	}
+
+	/**
+	 * Validates the moves of every player in the level
+	 * @param level - the level the players are in
+	 * @param players - the players in the level
+	 * @param checkEach - true to check every destination, false to list the valid moves
+	 */
+	private static void validateMoves(Level level, List<Player> players, boolean checkEach) {
+		for (Player player : players) {
+			Point location = level.getActorPosition(player);
+			if (checkEach) {
+				for (int dy = -2; dy <= 2; dy++) {
+					for (int dx = -2; dx <= 2; dx++) {
+						if (level.checkValidMove(player, new Point(location.x + dx, location.y + dy))) {
+							sink++;
+						}
+					}
+				}
+			} else {
+				sink += level.getValidMoves(player).size();
+			}
+		}
+	}
+}
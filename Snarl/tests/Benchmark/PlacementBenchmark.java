@@ -0,0 +1,88 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.Item;
+import Game.model.Level;
+import Game.model.LevelImpl;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of placing actors at random at the start of a level,
+ * as the Dungeon does. The level has a single room, which is filled until
+ * only a few of its cells are left, so each new actor has fewer free cells
+ * to choose from.
+ *
+ * Run with: java Benchmark.PlacementBenchmark
+ */
+public class PlacementBenchmark {
+
+	//The number of cells in the room that actors can be placed on
+	private static final int freeCells = 40;
+
+	//The number of actors placed in the room
+	private static final int[] actorCounts = {10, 30, 37};
+
+	private static final int warmupIterations = 2000;
+	private static final int measuredIterations = 20000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark for each number of actors and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("actors/free cells\tus/placement");
+		for (int numActors : actorCounts) {
+			System.out.printf("%d/%d\t%.2f%n", numActors, freeCells, measure(numActors));
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time to place the actors in a new level. The levels
+	 * are created before the timer starts, so only the placement is measured
+	 * @param numActors - the number of actors to place
+	 * @return the average time in microseconds
+	 */
+	private static double measure(int numActors) {
+		List<Adversary> adversaries = new ArrayList<>();
+		for (int i = 0; i < numActors; i++) {
+			adversaries.add(new Zombie("Zombie" + i));
+		}
+		placeActors(createLevels(warmupIterations), adversaries);
+		List<Level> levels = createLevels(measuredIterations);
+		long start = System.nanoTime();
+		placeActors(levels, adversaries);
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Creates levels with one room and no actors
+	 * @param numLevels - the number of levels to create
+	 * @return the levels
+	 */
+	private static List<Level> createLevels(int numLevels) {
+		List<Level> levels = new ArrayList<>(numLevels);
+		for (int i = 0; i < numLevels; i++) {
+			levels.add(new LevelImpl(BenchmarkLevels.createLevelMap(1), new ArrayList<Item>()));
+		}
+		return levels;
+	}
+
+	/**
+	 * Places the adversaries at random in each level
+	 * @param levels - the levels to place the adversaries in
+	 * @param adversaries - the adversaries to place
+	 */
+	private static void placeActors(List<Level> levels, List<Adversary> adversaries) {
+		for (Level level : levels) {
+			level.placeActorsRandomly(new ArrayList<Player>(), adversaries);
+			sink += level.getActiveAdversaries().size();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package Benchmark;
+
+import Adversary.AbstractLocalAdversary;
+import Adversary.LocalGhost;
+import Adversary.LocalZombie;
+import Game.model.Adversary;
+import Game.model.DistanceField;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the cost of an adversary phase as the number of adversaries grows.
+ * Each phase asks every adversary for its move, as the game manager does,
+ * either with one distance field from the players computed at the start of
+ * the phase and shared by every adversary, or without a field, in which case
+ * each adversary steps towards its player by distance alone. The moves are
+ * not made, so every phase sees the same level.
+ *
+ * Half of the adversaries are zombies and half are ghosts, and all of them
+ * start close enough to a player to chase them.
+ *
+ * Run with: java Benchmark.PursuitBenchmark
+ */
+public class PursuitBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 10;
+
+	//The number of players, each in their own room of the top row
+	private static final int numPlayers = 8;
+
+	//The numbers of adversaries to measure
+	private static final int[] adversaryCounts = {8, 32, 64};
+
+	private static final int warmupIterations = 2000;
+	private static final int measuredIterations = 10000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("adversaries\tno field us/phase\tshared field us/phase\tfield us");
+		for (int numAdversaries : adversaryCounts) {
+			Map<Player, Point> players = new LinkedHashMap<>();
+			for (int i = 0; i < numPlayers; i++) {
+				players.put(new Player("Player" + i), BenchmarkLevels.roomInterior(0, i, 0));
+			}
+			Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+			Map<Adversary, AbstractLocalAdversary> clients = new LinkedHashMap<>();
+			for (int i = 0; i < numAdversaries; i++) {
+				Adversary adversary;
+				AbstractLocalAdversary client;
+				if (i % 2 == 0) {
+					adversary = new Zombie("Zombie" + i);
+					client = new LocalZombie();
+				} else {
+					adversary = new Ghost("Ghost" + i);
+					client = new LocalGhost();
+				}
+				adversaries.put(adversary, chaseLocation(i % numPlayers, i / numPlayers));
+				clients.put(adversary, client);
+			}
+			Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+			for (AbstractLocalAdversary client : clients.values()) {
+				client.getLevelStart(level);
+			}
+			DistanceField field = level.createDistanceField();
+
+			double withoutField = measure(level, clients, null);
+			double withField = measure(level, clients, field);
+			long start = System.nanoTime();
+			for (int i = 0; i < measuredIterations; i++) {
+				field.compute(level.getActivePlayers().values());
+			}
+			double fieldOnly = (System.nanoTime() - start) / 1000.0 / measuredIterations;
+			System.out.printf("%d\t%.1f\t%.1f\t%.1f%n", numAdversaries, withoutField, withField, fieldOnly);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Gets a location in a player's room, within a ghost's chase radius of the player
+	 * @param room - the column of the room, in the top row of rooms
+	 * @param index - the number of adversaries already placed in the room
+	 * @return a location in the room
+	 */
+	private static Point chaseLocation(int room, int index) {
+		Point player = BenchmarkLevels.roomInterior(0, room, 0);
+		int placed = 0;
+		for (int dy = 0; dy < BenchmarkLevels.roomSize - 2; dy++) {
+			for (int dx = 0; dx < BenchmarkLevels.roomSize - 2; dx++) {
+				if (dx + dy == 0 || dx + dy > 6) {
+					continue;
+				}
+				if (placed == index) {
+					return new Point(player.x + dx, player.y + dy);
+				}
+				placed++;
+			}
+		}
+		throw new IllegalArgumentException("Too many adversaries in room " + room);
+	}
+
+	/**
+	 * Measures the average time of an adversary phase
+	 * @param level - the level the adversaries are in
+	 * @param clients - the client of each adversary
+	 * @param field - the distance field computed each phase, or null to take turns without one
+	 * @return the average time in microseconds
+	 */
+	private static double measure(Level level, Map<Adversary, AbstractLocalAdversary> clients,
+			DistanceField field) {
+		for (int i = 0; i < warmupIterations; i++) {
+			runPhase(level, clients, field);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			runPhase(level, clients, field);
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Asks every adversary for its move, without making the moves
+	 * @param level - the level the adversaries are in
+	 * @param clients - the client of each adversary
+	 * @param field - the distance field computed for the phase, or null to take turns without one
+	 */
+	private static void runPhase(Level level, Map<Adversary, AbstractLocalAdversary> clients,
+			DistanceField field) {
+		Map<Player, Point> players = level.getActivePlayers();
+		Map<Adversary, Point> adversaries = level.getActiveAdversaries();
+		if (field != null) {
+			field.compute(players.values());
+		}
+		List<Point> moves = new ArrayList<>();
+		for (Map.Entry<Adversary, AbstractLocalAdversary> entry : clients.entrySet()) {
+			entry.getValue().updateActorLocations(players, adversaries, entry.getKey());
+			entry.getValue().updatePlayerDistances(field);
+			moves.add(entry.getValue().takeTurn());
+		}
+		for (Point move : moves) {
+			sink += move.x + move.y;
+		}
+	}
+}
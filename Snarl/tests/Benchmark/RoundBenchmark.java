@@ -0,0 +1,125 @@
+package Benchmark;
+
+import Adversary.LocalZombie;
+import Common.AdversaryClient;
+import Game.controller.GameManager;
+import Game.model.Adversary;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.Zombie;
+import Game.modelView.PlayerModelView;
+import java.awt.Point;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures full rounds of a level played by the GameManager, as the number of
+ * adversaries grows. In each round the player moves, and then every adversary
+ * takes its turn through the game manager's adversary turns, and after every
+ * move the player is updated with a snapshot of the game, which it reads as a
+ * remote player does.
+ *
+ * The player steps back and forth in the top left room, and a zombie in every
+ * other room wanders inside its room. The zombies are kept apart, since a
+ * zombie that another zombie blocks in has no valid move. The player stops the
+ * level once the rounds have been played.
+ *
+ * Run with: java Benchmark.RoundBenchmark
+ */
+public class RoundBenchmark {
+
+	//The numbers of rooms along each side of the benchmarked levels
+	private static final int[] roomsPerSideCounts = {4, 8, 16, 24};
+
+	private static final int warmupRounds = 50;
+	private static final int measuredRounds = 200;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("adversaries\tus/round\tus/adversary move");
+		for (int roomsPerSide : roomsPerSideCounts) {
+			measure(roomsPerSide);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Plays the rounds of a level and prints the average time of a round
+	 * @param roomsPerSide - the number of rooms along each side of the level
+	 */
+	private static void measure(int roomsPerSide) {
+		GameManager gameManager = new GameManager();
+		final Point first = BenchmarkLevels.roomInterior(0, 0, 5);
+		final Point second = new Point(first.x - 1, first.y);
+		//The time each round starts, when the player is asked for its move
+		final long[] roundStarts = new long[warmupRounds + measuredRounds + 1];
+		gameManager.registerPlayer("Player", new Common.Player() {
+			private int turn = 0;
+
+			public Point takeTurn(List<Point> validMoves) {
+				roundStarts[this.turn] = System.nanoTime();
+				if (this.turn == roundStarts.length - 1) {
+					throw new IllegalStateException("The rounds have been played");
+				}
+				this.turn++;
+				return this.turn % 2 == 0 ? first : second;
+			}
+
+			public void update(PlayerModelView gameState, String message) {
+				sink += gameState.getMap().size() + gameState.getVisibleDoors().size()
+						+ gameState.getVisibleItems().size() + gameState.getVisibleActors().size();
+			}
+
+			public void displayMessage(String message) {
+			}
+
+			public void sendLevelStart(int levelIndex, Set<String> levelPlayers) {
+			}
+
+			public void sendLevelEnd(String keyFinder, List<String> exitedPlayers, List<String> ejectedPlayers) {
+			}
+
+			public void sendEndGame(Map<String, Integer> keysFound, Map<String, Integer> numEjects,
+					Map<String, Integer> numExits) {
+			}
+		});
+
+		Map<Player, Point> players = new LinkedHashMap<>();
+		players.put(new Player("Player"), first);
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		Map<Adversary, AdversaryClient> clients = new LinkedHashMap<>();
+		for (int row = 0; row < roomsPerSide; row++) {
+			for (int col = 0; col < roomsPerSide; col++) {
+				if (row == 0 && col == 0) {
+					continue;
+				}
+				Adversary zombie = new Zombie("Zombie" + row + "," + col);
+				adversaries.put(zombie, BenchmarkLevels.roomInterior(row, col, 2));
+				clients.put(zombie, new LocalZombie());
+			}
+		}
+		Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+		for (Map.Entry<Adversary, AdversaryClient> entry : clients.entrySet()) {
+			entry.getValue().getLevelStart(level);
+			gameManager.registerAdversary(entry.getKey(), entry.getValue());
+		}
+		gameManager.initDungeon(Collections.singletonList(level));
+
+		try {
+			gameManager.playLevel(level);
+		} catch (IllegalStateException e) {
+			//The player stops the level once the rounds have been played
+		}
+		double micros = (roundStarts[roundStarts.length - 1] - roundStarts[warmupRounds]) / 1000.0 / measuredRounds;
+		System.out.printf("%d\t%.0f\t%.2f%n", adversaries.size(), micros, micros / adversaries.size());
+	}
+}
@@ -0,0 +1,146 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.GameState;
+import Game.model.Ghost;
+import Game.model.Level;
+import Game.model.Player;
+import Game.model.SimulationState;
+import Game.model.Zombie;
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the cost of simulating turns, as an adversary that searches ahead
+ * would. Three operations are measured:
+ * - copy level: build a new Level with the same actors, which is what
+ *   simulating on a LevelImpl would need for every line of play
+ * - fork: copy a SimulationState of the level
+ * - playout: from the start of the level, every actor in turn makes a
+ *   random valid move for a number of rounds, then every move is undone
+ *
+ * Run with: java Benchmark.SimulationBenchmark
+ */
+public class SimulationBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 10;
+
+	//The number of players and of each kind of adversary
+	private static final int numPlayers = 4;
+	private static final int numAdversaries = 3;
+
+	//The number of rounds of moves in each playout
+	private static final int playoutRounds = 20;
+
+	private static final int warmupIterations = 2000;
+	private static final int measuredIterations = 20000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		Map<Player, Point> players = new LinkedHashMap<>();
+		for (int i = 0; i < numPlayers; i++) {
+			players.put(new Player("Player" + i), BenchmarkLevels.roomInterior(0, i, 2));
+		}
+		Map<Adversary, Point> adversaries = new LinkedHashMap<>();
+		for (int i = 0; i < numAdversaries; i++) {
+			adversaries.put(new Zombie("Zombie" + i), BenchmarkLevels.roomInterior(1, i, 2));
+			adversaries.put(new Ghost("Ghost" + i), BenchmarkLevels.roomInterior(2, i, 2));
+		}
+		Level level = BenchmarkLevels.createLevel(roomsPerSide, players, adversaries);
+		SimulationState state = level.createSimulation(1);
+
+		System.out.println("operation\tus/operation");
+		System.out.printf("copy level\t%.2f%n", measureCopy(players, adversaries));
+		System.out.printf("fork\t%.2f%n", measureFork(state));
+		double playout = measurePlayout(state);
+		System.out.printf("playout (%d rounds)\t%.2f%n", playoutRounds, playout);
+		System.out.printf("simulated turns per second: %.0f%n",
+				playoutRounds * state.getActorCount() / playout * 1000000);
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time to build a new copy of the level
+	 * @param players - the players and their locations
+	 * @param adversaries - the adversaries and their locations
+	 * @return the average time in microseconds
+	 */
+	private static double measureCopy(Map<Player, Point> players, Map<Adversary, Point> adversaries) {
+		int iterations = measuredIterations / 10;
+		for (int i = 0; i < warmupIterations / 10; i++) {
+			sink += BenchmarkLevels.createLevel(roomsPerSide, players, adversaries).getItems().size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += BenchmarkLevels.createLevel(roomsPerSide, players, adversaries).getItems().size();
+		}
+		return (System.nanoTime() - start) / 1000.0 / iterations;
+	}
+
+	/**
+	 * Measures the average time to fork the simulation
+	 * @param state - the simulation to fork
+	 * @return the average time in microseconds
+	 */
+	private static double measureFork(SimulationState state) {
+		for (int i = 0; i < warmupIterations; i++) {
+			sink += state.fork().getActorCount();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			sink += state.fork().getActorCount();
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Measures the average time to play out random moves and undo them
+	 * @param state - the simulation to play out
+	 * @return the average time in microseconds
+	 */
+	private static double measurePlayout(SimulationState state) {
+		Random random = new Random(2);
+		for (int i = 0; i < warmupIterations; i++) {
+			playout(state, random);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			playout(state, random);
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Has every actor make random valid moves, then undoes every move
+	 * @param state - the simulation to play out
+	 * @param random - the random generator used to choose moves
+	 */
+	private static void playout(SimulationState state, Random random) {
+		for (int round = 0; round < playoutRounds && state.isLevelOver().equals(GameState.ACTIVE); round++) {
+			for (int actor = 0; actor < state.getActorCount(); actor++) {
+				if (!state.isActive(actor)) {
+					continue;
+				}
+				List<Point> validMoves = state.getValidMoves(actor);
+				if (validMoves.isEmpty()) {
+					continue;
+				}
+				Point move = validMoves.get(random.nextInt(validMoves.size()));
+				sink += state.apply(actor, move.x, move.y).ordinal();
+			}
+		}
+		while (state.getMoveCount() > 0) {
+			state.undo();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package Benchmark;
+
+import Game.model.Adversary;
+import Game.model.Item;
+import Game.model.Level;
+import Game.model.LevelComponent;
+import Game.model.LevelImpl;
+import Game.model.LevelTemplate;
+import Game.model.Player;
+import JSONUtils.Generator;
+import Level.TestLevel;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * Measures the cost of starting many games of the same level. Two
+ * approaches are compared:
+ * - parse: parse the JSON of the level for each game, as the server
+ *   does when it reads a levels file
+ * - template: parse the level once into a LevelTemplate and create
+ *   each game from the template
+ *
+ * For each approach, the time to start a game and the heap retained
+ * by a batch of games are reported
+ *
+ * Run with: java Benchmark.TemplateBenchmark
+ */
+public class TemplateBenchmark {
+
+	//The number of rooms along each side of the benchmarked level
+	private static final int roomsPerSide = 10;
+
+	//The number of games held at once when measuring memory
+	private static final int hostedGames = 100;
+
+	private static final int warmupIterations = 200;
+	private static final int measuredIterations = 1000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		Level source = BenchmarkLevels.createLevel(roomsPerSide, new HashMap<Player, Point>(),
+				new HashMap<Adversary, Point>());
+		JSONObject JSONLevel = Generator.generateJSONLevel(source);
+		LevelTemplate template = new LevelTemplate(TestLevel.parseLevelMap(JSONLevel),
+				TestLevel.parseObjects(JSONLevel));
+
+		System.out.println("approach\tus/game start\tKB/game");
+		System.out.printf("parse\t%.1f\t%.1f%n", measureTime(JSONLevel, null), measureMemory(JSONLevel, null));
+		System.out.printf("template\t%.1f\t%.1f%n", measureTime(JSONLevel, template),
+				measureMemory(JSONLevel, template));
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Starts a new game of the level
+	 * @param JSONLevel - the JSON of the level
+	 * @param template - the template of the level, or null to parse the JSON
+	 * @return the level of the new game
+	 */
+	private static Level startGame(JSONObject JSONLevel, LevelTemplate template) {
+		if (template == null) {
+			List<LevelComponent> levelMap = TestLevel.parseLevelMap(JSONLevel);
+			List<Item> items = TestLevel.parseObjects(JSONLevel);
+			return new LevelImpl(levelMap, items);
+		}
+		return template.createLevel();
+	}
+
+	/**
+	 * Measures the average time to start a game
+	 * @param JSONLevel - the JSON of the level
+	 * @param template - the template of the level, or null to parse the JSON
+	 * @return the average time in microseconds
+	 */
+	private static double measureTime(JSONObject JSONLevel, LevelTemplate template) {
+		for (int i = 0; i < warmupIterations; i++) {
+			sink += startGame(JSONLevel, template).getItems().size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			sink += startGame(JSONLevel, template).getItems().size();
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Measures the heap retained by each game while a batch of games is held
+	 * @param JSONLevel - the JSON of the level
+	 * @param template - the template of the level, or null to parse the JSON
+	 * @return the average retained heap in kilobytes
+	 */
+	private static double measureMemory(JSONObject JSONLevel, LevelTemplate template) {
+		long before = usedHeap();
+		List<Level> games = new ArrayList<>(hostedGames);
+		for (int i = 0; i < hostedGames; i++) {
+			Level game = startGame(JSONLevel, template);
+			//Build the rendered map, as the first update sent to the players does
+			sink += game.getMap().size();
+			games.add(game);
+		}
+		long after = usedHeap();
+		sink += games.size();
+		return (after - before) / 1024.0 / hostedGames;
+	}
+
+	/**
+	 * Gets the heap in use after asking for a garbage collection
+	 * @return the number of bytes in use
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,92 @@
+package Benchmark;
+
+import Common.AdversaryClient;
+import Game.controller.LevelPipeline;
+import Game.model.Adversary;
+import Game.model.Dungeon;
+import Game.model.LevelGenerator;
+import Game.model.LevelIndex;
+import Game.model.Player;
+import JSONUtils.Generator;
+import Level.IndexedLevels;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long players wait between levels, from the end of a level until
+ * the next level is ready to start. Each level of a levels file of large
+ * generated levels is taken from a LevelPipeline in two ways:
+ * - cold: the level is parsed, validated and prepared when it is taken, as
+ *   when levels are not prefetched
+ * - prefetched: the level is prepared in the background while the previous
+ *   level is played, which is simulated by waiting
+ *
+ * Run with: java Benchmark.TransitionBenchmark
+ */
+public class TransitionBenchmark {
+
+	//The number of levels, and of rooms in each level
+	private static final int numLevels = 8;
+	private static final int roomsPerLevel = 3000;
+
+	//How long each level is played for while the next level is prepared
+	private static final long playMillis = 1500;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 * @throws IOException if the levels file cannot be written or read
+	 * @throws InterruptedException if the benchmark is interrupted while a level is played
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		File file = File.createTempFile("benchmark", ".levels");
+		file.deleteOnExit();
+		new File(file.getPath() + LevelIndex.indexExtension).deleteOnExit();
+		try (PrintStream out = new PrintStream(file)) {
+			out.println(numLevels);
+			for (int i = 0; i < numLevels; i++) {
+				out.println(Generator.generateJSONLevel(new LevelGenerator(i, roomsPerLevel).createLevel()));
+			}
+		}
+		//Warm up the parser and the pipeline on every level before measuring
+		measure(file.getPath(), false);
+
+		System.out.println(numLevels + " levels of " + roomsPerLevel + " rooms");
+		System.out.println("mode\tms waiting per level");
+		System.out.printf("cold\t%.2f%n", measure(file.getPath(), false));
+		System.out.printf("prefetched\t%.2f%n", measure(file.getPath(), true));
+	}
+
+	/**
+	 * Measures the average time to take each level after the first from a pipeline
+	 * @param fileName - the name of the levels file
+	 * @param prefetch - true to prepare each level while the previous level is played
+	 * @return the average time in milliseconds
+	 */
+	private static double measure(String fileName, boolean prefetch) throws IOException, InterruptedException {
+		List<Player> players = new ArrayList<>(Arrays.asList(new Player("Player")));
+		Dungeon dungeon = new Dungeon(players, 1, new IndexedLevels(fileName));
+		LevelPipeline pipeline = new LevelPipeline(dungeon, new ArrayList<AdversaryClient>(), true);
+		pipeline.take(1);
+		dungeon.startCurrentLevelRandom(new ArrayList<Adversary>());
+
+		long waiting = 0;
+		for (int level = 2; level <= numLevels; level++) {
+			if (prefetch) {
+				pipeline.prepare(level, dungeon.getCurrentLevel());
+			}
+			Thread.sleep(playMillis);
+			long start = System.nanoTime();
+			pipeline.take(level);
+			dungeon.getNextLevel();
+			dungeon.startCurrentLevelRandom(new ArrayList<Adversary>());
+			waiting += System.nanoTime() - start;
+		}
+		pipeline.shutdown();
+		return waiting / 1000000.0 / (numLevels - 1);
+	}
+}
@@ -0,0 +1,100 @@
+package Benchmark;
+
+import Game.model.Hall;
+import Game.model.LevelComponent;
+import Game.model.LevelValidator;
+import Game.model.Room;
+import Game.model.Space;
+import Game.model.Tile;
+import Game.model.Wall;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of validating levels of increasing size. The sweep line
+ * in LevelValidator should keep the time per component about the same as
+ * the number of rooms grows, where comparing every pair of components would
+ * grow with the number of rooms. Each size is measured again with a room as
+ * tall as the level along its left side, which should not make the other
+ * rooms slower to check.
+ *
+ * Each level is also checked to be valid, so the benchmark fails if the
+ * validator reports a problem with a level that has none
+ *
+ * Run with: java Benchmark.ValidatorBenchmark
+ */
+public class ValidatorBenchmark {
+
+	//The numbers of rooms along each side of the benchmarked levels
+	private static final int[] roomsPerSide = {10, 30, 100};
+
+	//The number of times each level is validated
+	private static final int warmupIterations = 5;
+	private static final int measuredIterations = 30;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("rooms\ttall room\tcomponents\tms/validation\tus/component");
+		for (int side : roomsPerSide) {
+			measure(side, BenchmarkLevels.createLevelMap(side), "no");
+			measure(side, addTallRoom(BenchmarkLevels.createLevelMap(side), side), "yes");
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the validation of a level and prints the result
+	 * @param side - the number of rooms along each side of the level
+	 * @param levelMap - the components of the level
+	 * @param tallRoom - whether the level has a tall room, as printed
+	 */
+	private static void measure(int side, List<LevelComponent> levelMap, String tallRoom) {
+		LevelValidator.checkValid(levelMap);
+
+		for (int i = 0; i < warmupIterations; i++) {
+			sink += new LevelValidator(levelMap).getViolations().size();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			sink += new LevelValidator(levelMap).getViolations().size();
+		}
+		double millis = (System.nanoTime() - start) / 1000000.0 / measuredIterations;
+		System.out.printf("%d\t%s\t%d\t%.2f\t%.3f%n", side * side, tallRoom, levelMap.size(), millis,
+				millis * 1000 / levelMap.size());
+	}
+
+	/**
+	 * Adds a room as tall as the level to the left of the first column of rooms,
+	 * joined by a hall to the left door of the top left room
+	 * @param levelMap - the components of the level, starting with the top left room
+	 * @param side - the number of rooms along each side of the level
+	 * @return the level map
+	 */
+	private static List<LevelComponent> addTallRoom(List<LevelComponent> levelMap, int side) {
+		int width = 5;
+		int height = (side - 1) * BenchmarkLevels.roomSpacing + BenchmarkLevels.roomSize;
+		int doorRow = BenchmarkLevels.roomSize / 2;
+		List<List<Tile>> componentMap = new ArrayList<>();
+		for (int y = 0; y < height; y++) {
+			List<Tile> row = new ArrayList<>();
+			for (int x = 0; x < width; x++) {
+				boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+				boolean door = x == width - 1 && y == doorRow;
+				row.add(border && !door ? Wall.instance : new Space());
+			}
+			componentMap.add(row);
+		}
+		Room tallRoom = new Room(new Point(-width - 1, 0), componentMap);
+		levelMap.add(tallRoom);
+		levelMap.add(new Hall(new Point(-2, doorRow), tallRoom, new Point(0, doorRow),
+				(Room)levelMap.get(0), new ArrayList<Point>()));
+		return levelMap;
+	}
+}
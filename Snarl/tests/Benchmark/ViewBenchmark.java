@@ -0,0 +1,117 @@
+package Benchmark;
+
+import Game.model.Actor;
+import Game.model.Adversary;
+import Game.model.Item;
+import Game.model.Level;
+import Game.model.Player;
+import Game.modelView.EntityType;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the cost of building the views sent to each player after a move,
+ * for levels of increasing size. Two approaches are compared:
+ * - full level: copy the map of the entire level once and crop it to the
+ *   player's sight. Before views were read from a window of the level grid,
+ *   the level rebuilt the entire level three times per player, so this is
+ *   a lower bound on the old cost
+ * - window: ask the level for the player's map, visible items, visible
+ *   actors and visible doors, which only reads the cells the player can see
+ *
+ * Run with: java Benchmark.ViewBenchmark
+ */
+public class ViewBenchmark {
+
+	//The number of rooms along each side of the benchmarked levels
+	private static final int[] levelSizes = {4, 10, 21, 42};
+
+	//The number of players that are sent a view after every move
+	private static final int numPlayers = 4;
+
+	private static final int warmupIterations = 200;
+	private static final int measuredIterations = 1000;
+
+	//Accumulates results so that the work being measured is not optimized away
+	private static long sink = 0;
+
+	/**
+	 * Runs the benchmark for each level size and prints the results
+	 * @param args - command line arguments
+	 */
+	public static void main(String[] args) {
+		System.out.println("level cells\tfull level (us/notify)\twindow (us/notify)");
+		for (int roomsPerSide : levelSizes) {
+			Map<Player, Point> players = new LinkedHashMap<>();
+			for (int i = 0; i < numPlayers; i++) {
+				players.put(new Player("Player" + i), BenchmarkLevels.roomInterior(0, i % roomsPerSide, 1));
+			}
+			Level level = BenchmarkLevels.createLevel(roomsPerSide, players, new HashMap<Adversary, Point>());
+			List<Player> playerList = new ArrayList<>(players.keySet());
+
+			int cellsPerSide = roomsPerSide * BenchmarkLevels.roomSpacing;
+			double fullMicros = measure(level, playerList, true);
+			double windowMicros = measure(level, playerList, false);
+			System.out.printf("%dx%d\t%.2f\t%.2f%n", cellsPerSide, cellsPerSide, fullMicros, windowMicros);
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Measures the average time to build the view of every player once
+	 * @param level - the level to build views for
+	 * @param players - the players in the level
+	 * @param fullLevel - true to crop a copy of the full level, false to read a window
+	 * @return the average time in microseconds
+	 */
+	private static double measure(Level level, List<Player> players, boolean fullLevel) {
+		for (int i = 0; i < warmupIterations; i++) {
+			notifyPlayers(level, players, fullLevel);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < measuredIterations; i++) {
+			notifyPlayers(level, players, fullLevel);
+		}
+		return (System.nanoTime() - start) / 1000.0 / measuredIterations;
+	}
+
+	/**
+	 * Builds the view of every player in the level
+	 * @param level - the level to build views for
+	 * @param players - the players in the level
+	 * @param fullLevel - true to crop a copy of the full level, false to read a window
+	 */
+	private static void notifyPlayers(Level level, List<Player> players, boolean fullLevel) {
+		for (Player player : players) {
+			Point location = level.getActorPosition(player);
+			if (fullLevel) {
+				List<List<EntityType>> fullMap = copyMap(level.getMap());
+				List<List<EntityType>> playerMap = player.cropViewableMap(fullMap, new Point(0, 0), location);
+				sink += playerMap.size();
+			} else {
+				List<List<EntityType>> playerMap = level.getPlayerMap(player);
+				List<Item> items = level.getVisibleItems(player);
+				Map<Actor, Point> actors = level.getVisibleActors(player);
+				List<Point> doors = level.getVisibleDoors(player);
+				sink += playerMap.size() + items.size() + actors.size() + doors.size();
+			}
+		}
+	}
+
+	/**
+	 * Copies every cell of a map into new lists, as a full rebuild of the level would
+	 * @param map - the map to copy
+	 * @return the copy
+	 */
+	private static List<List<EntityType>> copyMap(List<List<EntityType>> map) {
+		List<List<EntityType>> copy = new ArrayList<>(map.size());
+		for (List<EntityType> row : map) {
+			copy.add(new ArrayList<>(row));
+		}
+		return copy;
+	}
+}
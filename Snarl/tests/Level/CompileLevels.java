@@ -0,0 +1,64 @@
+package Level;
+
+import Game.model.LevelCompiler;
+import java.io.FileInputStream;
+import java.io.IOException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Compiles a levels file of JSON levels into a compiled levels file, which the
+ * local game and the server load without parsing any JSON.
+ *
+ * Options:
+ * --levels FILE  the JSON levels file to compile (default snarl.levels)
+ * --out FILE     the compiled file to write (default the levels file name with .snlc)
+ * --validate     validate each level as it is parsed, and stop if one is invalid
+ *
+ * Run with: java Level.CompileLevels --levels snarl.levels --out snarl.snlc
+ */
+public class CompileLevels {
+
+	/**
+	 * Parses the options, then compiles and writes the levels
+	 * @param args - command line arguments
+	 * @throws IOException if the levels file cannot be read or the compiled file written
+	 */
+	public static void main(String[] args) throws IOException {
+		String fileName = "snarl.levels";
+		String outFileName = null;
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--levels":
+					fileName = args[i + 1];
+					i++;
+					break;
+				case "--out":
+					outFileName = args[i + 1];
+					i++;
+					break;
+				case "--validate":
+					TestLevel.setValidateLevels(true);
+					break;
+				default:
+					throw new IllegalArgumentException("Invalid input: " + args[i]);
+			}
+		}
+		if (outFileName == null) {
+			outFileName = fileName.replaceFirst("\\.levels$", "") + ".snlc";
+		}
+
+		LevelCompiler compiler = new LevelCompiler();
+		try (FileInputStream input = new FileInputStream(fileName)) {
+			JSONTokener inputTokens = new JSONTokener(input);
+			int numLevels = (int)inputTokens.nextValue();
+			for (int i = 0; i < numLevels; i++) {
+				JSONObject JSONLevel = (JSONObject)inputTokens.nextValue();
+				compiler.addLevel(TestLevel.parseLevelMap(JSONLevel), TestLevel.parseObjects(JSONLevel));
+			}
+		}
+		compiler.write(outFileName);
+		System.out.println("Compiled " + compiler.getLevelCount() + " levels to " + outFileName);
+	}
+}
@@ -0,0 +1,92 @@
+package Level;
+
+import Game.model.LevelGenerator;
+import JSONUtils.Generator;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Writes a levels file of randomly generated levels, in the same format as
+ * the levels files read by the local game and the server: the number of
+ * levels followed by the JSON of each level. Each level is written on one
+ * line, since generated levels can have thousands of rooms.
+ *
+ * The same options always write the same file. Level N of the file is
+ * generated from the seed plus N, so files with more levels start with the
+ * levels of files with fewer.
+ *
+ * Options:
+ * --seed N      the seed of the first level (default 0)
+ * --levels N    the number of levels (default 1)
+ * --rooms N     the number of rooms in each level (default 20)
+ * --min-size N  the smallest room size, including walls (default 4)
+ * --max-size N  the largest room size, including walls (default 10)
+ * --windings N  the number of times each hall winds back and forth (default 0)
+ * --out FILE    the file to write (default STDOUT)
+ *
+ * Run with: java Level.GenerateLevels --rooms 10000 --out large.levels
+ */
+public class GenerateLevels {
+
+	/**
+	 * Parses the options and writes the levels
+	 * @param args - command line arguments
+	 * @throws FileNotFoundException if the output file cannot be created
+	 */
+	public static void main(String[] args) throws FileNotFoundException {
+		long seed = 0;
+		int numLevels = 1;
+		int numRooms = 20;
+		int minRoomSize = 4;
+		int maxRoomSize = 10;
+		int hallWindings = 0;
+		String fileName = null;
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--seed":
+					seed = Long.parseLong(args[i + 1]);
+					i++;
+					break;
+				case "--levels":
+					numLevels = Integer.parseInt(args[i + 1]);
+					i++;
+					break;
+				case "--rooms":
+					numRooms = Integer.parseInt(args[i + 1]);
+					i++;
+					break;
+				case "--min-size":
+					minRoomSize = Integer.parseInt(args[i + 1]);
+					i++;
+					break;
+				case "--max-size":
+					maxRoomSize = Integer.parseInt(args[i + 1]);
+					i++;
+					break;
+				case "--windings":
+					hallWindings = Integer.parseInt(args[i + 1]);
+					i++;
+					break;
+				case "--out":
+					fileName = args[i + 1];
+					i++;
+					break;
+				default:
+					throw new IllegalArgumentException("Invalid input: " + args[i]);
+			}
+		}
+
+		PrintStream out = fileName == null ? System.out : new PrintStream(fileName);
+		out.println(numLevels);
+		for (int level = 0; level < numLevels; level++) {
+			LevelGenerator generator = new LevelGenerator(seed + level, numRooms, minRoomSize,
+					maxRoomSize, hallWindings);
+			out.println(Generator.generateJSONLevel(generator.createLevel()).toString());
+		}
+		out.flush();
+		if (fileName != null) {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package Level;
+
+import Game.model.Level;
+import Game.model.LevelIndex;
+import Game.model.LevelTemplate;
+import java.io.IOException;
+import java.util.AbstractList;
+import org.json.JSONObject;
+
+/**
+ * The levels of a JSON levels file, each parsed from the file the first time
+ * it is asked for. The file is located through its LevelIndex, so a level can
+ * be parsed without tokenizing the levels before it.
+ *
+ * The levels are a read-only list, so they can be given to a GameManager in
+ * place of levels that were all parsed when the file was opened.
+ *
+ * Each level is parsed into a LevelTemplate, and the Level of a game is
+ * created from the template. Every game of the file shares the templates, so
+ * hosting another game only allocates the actors and items of its levels.
+ */
+public class IndexedLevels extends AbstractList<Level> {
+
+	//The location of each level in the file
+	private final LevelIndex index;
+
+	//The templates parsed so far, shared by every game of the file, or null for
+	//levels that no game has asked for
+	private final LevelTemplate[] templates;
+
+	//The levels of this game created so far, or null for levels that have not been asked for
+	private final Level[] levels;
+
+	/**
+	 * Opens a JSON levels file through its index. The index is built and cached
+	 * if the file has not been indexed as it is now, but no level is parsed
+	 * @param fileName - the name of the levels file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a count followed by
+	 * that many JSON objects
+	 */
+	public IndexedLevels(String fileName) throws IOException {
+		this.index = new LevelIndex(fileName);
+		this.templates = new LevelTemplate[this.index.getLevelCount()];
+		this.levels = new Level[this.index.getLevelCount()];
+	}
+
+	/**
+	 * Initializes the levels of a new game of an indexed file
+	 * @param file - the levels of another game of the file
+	 */
+	private IndexedLevels(IndexedLevels file) {
+		this.index = file.index;
+		this.templates = file.templates;
+		this.levels = new Level[file.levels.length];
+	}
+
+	/**
+	 * Gets the levels of a new game of the file. The new game shares the
+	 * templates of this game, but none of its levels
+	 * @return the levels of the new game
+	 */
+	public IndexedLevels newGame() {
+		return new IndexedLevels(this);
+	}
+
+	@Override
+	public int size() {
+		return this.levels.length;
+	}
+
+	/**
+	 * Gets a level, parsing it from the file the first time it is asked for
+	 * @param levelIndex - the index of the level in the file
+	 * @return the level
+	 * @throws IllegalStateException if the file can no longer be read
+	 */
+	@Override
+	public synchronized Level get(int levelIndex) {
+		if (this.levels[levelIndex] == null) {
+			this.levels[levelIndex] = getTemplate(levelIndex).createLevel();
+		}
+		return this.levels[levelIndex];
+	}
+
+	/**
+	 * Gets the template of a level, parsing it from the file the first time
+	 * any game of the file asks for it
+	 * @param levelIndex - the index of the level in the file
+	 * @return the template of the level
+	 * @throws IllegalStateException if the file can no longer be read
+	 */
+	public LevelTemplate getTemplate(int levelIndex) {
+		synchronized (this.templates) {
+			if (this.templates[levelIndex] == null) {
+				JSONObject JSONLevel;
+				try {
+					JSONLevel = new JSONObject(this.index.readLevel(levelIndex));
+				} catch (IOException e) {
+					throw new IllegalStateException("Unable to read level " + (levelIndex + 1));
+				}
+				this.templates[levelIndex] = new LevelTemplate(TestLevel.parseLevelMap(JSONLevel),
+						TestLevel.parseObjects(JSONLevel));
+			}
+			return this.templates[levelIndex];
+		}
+	}
+
+	/**
+	 * Checks if a level has been parsed
+	 * @param levelIndex - the index of the level in the file
+	 * @return true if the level has been asked for before
+	 */
+	public synchronized boolean isParsed(int levelIndex) {
+		return this.levels[levelIndex] != null;
+	}
+}
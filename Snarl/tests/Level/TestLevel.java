@@ -22,6 +22,7 @@ import Game.model.Key;
 import Game.model.Level;
 import Game.model.LevelComponent;
 import Game.model.LevelImpl;
+import Game.model.LevelValidator;
 import Game.model.Room;
 
 /**
@@ -34,6 +35,9 @@ import Game.model.Room;
  */
 public class TestLevel {
 
+	//True if level maps are validated as they are parsed, set by the --validate option
+	private static boolean validateLevels = false;
+
 	//Fields for the level
 	private Point point;
 	private List<LevelComponent> levelMap;
@@ -50,15 +54,46 @@ public class TestLevel {
 	 * Parses the input to create a corresponding testLevel.
 	 * Gets the relevant information for a point in the level,
 	 * and outputs it in JSON format
-	 * @param args - command line arguments
+	 * @param args - command line arguments. With --validate, the level is
+	 * checked for overlapping components, dangling doors and disconnected rooms
 	 */
 	public static void main(String[] args) {
+		parseOptions(args);
 		TestLevel levelParser = new TestLevel();
 		levelParser.parseInput();
 		levelParser.getPointInfo();
 		levelParser.outputPointInfo();
 	}
 
+	/**
+	 * Reads the options shared by the test harnesses that load levels. The only
+	 * option is --validate, which validates each level map as it is parsed
+	 * @param args - command line arguments
+	 */
+	public static void parseOptions(String[] args) {
+		for (String arg : args) {
+			if (arg.equals("--validate")) {
+				setValidateLevels(true);
+			}
+		}
+	}
+
+	/**
+	 * Sets whether level maps are validated as they are parsed
+	 * @param validate - true to validate each level map
+	 */
+	public static void setValidateLevels(boolean validate) {
+		validateLevels = validate;
+	}
+
+	/**
+	 * Checks whether level maps are validated as they are parsed
+	 * @return true if each level map is validated
+	 */
+	public static boolean isValidateLevels() {
+		return validateLevels;
+	}
+
 	/**
 	 * Parses the JSON input from STDIN. Creates the
 	 * level and the point.
@@ -132,9 +167,25 @@ public class TestLevel {
 			map.add(newHall);
 		}
 
+		if (validateLevels) {
+			validateLevelMap(map);
+		}
 		return map;
 	}
 
+	/**
+	 * Validates a parsed level map, and reports every violation to STDERR
+	 * @param levelMap - the level map to validate
+	 * @throws IllegalArgumentException if the level map is not valid
+	 */
+	private static void validateLevelMap(List<LevelComponent> levelMap) {
+		LevelValidator validator = new LevelValidator(levelMap);
+		if (!validator.isValid()) {
+			System.err.println(validator.getReport());
+			throw new IllegalArgumentException("Level is not valid");
+		}
+	}
+
 	/**
 	 * Parses the given JSON input for a Level. Identifies all the
 	 * objects for this level.
@@ -186,7 +237,7 @@ public class TestLevel {
 	 * @return true if the location is traversable, false otherwise
 	 */
 	private boolean isTravesable(LevelComponent currComponent) {
-		Tile destTile = currComponent.getDestinationTile(this.point);
+		Tile destTile = this.level.getTile(this.point);
 		EntityType destEntityType = currComponent.getEntityType(destTile);
 		return destEntityType.equals(EntityType.SPACE)
 				|| destEntityType.equals(EntityType.HALL_SPACE)
@@ -46,9 +46,11 @@ public class TestManager {
 	 * the relevant information for the game, plays the game,
 	 * and outputs the interactions that occur over the course
 	 * of the game.
-	 * @param args - command line arguments
+	 * @param args - command line arguments. With --validate, the level is
+	 * validated as it is parsed
 	 */
 	public static void main(String[] args) {
+		TestLevel.parseOptions(args);
 		TestManager managerParser = new TestManager();
 		managerParser.parseInput();
 		managerParser.playGame();
@@ -102,7 +102,7 @@ public class TestRoom {
 	 */
 	private Room generateRoom(Point origin, int rows, int columns, JSONArray layout) {
 		List<List<Tile>> componentMap = new ArrayList<>();
-		Tile wall = new Wall();
+		Tile wall = Wall.instance;
 		
 		//Create a componentMap based on the layout of the room
 		for (int i = 0; i < rows; i++) {
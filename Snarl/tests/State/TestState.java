@@ -31,9 +31,11 @@ public class TestState {
   /**
    * Parses the input to create a GameState.
    * Identifies if the given player can be moved to the given position.
-   * @param args - command line arguments
+   * @param args - command line arguments. With --validate, the level is
+   * validated as it is parsed
    */
   public static void main(String[] args) {
+    TestLevel.parseOptions(args);
     TestState stateParser = new TestState();
     stateParser.parseInput();
     try {
@@ -154,7 +156,7 @@ public class TestState {
       throw new IllegalArgumentException("No Player");
     }
     LevelComponent destComponent = this.level.findComponent(this.point);
-    Tile destTile = destComponent.getDestinationTile(this.point);
+    Tile destTile = this.level.getTile(this.point);
     EntityType destEntType = destComponent.getEntityType(destTile);
     if (!player.isTraversable(destEntType)) {
       throw new IllegalArgumentException("Bad Destination");